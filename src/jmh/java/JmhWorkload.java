@@ -0,0 +1,200 @@
+import benchmarks.MSTWorkload;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Default-package implementation of {@link MSTWorkload} used by the JMH benchmarks.
+ */
+public class JmhWorkload implements MSTWorkload {
+    private final MSTCalculator calculator = new MSTCalculator();
+
+    @Override
+    public Object prepareGraph(int vertices, double density, String weights, long seed) {
+        Random random = new Random(seed);
+        List<String> nodes = new ArrayList<>(vertices);
+        for (int i = 0; i < vertices; i++) {
+            nodes.add("N" + i);
+        }
+        long possible = (long) vertices * (vertices - 1) / 2;
+        long target = Math.max(vertices - 1L, Math.round(density * possible));
+        if (target > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many edges requested: " + target);
+        }
+        List<Edge> edges = new ArrayList<>((int) target);
+        for (int i = 1; i < vertices; i++) {
+            edges.add(new Edge(nodes.get(random.nextInt(i)), nodes.get(i), weight(weights, random)));
+        }
+        while (edges.size() < target) {
+            int u = random.nextInt(vertices);
+            int v = random.nextInt(vertices);
+            if (u != v) {
+                edges.add(new Edge(nodes.get(u), nodes.get(v), weight(weights, random)));
+            }
+        }
+        return PreparedGraph.of(new Graph("jmh-" + vertices + "-" + density + "-" + weights, nodes, edges));
+    }
+
+    private static double weight(String distribution, Random random) {
+        return switch (distribution) {
+            case "uniform" -> 1.0 + random.nextDouble() * 999.0;
+            case "integer" -> 1 + random.nextInt(100);
+            case "exponential" -> -Math.log(1.0 - random.nextDouble()) * 100.0;
+            default -> throw new IllegalArgumentException("Unknown weight distribution '" + distribution + "'");
+        };
+    }
+
+    @Override
+    public Object prim(Object graph, String priorityQueue) {
+        return calculator.computePrim((PreparedGraph) graph, PriorityQueueStrategy.parse(priorityQueue));
+    }
+
+    @Override
+    public Object primDense(Object graph) {
+        return calculator.computePrimDense((PreparedGraph) graph);
+    }
+
+    @Override
+    public Object kruskal(Object graph) {
+        return calculator.computeKruskal((PreparedGraph) graph);
+    }
+
+    @Override
+    public Object kruskal(Object graph, Object unionFind) {
+        return calculator.computeKruskal((PreparedGraph) graph, (DisjointSet) unionFind);
+    }
+
+    @Override
+    public Object newUnionFind(int size) {
+        return new DisjointSet(size);
+    }
+
+    @Override
+    public int vertexCount(Object graph) {
+        return ((PreparedGraph) graph).vertexCount();
+    }
+
+    @Override
+    public int uniteSortedEdges(Object graph, Object unionFind) {
+        PreparedGraph prepared = (PreparedGraph) graph;
+        DisjointSet set = (DisjointSet) unionFind;
+        set.reset(prepared.vertexCount());
+        int[] from = prepared.edgeFrom();
+        int[] to = prepared.edgeTo();
+        int unions = 0;
+        for (int edge : prepared.sortedEdges()) {
+            if (set.componentCount() == 1) {
+                break;
+            }
+            int rootU = set.find(from[edge]);
+            int rootV = set.find(to[edge]);
+            if (rootU != rootV) {
+                set.unionRoots(rootU, rootV);
+                unions++;
+            }
+        }
+        return unions;
+    }
+
+    @Override
+    public Object newDynamicUpdates(Object graph, long seed) {
+        PreparedGraph prepared = (PreparedGraph) graph;
+        List<String> nodes = new ArrayList<>(prepared.vertexCount());
+        for (int v = 0; v < prepared.vertexCount(); v++) {
+            nodes.add(prepared.nodeName(v));
+        }
+        List<Edge> edges = new ArrayList<>(prepared.edgeCount());
+        for (int e = 0; e < prepared.edgeCount(); e++) {
+            edges.add(prepared.edge(e));
+        }
+        DynamicMST mst = new DynamicMST(new Graph(prepared.getId(), nodes, edges));
+        int[] ids = new int[prepared.edgeCount()];
+        for (int e = 0; e < ids.length; e++) {
+            ids[e] = e;
+        }
+        return new DynamicUpdates(new UpdateStream(prepared, seed), mst, ids);
+    }
+
+    @Override
+    public Object newRerunUpdates(Object graph, long seed) {
+        PreparedGraph prepared = (PreparedGraph) graph;
+        String[] names = new String[prepared.vertexCount()];
+        for (int v = 0; v < names.length; v++) {
+            names[v] = prepared.nodeName(v);
+        }
+        return new RerunUpdates(new UpdateStream(prepared, seed), prepared.getId(), names,
+                prepared.edgeFrom().clone(), prepared.edgeTo().clone(), prepared.edgeWeights().clone());
+    }
+
+    @Override
+    public double applyDynamicUpdate(Object updates) {
+        DynamicUpdates state = (DynamicUpdates) updates;
+        UpdateStream stream = state.stream();
+        int slot = stream.nextSlot();
+        if (stream.nextIsReroute()) {
+            state.mst().deleteEdge(state.ids()[slot]);
+            state.ids()[slot] = state.mst().insertEdge(stream.nodeName(stream.nextVertex()),
+                    stream.nodeName(stream.nextVertex()), stream.nextWeight());
+        } else {
+            state.mst().updateWeight(state.ids()[slot], stream.nextWeight());
+        }
+        return state.mst().getTotalCost();
+    }
+
+    @Override
+    public double applyRerunUpdate(Object updates) {
+        RerunUpdates state = (RerunUpdates) updates;
+        UpdateStream stream = state.stream();
+        int slot = stream.nextSlot();
+        if (stream.nextIsReroute()) {
+            state.from()[slot] = stream.nextVertex();
+            state.to()[slot] = stream.nextVertex();
+        }
+        state.weights()[slot] = stream.nextWeight();
+        PreparedGraph graph = PreparedGraph.fromColumns(state.id(), state.names(), state.from(), state.to(),
+                state.weights());
+        return calculator.computeKruskal(graph).getTotalCost();
+    }
+
+    /**
+     * Endless mix of weight changes and reroutes (delete an edge, insert one between two random
+     * vertices) over a fixed number of edge slots; both benchmark variants consume the same sequence.
+     */
+    private static final class UpdateStream {
+        private final Random random;
+        private final PreparedGraph graph;
+
+        UpdateStream(PreparedGraph graph, long seed) {
+            this.random = new Random(seed);
+            this.graph = graph;
+        }
+
+        int nextSlot() {
+            return random.nextInt(graph.edgeCount());
+        }
+
+        boolean nextIsReroute() {
+            return random.nextBoolean();
+        }
+
+        int nextVertex() {
+            return random.nextInt(graph.vertexCount());
+        }
+
+        String nodeName(int vertex) {
+            return graph.nodeName(vertex);
+        }
+
+        double nextWeight() {
+            return 1.0 + random.nextDouble() * 999.0;
+        }
+    }
+
+    private record DynamicUpdates(UpdateStream stream, DynamicMST mst, int[] ids) {
+    }
+
+    private record RerunUpdates(UpdateStream stream, String id, String[] names,
+                                int[] from, int[] to, double[] weights) {
+    }
+}
@@ -0,0 +1,63 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of keeping the MST current under a long random sequence of weight changes and edge reroutes:
+ * incremental maintenance with {@code DynamicMST} against recomputing Kruskal from scratch after every
+ * update. Each iteration starts from the same graph and the same seeded update sequence.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DynamicMSTBenchmark {
+
+    @Param({"1000", "5000"})
+    public int vertices;
+
+    @Param({"0.005", "0.05"})
+    public double density;
+
+    private MSTWorkload workload;
+    private Object graph;
+    private Object dynamicUpdates;
+    private Object rerunUpdates;
+
+    @Setup
+    public void setUp() {
+        workload = MSTWorkload.load();
+        graph = workload.prepareGraph(vertices, density, "uniform", 42L);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetUpdates() {
+        dynamicUpdates = workload.newDynamicUpdates(graph, 7L);
+        rerunUpdates = workload.newRerunUpdates(graph, 7L);
+    }
+
+    @Benchmark
+    public double dynamicUpdate() {
+        return workload.applyDynamicUpdate(dynamicUpdates);
+    }
+
+    @Benchmark
+    public double kruskalRerun() {
+        return workload.applyRerunUpdate(rerunUpdates);
+    }
+}
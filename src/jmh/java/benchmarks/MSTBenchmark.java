@@ -0,0 +1,76 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code computePrim}, {@code computePrimDense} and {@code computeKruskal} on prepared random
+ * graphs. Graph generation and preparation happen once per trial, outside the measured region.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MSTBenchmark {
+
+    @Param({"1000", "5000"})
+    public int vertices;
+
+    @Param({"0.005", "0.05", "0.2"})
+    public double density;
+
+    @Param({"uniform", "integer", "exponential"})
+    public String weights;
+
+    @Param({"binary"})
+    public String priorityQueue;
+
+    private MSTWorkload workload;
+    private Object graph;
+    private Object unionFind;
+
+    @Setup
+    public void setUp() {
+        workload = MSTWorkload.load();
+        graph = workload.prepareGraph(vertices, density, weights, 42L);
+        unionFind = workload.newUnionFind(workload.vertexCount(graph));
+    }
+
+    @Benchmark
+    public Object prim() {
+        return workload.prim(graph, priorityQueue);
+    }
+
+    /**
+     * Dense Prim with the Vector API kernel. The adjacency matrix is built on every invocation, so the
+     * measured time includes that O(V^2) setup as well as the tree computation.
+     */
+    @Benchmark
+    @Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+    public Object primDense() {
+        return workload.primDense(graph);
+    }
+
+    @Benchmark
+    public Object kruskal() {
+        return workload.kruskal(graph);
+    }
+
+    @Benchmark
+    public Object kruskalReusingUnionFind() {
+        return workload.kruskal(graph, unionFind);
+    }
+}
@@ -0,0 +1,77 @@
+package benchmarks;
+
+/**
+ * Bridge between the JMH benchmarks and the MST code.
+ * <p>
+ * JMH refuses benchmark classes in the default package, and classes in a named package cannot refer
+ * to default-package types, so the benchmarks talk to the MST classes through this interface. The
+ * implementation lives in the default package ({@code JmhWorkload}); graphs, union-find instances and
+ * results are passed around as {@code Object}. The interface has a single implementation, so the
+ * calls are monomorphic and the JIT inlines them.
+ */
+public interface MSTWorkload {
+
+    /**
+     * Generates a seeded random connected graph and returns it in prepared form.
+     *
+     * @param density fraction of the {@code V(V-1)/2} possible edges, never fewer than {@code V-1}
+     * @param weights weight distribution: {@code uniform}, {@code integer} or {@code exponential}
+     */
+    Object prepareGraph(int vertices, double density, String weights, long seed);
+
+    Object prim(Object graph, String priorityQueue);
+
+    /**
+     * Array-based {@code O(V²)} Prim; uses the Vector API kernel when the fork adds
+     * {@code jdk.incubator.vector}.
+     */
+    Object primDense(Object graph);
+
+    Object kruskal(Object graph);
+
+    /**
+     * Kruskal with a caller-owned union-find that is reset and reused on every call.
+     */
+    Object kruskal(Object graph, Object unionFind);
+
+    Object newUnionFind(int size);
+
+    int vertexCount(Object graph);
+
+    /**
+     * Resets {@code unionFind} and unites the endpoints of the graph's edges in sorted order until
+     * one component remains.
+     *
+     * @return the number of successful unions
+     */
+    int uniteSortedEdges(Object graph, Object unionFind);
+
+    /**
+     * Seeds a dynamic MST from {@code graph} and pairs it with a seeded random update stream.
+     */
+    Object newDynamicUpdates(Object graph, long seed);
+
+    /**
+     * Pairs a mutable copy of {@code graph}'s edge columns with the same update stream as
+     * {@link #newDynamicUpdates}, for recomputing the MST from scratch after every update.
+     */
+    Object newRerunUpdates(Object graph, long seed);
+
+    /**
+     * Applies the next update incrementally and returns the new MST cost.
+     */
+    double applyDynamicUpdate(Object updates);
+
+    /**
+     * Applies the next update to the edge columns, reruns Kruskal on them and returns the new MST cost.
+     */
+    double applyRerunUpdate(Object updates);
+
+    static MSTWorkload load() {
+        try {
+            return (MSTWorkload) Class.forName("JmhWorkload").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("JmhWorkload must be on the benchmark classpath", ex);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the disjoint-set on its own: a reset followed by the unions Kruskal's algorithm would
+ * perform. Run with {@code -prof gc} to confirm that {@code gc.alloc.rate.norm} stays at zero bytes
+ * per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class UnionFindBenchmark {
+
+    @Param({"1000", "5000"})
+    public int vertices;
+
+    @Param({"0.005", "0.05", "0.2"})
+    public double density;
+
+    @Param({"uniform", "integer", "exponential"})
+    public String weights;
+
+    private MSTWorkload workload;
+    private Object graph;
+    private Object unionFind;
+
+    @Setup
+    public void setUp() {
+        workload = MSTWorkload.load();
+        graph = workload.prepareGraph(vertices, density, weights, 42L);
+        unionFind = workload.newUnionFind(workload.vertexCount(graph));
+    }
+
+    @Benchmark
+    public int uniteSortedEdges() {
+        return workload.uniteSortedEdges(graph, unionFind);
+    }
+}
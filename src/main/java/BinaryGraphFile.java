@@ -0,0 +1,306 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only view of a {@link BinaryGraphFormat binary dataset}. Opening reads only the header and the
+ * graph index; {@link #read(int)} maps one graph's section and builds a {@link PreparedGraph} straight
+ * from its columns, without creating {@link Edge} objects. Reads may run concurrently.
+ */
+public final class BinaryGraphFile implements Closeable {
+    /**
+     * Largest mapping used to read an edge column; a single mapping cannot exceed 2 GiB.
+     */
+    static final int MAP_CHUNK_BYTES = 1 << 30;
+
+    /**
+     * Most edges {@link #read(int)} can load; a Java array holds slightly fewer than
+     * {@code Integer.MAX_VALUE} elements.
+     */
+    private static final long MAX_LOADED_EDGES = Integer.MAX_VALUE - 8;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final long[] sectionOffsets;
+    private final int mapChunkBytes;
+
+    private BinaryGraphFile(Path path, FileChannel channel, long[] sectionOffsets, int mapChunkBytes) {
+        this.path = path;
+        this.channel = channel;
+        this.sectionOffsets = sectionOffsets;
+        this.mapChunkBytes = mapChunkBytes;
+    }
+
+    static BinaryGraphFile open(Path path) throws IOException {
+        return open(path, MAP_CHUNK_BYTES);
+    }
+
+    /**
+     * Like {@link #open(Path)}, reading edge columns through mappings of at most {@code mapChunkBytes}.
+     */
+    static BinaryGraphFile open(Path path, int mapChunkBytes) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < BinaryGraphFormat.FILE_HEADER_BYTES) {
+                throw corrupt(path, "file is shorter than its header");
+            }
+            ByteBuffer header = map(channel, 0, BinaryGraphFormat.FILE_HEADER_BYTES);
+            if (header.getInt(0) != BinaryGraphFormat.MAGIC) {
+                throw corrupt(path, "missing magic number");
+            }
+            int version = header.getInt(4);
+            if (version != BinaryGraphFormat.VERSION) {
+                throw new IOException("Unsupported binary graph format version " + version + " in " + path);
+            }
+            long indexOffset = header.getLong(8);
+            if (indexOffset < BinaryGraphFormat.FILE_HEADER_BYTES || indexOffset + 8 > size) {
+                throw corrupt(path, "graph index is out of bounds");
+            }
+            int graphCount = map(channel, indexOffset, 8).getInt(0);
+            if (graphCount < 0 || indexOffset + 8 + (long) graphCount * Long.BYTES > size) {
+                throw corrupt(path, "graph index is out of bounds");
+            }
+            long[] offsets = new long[graphCount];
+            map(channel, indexOffset + 8, (long) graphCount * Long.BYTES).asLongBuffer().get(offsets);
+            for (long offset : offsets) {
+                if (offset < BinaryGraphFormat.FILE_HEADER_BYTES
+                        || offset + BinaryGraphFormat.SECTION_HEADER_BYTES > indexOffset) {
+                    throw corrupt(path, "graph section is out of bounds");
+                }
+            }
+            return new BinaryGraphFile(path, channel, offsets, mapChunkBytes);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    public int graphCount() {
+        return sectionOffsets.length;
+    }
+
+    /**
+     * Maps and decodes the graph at {@code index} (in file order).
+     *
+     * @throws IOException if the section is truncated or its columns reference unknown nodes
+     */
+    public PreparedGraph read(int index) throws IOException {
+        return read(index, false);
+    }
+
+    /**
+     * Like {@link #read(int)}, removing self-loops and parallel edges with an {@link EdgeNormalizer} if
+     * {@code normalize} is set.
+     */
+    public PreparedGraph read(int index, boolean normalize) throws IOException {
+        return read(index, normalize, EdgeSortStrategy.COMPARISON);
+    }
+
+    /**
+     * Like {@link #read(int, boolean)}, sorting the edge order with {@code sortStrategy}.
+     */
+    public PreparedGraph read(int index, boolean normalize, EdgeSortStrategy sortStrategy) throws IOException {
+        MSTPhaseEvent event = new MSTPhaseEvent();
+        event.begin();
+        Section section = section(index);
+        if (section.edgeCount() > MAX_LOADED_EDGES) {
+            throw new IOException("Graph " + section.id() + " in " + path + " has " + section.edgeCount()
+                    + " edges, more than fit in memory; stream it with edgeSource instead");
+        }
+        int edgeCount = (int) section.edgeCount();
+        int[] from = new int[edgeCount];
+        int[] to = new int[edgeCount];
+        double[] weights = new double[edgeCount];
+        readInts(section.columnsOffset(), from);
+        readInts(section.columnsOffset() + (long) Integer.BYTES * edgeCount, to);
+        readDoubles(section.weightsOffset(), weights);
+        MSTPhaseEvent.finish(event, section.id(), null, MSTPhase.LOAD);
+        try {
+            return PreparedGraph.fromColumns(section.id(), section.names(), from, to, weights, normalize,
+                    sortStrategy);
+        } catch (IllegalArgumentException ex) {
+            throw new IOException("Corrupt binary graph file " + path + ": " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Streams the edges of the graph at {@code index} in file order without loading its columns; only
+     * the node names are held in memory. The source reads through this file's channel, so it must be
+     * closed before the file is.
+     *
+     * @throws IOException if the section is truncated
+     */
+    public EdgeSource edgeSource(int index) throws IOException {
+        Section section = section(index);
+        return new ColumnEdgeSource(section);
+    }
+
+    private Section section(int index) throws IOException {
+        long offset = sectionOffsets[index];
+        ByteBuffer header = map(channel, offset, BinaryGraphFormat.SECTION_HEADER_BYTES);
+        int nodeCount = header.getInt(0);
+        int idBytes = header.getInt(4);
+        int nameTableBytes = header.getInt(8);
+        long edgeCount = header.getLong(16);
+        if (nodeCount < 0 || edgeCount < 0 || idBytes < 0 || nameTableBytes < 0) {
+            throw corrupt(path, "negative size in graph section " + index);
+        }
+        long namesOffset = offset + BinaryGraphFormat.SECTION_HEADER_BYTES;
+        long columnsOffset = BinaryGraphFormat.align8(namesOffset + idBytes + nameTableBytes);
+        // Dividing instead of multiplying keeps a corrupt edge count from overflowing the bounds check.
+        if (edgeCount > (channel.size() - columnsOffset) / (2 * Integer.BYTES + Double.BYTES)) {
+            throw corrupt(path, "graph section " + index + " is truncated");
+        }
+        long weightsOffset = BinaryGraphFormat.align8(columnsOffset + 2L * Integer.BYTES * edgeCount);
+        if (weightsOffset + (long) Double.BYTES * edgeCount > channel.size()) {
+            throw corrupt(path, "graph section " + index + " is truncated");
+        }
+
+        if ((long) idBytes + nameTableBytes > Integer.MAX_VALUE) {
+            throw new IOException("Node table of graph section " + index + " in " + path + " is larger than 2 GiB");
+        }
+        ByteBuffer text = map(channel, namesOffset, (long) idBytes + nameTableBytes);
+        String id = decode(text, idBytes);
+        String[] names = new String[nodeCount];
+        for (int v = 0; v < nodeCount; v++) {
+            if (text.remaining() < Integer.BYTES) {
+                throw corrupt(path, "node table of graph section " + index + " is truncated");
+            }
+            int length = text.getInt();
+            if (length < 0 || length > text.remaining()) {
+                throw corrupt(path, "node table of graph section " + index + " is truncated");
+            }
+            names[v] = decode(text, length);
+        }
+        return new Section(id, names, edgeCount, columnsOffset, weightsOffset);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Fills {@code target} from the column at {@code offset}, one mapping of at most
+     * {@code mapChunkBytes} at a time, so columns larger than a single mapping can be read.
+     */
+    private void readInts(long offset, int[] target) throws IOException {
+        int chunk = mapChunkBytes / Integer.BYTES;
+        for (int start = 0; start < target.length; start += chunk) {
+            int count = Math.min(chunk, target.length - start);
+            map(channel, offset + (long) Integer.BYTES * start, (long) Integer.BYTES * count)
+                    .asIntBuffer().get(target, start, count);
+        }
+    }
+
+    private void readDoubles(long offset, double[] target) throws IOException {
+        int chunk = mapChunkBytes / Double.BYTES;
+        for (int start = 0; start < target.length; start += chunk) {
+            int count = Math.min(chunk, target.length - start);
+            map(channel, offset + (long) Double.BYTES * start, (long) Double.BYTES * count)
+                    .asDoubleBuffer().get(target, start, count);
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long offset, long length) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private static String decode(ByteBuffer buffer, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static IOException corrupt(Path path, String reason) {
+        return new IOException("Corrupt binary graph file " + path + ": " + reason);
+    }
+
+    private record Section(String id, String[] names, long edgeCount, long columnsOffset, long weightsOffset) {
+    }
+
+    /**
+     * Reads the three edge columns in lock step through one small direct buffer with positional reads,
+     * so columns larger than a single mapping can be streamed.
+     */
+    private final class ColumnEdgeSource implements EdgeSource {
+        private static final int BATCH_EDGES = 8192;
+
+        private final Section section;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BATCH_EDGES * Double.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        private long position;
+
+        ColumnEdgeSource(Section section) {
+            this.section = section;
+        }
+
+        @Override
+        public String getId() {
+            return section.id();
+        }
+
+        @Override
+        public int vertexCount() {
+            return section.names().length;
+        }
+
+        @Override
+        public long edgeCount() {
+            return section.edgeCount();
+        }
+
+        @Override
+        public String nodeName(int vertex) {
+            return section.names()[vertex];
+        }
+
+        @Override
+        public int read(int[] from, int[] to, double[] weights, int offset, int length) throws IOException {
+            long edgeCount = section.edgeCount();
+            int count = (int) Math.min(Math.min(length, BATCH_EDGES), edgeCount - position);
+            if (count <= 0) {
+                return 0;
+            }
+            fill(section.columnsOffset() + Integer.BYTES * position, count * Integer.BYTES);
+            buffer.asIntBuffer().get(from, offset, count);
+            fill(section.columnsOffset() + Integer.BYTES * (edgeCount + position), count * Integer.BYTES);
+            buffer.asIntBuffer().get(to, offset, count);
+            fill(section.weightsOffset() + Double.BYTES * position, count * Double.BYTES);
+            buffer.asDoubleBuffer().get(weights, offset, count);
+            int vertexCount = vertexCount();
+            for (int i = offset; i < offset + count; i++) {
+                if (from[i] < 0 || from[i] >= vertexCount || to[i] < 0 || to[i] >= vertexCount) {
+                    throw corrupt(path, "edge " + (position + i - offset) + " of graph " + section.id()
+                            + " references an unknown node");
+                }
+            }
+            position += count;
+            return count;
+        }
+
+        private void fill(long fileOffset, int bytes) throws IOException {
+            buffer.clear().limit(bytes);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, fileOffset + buffer.position()) < 0) {
+                    throw corrupt(path, "graph section of " + section.id() + " is truncated");
+                }
+            }
+            buffer.flip();
+        }
+
+        @Override
+        public void close() {
+            // The channel belongs to the enclosing file.
+        }
+    }
+}
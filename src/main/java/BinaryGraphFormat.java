@@ -0,0 +1,77 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Compact binary dataset format that can be read with {@link FileChannel#map} instead of parsing JSON.
+ * <p>
+ * All numbers are little-endian. A file starts with a 24-byte header ({@code "MSTG"}, format version,
+ * offset of the graph index, 8 reserved bytes) followed by one section per graph and finally the index
+ * ({@code int} graph count, 4 padding bytes, one {@code long} section offset per graph). Each section
+ * holds a 24-byte header ({@code int} node count, id length and node table length, 4 padding bytes,
+ * {@code long} edge count), the UTF-8 graph id, the node table (length-prefixed UTF-8 names) and,
+ * 8-byte aligned, three fixed-width edge columns: {@code int} from-ids, {@code int} to-ids and
+ * {@code double} weights.
+ */
+public final class BinaryGraphFormat {
+    static final int MAGIC = 0x4754534D;
+    static final int VERSION = 2;
+    static final int FILE_HEADER_BYTES = 24;
+    static final int SECTION_HEADER_BYTES = 24;
+
+    private BinaryGraphFormat() {
+    }
+
+    /**
+     * Converts a JSON dataset: {@code java BinaryGraphFormat <input.json> <output.mstg>}.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: BinaryGraphFormat <input.json> <output.mstg>");
+            System.exit(2);
+        }
+        int graphs = convert(Path.of(args[0]), Path.of(args[1]));
+        System.out.println("Wrote " + graphs + " graphs to " + args[1]);
+    }
+
+    /**
+     * Returns {@code true} if {@code path} starts with the binary format's magic number.
+     */
+    public static boolean isBinary(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            while (magic.hasRemaining()) {
+                if (channel.read(magic) < 0) {
+                    return false;
+                }
+            }
+            return magic.getInt(0) == MAGIC;
+        }
+    }
+
+    /**
+     * Opens a binary dataset. Graphs are mapped and decoded only when {@link BinaryGraphFile#read(int)}
+     * is called. The caller must close the returned file.
+     */
+    public static BinaryGraphFile open(Path path) throws IOException {
+        return BinaryGraphFile.open(path);
+    }
+
+    /**
+     * Streams the JSON dataset at {@code json} into a binary dataset at {@code binary}. Edges are parsed
+     * one at a time and spilled next to {@code binary}, so only the current graph's node names are held
+     * in memory; see {@link JsonToBinaryConverter}.
+     *
+     * @return the number of graphs written
+     */
+    public static int convert(Path json, Path binary) throws IOException {
+        return JsonToBinaryConverter.convert(json, binary);
+    }
+
+    static long align8(long position) {
+        return (position + 7) & ~7L;
+    }
+}
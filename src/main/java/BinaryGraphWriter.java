@@ -0,0 +1,223 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Writes graphs to a file in the {@link BinaryGraphFormat binary dataset format}. The graph index is
+ * appended and the header completed when the writer is closed.
+ */
+public class BinaryGraphWriter implements Closeable {
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private final List<Long> sectionOffsets = new ArrayList<>();
+    private long position;
+    private boolean closed;
+
+    public BinaryGraphWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        // The index offset is patched in on close.
+        buffer.putInt(BinaryGraphFormat.MAGIC)
+                .putInt(BinaryGraphFormat.VERSION)
+                .putLong(0L)
+                .putLong(0L);
+        position = BinaryGraphFormat.FILE_HEADER_BYTES;
+    }
+
+    /**
+     * Appends {@code graph}. Node ids are assigned in node-list order with duplicates collapsed, the
+     * same numbering {@link PreparedGraph#of(Graph)} uses. A {@link ColumnarGraph} is written straight
+     * from its columns.
+     *
+     * @throws IllegalArgumentException if an edge references a node that is not listed in the graph
+     */
+    public void write(Graph graph) throws IOException {
+        if (graph instanceof ColumnarGraph columnar) {
+            write(columnar);
+            return;
+        }
+        Map<String, Integer> index = new HashMap<>(Math.max(16, graph.getNodes().size() * 2));
+        List<String> names = new ArrayList<>(graph.getNodes().size());
+        for (String node : graph.getNodes()) {
+            if (index.putIfAbsent(node, names.size()) == null) {
+                names.add(node);
+            }
+        }
+        List<Edge> edges = graph.getEdges();
+        int[] from = new int[edges.size()];
+        int[] to = new int[edges.size()];
+        for (int e = 0; e < edges.size(); e++) {
+            from[e] = resolve(index, edges.get(e).getFrom(), graph.getId());
+            to[e] = resolve(index, edges.get(e).getTo(), graph.getId());
+        }
+        writeSection(graph.getId(), names, from, to, e -> edges.get(e).getWeight());
+    }
+
+    private void write(ColumnarGraph graph) throws IOException {
+        int nodes = graph.distinctNodes();
+        int[] from = graph.edgeFrom();
+        int[] to = graph.edgeTo();
+        for (int e = 0; e < from.length; e++) {
+            int unknown = from[e] >= nodes ? from[e] : to[e] >= nodes ? to[e] : -1;
+            if (unknown >= 0) {
+                throw new IllegalArgumentException("Edge references unknown node '" + graph.nodeName(unknown)
+                        + "' in graph " + graph.getId());
+            }
+        }
+        List<String> names = new ArrayList<>(nodes);
+        for (int v = 0; v < nodes; v++) {
+            names.add(graph.nodeName(v));
+        }
+        double[] weights = graph.edgeWeights();
+        writeSection(graph.getId(), names, from, to, e -> weights[e]);
+    }
+
+    private void writeSection(String graphId, List<String> nodes, int[] from, int[] to, IntToDoubleFunction weights)
+            throws IOException {
+        beginSection(graphId, nodes, from.length);
+        for (int value : from) {
+            putInt(value);
+        }
+        for (int value : to) {
+            putInt(value);
+        }
+        padTo8();
+        for (int e = 0; e < from.length; e++) {
+            putDouble(weights.applyAsDouble(e));
+        }
+    }
+
+    /**
+     * Starts a section for a graph with {@code edgeCount} edges, writing its header, id and node table.
+     * The caller must then write the from-ids and to-ids with {@link #putInt(int)}, {@link #padTo8()},
+     * and the weights with {@link #putDouble(double)}, exactly {@code edgeCount} values per column.
+     */
+    void beginSection(String graphId, List<String> nodes, long edgeCount) throws IOException {
+        List<byte[]> names = new ArrayList<>(nodes.size());
+        long nameTableBytes = 0;
+        for (String node : nodes) {
+            byte[] name = node.getBytes(StandardCharsets.UTF_8);
+            names.add(name);
+            nameTableBytes += Integer.BYTES + name.length;
+        }
+        byte[] id = graphId.getBytes(StandardCharsets.UTF_8);
+        if (nameTableBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Node table of graph " + graphId + " is too large");
+        }
+
+        padTo8();
+        sectionOffsets.add(position);
+        putInt(names.size());
+        putInt(id.length);
+        putInt((int) nameTableBytes);
+        putInt(0);
+        putLong(edgeCount);
+        putBytes(id);
+        for (byte[] name : names) {
+            putInt(name.length);
+            putBytes(name);
+        }
+        padTo8();
+    }
+
+    public int graphCount() {
+        return sectionOffsets.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            padTo8();
+            long indexOffset = position;
+            putInt(sectionOffsets.size());
+            putInt(0);
+            for (long offset : sectionOffsets) {
+                putLong(offset);
+            }
+            flush();
+            ByteBuffer patch = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            patch.putLong(0, indexOffset);
+            while (patch.hasRemaining()) {
+                channel.write(patch, 8 + patch.position());
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    private static int resolve(Map<String, Integer> index, String node, String graphId) {
+        Integer id = index.get(node);
+        if (id == null) {
+            throw new IllegalArgumentException("Edge references unknown node '" + node + "' in graph " + graphId);
+        }
+        return id;
+    }
+
+    void putInt(int value) throws IOException {
+        ensure(Integer.BYTES);
+        buffer.putInt(value);
+        position += Integer.BYTES;
+    }
+
+    void putDouble(double value) throws IOException {
+        ensure(Double.BYTES);
+        buffer.putDouble(value);
+        position += Double.BYTES;
+    }
+
+    private void putLong(long value) throws IOException {
+        ensure(Long.BYTES);
+        buffer.putLong(value);
+        position += Long.BYTES;
+    }
+
+    private void putBytes(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            ensure(1);
+            int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, chunk);
+            offset += chunk;
+        }
+        position += bytes.length;
+    }
+
+    void padTo8() throws IOException {
+        long aligned = BinaryGraphFormat.align8(position);
+        while (position < aligned) {
+            ensure(1);
+            buffer.put((byte) 0);
+            position++;
+        }
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,83 @@
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * {@link Graph} whose edges are stored as primitive columns over interned node ids instead of
+ * {@link Edge} objects: two {@code int}s and a {@code double} per edge, with every node name held once.
+ * {@link #getEdges()} is a read-only view that creates an {@code Edge} each time an element is read.
+ * <p>
+ * Built by {@link ColumnarGraphDeserializer} for every graph read from JSON, and prepared by
+ * {@link PreparedGraph#of(Graph, boolean)} straight from its columns.
+ */
+public final class ColumnarGraph extends Graph {
+    private final String[] names;
+    private final int distinctNodes;
+    private final int[] from;
+    private final int[] to;
+    private final double[] weights;
+    private final List<Edge> edgeView = new EdgeView();
+
+    /**
+     * @param names         the distinct node names in first-occurrence order, followed by names that only
+     *                      appear on edges
+     * @param distinctNodes number of leading {@code names} that are listed nodes
+     */
+    ColumnarGraph(String id, List<String> nodes, String[] names, int distinctNodes,
+                  int[] from, int[] to, double[] weights) {
+        super(id, nodes, null);
+        this.names = names;
+        this.distinctNodes = distinctNodes;
+        this.from = from;
+        this.to = to;
+        this.weights = weights;
+    }
+
+    @Override
+    public List<Edge> getEdges() {
+        return edgeView;
+    }
+
+    @Override
+    public int edgeCount() {
+        return from.length;
+    }
+
+    String nodeName(int id) {
+        return names[id];
+    }
+
+    /**
+     * Ids below this bound are listed nodes; larger ids are names that only appear on edges.
+     */
+    int distinctNodes() {
+        return distinctNodes;
+    }
+
+    /**
+     * Column arrays are shared, not copied, and must not be modified.
+     */
+    int[] edgeFrom() {
+        return from;
+    }
+
+    int[] edgeTo() {
+        return to;
+    }
+
+    double[] edgeWeights() {
+        return weights;
+    }
+
+    private final class EdgeView extends AbstractList<Edge> implements RandomAccess {
+        @Override
+        public Edge get(int index) {
+            return new Edge(names[from[index]], names[to[index]], weights[index]);
+        }
+
+        @Override
+        public int size() {
+            return from.length;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.deser.impl.NullsConstantProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads a graph object ({@code id}, {@code nodes}, {@code edges}) into a {@link ColumnarGraph}: each
+ * edge's endpoint names are interned to ids as they are parsed and only the id and weight columns are
+ * kept, so no {@link Edge} and no per-edge name strings outlive the parse.
+ * <p>
+ * Values are coerced like the standard deserializers would bind {@link Graph} and {@link Edge}, and
+ * unknown properties are reported according to the mapper's configuration. The fields may appear in
+ * any order; edge endpoints are renumbered to the node list once the whole object has been read.
+ */
+final class ColumnarGraphDeserializer extends StdDeserializer<Graph> {
+    private static final long serialVersionUID = 1L;
+    private static final int INITIAL_EDGE_CAPACITY = 16;
+
+    ColumnarGraphDeserializer() {
+        super(Graph.class);
+    }
+
+    @Override
+    public Graph deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = parser.nextToken();
+        }
+        String id = null;
+        List<String> nodes = null;
+        EdgeColumns edges = new EdgeColumns();
+        for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "id" -> id = _parseString(parser, context, NullsConstantProvider.nuller());
+                case "nodes" -> nodes = readNodes(parser, context);
+                case "edges" -> readEdges(parser, context, edges);
+                default -> handleUnknownProperty(parser, context, Graph.class, field);
+            }
+        }
+        if (token != JsonToken.END_OBJECT) {
+            return (Graph) context.handleUnexpectedToken(Graph.class, parser);
+        }
+        return edges.toGraph(id, nodes);
+    }
+
+    private List<String> readNodes(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        JavaType type = context.getTypeFactory().constructCollectionType(List.class, String.class);
+        List<String> nodes = context.readValue(parser, type);
+        if (nodes.contains(null)) {
+            context.reportInputMismatch(this, "Node names must not be null");
+        }
+        return nodes;
+    }
+
+    private void readEdges(JsonParser parser, DeserializationContext context, EdgeColumns edges)
+            throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return;
+        }
+        if (token != JsonToken.START_ARRAY) {
+            context.handleUnexpectedToken(List.class, parser);
+            return;
+        }
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                context.handleUnexpectedToken(Edge.class, parser);
+                continue;
+            }
+            String from = null;
+            String to = null;
+            double weight = 0.0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "from" -> from = _parseString(parser, context, NullsConstantProvider.nuller());
+                    case "to" -> to = _parseString(parser, context, NullsConstantProvider.nuller());
+                    case "weight" -> weight = _parseDoublePrimitive(parser, context);
+                    default -> handleUnknownProperty(parser, context, Edge.class, field);
+                }
+            }
+            edges.add(from, to, weight);
+        }
+    }
+
+    /**
+     * Growable edge columns over names interned in parse order.
+     */
+    private static final class EdgeColumns {
+        private final Map<String, Integer> index = new HashMap<>();
+        private String[] names = new String[INITIAL_EDGE_CAPACITY];
+        private int nameCount;
+        private int[] from = new int[INITIAL_EDGE_CAPACITY];
+        private int[] to = new int[INITIAL_EDGE_CAPACITY];
+        private double[] weights = new double[INITIAL_EDGE_CAPACITY];
+        private int size;
+
+        void add(String fromName, String toName, double weight) {
+            if (size == from.length) {
+                int capacity = size + (size >> 1);
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+            from[size] = intern(fromName);
+            to[size] = intern(toName);
+            weights[size] = weight;
+            size++;
+        }
+
+        private int intern(String name) {
+            Integer id = index.get(name);
+            if (id != null) {
+                return id;
+            }
+            if (nameCount == names.length) {
+                names = Arrays.copyOf(names, nameCount + (nameCount >> 1));
+            }
+            names[nameCount] = name;
+            index.put(name, nameCount);
+            return nameCount++;
+        }
+
+        /**
+         * Renumbers the endpoints so listed nodes take ids {@code 0..distinct-1} in list order and names
+         * missing from the list follow them.
+         */
+        ColumnarGraph toGraph(String id, List<String> nodes) {
+            Map<String, Integer> nodeIds = new HashMap<>();
+            if (nodes != null) {
+                for (String node : nodes) {
+                    nodeIds.putIfAbsent(node, nodeIds.size());
+                }
+            }
+            int distinct = nodeIds.size();
+            String[] ordered = new String[distinct + nameCount];
+            nodeIds.forEach((name, nodeId) -> ordered[nodeId] = name);
+            int next = distinct;
+            int[] renumber = new int[nameCount];
+            for (int i = 0; i < nameCount; i++) {
+                Integer nodeId = nodeIds.get(names[i]);
+                if (nodeId == null) {
+                    nodeId = next;
+                    ordered[next++] = names[i];
+                }
+                renumber[i] = nodeId;
+            }
+            int[] fromIds = new int[size];
+            int[] toIds = new int[size];
+            for (int e = 0; e < size; e++) {
+                fromIds[e] = renumber[from[e]];
+                toIds[e] = renumber[to[e]];
+            }
+            return new ColumnarGraph(String.valueOf(id), nodes, Arrays.copyOf(ordered, next), distinct,
+                    fromIds, toIds, Arrays.copyOf(weights, size));
+        }
+    }
+}
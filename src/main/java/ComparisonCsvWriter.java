@@ -0,0 +1,188 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Appends rows to {@code comparison.csv} one {@link GraphComputationResult} at a time, flushing after
+ * every row.
+ * <p>
+ * Prim and Kruskal keep the original leading columns, followed by Prim's heap statistics, one column
+ * group per additional algorithm, the {@link PhaseTimings phase times} of every algorithm and finally
+ * the {@link MemoryStats allocated and retained bytes} of every algorithm. Missing results, unmeasured
+ * phases and unavailable allocation counters leave their cells empty. Decimals are written with
+ * three fraction digits exactly as {@code String.format(Locale.US, "%.3f", value)} would print them.
+ */
+public class ComparisonCsvWriter implements Closeable {
+    /**
+     * Algorithms written as trailing column groups; Prim and Kruskal keep the original leading columns.
+     */
+    private static final List<MSTAlgorithm> ADDITIONAL_ALGORITHMS = Arrays.stream(MSTAlgorithm.values())
+            .filter(algorithm -> algorithm != MSTAlgorithm.PRIM && algorithm != MSTAlgorithm.KRUSKAL)
+            .toList();
+
+    /**
+     * Largest scaled value {@code |value| * 1000} for which the product's rounding error stays far below
+     * {@link #HALF_MARGIN}.
+     */
+    private static final double FAST_PATH_LIMIT = 1e12;
+    private static final double HALF_MARGIN = 1e-3;
+
+    private final Writer writer;
+    private final StringBuilder row = new StringBuilder(256);
+    private boolean closed;
+
+    ComparisonCsvWriter(Writer writer) throws IOException {
+        this.writer = writer;
+        row.append("graph_id,prim_total_cost,kruskal_total_cost,prim_execution_time_ms,kruskal_execution_time_ms,"
+                + "prim_comparisons,prim_updates,prim_unions,prim_operations,"
+                + "kruskal_comparisons,kruskal_updates,kruskal_unions,kruskal_operations,"
+                + "prim_priority_queue,prim_heap_inserts,prim_heap_decrease_keys,prim_heap_extractions,"
+                + "prim_heap_comparisons");
+        for (MSTAlgorithm algorithm : ADDITIONAL_ALGORITHMS) {
+            String key = algorithm.getKey();
+            row.append(',').append(key).append("_total_cost,").append(key).append("_execution_time_ms,")
+                    .append(key).append("_comparisons,").append(key).append("_updates,")
+                    .append(key).append("_unions,").append(key).append("_operations");
+        }
+        for (MSTAlgorithm algorithm : MSTAlgorithm.values()) {
+            for (MSTPhase phase : MSTPhase.values()) {
+                row.append(',').append(algorithm.getKey()).append('_').append(phase.getKey()).append("_ms");
+            }
+        }
+        for (MSTAlgorithm algorithm : MSTAlgorithm.values()) {
+            String key = algorithm.getKey();
+            row.append(',').append(key).append("_allocated_bytes,").append(key).append("_retained_bytes");
+        }
+        flushRow();
+    }
+
+    public void write(GraphComputationResult result) throws IOException {
+        MSTResult prim = result.getPrimResult();
+        MSTResult kruskal = result.getKruskalResult();
+        row.append(result.getGraphId());
+        decimalColumn(prim == null ? null : prim.getTotalCost());
+        decimalColumn(kruskal == null ? null : kruskal.getTotalCost());
+        decimalColumn(prim == null ? null : prim.getExecutionTimeMs());
+        decimalColumn(kruskal == null ? null : kruskal.getExecutionTimeMs());
+        counterColumns(prim);
+        counterColumns(kruskal);
+        heapColumns(prim == null ? null : prim.getHeapStats());
+        for (MSTAlgorithm algorithm : ADDITIONAL_ALGORITHMS) {
+            MSTResult additional = result.getResult(algorithm);
+            decimalColumn(additional == null ? null : additional.getTotalCost());
+            decimalColumn(additional == null ? null : additional.getExecutionTimeMs());
+            counterColumns(additional);
+        }
+        for (MSTAlgorithm algorithm : MSTAlgorithm.values()) {
+            MSTResult mst = result.getResult(algorithm);
+            PhaseTimings phases = mst == null ? null : mst.getPhases();
+            for (MSTPhase phase : MSTPhase.values()) {
+                decimalColumn(phases == null ? null : phases.get(phase));
+            }
+        }
+        for (MSTAlgorithm algorithm : MSTAlgorithm.values()) {
+            MSTResult mst = result.getResult(algorithm);
+            memoryColumns(mst == null ? null : mst.getMemory());
+        }
+        flushRow();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            writer.close();
+        }
+    }
+
+    private void flushRow() throws IOException {
+        row.append('\n');
+        writer.append(row);
+        writer.flush();
+        row.setLength(0);
+    }
+
+    private void decimalColumn(Double value) {
+        row.append(',');
+        if (value != null) {
+            appendFixed3(row, value);
+        }
+    }
+
+    private void counterColumns(MSTResult result) {
+        if (result == null) {
+            row.append(",,,,");
+            return;
+        }
+        row.append(',').append(result.getComparisonsCount())
+                .append(',').append(result.getUpdatesCount())
+                .append(',').append(result.getUnionsCount())
+                .append(',').append(result.getOperationsCount());
+    }
+
+    private void memoryColumns(MemoryStats memory) {
+        if (memory == null) {
+            row.append(",,");
+            return;
+        }
+        row.append(',');
+        if (memory.getAllocatedBytes() != null) {
+            row.append(memory.getAllocatedBytes());
+        }
+        row.append(',').append(memory.getRetainedBytes());
+    }
+
+    private void heapColumns(HeapStats heap) {
+        if (heap == null) {
+            row.append(",,,,,");
+            return;
+        }
+        row.append(',').append(heap.getPriorityQueue())
+                .append(',').append(heap.getInserts())
+                .append(',').append(heap.getDecreaseKeys())
+                .append(',').append(heap.getExtractions())
+                .append(',').append(heap.getComparisons());
+    }
+
+    /**
+     * Appends {@code value} with three fraction digits, rounding half up like {@link java.util.Formatter}.
+     * Non-negative values whose scaled fraction is clearly away from {@code .5} are rounded with plain
+     * arithmetic; everything else (ties, negative numbers, huge or non-finite values) goes through the
+     * shortest decimal representation, which is what {@code Formatter} rounds.
+     */
+    static void appendFixed3(StringBuilder out, double value) {
+        double scaled = value * 1000.0;
+        if (Double.doubleToRawLongBits(value) >= 0 && scaled < FAST_PATH_LIMIT) {
+            double floor = Math.floor(scaled);
+            double fraction = scaled - floor;
+            if (Math.abs(fraction - 0.5) > HALF_MARGIN) {
+                long units = (long) floor + (fraction > 0.5 ? 1 : 0);
+                long fractionDigits = units % 1000;
+                out.append(units / 1000).append('.');
+                if (fractionDigits < 100) {
+                    out.append('0');
+                }
+                if (fractionDigits < 10) {
+                    out.append('0');
+                }
+                out.append(fractionDigits);
+                return;
+            }
+        }
+        if (Double.isFinite(value)) {
+            String rounded = new BigDecimal(Double.toString(value)).setScale(3, RoundingMode.HALF_UP).toPlainString();
+            if (Double.doubleToRawLongBits(value) < 0 && rounded.charAt(0) != '-') {
+                // BigDecimal has no negative zero; Formatter keeps the sign of -0.0 and of tiny negatives.
+                out.append('-');
+            }
+            out.append(rounded);
+        } else {
+            out.append(String.format(Locale.US, "%.3f", value));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Lock-free disjoint-set forest for use by several threads at once.
+ * <p>
+ * {@link #find(int)} halves paths with compare-and-set and {@link #union(int, int)} always links
+ * the root with the larger id below the smaller one, so concurrent unions can never form a cycle.
+ */
+public class ConcurrentDisjointSet {
+    private final AtomicIntegerArray parent;
+
+    public ConcurrentDisjointSet(int size) {
+        parent = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            parent.set(i, i);
+        }
+    }
+
+    public int find(int element) {
+        int current = element;
+        while (true) {
+            int p = parent.get(current);
+            if (p == current) {
+                return current;
+            }
+            int grandparent = parent.get(p);
+            if (p != grandparent) {
+                parent.compareAndSet(current, p, grandparent);
+            }
+            current = grandparent;
+        }
+    }
+
+    /**
+     * Merges the sets containing {@code a} and {@code b}.
+     *
+     * @return {@code true} if this call performed the merge, {@code false} if the elements were
+     * already in the same set
+     */
+    public boolean union(int a, int b) {
+        while (true) {
+            int rootA = find(a);
+            int rootB = find(b);
+            if (rootA == rootB) {
+                return false;
+            }
+            int child = Math.max(rootA, rootB);
+            int root = Math.min(rootA, rootB);
+            if (parent.compareAndSet(child, child, root)) {
+                return true;
+            }
+        }
+    }
+
+    public boolean connected(int a, int b) {
+        while (true) {
+            int rootA = find(a);
+            int rootB = find(b);
+            if (rootA == rootB) {
+                return true;
+            }
+            if (parent.get(rootA) == rootA) {
+                return false;
+            }
+        }
+    }
+
+    public int size() {
+        return parent.length();
+    }
+}
@@ -0,0 +1,50 @@
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Locale;
+
+/**
+ * How an {@link OperationCounter} records operations.
+ */
+public enum CountingMode {
+    /**
+     * Counting is switched off: counter increments are empty methods, priority queues skip their own
+     * counters behind a final flag, and Prim reports no heap statistics. This is cheap but not free. The
+     * JIT removes an empty increment only where the call site has seen this counter class alone; a call
+     * site that also sees a counting class, for example under {@code mst.separateCounting}, which runs
+     * the same code with both, stays a type-checked bimorphic call. The queues' flag checks remain
+     * as well-predicted branches.
+     */
+    DISABLED("disabled"),
+    /**
+     * Plain {@code long} fields, for counters confined to one thread.
+     */
+    PLAIN("plain"),
+    /**
+     * {@link java.util.concurrent.atomic.LongAdder} cells, for counters shared by parallel algorithms.
+     */
+    STRIPED("striped");
+
+    private final String key;
+
+    CountingMode(String key) {
+        this.key = key;
+    }
+
+    @JsonValue
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code value} names no mode
+     */
+    public static CountingMode fromKey(String value) {
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        for (CountingMode mode : values()) {
+            if (mode.key.equals(normalized)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown counting mode '" + value + "'");
+    }
+}
@@ -0,0 +1,39 @@
+/**
+ * Inner loops of the dense {@code O(V²)} Prim variant: the minimum search over the key array and the
+ * relaxation of one adjacency-matrix row. Vertices already in the tree have key
+ * {@link Double#POSITIVE_INFINITY} and are masked out of relaxation by {@code inTree}.
+ * <p>
+ * {@link #detect()} returns the {@code jdk.incubator.vector} implementation when that module is
+ * resolved (run with {@code --add-modules jdk.incubator.vector}) and the scalar one otherwise. Both
+ * make identical choices, so the tree does not depend on the kernel.
+ */
+interface DensePrimKernel {
+
+    /**
+     * Returns the lowest index holding the minimum of {@code key[0..length-1]}, or {@code -1} if every
+     * key is infinite.
+     */
+    int argMin(double[] key, int length);
+
+    /**
+     * Lowers {@code key[v]} to {@code row[rowOffset + v]} for every vertex not in the tree where that is
+     * smaller, recording {@code rowEdges[rowOffset + v]} as its parent edge.
+     *
+     * @return the number of keys lowered
+     */
+    int relax(double[] row, int[] rowEdges, int rowOffset, double[] key, int[] parentEdge, boolean[] inTree,
+              int length);
+
+    String name();
+
+    static DensePrimKernel detect() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (DensePrimKernel) Class.forName("VectorDensePrimKernel").getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError ex) {
+                // Fall through to the scalar kernel.
+            }
+        }
+        return new ScalarDensePrimKernel();
+    }
+}
@@ -0,0 +1,124 @@
+/**
+ * Array-backed disjoint-set forest over the elements {@code 0..size-1} using union by size and
+ * iterative path halving.
+ * <p>
+ * {@link #reset(int)} reinitialises the structure for another graph and only reallocates when the
+ * requested size exceeds the current capacity, so one instance can be reused across many runs.
+ * No method allocates after construction.
+ */
+public final class DisjointSet {
+    private int[] parent;
+    private int[] setSize;
+    private int size;
+    private int components;
+
+    public DisjointSet(int size) {
+        parent = new int[size];
+        setSize = new int[size];
+        reset(size);
+    }
+
+    /**
+     * Makes every element {@code 0..size-1} a singleton set again.
+     */
+    public void reset(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Disjoint set size must not be negative but was " + size);
+        }
+        if (size > parent.length) {
+            parent = new int[size];
+            setSize = new int[size];
+        }
+        for (int i = 0; i < size; i++) {
+            parent[i] = i;
+            setSize[i] = 1;
+        }
+        this.size = size;
+        this.components = size;
+    }
+
+    public int find(int element) {
+        checkElement(element);
+        int current = element;
+        while (parent[current] != current) {
+            int grandparent = parent[parent[current]];
+            parent[current] = grandparent;
+            current = grandparent;
+        }
+        return current;
+    }
+
+    /**
+     * Returns the root of {@code element} without compressing the path. Unlike {@link #find(int)} this
+     * never writes, so several threads may call it concurrently while no unions are in progress.
+     */
+    public int findRoot(int element) {
+        checkElement(element);
+        int current = element;
+        while (parent[current] != current) {
+            current = parent[current];
+        }
+        return current;
+    }
+
+    /**
+     * Merges the sets containing {@code a} and {@code b}.
+     *
+     * @return {@code true} if the elements were in different sets
+     */
+    public boolean union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) {
+            return false;
+        }
+        unionRoots(rootA, rootB);
+        return true;
+    }
+
+    /**
+     * Links two distinct roots previously returned by {@link #find(int)} without searching again.
+     *
+     * @return the root of the merged set
+     */
+    public int unionRoots(int rootA, int rootB) {
+        if (rootA == rootB || parent[rootA] != rootA || parent[rootB] != rootB) {
+            throw new IllegalArgumentException("Expected two distinct roots but got " + rootA + " and " + rootB);
+        }
+        if (setSize[rootA] < setSize[rootB]) {
+            int swap = rootA;
+            rootA = rootB;
+            rootB = swap;
+        }
+        parent[rootB] = rootA;
+        setSize[rootA] += setSize[rootB];
+        components--;
+        return rootA;
+    }
+
+    public boolean connected(int a, int b) {
+        return find(a) == find(b);
+    }
+
+    public int setSize(int element) {
+        return setSize[find(element)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return parent.length;
+    }
+
+    public int componentCount() {
+        return components;
+    }
+
+    private void checkElement(int element) {
+        if (element < 0 || element >= size) {
+            throw new IndexOutOfBoundsException("Element " + element + " is outside 0.." + (size - 1));
+        }
+    }
+}
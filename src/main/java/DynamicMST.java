@@ -0,0 +1,610 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimum spanning forest that is kept up to date while edges are inserted, deleted and re-weighted.
+ * <p>
+ * The forest is held in a {@link LinkCutTree} in which every edge is a node of its own, so the heaviest
+ * tree edge on a path is found in amortized {@code O(log V)}; inserting an edge and lowering a weight only
+ * need that query. Deleting a tree edge or raising its weight needs the lightest edge across the cut, found
+ * with the levels of Holm, de Lichtenberg and Thorup: every edge has a level of at most {@code log2 V}, the
+ * tree edges of level {@code i} and above form a forest of trees with at most {@code V / 2^i} vertices, kept
+ * as an {@link EulerTourForest}, and a non-tree edge of level {@code i} joins two vertices of one such tree.
+ * The search scans only the smaller side of the cut on each level, in weight order, and every non-tree edge
+ * it passes without crossing moves up a level, so an edge is passed at most {@code log2 V} times until it
+ * is used or its level drops. Levels drop only when inserted or re-weighted edges left a lighter crossing
+ * edge below heavier ones; the search then links the lightest and moves the others down to its level.
+ * Each edge looked at costs {@code O(log V)}, so a deletion is {@code O(log^2 V)} amortized plus that cost
+ * for the edges it moves down. Edges are ordered by weight and then by id, so the forest is always the
+ * unique minimum one.
+ * <p>
+ * Edge ids of the seed graph are the indices of its edge list; ids of deleted edges are reused by later
+ * insertions. Instances are not thread-safe.
+ */
+public final class DynamicMST {
+    private static final byte ABSENT = 0;
+    private static final byte TREE = 1;
+    private static final byte NON_TREE = 2;
+    private static final int NONE = -1;
+
+    private final String[] nodeNames;
+    private final Map<String, Integer> nodeIndex;
+    private final LinkCutTree forest;
+    private final EulerTourForest[] levelForests;
+    private final int[][] incidences;
+    private final Incidences incidenceTrees;
+    private final int[] slotEdges;
+    private final int[] freeSlots;
+    private final int[] smallerSides;
+    private int[] edgeFrom;
+    private int[] edgeTo;
+    private double[] edgeWeights;
+    private byte[] state;
+    private byte[] level;
+    private int[] treeSlot;
+    private int edgeSlots;
+    private int[] freeIds = new int[16];
+    private int freeCount;
+    private int freeSlotCount;
+    private int[] promoted = new int[16];
+    private int promotedCount;
+    private int liveEdges;
+    private int treeEdges;
+    private double totalCost;
+    private long candidatesScanned;
+
+    /**
+     * Seeds the forest with the minimum spanning forest of {@code graph}.
+     *
+     * @throws IllegalArgumentException if an edge references a node that is not listed in the graph
+     */
+    public DynamicMST(Graph graph) {
+        PreparedGraph prepared = PreparedGraph.of(graph);
+        int vertexCount = prepared.vertexCount();
+        int edgeCount = prepared.edgeCount();
+        this.nodeNames = new String[vertexCount];
+        this.nodeIndex = new HashMap<>(Math.max(16, vertexCount * 2));
+        for (int v = 0; v < vertexCount; v++) {
+            nodeNames[v] = prepared.nodeName(v);
+            nodeIndex.put(nodeNames[v], v);
+        }
+        int capacity = Math.max(16, edgeCount);
+        this.edgeFrom = Arrays.copyOf(prepared.edgeFrom(), capacity);
+        this.edgeTo = Arrays.copyOf(prepared.edgeTo(), capacity);
+        this.edgeWeights = Arrays.copyOf(prepared.edgeWeights(), capacity);
+        this.state = new byte[capacity];
+        this.level = new byte[capacity];
+        this.treeSlot = new int[capacity];
+        this.edgeSlots = edgeCount;
+        this.liveEdges = edgeCount;
+        this.forest = new LinkCutTree(vertexCount + capacity);
+        // Trees of level i have at most V / 2^i vertices, so levels stop below log2 V + 1.
+        int levels = 32 - Integer.numberOfLeadingZeros(Math.max(1, vertexCount));
+        this.levelForests = new EulerTourForest[levels];
+        this.incidences = new int[levels][];
+        this.incidenceTrees = new Incidences(capacity);
+        this.smallerSides = new int[levels];
+        // A forest has fewer edges than vertices; slots are handed out from the top of this stack.
+        this.slotEdges = new int[Math.max(1, vertexCount)];
+        this.freeSlots = new int[slotEdges.length];
+        for (int slot = 0; slot < freeSlots.length; slot++) {
+            freeSlots[slot] = freeSlots.length - 1 - slot;
+        }
+        this.freeSlotCount = freeSlots.length;
+
+        DisjointSet components = new DisjointSet(vertexCount);
+        for (int edge : prepared.sortedEdges()) {
+            forest.setKey(node(edge), edgeWeights[edge], true);
+            if (components.union(edgeFrom[edge], edgeTo[edge])) {
+                link(edge, 0);
+            } else {
+                addNonTree(edge, 0);
+            }
+        }
+    }
+
+    /**
+     * Adds an edge and returns its id.
+     *
+     * @throws IllegalArgumentException if an endpoint is unknown or the weight is NaN
+     */
+    public int insertEdge(String from, String to, double weight) {
+        int u = vertex(from);
+        int v = vertex(to);
+        requireWeight(weight);
+        int id = allocateId();
+        edgeFrom[id] = u;
+        edgeTo[id] = v;
+        edgeWeights[id] = weight;
+        liveEdges++;
+        forest.setKey(node(id), weight, true);
+        offer(id);
+        return id;
+    }
+
+    /**
+     * Removes an edge. If it was part of the forest, the lightest edge reconnecting the two halves
+     * takes its place.
+     *
+     * @throws IllegalArgumentException if no edge with this id exists
+     */
+    public void deleteEdge(int edgeId) {
+        requireEdge(edgeId);
+        if (state[edgeId] == TREE) {
+            int top = level[edgeId];
+            cut(edgeId);
+            reconnect(edgeFrom[edgeId], edgeTo[edgeId], top);
+        } else {
+            detach(edgeId);
+        }
+        state[edgeId] = ABSENT;
+        forest.setKey(node(edgeId), 0.0, false);
+        liveEdges--;
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+        }
+        freeIds[freeCount++] = edgeId;
+    }
+
+    /**
+     * Changes the weight of an edge and repairs the forest.
+     *
+     * @throws IllegalArgumentException if no edge with this id exists or the weight is NaN
+     */
+    public void updateWeight(int edgeId, double weight) {
+        requireEdge(edgeId);
+        requireWeight(weight);
+        double old = edgeWeights[edgeId];
+        if (Double.compare(old, weight) == 0) {
+            return;
+        }
+        if (state[edgeId] == NON_TREE) {
+            detach(edgeId);
+            edgeWeights[edgeId] = weight;
+            forest.setKey(node(edgeId), weight, true);
+            offer(edgeId);
+        } else if (Double.compare(weight, old) < 0) {
+            // A lighter tree edge stays minimal; only the cost and the path keys change.
+            edgeWeights[edgeId] = weight;
+            forest.setKey(node(edgeId), weight, true);
+            totalCost += weight - old;
+        } else {
+            // The heavier edge competes with the non-tree edges for its own cut.
+            int top = level[edgeId];
+            cut(edgeId);
+            edgeWeights[edgeId] = weight;
+            forest.setKey(node(edgeId), weight, true);
+            addNonTree(edgeId, top);
+            reconnect(edgeFrom[edgeId], edgeTo[edgeId], top);
+        }
+    }
+
+    public double getTotalCost() {
+        return totalCost;
+    }
+
+    public int vertexCount() {
+        return nodeNames.length;
+    }
+
+    /**
+     * Number of edges currently in the graph, tree and non-tree.
+     */
+    public int edgeCount() {
+        return liveEdges;
+    }
+
+    public int treeEdgeCount() {
+        return treeEdges;
+    }
+
+    /**
+     * Returns {@code true} if the forest is a single spanning tree.
+     */
+    public boolean isConnected() {
+        return nodeNames.length <= 1 || treeEdges == nodeNames.length - 1;
+    }
+
+    public boolean isTreeEdge(int edgeId) {
+        return edgeId >= 0 && edgeId < edgeSlots && state[edgeId] == TREE;
+    }
+
+    /**
+     * Returns the edge with the given id.
+     *
+     * @throws IllegalArgumentException if no edge with this id exists
+     */
+    public Edge getEdge(int edgeId) {
+        requireEdge(edgeId);
+        return new Edge(nodeNames[edgeFrom[edgeId]], nodeNames[edgeTo[edgeId]], edgeWeights[edgeId]);
+    }
+
+    /**
+     * Returns the current forest edges in id order.
+     */
+    public List<Edge> getMstEdges() {
+        List<Edge> edges = new ArrayList<>(treeEdges);
+        for (int id = 0; id < edgeSlots; id++) {
+            if (state[id] == TREE) {
+                edges.add(new Edge(nodeNames[edgeFrom[id]], nodeNames[edgeTo[id]], edgeWeights[id]));
+            }
+        }
+        return edges;
+    }
+
+    /**
+     * Number of non-tree edges the replacement searches have looked at so far, crossing or not.
+     */
+    long replacementCandidatesScanned() {
+        return candidatesScanned;
+    }
+
+    /**
+     * Places an edge that is in neither the forest nor the non-tree set: it joins two trees, replaces the
+     * heaviest edge on the cycle it closes, or becomes a non-tree edge of level 0.
+     */
+    private void offer(int edgeId) {
+        int u = edgeFrom[edgeId];
+        int v = edgeTo[edgeId];
+        if (u == v) {
+            addNonTree(edgeId, 0);
+            return;
+        }
+        if (!forest.connected(u, v)) {
+            link(edgeId, 0);
+            return;
+        }
+        int heaviest = forest.pathMax(u, v) - nodeNames.length;
+        if (compareEdges(heaviest, edgeId) < 0) {
+            addNonTree(edgeId, 0);
+            return;
+        }
+        // The new edge takes over the cut of the heaviest edge. Its level is the lowest on its path, so
+        // the path lies in the level forests it joins, and the search below finds it as the replacement.
+        int reach = 0;
+        while (reach + 1 < levelForests.length && levelForests[reach + 1] != null
+                && levelForests[reach + 1].connected(u, v)) {
+            reach++;
+        }
+        int top = level[heaviest];
+        cut(heaviest);
+        addNonTree(heaviest, top);
+        addNonTree(edgeId, reach);
+        reconnect(edgeFrom[heaviest], edgeTo[heaviest], top);
+    }
+
+    /**
+     * After a tree edge of level {@code top} between {@code u} and {@code v} was cut, links the lightest
+     * non-tree edge that crosses the cut, if there is one.
+     * <p>
+     * Each level from {@code top} down first raises the tree edges of the smaller side to the next level,
+     * then scans that side's non-tree edges of the level in weight order, stopping at the first crossing
+     * one or at the lightest crossing edge found so far. Edges passed without crossing have both ends on
+     * the raised side and move up a level once the search is over. If the lightest crossing edge sits
+     * below other crossing edges, or its own level has no room for the joined tree, the crossing edges
+     * above the level it is linked at are moved down to that level.
+     */
+    private void reconnect(int u, int v, int top) {
+        int best = NONE;
+        int bestLevel = 0;
+        for (int i = top; i >= 0; i--) {
+            EulerTourForest forestI = levelForest(i);
+            int side = forestI.size(u) <= forestI.size(v) ? u : v;
+            smallerSides[i] = side;
+            int slot;
+            while ((slot = forestI.markedEdge(side)) != NONE) {
+                promoteTreeEdge(slotEdges[slot]);
+            }
+            int candidate;
+            while ((candidate = forestI.lightestEdge(side)) != NONE
+                    && (best == NONE || compareEdges(candidate, best) < 0)) {
+                candidatesScanned++;
+                if (!forest.connected(edgeFrom[candidate], edgeTo[candidate])) {
+                    best = candidate;
+                    bestLevel = i;
+                    break;
+                }
+                detach(candidate);
+                level[candidate]++;
+                if (promotedCount == promoted.length) {
+                    promoted = Arrays.copyOf(promoted, promotedCount * 2);
+                }
+                promoted[promotedCount++] = candidate;
+            }
+        }
+        if (best != NONE) {
+            int a = edgeFrom[best];
+            int b = edgeTo[best];
+            int linkLevel = bestLevel;
+            while (linkLevel > 0 && levelForests[linkLevel].size(a) + levelForests[linkLevel].size(b)
+                    > nodeNames.length >> linkLevel) {
+                linkLevel--;
+            }
+            for (int i = top; i > linkLevel; i--) {
+                lowerCrossingEdges(i, linkLevel);
+            }
+            detach(best);
+            link(best, linkLevel);
+        }
+        while (promotedCount > 0) {
+            attach(promoted[--promotedCount]);
+        }
+    }
+
+    /**
+     * Moves the crossing non-tree edges of level {@code i} down to {@code target} and the others up a level.
+     * The search raised the smaller side of level {@code i} into one tree of level {@code i + 1}, and every
+     * crossing edge of level {@code i} has an end on that side.
+     */
+    private void lowerCrossingEdges(int i, int target) {
+        EulerTourForest above = levelForests[i + 1];
+        if (above == null) {
+            return;
+        }
+        int side = smallerSides[i];
+        int x;
+        while ((x = above.flaggedVertex(side)) != NONE) {
+            int edge = incidenceTrees.first(incidences[i][x]) >> 1;
+            candidatesScanned++;
+            detach(edge);
+            if (forest.connected(edgeFrom[edge], edgeTo[edge])) {
+                level[edge]++;
+            } else {
+                level[edge] = (byte) target;
+            }
+            attach(edge);
+        }
+    }
+
+    private void addNonTree(int edgeId, int edgeLevel) {
+        state[edgeId] = NON_TREE;
+        level[edgeId] = (byte) edgeLevel;
+        attach(edgeId);
+    }
+
+    /**
+     * Files a non-tree edge under both endpoints at its level. Self-loops never cross a cut and are not filed.
+     */
+    private void attach(int edgeId) {
+        int u = edgeFrom[edgeId];
+        int v = edgeTo[edgeId];
+        if (u == v) {
+            return;
+        }
+        int[] roots = incidences(level[edgeId]);
+        roots[u] = incidenceTrees.insert(roots[u], 2 * edgeId);
+        roots[v] = incidenceTrees.insert(roots[v], 2 * edgeId + 1);
+        refresh(u, level[edgeId]);
+        refresh(v, level[edgeId]);
+    }
+
+    private void detach(int edgeId) {
+        int u = edgeFrom[edgeId];
+        int v = edgeTo[edgeId];
+        if (u == v) {
+            return;
+        }
+        int[] roots = incidences[level[edgeId]];
+        roots[u] = incidenceTrees.remove(roots[u], 2 * edgeId);
+        roots[v] = incidenceTrees.remove(roots[v], 2 * edgeId + 1);
+        refresh(u, level[edgeId]);
+        refresh(v, level[edgeId]);
+    }
+
+    /**
+     * Updates what the level forests know about the non-tree edges of {@code x} at {@code edgeLevel}: its
+     * lightest one at that level, and whether it has any, one level up.
+     */
+    private void refresh(int x, int edgeLevel) {
+        int first = incidenceTrees.first(incidences[edgeLevel][x]);
+        int edge = first == NONE ? NONE : first >> 1;
+        levelForest(edgeLevel).attach(x, edge, edge == NONE ? 0.0 : edgeWeights[edge]);
+        if (edgeLevel + 1 < levelForests.length && (edge != NONE || levelForests[edgeLevel + 1] != null)) {
+            levelForest(edgeLevel + 1).flag(x, edge != NONE);
+        }
+    }
+
+    private void link(int edgeId, int edgeLevel) {
+        int u = edgeFrom[edgeId];
+        int v = edgeTo[edgeId];
+        forest.link(u, node(edgeId));
+        forest.link(node(edgeId), v);
+        int slot = freeSlots[--freeSlotCount];
+        slotEdges[slot] = edgeId;
+        treeSlot[edgeId] = slot;
+        level[edgeId] = (byte) edgeLevel;
+        for (int i = 0; i <= edgeLevel; i++) {
+            levelForest(i).link(u, v, slot);
+        }
+        levelForests[edgeLevel].mark(slot, true);
+        state[edgeId] = TREE;
+        treeEdges++;
+        totalCost += edgeWeights[edgeId];
+    }
+
+    private void cut(int edgeId) {
+        forest.cut(edgeFrom[edgeId], node(edgeId));
+        forest.cut(node(edgeId), edgeTo[edgeId]);
+        int slot = treeSlot[edgeId];
+        for (int i = 0; i <= level[edgeId]; i++) {
+            levelForests[i].cut(slot);
+        }
+        freeSlots[freeSlotCount++] = slot;
+        state[edgeId] = ABSENT;
+        treeEdges--;
+        totalCost -= edgeWeights[edgeId];
+    }
+
+    private void promoteTreeEdge(int edgeId) {
+        int slot = treeSlot[edgeId];
+        int edgeLevel = level[edgeId];
+        levelForests[edgeLevel].mark(slot, false);
+        levelForest(edgeLevel + 1).link(edgeFrom[edgeId], edgeTo[edgeId], slot);
+        levelForests[edgeLevel + 1].mark(slot, true);
+        level[edgeId]++;
+    }
+
+    private EulerTourForest levelForest(int i) {
+        if (levelForests[i] == null) {
+            levelForests[i] = new EulerTourForest(nodeNames.length);
+        }
+        return levelForests[i];
+    }
+
+    private int[] incidences(int i) {
+        if (incidences[i] == null) {
+            incidences[i] = new int[nodeNames.length];
+            Arrays.fill(incidences[i], NONE);
+        }
+        return incidences[i];
+    }
+
+    private int compareEdges(int a, int b) {
+        int compared = Double.compare(edgeWeights[a], edgeWeights[b]);
+        return compared != 0 ? compared : Integer.compare(a, b);
+    }
+
+    private int node(int edgeId) {
+        return nodeNames.length + edgeId;
+    }
+
+    private int allocateId() {
+        if (freeCount > 0) {
+            return freeIds[--freeCount];
+        }
+        if (edgeSlots == edgeFrom.length) {
+            int capacity = edgeSlots + (edgeSlots >> 1);
+            edgeFrom = Arrays.copyOf(edgeFrom, capacity);
+            edgeTo = Arrays.copyOf(edgeTo, capacity);
+            edgeWeights = Arrays.copyOf(edgeWeights, capacity);
+            state = Arrays.copyOf(state, capacity);
+            level = Arrays.copyOf(level, capacity);
+            treeSlot = Arrays.copyOf(treeSlot, capacity);
+            forest.ensureCapacity(nodeNames.length + capacity);
+            incidenceTrees.ensureCapacity(capacity);
+        }
+        return edgeSlots++;
+    }
+
+    private int vertex(String name) {
+        Integer id = nodeIndex.get(name);
+        if (id == null) {
+            throw new IllegalArgumentException("Unknown node '" + name + "'");
+        }
+        return id;
+    }
+
+    private void requireEdge(int edgeId) {
+        if (edgeId < 0 || edgeId >= edgeSlots || state[edgeId] == ABSENT) {
+            throw new IllegalArgumentException("No edge with id " + edgeId);
+        }
+    }
+
+    private static void requireWeight(double weight) {
+        if (Double.isNaN(weight)) {
+            throw new IllegalArgumentException("Edge weight must not be NaN");
+        }
+    }
+
+    /**
+     * The non-tree edges at each endpoint and level in {@link #compareEdges} order, as treaps whose links are
+     * arrays indexed by edge end ({@code 2 * edgeId} at the source, {@code 2 * edgeId + 1} at the target),
+     * so filing an edge neither boxes ids nor allocates nodes.
+     */
+    private final class Incidences {
+        private int[] left;
+        private int[] right;
+        private int[] priority;
+        private int seed = 0x9E3779B9;
+
+        Incidences(int capacity) {
+            left = new int[2 * capacity];
+            right = new int[2 * capacity];
+            priority = new int[2 * capacity];
+        }
+
+        void ensureCapacity(int capacity) {
+            left = Arrays.copyOf(left, 2 * capacity);
+            right = Arrays.copyOf(right, 2 * capacity);
+            priority = Arrays.copyOf(priority, 2 * capacity);
+        }
+
+        int insert(int root, int end) {
+            left[end] = NONE;
+            right[end] = NONE;
+            seed ^= seed << 13;
+            seed ^= seed >>> 17;
+            seed ^= seed << 5;
+            priority[end] = seed;
+            return insertInto(root, end);
+        }
+
+        /**
+         * Returns the lightest edge end of the treap, or {@link #NONE} if it is empty.
+         */
+        int first(int root) {
+            if (root == NONE) {
+                return NONE;
+            }
+            int end = root;
+            while (left[end] != NONE) {
+                end = left[end];
+            }
+            return end;
+        }
+
+        int remove(int node, int end) {
+            if (node == end) {
+                return merge(left[node], right[node]);
+            }
+            if (compareEdges(end >> 1, node >> 1) < 0) {
+                left[node] = remove(left[node], end);
+            } else {
+                right[node] = remove(right[node], end);
+            }
+            return node;
+        }
+
+        private int insertInto(int node, int end) {
+            if (node == NONE) {
+                return end;
+            }
+            if (compareEdges(end >> 1, node >> 1) < 0) {
+                int child = insertInto(left[node], end);
+                left[node] = child;
+                if (priority[child] > priority[node]) {
+                    left[node] = right[child];
+                    right[child] = node;
+                    return child;
+                }
+            } else {
+                int child = insertInto(right[node], end);
+                right[node] = child;
+                if (priority[child] > priority[node]) {
+                    right[node] = left[child];
+                    left[child] = node;
+                    return child;
+                }
+            }
+            return node;
+        }
+
+        private int merge(int lower, int upper) {
+            if (lower == NONE) {
+                return upper;
+            }
+            if (upper == NONE) {
+                return lower;
+            }
+            if (priority[lower] > priority[upper]) {
+                right[lower] = merge(right[lower], upper);
+                return lower;
+            }
+            left[upper] = merge(lower, left[upper]);
+            return upper;
+        }
+    }
+}
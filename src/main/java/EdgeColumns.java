@@ -0,0 +1,23 @@
+import java.util.List;
+
+/**
+ * The edge columns and node names of one {@link PreparedGraph}, without its adjacency or sort order.
+ * The graph creates a single instance that all of its {@link EdgeIdList results} share, so a result
+ * waiting to be written keeps only these arrays reachable. None of them may be modified.
+ *
+ * @param edges the input's {@link Edge} objects in column order, or {@code null} for a graph built from
+ *              columns
+ */
+record EdgeColumns(String[] nodeNames, int[] from, int[] to, double[] weights, List<Edge> edges) {
+
+    /**
+     * Returns the input's {@code Edge} with index {@code edgeId}, or a new one if the graph was built from
+     * columns.
+     */
+    Edge edge(int edgeId) {
+        if (edges == null) {
+            return new Edge(nodeNames[from[edgeId]], nodeNames[to[edgeId]], weights[edgeId]);
+        }
+        return edges.get(edgeId);
+    }
+}
@@ -0,0 +1,51 @@
+import java.util.AbstractList;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Read-only list of the edges of a {@link PreparedGraph} with the given indices. An MST result holds
+ * its tree this way, so no edge objects are created until the result is serialized; a graph prepared
+ * from {@code Edge} objects hands out those same objects.
+ * <p>
+ * The list refers to the graph's shared {@link EdgeColumns} rather than the graph itself, so a result
+ * does not keep the adjacency or sort order reachable while it waits to be written.
+ */
+final class EdgeIdList extends AbstractList<Edge> implements RandomAccess {
+    private final EdgeColumns columns;
+    private final int[] edgeIds;
+    private final int size;
+
+    /**
+     * @param size number of leading {@code edgeIds} that belong to the list; the id array is kept, not
+     *             copied
+     */
+    EdgeIdList(EdgeColumns columns, int[] edgeIds, int size) {
+        this.columns = columns;
+        this.edgeIds = edgeIds;
+        this.size = size;
+    }
+
+    @Override
+    public Edge get(int index) {
+        return columns.edge(edgeId(index));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The columns of the graph the tree was computed on; {@link #edgeId(int)} indexes them.
+     */
+    EdgeColumns columns() {
+        return columns;
+    }
+
+    /**
+     * Index of the {@code index}-th edge in the edge columns of the graph the tree was computed on.
+     */
+    int edgeId(int index) {
+        return edgeIds[Objects.checkIndex(index, size)];
+    }
+}
@@ -0,0 +1,126 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Pre-pass that drops self-loops and keeps only the cheapest edge of every unordered vertex pair, the
+ * one listed first among equally cheap ones.
+ * <p>
+ * Neither a self-loop nor a second edge between the same two vertices can be part of a minimum spanning
+ * tree, and the kept edge is the one Kruskal's stable order tries first, so every algorithm selects the
+ * same tree at the same cost while working on fewer edges. Pairs are looked up in an open-addressing
+ * table keyed by both vertex ids packed into one {@code long}, so no key or entry objects are allocated
+ * per edge.
+ */
+final class EdgeNormalizer {
+    private static final long EMPTY = -1L;
+    private static final int MAX_TABLE_CAPACITY = 1 << 30;
+
+    private final int[] kept;
+    private final int selfLoops;
+    private final int duplicates;
+
+    private EdgeNormalizer(int[] kept, int selfLoops, int duplicates) {
+        this.kept = kept;
+        this.selfLoops = selfLoops;
+        this.duplicates = duplicates;
+    }
+
+    /**
+     * Selects the edges to keep from the given columns; the columns are not modified.
+     */
+    static EdgeNormalizer normalize(int[] from, int[] to, double[] weights) {
+        int edgeCount = from.length;
+        int capacity = tableCapacity(edgeCount);
+        int shift = Long.numberOfLeadingZeros(capacity - 1L);
+        int mask = capacity - 1;
+        long[] keys = new long[capacity];
+        int[] best = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+
+        int selfLoops = 0;
+        int pairs = 0;
+        for (int e = 0; e < edgeCount; e++) {
+            int u = from[e];
+            int v = to[e];
+            if (u == v) {
+                selfLoops++;
+                continue;
+            }
+            long key = (long) Math.min(u, v) << 32 | Math.max(u, v);
+            int slot = (int) (key * 0x9E3779B97F4A7C15L >>> shift);
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == EMPTY) {
+                keys[slot] = key;
+                best[slot] = e;
+                pairs++;
+            } else if (weights[e] < weights[best[slot]]) {
+                best[slot] = e;
+            }
+        }
+
+        boolean[] keep = new boolean[edgeCount];
+        for (int slot = 0; slot < capacity; slot++) {
+            if (keys[slot] != EMPTY) {
+                keep[best[slot]] = true;
+            }
+        }
+        int[] kept = new int[pairs];
+        int size = 0;
+        for (int e = 0; e < edgeCount; e++) {
+            if (keep[e]) {
+                kept[size++] = e;
+            }
+        }
+        return new EdgeNormalizer(kept, selfLoops, edgeCount - selfLoops - pairs);
+    }
+
+    int selfLoopsRemoved() {
+        return selfLoops;
+    }
+
+    int duplicatesRemoved() {
+        return duplicates;
+    }
+
+    int removed() {
+        return selfLoops + duplicates;
+    }
+
+    /**
+     * The kept entries of an edge column, in input order.
+     */
+    int[] keep(int[] column) {
+        int[] result = new int[kept.length];
+        for (int i = 0; i < kept.length; i++) {
+            result[i] = column[kept[i]];
+        }
+        return result;
+    }
+
+    double[] keep(double[] column) {
+        double[] result = new double[kept.length];
+        for (int i = 0; i < kept.length; i++) {
+            result[i] = column[kept[i]];
+        }
+        return result;
+    }
+
+    <T> List<T> keep(List<T> column) {
+        List<T> result = new ArrayList<>(kept.length);
+        for (int edge : kept) {
+            result.add(column.get(edge));
+        }
+        return result;
+    }
+
+    /**
+     * Smallest power of two that keeps the table at most half full.
+     */
+    private static int tableCapacity(int edgeCount) {
+        long target = Math.max(16L, 2L * edgeCount);
+        return (int) Math.min(MAX_TABLE_CAPACITY, Long.highestOneBit(target - 1) << 1);
+    }
+}
@@ -0,0 +1,108 @@
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Selects how {@link PreparedGraph} computes the weight-sorted edge order Kruskal's algorithm runs over.
+ * Every strategy yields the same stable order: by weight as {@link Double#compare(double, double)} orders
+ * it, equal weights by edge index. A strategy is immutable; {@link #withPool(ForkJoinPool)} returns a copy
+ * that runs its parallel work on the given pool.
+ */
+public final class EdgeSortStrategy {
+    /**
+     * Merge sort over boxed edge indices, counting every weight comparison.
+     */
+    public static final EdgeSortStrategy COMPARISON = new EdgeSortStrategy("comparison", false, false, null);
+    /**
+     * LSD radix sort over order-preserving 64-bit weight keys; performs no comparisons.
+     */
+    public static final EdgeSortStrategy RADIX = new EdgeSortStrategy("radix", true, false, null);
+    /**
+     * {@link #RADIX} with the key and histogram pass split across a fork-join pool: the common pool unless
+     * another one is set with {@link #withPool(ForkJoinPool)}.
+     */
+    public static final EdgeSortStrategy PARALLEL_RADIX = new EdgeSortStrategy("radix:parallel", true, true, null);
+
+    private final String name;
+    private final boolean radix;
+    private final boolean parallel;
+    private final ForkJoinPool pool;
+
+    private EdgeSortStrategy(String name, boolean radix, boolean parallel, ForkJoinPool pool) {
+        this.name = name;
+        this.radix = radix;
+        this.parallel = parallel;
+        this.pool = pool;
+    }
+
+    /**
+     * Parses {@code comparison}, {@code radix} or {@code radix:parallel}.
+     *
+     * @throws IllegalArgumentException if the specification is not recognised
+     */
+    public static EdgeSortStrategy parse(String spec) {
+        String normalized = spec.trim().toLowerCase(Locale.ROOT);
+        for (EdgeSortStrategy strategy : new EdgeSortStrategy[]{COMPARISON, RADIX, PARALLEL_RADIX}) {
+            if (strategy.name.equals(normalized)) {
+                return strategy;
+            }
+        }
+        throw new IllegalArgumentException("Unknown edge sort strategy '" + spec + "'");
+    }
+
+    /**
+     * Runs the parallel part of the sort on {@code pool}, normally the one given to
+     * {@link MSTCalculator#withPool(ForkJoinPool)}, so one setting bounds all parallel work. Sequential
+     * strategies are returned unchanged.
+     */
+    public EdgeSortStrategy withPool(ForkJoinPool pool) {
+        return parallel ? new EdgeSortStrategy(name, radix, true, pool) : this;
+    }
+
+    /**
+     * Sorts the edge indices {@code 0..weights.length-1} by weight; {@code weights} is not modified.
+     */
+    Order sort(double[] weights) {
+        if (radix) {
+            return RadixEdgeSort.sort(weights, parallel ? getPool() : null);
+        }
+        int edgeCount = weights.length;
+        Integer[] order = new Integer[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            order[e] = e;
+        }
+        long[] comparisons = new long[1];
+        Arrays.sort(order, (a, b) -> {
+            comparisons[0]++;
+            return Double.compare(weights[a], weights[b]);
+        });
+        int[] sorted = new int[edgeCount];
+        for (int i = 0; i < edgeCount; i++) {
+            sorted[i] = order[i];
+        }
+        return new Order(sorted, comparisons[0], -1);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Pool the parallel part of the sort runs on; the common pool unless one was set.
+     */
+    ForkJoinPool getPool() {
+        return pool == null ? ForkJoinPool.commonPool() : pool;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    /**
+     * A sorted edge order with what it cost: weight comparisons, and the scatter passes made by a radix
+     * sort or {@code -1} for a comparison sort.
+     */
+    record Order(int[] edges, long comparisons, int passes) {
+    }
+}
@@ -0,0 +1,71 @@
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Streaming reader of one graph's edges, for graphs whose edge list does not fit in memory. Vertices
+ * are the indices {@code 0..vertexCount()-1}; edges are delivered once, in input order, in batches
+ * copied into caller-owned column arrays.
+ */
+public interface EdgeSource extends Closeable {
+
+    String getId();
+
+    int vertexCount();
+
+    /**
+     * Total number of edges the source will deliver.
+     */
+    long edgeCount();
+
+    String nodeName(int vertex);
+
+    /**
+     * Copies up to {@code length} of the next edges into the arrays starting at {@code offset}.
+     *
+     * @return the number of edges copied, {@code 0} once the source is exhausted
+     */
+    int read(int[] from, int[] to, double[] weights, int offset, int length) throws IOException;
+
+    /**
+     * Streams the edges of an in-memory graph.
+     */
+    static EdgeSource of(PreparedGraph graph) {
+        return new EdgeSource() {
+            private int position;
+
+            @Override
+            public String getId() {
+                return graph.getId();
+            }
+
+            @Override
+            public int vertexCount() {
+                return graph.vertexCount();
+            }
+
+            @Override
+            public long edgeCount() {
+                return graph.edgeCount();
+            }
+
+            @Override
+            public String nodeName(int vertex) {
+                return graph.nodeName(vertex);
+            }
+
+            @Override
+            public int read(int[] from, int[] to, double[] weights, int offset, int length) {
+                int count = Math.min(length, graph.edgeCount() - position);
+                System.arraycopy(graph.edgeFrom(), position, from, offset, count);
+                System.arraycopy(graph.edgeTo(), position, to, offset, count);
+                System.arraycopy(graph.edgeWeights(), position, weights, offset, count);
+                position += count;
+                return count;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
@@ -0,0 +1,335 @@
+import java.util.Arrays;
+
+/**
+ * Array-based Euler-tour forest over vertices {@code 0..vertices-1}: every tree is kept as the splay tree of
+ * its Euler tour, so link, cut, connectivity and tree sizes cost amortized {@code O(log n)}.
+ * <p>
+ * Tree edges are addressed by a slot chosen by the caller; slot {@code s} owns the two arc nodes
+ * {@code vertices + 2s} and {@code vertices + 2s + 1}. Besides the vertex count, every tree aggregates three
+ * things the levelled replacement search of {@link DynamicMST} needs: the marked edges, the flagged vertices
+ * and the lightest edge id attached to any of its vertices, ordered by weight and then by id.
+ */
+final class EulerTourForest {
+    private static final int NONE = -1;
+
+    private final int vertices;
+    private int[] left;
+    private int[] right;
+    private int[] parent;
+    private int[] vertexCount;
+    private int[] markCount;
+    private int[] flagCount;
+    private int[] minEdge;
+    private double[] minWeight;
+    private int[] ownEdge;
+    private double[] ownWeight;
+    private boolean[] marked;
+    private boolean[] flagged;
+
+    EulerTourForest(int vertices) {
+        this.vertices = vertices;
+        left = new int[0];
+        right = new int[0];
+        parent = new int[0];
+        vertexCount = new int[0];
+        markCount = new int[0];
+        flagCount = new int[0];
+        minEdge = new int[0];
+        minWeight = new double[0];
+        ownEdge = new int[0];
+        ownWeight = new double[0];
+        marked = new boolean[0];
+        flagged = new boolean[0];
+        ensureNodes(vertices + 16);
+    }
+
+    /**
+     * Joins the trees of {@code u} and {@code v} with the edge in {@code slot}; they must not be connected
+     * and the slot must be free.
+     */
+    void link(int u, int v, int slot) {
+        int forward = vertices + 2 * slot;
+        ensureNodes(forward + 2);
+        reset(forward);
+        reset(forward + 1);
+        int tourU = reroot(u);
+        int tourV = reroot(v);
+        join(join(join(tourU, forward), tourV), forward + 1);
+    }
+
+    /**
+     * Removes the edge in {@code slot}, which frees the slot.
+     */
+    void cut(int slot) {
+        int first = vertices + 2 * slot;
+        int second = first + 1;
+        splay(first);
+        int before = detachLeft(first);
+        int after = detachRight(first);
+        int top = second;
+        while (parent[top] != NONE) {
+            top = parent[top];
+        }
+        splay(second);
+        if (top == after) {
+            // The tour was: before, first, inner, second, rest.
+            detachLeft(second);
+            join(before, detachRight(second));
+        } else {
+            // The tour was: rest, second, inner, first, after.
+            detachRight(second);
+            join(detachLeft(second), after);
+        }
+        reset(first);
+        reset(second);
+    }
+
+    boolean connected(int u, int v) {
+        if (u == v) {
+            return true;
+        }
+        splay(u);
+        splay(v);
+        return parent[u] != NONE;
+    }
+
+    /**
+     * Returns the number of vertices in the tree of {@code v}.
+     */
+    int size(int v) {
+        splay(v);
+        return vertexCount[v];
+    }
+
+    void mark(int slot, boolean value) {
+        int arc = vertices + 2 * slot;
+        splay(arc);
+        marked[arc] = value;
+        pull(arc);
+    }
+
+    /**
+     * Returns the slot of a marked edge in the tree of {@code v}, or {@code -1} if there is none.
+     */
+    int markedEdge(int v) {
+        splay(v);
+        if (markCount[v] == 0) {
+            return NONE;
+        }
+        int x = v;
+        while (true) {
+            if (left[x] != NONE && markCount[left[x]] > 0) {
+                x = left[x];
+            } else if (marked[x]) {
+                break;
+            } else {
+                x = right[x];
+            }
+        }
+        splay(x);
+        return (x - vertices) >> 1;
+    }
+
+    void flag(int v, boolean value) {
+        splay(v);
+        flagged[v] = value;
+        pull(v);
+    }
+
+    /**
+     * Returns a flagged vertex in the tree of {@code v}, or {@code -1} if there is none.
+     */
+    int flaggedVertex(int v) {
+        splay(v);
+        if (flagCount[v] == 0) {
+            return NONE;
+        }
+        int x = v;
+        while (true) {
+            if (left[x] != NONE && flagCount[left[x]] > 0) {
+                x = left[x];
+            } else if (flagged[x]) {
+                break;
+            } else {
+                x = right[x];
+            }
+        }
+        splay(x);
+        return x;
+    }
+
+    /**
+     * Attaches {@code edgeId} with its weight to vertex {@code v}, replacing what was attached before;
+     * {@code -1} detaches it.
+     */
+    void attach(int v, int edgeId, double weight) {
+        splay(v);
+        ownEdge[v] = edgeId;
+        ownWeight[v] = weight;
+        pull(v);
+    }
+
+    /**
+     * Returns the lightest edge attached to a vertex in the tree of {@code v}, or {@code -1} if there is none.
+     */
+    int lightestEdge(int v) {
+        splay(v);
+        return minEdge[v];
+    }
+
+    private void ensureNodes(int count) {
+        int old = parent.length;
+        if (count <= old) {
+            return;
+        }
+        int grown = Math.max(count, old + (old >> 1));
+        left = grow(left, grown);
+        right = grow(right, grown);
+        parent = grow(parent, grown);
+        vertexCount = Arrays.copyOf(vertexCount, grown);
+        markCount = Arrays.copyOf(markCount, grown);
+        flagCount = Arrays.copyOf(flagCount, grown);
+        minEdge = grow(minEdge, grown);
+        minWeight = Arrays.copyOf(minWeight, grown);
+        ownEdge = grow(ownEdge, grown);
+        ownWeight = Arrays.copyOf(ownWeight, grown);
+        marked = Arrays.copyOf(marked, grown);
+        flagged = Arrays.copyOf(flagged, grown);
+        for (int x = old; x < Math.min(grown, vertices); x++) {
+            vertexCount[x] = 1;
+        }
+    }
+
+    private static int[] grow(int[] array, int length) {
+        int old = array.length;
+        int[] grown = Arrays.copyOf(array, length);
+        Arrays.fill(grown, old, length, NONE);
+        return grown;
+    }
+
+    private void reset(int arc) {
+        left[arc] = NONE;
+        right[arc] = NONE;
+        parent[arc] = NONE;
+        marked[arc] = false;
+        pull(arc);
+    }
+
+    /**
+     * Rotates the tour of {@code x} so that it starts at {@code x} and returns the root of its splay tree.
+     */
+    private int reroot(int x) {
+        splay(x);
+        int before = detachLeft(x);
+        return join(x, before);
+    }
+
+    private int join(int a, int b) {
+        if (a == NONE) {
+            return b;
+        }
+        if (b == NONE) {
+            return a;
+        }
+        int last = a;
+        while (right[last] != NONE) {
+            last = right[last];
+        }
+        splay(last);
+        right[last] = b;
+        parent[b] = last;
+        pull(last);
+        return last;
+    }
+
+    private int detachLeft(int x) {
+        int child = left[x];
+        if (child != NONE) {
+            left[x] = NONE;
+            parent[child] = NONE;
+            pull(x);
+        }
+        return child;
+    }
+
+    private int detachRight(int x) {
+        int child = right[x];
+        if (child != NONE) {
+            right[x] = NONE;
+            parent[child] = NONE;
+            pull(x);
+        }
+        return child;
+    }
+
+    private void splay(int x) {
+        while (parent[x] != NONE) {
+            int p = parent[x];
+            int g = parent[p];
+            if (g != NONE) {
+                boolean sameSide = (left[g] == p) == (left[p] == x);
+                rotate(sameSide ? p : x);
+            }
+            rotate(x);
+        }
+    }
+
+    private void rotate(int x) {
+        int p = parent[x];
+        int g = parent[p];
+        if (left[p] == x) {
+            left[p] = right[x];
+            if (right[x] != NONE) {
+                parent[right[x]] = p;
+            }
+            right[x] = p;
+        } else {
+            right[p] = left[x];
+            if (left[x] != NONE) {
+                parent[left[x]] = p;
+            }
+            left[x] = p;
+        }
+        parent[p] = x;
+        parent[x] = g;
+        if (g != NONE) {
+            if (left[g] == p) {
+                left[g] = x;
+            } else {
+                right[g] = x;
+            }
+        }
+        pull(p);
+        pull(x);
+    }
+
+    private void pull(int x) {
+        vertexCount[x] = x < vertices ? 1 : 0;
+        markCount[x] = marked[x] ? 1 : 0;
+        flagCount[x] = flagged[x] ? 1 : 0;
+        minEdge[x] = ownEdge[x];
+        minWeight[x] = ownWeight[x];
+        include(x, left[x]);
+        include(x, right[x]);
+    }
+
+    private void include(int x, int child) {
+        if (child == NONE) {
+            return;
+        }
+        vertexCount[x] += vertexCount[child];
+        markCount[x] += markCount[child];
+        flagCount[x] += flagCount[child];
+        int candidate = minEdge[child];
+        if (candidate != NONE
+                && (minEdge[x] == NONE || lighter(candidate, minWeight[child], minEdge[x], minWeight[x]))) {
+            minEdge[x] = candidate;
+            minWeight[x] = minWeight[child];
+        }
+    }
+
+    private static boolean lighter(int a, double weightA, int b, double weightB) {
+        int compared = Double.compare(weightA, weightB);
+        return compared != 0 ? compared < 0 : a < b;
+    }
+}
@@ -0,0 +1,514 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Out-of-core Kruskal: reads an {@link EdgeSource} in chunks that fit the memory budget, sorts each
+ * chunk into a temporary run file and k-way merges the runs straight into the union-find, stopping
+ * as soon as {@code V - 1} edges are accepted.
+ * <p>
+ * Edge memory is bounded by the budget; what grows with the graph is only the union-find and the
+ * accepted tree, both {@code O(V)}. The chunk arrays are released before the merge allocates its read
+ * buffers, so the two never add up. When there are more runs than the budget can give a read buffer
+ * each, groups of runs are merged into longer runs first. Edges are ordered by weight and then by
+ * input position, so the accepted edges and their order are exactly those of the in-memory Kruskal run.
+ * An input that fits into a single chunk is solved in memory without touching the disk.
+ */
+final class ExternalKruskal {
+    /**
+     * Chunk bytes per edge: the three columns plus the sort permutation and its merge scratch.
+     */
+    static final int CHUNK_BYTES_PER_EDGE = 2 * Integer.BYTES + Double.BYTES + 2 * Integer.BYTES;
+    static final int RUN_RECORD_BYTES = 2 * Integer.BYTES + Double.BYTES;
+    private static final int MIN_CHUNK_EDGES = 64;
+    private static final int MIN_RUN_BUFFER_BYTES = 64 * RUN_RECORD_BYTES;
+    private static final int MAX_RUN_BUFFER_BYTES = 1 << 22;
+    private static final int WRITE_BUFFER_BYTES = 256 * RUN_RECORD_BYTES;
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private final EdgeSource source;
+    private final Path tempDirectory;
+    private final long memoryBudgetBytes;
+    private final OperationCounter counter;
+    private final DisjointSet unionFind;
+    private final int[] mstFrom;
+    private final int[] mstTo;
+    private final double[] mstWeights;
+    private final List<Path> runFiles = new ArrayList<>();
+    private int mstSize;
+    private double totalCost;
+    private int mergePasses;
+    private int chunkCapacity;
+    private long liveEdgeBytes;
+    private long peakEdgeBytes;
+
+    ExternalKruskal(EdgeSource source, Path tempDirectory, long memoryBudgetBytes, OperationCounter counter) {
+        this.source = source;
+        this.tempDirectory = tempDirectory;
+        this.memoryBudgetBytes = memoryBudgetBytes;
+        this.counter = counter;
+        int vertexCount = source.vertexCount();
+        this.unionFind = new DisjointSet(vertexCount);
+        int treeEdges = Math.max(0, vertexCount - 1);
+        this.mstFrom = new int[treeEdges];
+        this.mstTo = new int[treeEdges];
+        this.mstWeights = new double[treeEdges];
+    }
+
+    /**
+     * Runs in {@link MSTPhase#SORT} while chunks are sorted and spilled and moves {@code timer} to
+     * {@link MSTPhase#MAIN_LOOP} for the merge into the union-find.
+     */
+    void run(PhaseTimer timer) throws IOException {
+        try {
+            boolean solvedInMemory = spillChunks(timer);
+            if (!solvedInMemory) {
+                timer.next(MSTPhase.MAIN_LOOP);
+                if (!complete() && !runFiles.isEmpty()) {
+                    mergeRuns();
+                }
+            }
+        } finally {
+            for (Path run : runFiles) {
+                Files.deleteIfExists(run);
+            }
+        }
+    }
+
+    /**
+     * Reads the source chunk by chunk and writes every sorted chunk as a run. The chunk arrays live only
+     * in this method, so they can be collected before {@link #mergeRuns()} allocates its buffers.
+     *
+     * @return {@code true} if the whole input fit into the first chunk and was solved in memory
+     */
+    private boolean spillChunks(PhaseTimer timer) throws IOException {
+        long edgeCount = source.edgeCount();
+        long budgetEdges = Math.max(MIN_CHUNK_EDGES,
+                (memoryBudgetBytes - WRITE_BUFFER_BYTES) / CHUNK_BYTES_PER_EDGE);
+        int capacity = (int) Math.max(1, Math.min(Integer.MAX_VALUE - 8L, Math.min(budgetEdges, edgeCount)));
+        chunkCapacity = capacity;
+        long chunkBytes = (long) capacity * CHUNK_BYTES_PER_EDGE;
+        reserve(chunkBytes);
+        try {
+            int[] from = new int[capacity];
+            int[] to = new int[capacity];
+            double[] weights = new double[capacity];
+            int[] order = new int[capacity];
+            int[] scratch = new int[capacity];
+            long consumed = 0;
+            while (!complete()) {
+                int length = fill(from, to, weights);
+                if (length == 0) {
+                    break;
+                }
+                consumed += length;
+                sort(weights, order, scratch, length);
+                if (runFiles.isEmpty() && consumed >= edgeCount) {
+                    // Everything fits into the first chunk.
+                    timer.next(MSTPhase.MAIN_LOOP);
+                    for (int i = 0; i < length && !complete(); i++) {
+                        int edge = order[i];
+                        offer(from[edge], to[edge], weights[edge]);
+                    }
+                    return true;
+                }
+                writeRun(from, to, weights, order, length);
+            }
+            return false;
+        } finally {
+            release(chunkBytes);
+        }
+    }
+
+    int mstSize() {
+        return mstSize;
+    }
+
+    int treeEdgeLimit() {
+        return mstFrom.length;
+    }
+
+    double totalCost() {
+        return totalCost;
+    }
+
+    int mergePasses() {
+        return mergePasses;
+    }
+
+    /**
+     * Largest number of bytes held at once for edges: chunk arrays, or run read and write buffers.
+     */
+    long peakEdgeBytes() {
+        return peakEdgeBytes;
+    }
+
+    /**
+     * Estimated heap bytes of the chunk arrays, the union-find and the tree. Run buffers are direct
+     * buffers outside the heap and are not included.
+     */
+    long footprintBytes() {
+        return 4 * MemoryFootprint.ints(chunkCapacity) + MemoryFootprint.doubles(chunkCapacity)
+                + 2 * MemoryFootprint.ints(unionFind.capacity()) + 2 * MemoryFootprint.ints(mstFrom.length)
+                + MemoryFootprint.doubles(mstWeights.length);
+    }
+
+    Edge mstEdge(int index) {
+        return new Edge(source.nodeName(mstFrom[index]), source.nodeName(mstTo[index]), mstWeights[index]);
+    }
+
+    private boolean complete() {
+        return mstSize == mstFrom.length;
+    }
+
+    private void reserve(long bytes) {
+        liveEdgeBytes += bytes;
+        peakEdgeBytes = Math.max(peakEdgeBytes, liveEdgeBytes);
+    }
+
+    private void release(long bytes) {
+        liveEdgeBytes -= bytes;
+    }
+
+    private int fill(int[] from, int[] to, double[] weights) throws IOException {
+        int length = 0;
+        while (length < from.length) {
+            int read = source.read(from, to, weights, length, from.length - length);
+            if (read == 0) {
+                break;
+            }
+            length += read;
+        }
+        return length;
+    }
+
+    private void offer(int u, int v, double weight) {
+        int rootU = unionFind.find(u);
+        counter.incrementUpdate();
+        int rootV = unionFind.find(v);
+        counter.incrementUpdate();
+        counter.incrementComparison();
+        if (rootU != rootV) {
+            unionFind.unionRoots(rootU, rootV);
+            counter.incrementUnion();
+            mstFrom[mstSize] = u;
+            mstTo[mstSize] = v;
+            mstWeights[mstSize] = weight;
+            mstSize++;
+            totalCost += weight;
+        }
+    }
+
+    /**
+     * Stable merge sort of {@code 0..length-1} into {@code order} by weight, with insertion sort for
+     * short ranges; stability keeps equal weights in input order.
+     */
+    private void sort(double[] weights, int[] order, int[] scratch, int length) {
+        for (int i = 0; i < length; i++) {
+            order[i] = i;
+        }
+        for (int lo = 0; lo < length; lo += INSERTION_SORT_THRESHOLD) {
+            int hi = Math.min(length, lo + INSERTION_SORT_THRESHOLD);
+            for (int i = lo + 1; i < hi; i++) {
+                int edge = order[i];
+                int j = i - 1;
+                while (j >= lo && Double.compare(weights[order[j]], weights[edge]) > 0) {
+                    counter.incrementComparison();
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                counter.incrementComparison();
+                order[j + 1] = edge;
+            }
+        }
+        int[] input = order;
+        int[] output = scratch;
+        for (int width = INSERTION_SORT_THRESHOLD; width < length; width *= 2) {
+            for (int lo = 0; lo < length; lo += 2 * width) {
+                int mid = Math.min(length, lo + width);
+                int hi = Math.min(length, lo + 2 * width);
+                int left = lo;
+                int right = mid;
+                int out = lo;
+                while (left < mid && right < hi) {
+                    counter.incrementComparison();
+                    output[out++] = Double.compare(weights[input[right]], weights[input[left]]) < 0
+                            ? input[right++]
+                            : input[left++];
+                }
+                System.arraycopy(input, left, output, out, mid - left);
+                System.arraycopy(input, right, output, out + mid - left, hi - right);
+            }
+            int[] swap = input;
+            input = output;
+            output = swap;
+        }
+        if (input != order) {
+            System.arraycopy(input, 0, order, 0, length);
+        }
+    }
+
+    private void writeRun(int[] from, int[] to, double[] weights, int[] order, int length) throws IOException {
+        try (RunWriter writer = newRun()) {
+            for (int i = 0; i < length; i++) {
+                int edge = order[i];
+                writer.write(from[edge], to[edge], weights[edge]);
+            }
+        }
+    }
+
+    /**
+     * Merges groups of runs into longer runs until every remaining run can get a read buffer of at
+     * least {@link #MIN_RUN_BUFFER_BYTES}, then merges those into the union-find.
+     */
+    private void mergeRuns() throws IOException {
+        long readBudget = memoryBudgetBytes - WRITE_BUFFER_BYTES;
+        int maxFanIn = (int) Math.max(2, Math.min(Integer.MAX_VALUE, readBudget / MIN_RUN_BUFFER_BYTES));
+        while (runFiles.size() > maxFanIn) {
+            List<Path> inputs = new ArrayList<>(runFiles);
+            runFiles.clear();
+            try {
+                for (int lo = 0; lo < inputs.size(); lo += maxFanIn) {
+                    List<Path> group = inputs.subList(lo, Math.min(inputs.size(), lo + maxFanIn));
+                    try (RunWriter writer = newRun(); RunMerger merger = new RunMerger(group)) {
+                        while (merger.next()) {
+                            writer.write(merger.from(), merger.to(), merger.weight());
+                        }
+                    }
+                }
+            } finally {
+                for (Path input : inputs) {
+                    Files.deleteIfExists(input);
+                }
+            }
+            mergePasses++;
+        }
+        try (RunMerger merger = new RunMerger(runFiles)) {
+            while (!complete() && merger.next()) {
+                offer(merger.from(), merger.to(), merger.weight());
+            }
+        }
+        mergePasses++;
+    }
+
+    private RunWriter newRun() throws IOException {
+        Path run = Files.createTempFile(tempDirectory, "mst-run-", ".bin");
+        runFiles.add(run);
+        return new RunWriter(run, WRITE_BUFFER_BYTES);
+    }
+
+    /**
+     * Read buffer per run when {@code runs} runs are merged, leaving room for one write buffer.
+     */
+    private int bufferBytes(int runs) {
+        long share = (memoryBudgetBytes - WRITE_BUFFER_BYTES) / Math.max(1, runs);
+        long bytes = Math.max(MIN_RUN_BUFFER_BYTES, Math.min(MAX_RUN_BUFFER_BYTES, share));
+        return (int) (bytes - bytes % RUN_RECORD_BYTES);
+    }
+
+    private final class RunWriter implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        RunWriter(Path path, int bufferBytes) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.buffer = ByteBuffer.allocateDirect(bufferBytes).order(ByteOrder.LITTLE_ENDIAN);
+            reserve(bufferBytes);
+        }
+
+        void write(int from, int to, double weight) throws IOException {
+            if (buffer.remaining() < RUN_RECORD_BYTES) {
+                flush();
+            }
+            buffer.putInt(from).putInt(to).putDouble(weight);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                release(buffer.capacity());
+                channel.close();
+            }
+        }
+    }
+
+    private static final class RunReader implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private int from;
+        private int to;
+        private double weight;
+
+        RunReader(Path path, int bufferBytes) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            this.buffer = ByteBuffer.allocateDirect(bufferBytes).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.flip();
+        }
+
+        boolean advance() throws IOException {
+            if (buffer.remaining() < RUN_RECORD_BYTES) {
+                buffer.compact();
+                while (buffer.position() < RUN_RECORD_BYTES) {
+                    if (channel.read(buffer) < 0) {
+                        buffer.flip();
+                        if (buffer.hasRemaining()) {
+                            throw new IOException("Truncated run file");
+                        }
+                        return false;
+                    }
+                }
+                buffer.flip();
+            }
+            from = buffer.getInt();
+            to = buffer.getInt();
+            weight = buffer.getDouble();
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Binary min-heap over the heads of several runs, ordered by weight and then by run position, which
+     * preserves input order among equal weights.
+     */
+    private final class RunMerger implements Closeable {
+        private final RunReader[] readers;
+        private final int[] heap;
+        private final long bufferBytes;
+        private int heapSize;
+        private RunReader current;
+
+        RunMerger(List<Path> runs) throws IOException {
+            readers = new RunReader[runs.size()];
+            heap = new int[runs.size()];
+            int bufferBytes = bufferBytes(runs.size());
+            this.bufferBytes = (long) bufferBytes * runs.size();
+            reserve(this.bufferBytes);
+            try {
+                for (int i = 0; i < readers.length; i++) {
+                    readers[i] = new RunReader(runs.get(i), bufferBytes);
+                    if (readers[i].advance()) {
+                        heap[heapSize] = i;
+                        siftUp(heapSize++);
+                    }
+                }
+            } catch (IOException ex) {
+                close();
+                throw ex;
+            }
+        }
+
+        /**
+         * Moves to the next edge in merged order.
+         *
+         * @return {@code false} once every run is exhausted
+         */
+        boolean next() throws IOException {
+            if (current != null) {
+                int top = heap[0];
+                if (readers[top].advance()) {
+                    siftDown(0);
+                } else if (--heapSize > 0) {
+                    heap[0] = heap[heapSize];
+                    siftDown(0);
+                }
+            }
+            if (heapSize == 0) {
+                current = null;
+                return false;
+            }
+            current = readers[heap[0]];
+            return true;
+        }
+
+        int from() {
+            return current.from;
+        }
+
+        int to() {
+            return current.to;
+        }
+
+        double weight() {
+            return current.weight;
+        }
+
+        private boolean less(int a, int b) {
+            counter.incrementComparison();
+            int compared = Double.compare(readers[a].weight, readers[b].weight);
+            return compared != 0 ? compared < 0 : a < b;
+        }
+
+        private void siftUp(int index) {
+            int run = heap[index];
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!less(run, heap[parent])) {
+                    break;
+                }
+                heap[index] = heap[parent];
+                index = parent;
+            }
+            heap[index] = run;
+        }
+
+        private void siftDown(int index) {
+            int run = heap[index];
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= heapSize) {
+                    break;
+                }
+                if (child + 1 < heapSize && less(heap[child + 1], heap[child])) {
+                    child++;
+                }
+                if (!less(heap[child], run)) {
+                    break;
+                }
+                heap[index] = heap[child];
+                index = child;
+            }
+            heap[index] = run;
+        }
+
+        @Override
+        public void close() throws IOException {
+            release(bufferBytes);
+            IOException failure = null;
+            for (RunReader reader : readers) {
+                if (reader == null) {
+                    continue;
+                }
+                try {
+                    reader.close();
+                } catch (IOException ex) {
+                    failure = ex;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+}
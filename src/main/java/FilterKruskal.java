@@ -0,0 +1,239 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntPredicate;
+
+/**
+ * Filter-Kruskal: partitions edges around a pivot, solves the light half first and drops heavy edges
+ * whose endpoints are already connected before they are ever sorted.
+ * <p>
+ * Edges are ordered by weight and then by index, so the accepted edges and their order are exactly
+ * those of the full-sort Kruskal run. Partitioning and filtering of large ranges run on a fork-join
+ * pool; small ranges fall back to a plain sort.
+ */
+final class FilterKruskal {
+    private static final int SORT_THRESHOLD = 512;
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+    private static final int PARALLEL_THRESHOLD = 1 << 15;
+
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+    private final double[] edgeWeights;
+    private final ForkJoinPool pool;
+    private final OperationCounter counter;
+    private final DisjointSet unionFind;
+    private final int[] edges;
+    private final int[] scratch;
+    private final int[] mstEdgeIds;
+    private int mstSize;
+    private double totalCost;
+
+    FilterKruskal(PreparedGraph graph, ForkJoinPool pool, OperationCounter counter) {
+        this.edgeFrom = graph.edgeFrom();
+        this.edgeTo = graph.edgeTo();
+        this.edgeWeights = graph.edgeWeights();
+        this.pool = pool;
+        this.counter = counter;
+        this.unionFind = new DisjointSet(graph.vertexCount());
+        int edgeCount = graph.edgeCount();
+        this.edges = new int[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            edges[e] = e;
+        }
+        this.scratch = new int[edgeCount];
+        this.mstEdgeIds = new int[Math.max(0, graph.vertexCount() - 1)];
+    }
+
+    void run() {
+        filterKruskal(0, edges.length, 2 * (32 - Integer.numberOfLeadingZeros(edges.length)));
+    }
+
+    int[] mstEdgeIds() {
+        return mstEdgeIds;
+    }
+
+    int mstSize() {
+        return mstSize;
+    }
+
+    double totalCost() {
+        return totalCost;
+    }
+
+    /**
+     * Estimated heap bytes of the edge permutation, its scratch copy, the union-find and the tree.
+     */
+    long footprintBytes() {
+        return 2 * MemoryFootprint.ints(edges.length) + 2 * MemoryFootprint.ints(unionFind.capacity())
+                + MemoryFootprint.ints(mstEdgeIds.length);
+    }
+
+    private boolean complete() {
+        return mstSize == mstEdgeIds.length;
+    }
+
+    private void filterKruskal(int lo, int hi, int depthLimit) {
+        if (complete() || lo >= hi) {
+            return;
+        }
+        if (hi - lo <= SORT_THRESHOLD || depthLimit == 0) {
+            sort(lo, hi);
+            for (int i = lo; i < hi && !complete(); i++) {
+                addIfCrossing(edges[i]);
+            }
+            return;
+        }
+
+        int pivot = medianOfThree(edges[lo], edges[(lo + hi) >>> 1], edges[hi - 1]);
+        int split = partition(lo, hi, edge -> !lighter(pivot, edge), true);
+        counter.addComparisons(hi - lo);
+        filterKruskal(lo, split, depthLimit - 1);
+        if (complete()) {
+            return;
+        }
+        int remaining = partition(split, hi, edge -> unionFind.findRoot(edgeFrom[edge]) != unionFind.findRoot(edgeTo[edge]),
+                false);
+        counter.addUpdates(2L * (hi - split));
+        counter.addComparisons(hi - split);
+        filterKruskal(split, remaining, depthLimit - 1);
+    }
+
+    private void addIfCrossing(int edge) {
+        int rootU = unionFind.find(edgeFrom[edge]);
+        counter.incrementUpdate();
+        int rootV = unionFind.find(edgeTo[edge]);
+        counter.incrementUpdate();
+        counter.incrementComparison();
+        if (rootU != rootV) {
+            unionFind.unionRoots(rootU, rootV);
+            counter.incrementUnion();
+            mstEdgeIds[mstSize++] = edge;
+            totalCost += edgeWeights[edge];
+        }
+    }
+
+    /**
+     * Stable partition of {@code edges[lo, hi)}: edges matching {@code first} move to the front. When
+     * {@code keepRest} is false the other edges are discarded.
+     *
+     * @return the end of the matching prefix
+     */
+    private int partition(int lo, int hi, IntPredicate first, boolean keepRest) {
+        if (hi - lo >= PARALLEL_THRESHOLD && pool.getParallelism() > 1) {
+            return parallelPartition(lo, hi, first, keepRest);
+        }
+        int write = lo;
+        int rest = lo;
+        for (int i = lo; i < hi; i++) {
+            int edge = edges[i];
+            if (first.test(edge)) {
+                edges[write++] = edge;
+            } else if (keepRest) {
+                scratch[rest++] = edge;
+            }
+        }
+        if (keepRest) {
+            System.arraycopy(scratch, lo, edges, write, rest - lo);
+        }
+        return write;
+    }
+
+    private int parallelPartition(int lo, int hi, IntPredicate first, boolean keepRest) {
+        int grain = RangeTask.grainSize(hi - lo, pool.getParallelism());
+        int blocks = (hi - lo + grain - 1) / grain;
+        int[] firstCounts = new int[blocks];
+        pool.invoke(new RangeTask(0, blocks, 1, (fromBlock, toBlock) -> {
+            for (int block = fromBlock; block < toBlock; block++) {
+                int start = lo + block * grain;
+                int end = Math.min(hi, start + grain);
+                int count = 0;
+                for (int i = start; i < end; i++) {
+                    if (first.test(edges[i])) {
+                        count++;
+                    }
+                }
+                firstCounts[block] = count;
+            }
+        }));
+
+        int[] firstOffsets = new int[blocks];
+        int totalFirst = 0;
+        for (int block = 0; block < blocks; block++) {
+            firstOffsets[block] = totalFirst;
+            totalFirst += firstCounts[block];
+        }
+        int firstTotal = totalFirst;
+        pool.invoke(new RangeTask(0, blocks, 1, (fromBlock, toBlock) -> {
+            for (int block = fromBlock; block < toBlock; block++) {
+                int start = lo + block * grain;
+                int end = Math.min(hi, start + grain);
+                int firstWrite = lo + firstOffsets[block];
+                int restWrite = lo + firstTotal + (start - lo) - firstOffsets[block];
+                for (int i = start; i < end; i++) {
+                    int edge = edges[i];
+                    if (first.test(edge)) {
+                        scratch[firstWrite++] = edge;
+                    } else if (keepRest) {
+                        scratch[restWrite++] = edge;
+                    }
+                }
+            }
+        }));
+        System.arraycopy(scratch, lo, edges, lo, keepRest ? hi - lo : firstTotal);
+        return lo + firstTotal;
+    }
+
+    private int medianOfThree(int a, int b, int c) {
+        counter.addComparisons(3);
+        if (lighter(a, b)) {
+            if (lighter(b, c)) {
+                return b;
+            }
+            return lighter(a, c) ? c : a;
+        }
+        if (lighter(a, c)) {
+            return a;
+        }
+        return lighter(b, c) ? c : b;
+    }
+
+    private boolean lighter(int a, int b) {
+        int byWeight = Double.compare(edgeWeights[a], edgeWeights[b]);
+        return byWeight < 0 || (byWeight == 0 && a < b);
+    }
+
+    private void sort(int lo, int hi) {
+        if (hi - lo <= INSERTION_SORT_THRESHOLD) {
+            for (int i = lo + 1; i < hi; i++) {
+                int edge = edges[i];
+                int j = i - 1;
+                while (j >= lo) {
+                    counter.incrementComparison();
+                    if (!lighter(edge, edges[j])) {
+                        break;
+                    }
+                    edges[j + 1] = edges[j];
+                    j--;
+                }
+                edges[j + 1] = edge;
+            }
+            return;
+        }
+        int middle = (lo + hi) >>> 1;
+        sort(lo, middle);
+        sort(middle, hi);
+        System.arraycopy(edges, lo, scratch, lo, hi - lo);
+        int left = lo;
+        int right = middle;
+        for (int i = lo; i < hi; i++) {
+            if (left < middle && (right >= hi || !lighterCounted(scratch[right], scratch[left]))) {
+                edges[i] = scratch[left++];
+            } else {
+                edges[i] = scratch[right++];
+            }
+        }
+    }
+
+    private boolean lighterCounted(int a, int b) {
+        counter.incrementComparison();
+        return lighter(a, b);
+    }
+}
@@ -1,5 +1,4 @@
-import com.fasterxml.jackson.annotation.JsonCreator;
-import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -8,16 +7,17 @@ import java.util.Objects;
 
 /**
  * Immutable representation of a transportation network graph.
+ * <p>
+ * JSON input is read by {@link ColumnarGraphDeserializer} into a {@link ColumnarGraph}, which keeps the
+ * edges as primitive columns instead of {@link Edge} objects.
  */
+@JsonDeserialize(using = ColumnarGraphDeserializer.class)
 public class Graph {
     private final String id;
     private final List<String> nodes;
     private final List<Edge> edges;
 
-    @JsonCreator
-    public Graph(@JsonProperty("id") String id,
-                 @JsonProperty("nodes") List<String> nodes,
-                 @JsonProperty("edges") List<Edge> edges) {
+    public Graph(String id, List<String> nodes, List<Edge> edges) {
         this.id = String.valueOf(id);
         this.nodes = nodes == null ? List.of() : List.copyOf(nodes);
         if (edges == null) {
@@ -54,15 +54,14 @@ public class Graph {
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        Graph graph = (Graph) o;
-        return Objects.equals(id, graph.id) &&
-                Objects.equals(nodes, graph.nodes) &&
-                Objects.equals(edges, graph.edges);
+        if (!(o instanceof Graph graph)) return false;
+        return Objects.equals(getId(), graph.getId()) &&
+                Objects.equals(getNodes(), graph.getNodes()) &&
+                Objects.equals(getEdges(), graph.getEdges());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, nodes, edges);
+        return Objects.hash(getId(), getNodes(), getEdges());
     }
 }
@@ -1,7 +1,17 @@
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
- * Holds the results of running Prim's and Kruskal's algorithms on a graph.
+ * Holds the results of running one or more MST algorithms on a graph. Each result is written to
+ * {@code output.json} under its {@link MSTAlgorithm#getKey() algorithm key}, in the order of the map
+ * the results were given in.
  */
 public class GraphComputationResult {
     @JsonProperty("graph_id")
@@ -10,17 +20,54 @@ public class GraphComputationResult {
     @JsonProperty("input_stats")
     private final InputStats inputStats;
 
-    @JsonProperty("prim")
-    private final MSTResult primResult;
+    @JsonProperty("plan")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final MSTPlan plan;
 
-    @JsonProperty("kruskal")
-    private final MSTResult kruskalResult;
+    private final Map<MSTAlgorithm, MSTResult> results;
 
     public GraphComputationResult(String graphId, InputStats inputStats, MSTResult primResult, MSTResult kruskalResult) {
+        this(graphId, inputStats, primResult, kruskalResult, null);
+    }
+
+    public GraphComputationResult(String graphId,
+                                  InputStats inputStats,
+                                  MSTResult primResult,
+                                  MSTResult kruskalResult,
+                                  MSTResult boruvkaResult) {
+        this(graphId, inputStats, resultsOf(primResult, kruskalResult, boruvkaResult));
+    }
+
+    public GraphComputationResult(String graphId, InputStats inputStats, Map<MSTAlgorithm, MSTResult> results) {
+        this(graphId, inputStats, null, results);
+    }
+
+    /**
+     * @param plan the planner's choice in production mode, {@code null} when the algorithms were
+     *             selected explicitly
+     */
+    public GraphComputationResult(String graphId,
+                                  InputStats inputStats,
+                                  MSTPlan plan,
+                                  Map<MSTAlgorithm, MSTResult> results) {
         this.graphId = graphId;
         this.inputStats = inputStats;
-        this.primResult = primResult;
-        this.kruskalResult = kruskalResult;
+        this.plan = plan;
+        Map<MSTAlgorithm, MSTResult> copy = new LinkedHashMap<>();
+        results.forEach((algorithm, result) -> {
+            if (result != null) {
+                copy.put(algorithm, result);
+            }
+        });
+        this.results = Collections.unmodifiableMap(copy);
+    }
+
+    private static Map<MSTAlgorithm, MSTResult> resultsOf(MSTResult prim, MSTResult kruskal, MSTResult boruvka) {
+        Map<MSTAlgorithm, MSTResult> results = new EnumMap<>(MSTAlgorithm.class);
+        results.put(MSTAlgorithm.PRIM, prim);
+        results.put(MSTAlgorithm.KRUSKAL, kruskal);
+        results.put(MSTAlgorithm.BORUVKA, boruvka);
+        return results;
     }
 
     public String getGraphId() {
@@ -31,11 +78,44 @@ public class GraphComputationResult {
         return inputStats;
     }
 
+    /**
+     * Returns the planner's choice, or {@code null} outside production mode.
+     */
+    public MSTPlan getPlan() {
+        return plan;
+    }
+
+    @JsonIgnore
     public MSTResult getPrimResult() {
-        return primResult;
+        return results.get(MSTAlgorithm.PRIM);
     }
 
+    @JsonIgnore
     public MSTResult getKruskalResult() {
-        return kruskalResult;
+        return results.get(MSTAlgorithm.KRUSKAL);
+    }
+
+    @JsonIgnore
+    public MSTResult getBoruvkaResult() {
+        return results.get(MSTAlgorithm.BORUVKA);
+    }
+
+    /**
+     * Returns the result of {@code algorithm}, or {@code null} if it was not run for this graph.
+     */
+    public MSTResult getResult(MSTAlgorithm algorithm) {
+        return results.get(algorithm);
+    }
+
+    @JsonIgnore
+    public Map<MSTAlgorithm, MSTResult> getResults() {
+        return results;
+    }
+
+    @JsonAnyGetter
+    private Map<String, MSTResult> resultsByKey() {
+        Map<String, MSTResult> byKey = new LinkedHashMap<>();
+        results.forEach((algorithm, result) -> byKey.put(algorithm.getKey(), result));
+        return byKey;
     }
 }
@@ -0,0 +1,43 @@
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes a JSON dataset one {@link Graph} at a time, in the format {@link GraphIO#readDataset} reads.
+ * Graphs are written without indentation, so edges take one line each instead of five; only
+ * {@link #close()} terminates the {@code graphs} array.
+ */
+public class GraphDatasetWriter implements Closeable {
+    private final JsonGenerator generator;
+    private final ObjectWriter writer;
+    private boolean closed;
+
+    GraphDatasetWriter(Writer output, ObjectWriter writer) throws IOException {
+        this.writer = writer;
+        this.generator = writer.createGenerator(output);
+        generator.writeStartObject();
+        generator.writeFieldName("graphs");
+        generator.writeStartArray();
+    }
+
+    public void write(Graph graph) throws IOException {
+        writer.writeValue(generator, graph);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } finally {
+            generator.close();
+        }
+    }
+}
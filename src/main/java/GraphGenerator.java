@@ -0,0 +1,359 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Seeded generator of synthetic graphs for scaling experiments. Every family is sized by a vertex count
+ * and a target average degree, and the same family, size, degree and seed always give the same graph.
+ * <p>
+ * Graphs are built as {@link ColumnarGraph}s, so tens of millions of edges take a few hundred megabytes,
+ * and are written to either input format: {@code java GraphGenerator <output.json|output.mstg> <seed>
+ * <family>:<vertices>[:<degree>]...}.
+ */
+public final class GraphGenerator {
+    /**
+     * Largest number of edges a generated graph may have; edge columns are indexed by {@code int}.
+     */
+    static final long MAX_EDGES = Integer.MAX_VALUE - 8;
+
+    private GraphGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: GraphGenerator <output.json|output.mstg> <seed> "
+                    + "<family>:<vertices>[:<degree>]...  families: gnp, geometric, grid, powerlaw, complete");
+            System.exit(2);
+        }
+        Path output = Path.of(args[0]);
+        long seed = Long.parseLong(args[1]);
+        List<Spec> specs = Arrays.stream(args, 2, args.length).map(Spec::parse).toList();
+        if (output.getFileName().toString().endsWith(".mstg")) {
+            try (BinaryGraphWriter writer = new BinaryGraphWriter(output)) {
+                for (Spec spec : specs) {
+                    writer.write(generate(spec, seed));
+                }
+            }
+        } else {
+            try (GraphDatasetWriter writer = GraphIO.openDatasetWriter(output)) {
+                for (Spec spec : specs) {
+                    writer.write(generate(spec, seed));
+                }
+            }
+        }
+        System.out.println("Wrote " + specs.size() + " graphs to " + output);
+    }
+
+    public static ColumnarGraph generate(Spec spec, long seed) {
+        return generate(spec.family(), spec.vertices(), spec.averageDegree(), seed);
+    }
+
+    /**
+     * @param averageDegree target average degree; ignored by {@link Family#GRID} and {@link Family#COMPLETE}
+     * @throws IllegalArgumentException if the graph would exceed {@link #MAX_EDGES} edges
+     */
+    public static ColumnarGraph generate(Family family, int vertices, double averageDegree, long seed) {
+        if (vertices < 0) {
+            throw new IllegalArgumentException("Vertex count must not be negative but was " + vertices);
+        }
+        if (!(averageDegree >= 0) || Double.isInfinite(averageDegree)) {
+            throw new IllegalArgumentException("Average degree must be finite and non-negative but was "
+                    + averageDegree);
+        }
+        Random random = new Random(seed);
+        Columns edges = switch (family) {
+            case GNP -> gnp(vertices, vertices < 2 ? 0.0 : averageDegree / (vertices - 1), random);
+            case GEOMETRIC -> geometric(vertices, Math.sqrt(averageDegree / (Math.PI * Math.max(1, vertices))),
+                    random);
+            case GRID -> grid(vertices, random);
+            case POWER_LAW -> powerLaw(vertices, (int) Math.max(1, Math.round(averageDegree / 2)), random);
+            case COMPLETE -> complete(vertices, random);
+        };
+        String id = family.getKey() + "-" + vertices + (family.usesDegree() ? "-d" + format(averageDegree) : "")
+                + "-s" + seed;
+        return edges.toGraph(id, vertices);
+    }
+
+    /**
+     * Erdős–Rényi {@code G(n, p)}: every pair is an edge with probability {@code p}. Gaps between
+     * consecutive edges are drawn from the geometric distribution (Batagelj and Brandes), so generation
+     * takes time proportional to the edges produced rather than to {@code n^2}.
+     */
+    private static Columns gnp(int vertices, double probability, Random random) {
+        if (probability >= 1.0) {
+            return complete(vertices, random);
+        }
+        long pairs = (long) vertices * (vertices - 1) / 2;
+        Columns edges = new Columns(expected(pairs * Math.max(0.0, probability) * 1.05));
+        if (probability <= 0.0) {
+            return edges;
+        }
+        double logSkip = Math.log(1.0 - probability);
+        int v = 1;
+        long w = -1;
+        while (v < vertices) {
+            w += 1 + (long) Math.min(pairs, Math.floor(Math.log(1.0 - random.nextDouble()) / logSkip));
+            while (w >= v && v < vertices) {
+                w -= v;
+                v++;
+            }
+            if (v < vertices) {
+                edges.add(v, (int) w, uniformWeight(random));
+            }
+        }
+        return edges;
+    }
+
+    /**
+     * Random geometric graph: points uniform in the unit square, joined when at most {@code radius} apart
+     * and weighted by their distance. Neighbours are found through a grid of cells at least
+     * {@code radius} wide, so only adjacent cells are compared.
+     */
+    private static Columns geometric(int vertices, double radius, Random random) {
+        double[] x = new double[vertices];
+        double[] y = new double[vertices];
+        for (int v = 0; v < vertices; v++) {
+            x[v] = random.nextDouble();
+            y[v] = random.nextDouble();
+        }
+        int side = (int) Math.max(1, Math.min(Math.floor(1.0 / Math.max(radius, 1e-9)), Math.sqrt(vertices) + 1));
+        int[] cellStart = new int[side * side + 1];
+        int[] cellOf = new int[vertices];
+        for (int v = 0; v < vertices; v++) {
+            cellOf[v] = cell(x[v], side) * side + cell(y[v], side);
+            cellStart[cellOf[v] + 1]++;
+        }
+        for (int c = 0; c < side * side; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        int[] members = new int[vertices];
+        int[] cursor = Arrays.copyOf(cellStart, side * side);
+        for (int v = 0; v < vertices; v++) {
+            members[cursor[cellOf[v]]++] = v;
+        }
+
+        double radiusSquared = radius * radius;
+        double expectedDegree = Math.PI * radiusSquared * vertices;
+        Columns edges = new Columns(expected(vertices * expectedDegree / 2 * 1.05));
+        // Own cell plus the four neighbours ahead of it, so every pair of cells is visited once.
+        int[][] ahead = {{0, 0}, {0, 1}, {1, -1}, {1, 0}, {1, 1}};
+        for (int cx = 0; cx < side; cx++) {
+            for (int cy = 0; cy < side; cy++) {
+                int own = cx * side + cy;
+                for (int[] offset : ahead) {
+                    int nx = cx + offset[0];
+                    int ny = cy + offset[1];
+                    if (nx >= side || ny < 0 || ny >= side) {
+                        continue;
+                    }
+                    int other = nx * side + ny;
+                    for (int i = cellStart[own]; i < cellStart[own + 1]; i++) {
+                        int u = members[i];
+                        int first = other == own ? i + 1 : cellStart[other];
+                        for (int j = first; j < cellStart[other + 1]; j++) {
+                            int v = members[j];
+                            double dx = x[u] - x[v];
+                            double dy = y[u] - y[v];
+                            double squared = dx * dx + dy * dy;
+                            if (squared <= radiusSquared) {
+                                edges.add(Math.min(u, v), Math.max(u, v), Math.sqrt(squared));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return edges;
+    }
+
+    private static int cell(double coordinate, int side) {
+        return Math.min(side - 1, (int) (coordinate * side));
+    }
+
+    /**
+     * Road-like lattice: vertices laid out row by row in a near-square grid, each joined to its right and
+     * lower neighbour by a segment of random length between 1 and 10.
+     */
+    private static Columns grid(int vertices, Random random) {
+        int columns = (int) Math.ceil(Math.sqrt(vertices));
+        Columns edges = new Columns(expected(2.0 * vertices));
+        for (int v = 0; v < vertices; v++) {
+            if ((v + 1) % columns != 0 && v + 1 < vertices) {
+                edges.add(v, v + 1, 1.0 + 9.0 * random.nextDouble());
+            }
+            if ((long) v + columns < vertices) {
+                edges.add(v, v + columns, 1.0 + 9.0 * random.nextDouble());
+            }
+        }
+        return edges;
+    }
+
+    /**
+     * Barabási–Albert preferential attachment: starting from a clique of {@code m + 1} vertices, every new
+     * vertex attaches to {@code m} endpoints drawn from all earlier edge endpoints, so a vertex is chosen
+     * in proportion to its degree and degrees follow a power law. Repeated draws are kept as parallel
+     * edges.
+     */
+    private static Columns powerLaw(int vertices, int m, Random random) {
+        int core = Math.min(vertices, m + 1);
+        long edgeCount = (long) core * (core - 1) / 2 + (long) Math.max(0, vertices - core) * m;
+        Columns edges = new Columns(expected(edgeCount));
+        int[] endpoints = new int[(int) Math.min(Integer.MAX_VALUE - 8, 2 * edgeCount)];
+        int endpointCount = 0;
+        for (int u = 0; u < core; u++) {
+            for (int v = u + 1; v < core; v++) {
+                edges.add(u, v, uniformWeight(random));
+                endpoints[endpointCount++] = u;
+                endpoints[endpointCount++] = v;
+            }
+        }
+        for (int v = core; v < vertices; v++) {
+            int drawn = endpointCount;
+            for (int k = 0; k < m; k++) {
+                int target = drawn == 0 ? 0 : endpoints[random.nextInt(drawn)];
+                edges.add(target, v, uniformWeight(random));
+                endpoints[endpointCount++] = target;
+                endpoints[endpointCount++] = v;
+            }
+        }
+        return edges;
+    }
+
+    private static Columns complete(int vertices, Random random) {
+        Columns edges = new Columns(expected((double) vertices * (vertices - 1) / 2));
+        for (int u = 0; u < vertices; u++) {
+            for (int v = u + 1; v < vertices; v++) {
+                edges.add(u, v, uniformWeight(random));
+            }
+        }
+        return edges;
+    }
+
+    private static double uniformWeight(Random random) {
+        return 1.0 + random.nextDouble() * 999.0;
+    }
+
+    private static int expected(double edges) {
+        if (edges > MAX_EDGES) {
+            throw new IllegalArgumentException("Generated graph would have about " + (long) edges
+                    + " edges, more than " + MAX_EDGES);
+        }
+        return (int) Math.max(16, edges);
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) ? Long.toString((long) value) : Double.toString(value);
+    }
+
+    /**
+     * Graph families the generator can build.
+     */
+    public enum Family {
+        GNP("gnp", true),
+        GEOMETRIC("geometric", true),
+        GRID("grid", false),
+        POWER_LAW("powerlaw", true),
+        COMPLETE("complete", false);
+
+        private final String key;
+        private final boolean usesDegree;
+
+        Family(String key, boolean usesDegree) {
+            this.key = key;
+            this.usesDegree = usesDegree;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * Whether the target average degree shapes the graph; grids and complete graphs have a fixed one.
+         */
+        public boolean usesDegree() {
+            return usesDegree;
+        }
+
+        public static Family fromKey(String key) {
+            String normalized = key.trim().toLowerCase(Locale.ROOT);
+            for (Family family : values()) {
+                if (family.key.equals(normalized)) {
+                    return family;
+                }
+            }
+            throw new IllegalArgumentException("Unknown graph family '" + key + "'");
+        }
+    }
+
+    /**
+     * A family, vertex count and target average degree, written {@code family:vertices[:degree]}; the
+     * degree defaults to 8.
+     */
+    public record Spec(Family family, int vertices, double averageDegree) {
+        static final double DEFAULT_DEGREE = 8.0;
+
+        /**
+         * @throws IllegalArgumentException if the specification is malformed
+         */
+        public static Spec parse(String spec) {
+            String[] parts = spec.split(":");
+            if (parts.length < 2 || parts.length > 3) {
+                throw new IllegalArgumentException("Expected family:vertices[:degree] but was '" + spec + "'");
+            }
+            try {
+                return new Spec(Family.fromKey(parts[0]), Integer.parseInt(parts[1].trim()),
+                        parts.length == 3 ? Double.parseDouble(parts[2].trim()) : DEFAULT_DEGREE);
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Invalid graph size in '" + spec + "'", ex);
+            }
+        }
+    }
+
+    /**
+     * Growable edge columns.
+     */
+    private static final class Columns {
+        private int[] from;
+        private int[] to;
+        private double[] weights;
+        private int size;
+
+        Columns(int capacity) {
+            from = new int[capacity];
+            to = new int[capacity];
+            weights = new double[capacity];
+        }
+
+        void add(int u, int v, double weight) {
+            if (size == from.length) {
+                if (size >= MAX_EDGES) {
+                    throw new IllegalArgumentException("Generated graph exceeds " + MAX_EDGES + " edges");
+                }
+                int capacity = (int) Math.min(MAX_EDGES, size + (size >> 1) + 16L);
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+            from[size] = u;
+            to[size] = v;
+            weights[size] = weight;
+            size++;
+        }
+
+        ColumnarGraph toGraph(String id, int vertices) {
+            String[] names = new String[vertices];
+            for (int v = 0; v < vertices; v++) {
+                names[v] = "N" + v;
+            }
+            if (size != from.length) {
+                from = Arrays.copyOf(from, size);
+                to = Arrays.copyOf(to, size);
+                weights = Arrays.copyOf(weights, size);
+            }
+            return new ColumnarGraph(id, Arrays.asList(names), names, vertices, from, to, weights);
+        }
+    }
+}
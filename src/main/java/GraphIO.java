@@ -1,13 +1,13 @@
-import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
-import java.util.Locale;
 
 /**
  * Utility methods for reading input graphs and writing results.
@@ -25,41 +25,100 @@ public final class GraphIO {
         }
     }
 
+    /**
+     * Opens a reader that yields the dataset's graphs one at a time instead of binding the whole file.
+     * The caller must close the returned reader.
+     */
+    public static GraphStreamReader openGraphStream(Path path) throws IOException {
+        JsonParser parser = openParser(path);
+        try {
+            return new GraphStreamReader(parser, MAPPER);
+        } catch (IOException ex) {
+            parser.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Opens a token-level parser over the JSON file at {@code path}. The caller must close it.
+     */
+    static JsonParser openParser(Path path) throws IOException {
+        return MAPPER.getFactory().createParser(Files.newBufferedReader(path));
+    }
+
+    /**
+     * Passes every graph of the dataset to {@code consumer}, reading the next graph only after the
+     * consumer has returned.
+     */
+    public static void forEachGraph(Path path, GraphConsumer consumer) throws IOException {
+        try (GraphStreamReader reader = openGraphStream(path)) {
+            while (reader.hasNext()) {
+                consumer.accept(reader.next());
+            }
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
     public static void writeResults(Path path, List<GraphComputationResult> results) throws IOException {
-        ObjectWriter writer = MAPPER.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
-        try (var output = Files.newBufferedWriter(path)) {
-            writer.writeValue(output, new ResultsWrapper(results));
+        try (ResultsJsonWriter writer = openResultsWriter(path)) {
+            for (GraphComputationResult result : results) {
+                writer.write(result);
+            }
         }
     }
 
     public static void writeComparisonCsv(Path path, List<GraphComputationResult> results) throws IOException {
-        try (var writer = Files.newBufferedWriter(path)) {
-            writer.write("graph_id,prim_total_cost,kruskal_total_cost,prim_execution_time_ms,kruskal_execution_time_ms,"
-                    + "prim_comparisons,prim_updates,prim_unions,prim_operations,"
-                    + "kruskal_comparisons,kruskal_updates,kruskal_unions,kruskal_operations\n");
+        try (ComparisonCsvWriter writer = openComparisonCsv(path)) {
             for (GraphComputationResult result : results) {
-                MSTResult prim = result.getPrimResult();
-                MSTResult kruskal = result.getKruskalResult();
-                writer.write(String.format(Locale.US,
-                        "%s,%.3f,%.3f,%.3f,%.3f,%d,%d,%d,%d,%d,%d,%d,%d%n",
-                        result.getGraphId(),
-                        prim.getTotalCost(),
-                        kruskal.getTotalCost(),
-                        prim.getExecutionTimeMs(),
-                        kruskal.getExecutionTimeMs(),
-                        prim.getComparisonsCount(),
-                        prim.getUpdatesCount(),
-                        prim.getUnionsCount(),
-                        prim.getOperationsCount(),
-                        kruskal.getComparisonsCount(),
-                        kruskal.getUpdatesCount(),
-                        kruskal.getUnionsCount(),
-                        kruskal.getOperationsCount()));
+                writer.write(result);
             }
         }
     }
 
-    private record ResultsWrapper(@com.fasterxml.jackson.annotation.JsonProperty("results")
-                                  List<GraphComputationResult> results) {
+    /**
+     * Opens an incremental writer for {@code output.json}. The file is only a complete JSON document
+     * after the writer has been closed.
+     */
+    public static ResultsJsonWriter openResultsWriter(Path path) throws IOException {
+        Writer output = Files.newBufferedWriter(path);
+        try {
+            return new ResultsJsonWriter(output, MAPPER);
+        } catch (IOException ex) {
+            output.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Opens an incremental writer for a JSON graph dataset. The file is only a complete JSON document
+     * after the writer has been closed.
+     */
+    public static GraphDatasetWriter openDatasetWriter(Path path) throws IOException {
+        Writer output = Files.newBufferedWriter(path);
+        try {
+            return new GraphDatasetWriter(output, MAPPER.writer().without(SerializationFeature.INDENT_OUTPUT));
+        } catch (IOException ex) {
+            output.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Opens an incremental writer for {@code comparison.csv}; the header row is written immediately.
+     */
+    public static ComparisonCsvWriter openComparisonCsv(Path path) throws IOException {
+        Writer output = Files.newBufferedWriter(path);
+        try {
+            return new ComparisonCsvWriter(output);
+        } catch (IOException ex) {
+            output.close();
+            throw ex;
+        }
+    }
+
+    @FunctionalInterface
+    public interface GraphConsumer {
+        void accept(Graph graph) throws IOException;
     }
 }
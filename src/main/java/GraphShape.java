@@ -0,0 +1,98 @@
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Cheap structural statistics of a graph that {@link MSTPlanner} bases its choice on. Computed in
+ * {@code O(V + E)} from a {@link PreparedGraph}. The weight range is reported with the plan but no rule
+ * reads it: the edge sort strategy is chosen with {@code mst.kruskalSort}, not by the planner.
+ */
+public class GraphShape {
+    @JsonProperty("vertices")
+    private final int vertices;
+
+    @JsonProperty("edges")
+    private final int edges;
+
+    @JsonProperty("density")
+    private final double density;
+
+    @JsonProperty("average_degree")
+    private final double averageDegree;
+
+    @JsonProperty("degree_skew")
+    private final double degreeSkew;
+
+    @JsonProperty("min_weight")
+    private final double minWeight;
+
+    @JsonProperty("max_weight")
+    private final double maxWeight;
+
+    @JsonCreator
+    public GraphShape(@JsonProperty("vertices") int vertices,
+                      @JsonProperty("edges") int edges,
+                      @JsonProperty("density") double density,
+                      @JsonProperty("average_degree") double averageDegree,
+                      @JsonProperty("degree_skew") double degreeSkew,
+                      @JsonProperty("min_weight") double minWeight,
+                      @JsonProperty("max_weight") double maxWeight) {
+        this.vertices = vertices;
+        this.edges = edges;
+        this.density = density;
+        this.averageDegree = averageDegree;
+        this.degreeSkew = degreeSkew;
+        this.minWeight = minWeight;
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Density is {@code E / (V(V-1)/2)}; degree skew is the maximum degree divided by the average degree.
+     */
+    public static GraphShape of(PreparedGraph graph) {
+        int vertexCount = graph.vertexCount();
+        int edgeCount = graph.edgeCount();
+        int[] offsets = graph.offsets();
+        int maxDegree = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            maxDegree = Math.max(maxDegree, offsets[v + 1] - offsets[v]);
+        }
+        double minWeight = edgeCount == 0 ? 0.0 : Double.POSITIVE_INFINITY;
+        double maxWeight = edgeCount == 0 ? 0.0 : Double.NEGATIVE_INFINITY;
+        for (double weight : graph.edgeWeights()) {
+            minWeight = Math.min(minWeight, weight);
+            maxWeight = Math.max(maxWeight, weight);
+        }
+        double averageDegree = vertexCount == 0 ? 0.0 : 2.0 * edgeCount / vertexCount;
+        double density = vertexCount < 2 ? 0.0 : 2.0 * edgeCount / ((double) vertexCount * (vertexCount - 1));
+        double degreeSkew = averageDegree == 0.0 ? 0.0 : maxDegree / averageDegree;
+        return new GraphShape(vertexCount, edgeCount, density, averageDegree, degreeSkew, minWeight, maxWeight);
+    }
+
+    public int getVertices() {
+        return vertices;
+    }
+
+    public int getEdges() {
+        return edges;
+    }
+
+    public double getDensity() {
+        return density;
+    }
+
+    public double getAverageDegree() {
+        return averageDegree;
+    }
+
+    public double getDegreeSkew() {
+        return degreeSkew;
+    }
+
+    public double getMinWeight() {
+        return minWeight;
+    }
+
+    public double getMaxWeight() {
+        return maxWeight;
+    }
+}
@@ -0,0 +1,115 @@
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the {@code graphs} array of a dataset file one {@link Graph} at a time, so only the graph
+ * currently being processed is held in memory. Other top-level fields are skipped.
+ * <p>
+ * Parse errors surface from {@link #hasNext()} and {@link #next()} as {@link UncheckedIOException}.
+ */
+public class GraphStreamReader implements Iterator<Graph>, Closeable {
+    private final JsonParser parser;
+    private final ObjectMapper mapper;
+    private boolean atField;
+    private boolean inGraphsArray;
+    private boolean finished;
+    private Graph next;
+    private long nextLoadNanos;
+    private long lastLoadNanos;
+
+    /**
+     * @param parser positioned before the dataset object, or at the name of one of its top-level fields
+     *               if the caller has already looked at it
+     */
+    GraphStreamReader(JsonParser parser, ObjectMapper mapper) throws IOException {
+        this.parser = parser;
+        this.mapper = mapper;
+        if (parser.currentToken() == JsonToken.FIELD_NAME) {
+            atField = true;
+        } else if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Dataset must be a JSON object with a 'graphs' array");
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null) {
+            return true;
+        }
+        if (finished) {
+            return false;
+        }
+        try {
+            next = readNext();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return next != null;
+    }
+
+    @Override
+    public Graph next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more graphs in dataset");
+        }
+        Graph graph = next;
+        next = null;
+        lastLoadNanos = nextLoadNanos;
+        return graph;
+    }
+
+    private Graph readNext() throws IOException {
+        while (!inGraphsArray) {
+            JsonToken token = atField ? parser.currentToken() : parser.nextToken();
+            atField = false;
+            if (token == null || token == JsonToken.END_OBJECT) {
+                finished = true;
+                return null;
+            }
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("graphs".equals(field) && value == JsonToken.START_ARRAY) {
+                inGraphsArray = true;
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.END_ARRAY) {
+            inGraphsArray = false;
+            return readNext();
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected a graph object but found " + token);
+        }
+        MSTPhaseEvent event = new MSTPhaseEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Graph graph = mapper.readValue(parser, Graph.class);
+        nextLoadNanos = System.nanoTime() - start;
+        MSTPhaseEvent.finish(event, graph.getId(), null, MSTPhase.LOAD);
+        return graph;
+    }
+
+    /**
+     * Time spent binding the graph most recently returned by {@link #next()}.
+     */
+    public long lastLoadNanos() {
+        return lastLoadNanos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        parser.close();
+    }
+}
@@ -0,0 +1,60 @@
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Operation counts reported by the priority queue used in a Prim run.
+ */
+public class HeapStats {
+    @JsonProperty("priority_queue")
+    private final String priorityQueue;
+
+    @JsonProperty("inserts")
+    private final long inserts;
+
+    @JsonProperty("decrease_keys")
+    private final long decreaseKeys;
+
+    @JsonProperty("extractions")
+    private final long extractions;
+
+    @JsonProperty("comparisons")
+    private final long comparisons;
+
+    @JsonCreator
+    public HeapStats(@JsonProperty("priority_queue") String priorityQueue,
+                     @JsonProperty("inserts") long inserts,
+                     @JsonProperty("decrease_keys") long decreaseKeys,
+                     @JsonProperty("extractions") long extractions,
+                     @JsonProperty("comparisons") long comparisons) {
+        this.priorityQueue = priorityQueue;
+        this.inserts = inserts;
+        this.decreaseKeys = decreaseKeys;
+        this.extractions = extractions;
+        this.comparisons = comparisons;
+    }
+
+    public static HeapStats of(String priorityQueue, IndexedPriorityQueue queue) {
+        return new HeapStats(priorityQueue, queue.getInserts(), queue.getDecreaseKeys(), queue.getExtractions(),
+                queue.getComparisons());
+    }
+
+    public String getPriorityQueue() {
+        return priorityQueue;
+    }
+
+    public long getInserts() {
+        return inserts;
+    }
+
+    public long getDecreaseKeys() {
+        return decreaseKeys;
+    }
+
+    public long getExtractions() {
+        return extractions;
+    }
+
+    public long getComparisons() {
+        return comparisons;
+    }
+}
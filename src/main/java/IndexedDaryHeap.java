@@ -0,0 +1,184 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Array-backed indexed d-ary min-heap. With {@code arity == 2} this is the classic indexed binary heap.
+ * A heap created without counting leaves its {@link HeapStats} counters at zero.
+ */
+public class IndexedDaryHeap implements IndexedPriorityQueue {
+    private final int arity;
+    private final int[] heap;
+    private final int[] positions;
+    private final double[] keys;
+    private final boolean counting;
+    private int size;
+    private long inserts;
+    private long decreaseKeys;
+    private long extractions;
+    private long comparisons;
+
+    public IndexedDaryHeap(int capacity, int arity) {
+        this(capacity, arity, true);
+    }
+
+    public IndexedDaryHeap(int capacity, int arity, boolean counting) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Heap arity must be at least 2 but was " + arity);
+        }
+        this.arity = arity;
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        this.keys = new double[capacity];
+        this.counting = counting;
+        Arrays.fill(positions, -1);
+    }
+
+    public int getArity() {
+        return arity;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(int vertex) {
+        return positions[vertex] >= 0;
+    }
+
+    @Override
+    public double keyOf(int vertex) {
+        return keys[vertex];
+    }
+
+    @Override
+    public void insert(int vertex, double key) {
+        if (contains(vertex)) {
+            throw new IllegalStateException("Vertex " + vertex + " is already queued");
+        }
+        if (counting) {
+            inserts++;
+        }
+        keys[vertex] = key;
+        heap[size] = vertex;
+        positions[vertex] = size;
+        siftUp(size++);
+    }
+
+    @Override
+    public void decreaseKey(int vertex, double key) {
+        if (!contains(vertex)) {
+            throw new IllegalStateException("Vertex " + vertex + " is not queued");
+        }
+        if (counting) {
+            decreaseKeys++;
+        }
+        keys[vertex] = key;
+        siftUp(positions[vertex]);
+    }
+
+    @Override
+    public int pollMin() {
+        if (size == 0) {
+            throw new NoSuchElementException("Priority queue is empty");
+        }
+        if (counting) {
+            extractions++;
+        }
+        int min = heap[0];
+        positions[min] = -1;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            positions[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    private void siftUp(int index) {
+        int vertex = heap[index];
+        double key = keys[vertex];
+        while (index > 0) {
+            int parentIndex = (index - 1) / arity;
+            int parent = heap[parentIndex];
+            if (counting) {
+                comparisons++;
+            }
+            if (key >= keys[parent]) {
+                break;
+            }
+            heap[index] = parent;
+            positions[parent] = index;
+            index = parentIndex;
+        }
+        heap[index] = vertex;
+        positions[vertex] = index;
+    }
+
+    private void siftDown(int index) {
+        int vertex = heap[index];
+        double key = keys[vertex];
+        while (true) {
+            int firstChild = index * arity + 1;
+            if (firstChild >= size) {
+                break;
+            }
+            int lastChild = Math.min(firstChild + arity, size);
+            int best = firstChild;
+            for (int child = firstChild + 1; child < lastChild; child++) {
+                if (counting) {
+                    comparisons++;
+                }
+                if (keys[heap[child]] < keys[heap[best]]) {
+                    best = child;
+                }
+            }
+            if (counting) {
+                comparisons++;
+            }
+            if (keys[heap[best]] >= key) {
+                break;
+            }
+            int bestVertex = heap[best];
+            heap[index] = bestVertex;
+            positions[bestVertex] = index;
+            index = best;
+        }
+        heap[index] = vertex;
+        positions[vertex] = index;
+    }
+
+    @Override
+    public long getInserts() {
+        return inserts;
+    }
+
+    @Override
+    public long getDecreaseKeys() {
+        return decreaseKeys;
+    }
+
+    @Override
+    public long getExtractions() {
+        return extractions;
+    }
+
+    @Override
+    public long getComparisons() {
+        return comparisons;
+    }
+
+    @Override
+    public long footprintBytes() {
+        return MemoryFootprint.ints(heap.length) + MemoryFootprint.ints(positions.length)
+                + MemoryFootprint.doubles(keys.length);
+    }
+}
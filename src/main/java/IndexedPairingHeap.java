@@ -0,0 +1,200 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Indexed pairing heap stored in parallel arrays (leftmost-child / right-sibling links) with
+ * two-pass merging on extraction. A heap created without counting leaves its {@link HeapStats} counters
+ * at zero.
+ */
+public class IndexedPairingHeap implements IndexedPriorityQueue {
+    private static final int NONE = -1;
+
+    private final double[] keys;
+    private final int[] child;
+    private final int[] sibling;
+    private final int[] previous;
+    private final boolean[] queued;
+    private final int[] scratch;
+    private final boolean counting;
+    private int root = NONE;
+    private int size;
+    private long inserts;
+    private long decreaseKeys;
+    private long extractions;
+    private long comparisons;
+
+    public IndexedPairingHeap(int capacity) {
+        this(capacity, true);
+    }
+
+    public IndexedPairingHeap(int capacity, boolean counting) {
+        this.keys = new double[capacity];
+        this.child = new int[capacity];
+        this.sibling = new int[capacity];
+        this.previous = new int[capacity];
+        this.queued = new boolean[capacity];
+        this.scratch = new int[capacity];
+        this.counting = counting;
+        Arrays.fill(child, NONE);
+        Arrays.fill(sibling, NONE);
+        Arrays.fill(previous, NONE);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(int vertex) {
+        return queued[vertex];
+    }
+
+    @Override
+    public double keyOf(int vertex) {
+        return keys[vertex];
+    }
+
+    @Override
+    public void insert(int vertex, double key) {
+        if (queued[vertex]) {
+            throw new IllegalStateException("Vertex " + vertex + " is already queued");
+        }
+        if (counting) {
+            inserts++;
+        }
+        keys[vertex] = key;
+        queued[vertex] = true;
+        size++;
+        root = meld(root, vertex);
+    }
+
+    @Override
+    public void decreaseKey(int vertex, double key) {
+        if (!queued[vertex]) {
+            throw new IllegalStateException("Vertex " + vertex + " is not queued");
+        }
+        if (counting) {
+            decreaseKeys++;
+        }
+        keys[vertex] = key;
+        if (vertex == root) {
+            return;
+        }
+        cut(vertex);
+        root = meld(root, vertex);
+    }
+
+    @Override
+    public int pollMin() {
+        if (size == 0) {
+            throw new NoSuchElementException("Priority queue is empty");
+        }
+        if (counting) {
+            extractions++;
+        }
+        int min = root;
+        queued[min] = false;
+        size--;
+
+        int count = 0;
+        int current = child[min];
+        child[min] = NONE;
+        while (current != NONE) {
+            int next = sibling[current];
+            sibling[current] = NONE;
+            previous[current] = NONE;
+            scratch[count++] = current;
+            current = next;
+        }
+
+        if (count == 0) {
+            root = NONE;
+            return min;
+        }
+        int paired = 0;
+        for (int i = 0; i + 1 < count; i += 2) {
+            scratch[paired++] = meld(scratch[i], scratch[i + 1]);
+        }
+        if (count % 2 == 1) {
+            scratch[paired++] = scratch[count - 1];
+        }
+        int merged = scratch[paired - 1];
+        for (int i = paired - 2; i >= 0; i--) {
+            merged = meld(scratch[i], merged);
+        }
+        root = merged;
+        return min;
+    }
+
+    private int meld(int a, int b) {
+        if (a == NONE) {
+            return b;
+        }
+        if (b == NONE) {
+            return a;
+        }
+        if (counting) {
+            comparisons++;
+        }
+        if (keys[b] < keys[a]) {
+            int swap = a;
+            a = b;
+            b = swap;
+        }
+        int firstChild = child[a];
+        sibling[b] = firstChild;
+        if (firstChild != NONE) {
+            previous[firstChild] = b;
+        }
+        previous[b] = a;
+        child[a] = b;
+        return a;
+    }
+
+    private void cut(int vertex) {
+        int prev = previous[vertex];
+        int next = sibling[vertex];
+        if (child[prev] == vertex) {
+            child[prev] = next;
+        } else {
+            sibling[prev] = next;
+        }
+        if (next != NONE) {
+            previous[next] = prev;
+        }
+        sibling[vertex] = NONE;
+        previous[vertex] = NONE;
+    }
+
+    @Override
+    public long getInserts() {
+        return inserts;
+    }
+
+    @Override
+    public long getDecreaseKeys() {
+        return decreaseKeys;
+    }
+
+    @Override
+    public long getExtractions() {
+        return extractions;
+    }
+
+    @Override
+    public long getComparisons() {
+        return comparisons;
+    }
+
+    @Override
+    public long footprintBytes() {
+        return MemoryFootprint.doubles(keys.length) + 4 * MemoryFootprint.ints(child.length)
+                + MemoryFootprint.booleans(queued.length);
+    }
+}
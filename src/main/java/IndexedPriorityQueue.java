@@ -0,0 +1,47 @@
+/**
+ * Min-priority queue keyed by vertex ids {@code 0..capacity-1} that supports decrease-key.
+ * <p>
+ * Each vertex can be present at most once, so a queue used by Prim's algorithm never holds more
+ * than {@code V} entries. Implementations count their own operations for {@link HeapStats}.
+ */
+public interface IndexedPriorityQueue {
+
+    boolean isEmpty();
+
+    int size();
+
+    boolean contains(int vertex);
+
+    /**
+     * Returns the current key of a vertex that is in the queue.
+     */
+    double keyOf(int vertex);
+
+    void insert(int vertex, double key);
+
+    /**
+     * Lowers the key of a queued vertex; {@code key} must not be greater than the current key.
+     */
+    void decreaseKey(int vertex, double key);
+
+    /**
+     * Removes and returns the vertex with the smallest key.
+     */
+    int pollMin();
+
+    long getInserts();
+
+    long getDecreaseKeys();
+
+    long getExtractions();
+
+    /**
+     * Key comparisons performed inside the queue's own data structure.
+     */
+    long getComparisons();
+
+    /**
+     * Estimated heap bytes of the queue's arrays; see {@link MemoryFootprint}.
+     */
+    long footprintBytes();
+}
@@ -1,25 +1,89 @@
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 /**
- * Basic statistics about an input graph.
+ * Basic statistics about an input graph. {@code edges} counts the input edges; for normalized graphs
+ * the removed self-loops and parallel edges are reported as well, and the algorithms ran on the rest.
+ * The time spent preparing the graph is shared by every algorithm run on it, so it is reported here once
+ * rather than in each algorithm's {@link PhaseTimings}.
  */
 public class InputStats {
     @JsonProperty("vertices")
     private final int vertices;
 
     @JsonProperty("edges")
-    private final int edges;
+    private final long edges;
 
-    public InputStats(int vertices, int edges) {
+    @JsonProperty("removed_self_loops")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final Integer removedSelfLoops;
+
+    @JsonProperty("removed_duplicates")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final Integer removedDuplicates;
+
+    @JsonProperty("preprocessing_ms")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final Double preprocessingMs;
+
+    public InputStats(int vertices, long edges) {
+        this(vertices, edges, null, null, null);
+    }
+
+    @JsonCreator
+    public InputStats(@JsonProperty("vertices") int vertices,
+                      @JsonProperty("edges") long edges,
+                      @JsonProperty("removed_self_loops") Integer removedSelfLoops,
+                      @JsonProperty("removed_duplicates") Integer removedDuplicates,
+                      @JsonProperty("preprocessing_ms") Double preprocessingMs) {
         this.vertices = vertices;
         this.edges = edges;
+        this.removedSelfLoops = removedSelfLoops;
+        this.removedDuplicates = removedDuplicates;
+        this.preprocessingMs = preprocessingMs;
+    }
+
+    public static InputStats of(PreparedGraph graph) {
+        Double preprocessingMs = graph.preprocessingNanos() / 1_000_000.0;
+        if (!graph.isNormalized()) {
+            return new InputStats(graph.vertexCount(), graph.edgeCount(), null, null, preprocessingMs);
+        }
+        return new InputStats(graph.vertexCount(), graph.inputEdgeCount(), graph.removedSelfLoops(),
+                graph.removedDuplicates(), preprocessingMs);
     }
 
     public int getVertices() {
         return vertices;
     }
 
-    public int getEdges() {
+    /**
+     * Number of input edges; a {@code long} because graphs streamed from a binary dataset may have more
+     * edges than fit in an array.
+     */
+    public long getEdges() {
         return edges;
     }
+
+    /**
+     * Self-loops removed by normalization, or {@code null} if the graph was not normalized.
+     */
+    public Integer getRemovedSelfLoops() {
+        return removedSelfLoops;
+    }
+
+    /**
+     * Parallel edges removed by normalization, or {@code null} if the graph was not normalized.
+     */
+    public Integer getRemovedDuplicates() {
+        return removedDuplicates;
+    }
+
+    /**
+     * Time spent interning names, validating and normalizing edges and building the adjacency, or
+     * {@code null} if the graph was not prepared (external-memory runs).
+     */
+    public Double getPreprocessingMs() {
+        return preprocessingMs;
+    }
 }
@@ -0,0 +1,236 @@
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts a JSON dataset to the {@link BinaryGraphFormat binary format} without binding its graphs.
+ * Each edge is parsed token by token and appended to a spill file as a pair of interned endpoint ids
+ * and a weight; once the graph object ends, the spill file is copied into the section one column at a
+ * time. Only the current graph's node names are held in memory, so graphs with more edges than fit in
+ * an array or in the heap can be converted.
+ * <p>
+ * Node ids follow the graph's node list with duplicates collapsed, the numbering
+ * {@link PreparedGraph#of(Graph)} uses, and the fields of a graph may appear in any order.
+ */
+final class JsonToBinaryConverter {
+    private static final int SPILL_BUFFER_BYTES = 1 << 16;
+    private static final int SPILL_RECORD_BYTES = 2 * Integer.BYTES + Double.BYTES;
+
+    private final JsonParser parser;
+    private final BinaryGraphWriter writer;
+    private final Path spillFile;
+
+    private JsonToBinaryConverter(JsonParser parser, BinaryGraphWriter writer, Path spillFile) {
+        this.parser = parser;
+        this.writer = writer;
+        this.spillFile = spillFile;
+    }
+
+    /**
+     * Converts {@code json} into {@code binary}, spilling edges to a temporary file in the directory of
+     * {@code binary}.
+     *
+     * @return the number of graphs written
+     * @throws IllegalArgumentException if an edge references a node that is not listed in its graph
+     */
+    static int convert(Path json, Path binary) throws IOException {
+        Path directory = binary.toAbsolutePath().getParent();
+        Path spillFile = Files.createTempFile(directory, "edges", ".spill");
+        try (JsonParser parser = GraphIO.openParser(json);
+             BinaryGraphWriter writer = new BinaryGraphWriter(binary)) {
+            new JsonToBinaryConverter(parser, writer, spillFile).convertDataset();
+            return writer.graphCount();
+        } finally {
+            Files.deleteIfExists(spillFile);
+        }
+    }
+
+    private void convertDataset() throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Dataset must be a JSON object with a 'graphs' array");
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (!"graphs".equals(field) || value != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                continue;
+            }
+            for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new JsonParseException(parser, "Expected a graph object but found " + token);
+                }
+                convertGraph();
+            }
+        }
+    }
+
+    private void convertGraph() throws IOException {
+        String id = null;
+        List<String> nodes = new ArrayList<>();
+        Map<String, Integer> endpointIds = new HashMap<>();
+        List<String> endpoints = new ArrayList<>();
+        long edgeCount = 0;
+        try (DataOutputStream spill = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(spillFile), SPILL_BUFFER_BYTES))) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "id" -> id = text(value, "graph id");
+                    case "nodes" -> readNodes(value, nodes);
+                    case "edges" -> edgeCount += readEdges(value, spill, endpointIds, endpoints);
+                    default -> throw new JsonParseException(parser, "Unrecognized graph field '" + field + "'");
+                }
+            }
+        }
+        String graphId = String.valueOf(id);
+
+        Map<String, Integer> nodeIds = new HashMap<>(Math.max(16, nodes.size() * 2));
+        List<String> names = new ArrayList<>(nodes.size());
+        for (String node : nodes) {
+            if (nodeIds.putIfAbsent(node, names.size()) == null) {
+                names.add(node);
+            }
+        }
+        int[] renumber = new int[endpoints.size()];
+        for (int i = 0; i < renumber.length; i++) {
+            Integer nodeId = nodeIds.get(endpoints.get(i));
+            if (nodeId == null) {
+                throw new IllegalArgumentException("Edge references unknown node '" + endpoints.get(i)
+                        + "' in graph " + graphId);
+            }
+            renumber[i] = nodeId;
+        }
+
+        writer.beginSection(graphId, names, edgeCount);
+        try (DataInputStream in = openSpill()) {
+            for (long e = 0; e < edgeCount; e++) {
+                writer.putInt(renumber[in.readInt()]);
+                in.skipNBytes(SPILL_RECORD_BYTES - Integer.BYTES);
+            }
+        }
+        try (DataInputStream in = openSpill()) {
+            for (long e = 0; e < edgeCount; e++) {
+                in.skipNBytes(Integer.BYTES);
+                writer.putInt(renumber[in.readInt()]);
+                in.skipNBytes(Double.BYTES);
+            }
+        }
+        writer.padTo8();
+        try (DataInputStream in = openSpill()) {
+            for (long e = 0; e < edgeCount; e++) {
+                in.skipNBytes(2 * Integer.BYTES);
+                writer.putDouble(in.readDouble());
+            }
+        }
+    }
+
+    private void readNodes(JsonToken token, List<String> nodes) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return;
+        }
+        if (token != JsonToken.START_ARRAY) {
+            throw new JsonParseException(parser, "Expected a node array but found " + token);
+        }
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            String node = text(token, "node name");
+            if (node == null) {
+                throw new JsonParseException(parser, "Node names must not be null");
+            }
+            nodes.add(node);
+        }
+    }
+
+    /**
+     * Appends the edges of one {@code edges} array to {@code spill}, interning endpoint names in the
+     * order they are first seen.
+     *
+     * @return the number of edges read
+     */
+    private long readEdges(JsonToken token, DataOutputStream spill, Map<String, Integer> endpointIds,
+                           List<String> endpoints) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return 0;
+        }
+        if (token != JsonToken.START_ARRAY) {
+            throw new JsonParseException(parser, "Expected an edge array but found " + token);
+        }
+        long count = 0;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected an edge object but found " + token);
+            }
+            String from = null;
+            String to = null;
+            double weight = 0.0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "from" -> from = text(value, "edge endpoint");
+                    case "to" -> to = text(value, "edge endpoint");
+                    case "weight" -> weight = number(value);
+                    default -> throw new JsonParseException(parser, "Unrecognized edge field '" + field + "'");
+                }
+            }
+            spill.writeInt(intern(from, endpointIds, endpoints));
+            spill.writeInt(intern(to, endpointIds, endpoints));
+            spill.writeDouble(weight);
+            count++;
+        }
+        return count;
+    }
+
+    private static int intern(String name, Map<String, Integer> ids, List<String> names) {
+        Integer id = ids.putIfAbsent(name, names.size());
+        if (id != null) {
+            return id;
+        }
+        names.add(name);
+        return names.size() - 1;
+    }
+
+    private String text(JsonToken token, String what) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (!token.isScalarValue()) {
+            throw new JsonParseException(parser, "Expected a " + what + " but found " + token);
+        }
+        return parser.getValueAsString();
+    }
+
+    private double number(JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return 0.0;
+        }
+        if (token.isNumeric()) {
+            return parser.getDoubleValue();
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            try {
+                return Double.parseDouble(parser.getText().trim());
+            } catch (NumberFormatException ex) {
+                throw new JsonParseException(parser, "Edge weight '" + parser.getText() + "' is not a number");
+            }
+        }
+        throw new JsonParseException(parser, "Expected an edge weight but found " + token);
+    }
+
+    private DataInputStream openSpill() throws IOException {
+        return new DataInputStream(new BufferedInputStream(Files.newInputStream(spillFile), SPILL_BUFFER_BYTES));
+    }
+}
@@ -0,0 +1,245 @@
+import java.util.Arrays;
+
+/**
+ * Array-based link-cut tree over nodes {@code 0..capacity-1} supporting link, cut, connectivity and
+ * heaviest-node-on-path queries in amortized {@code O(log n)}.
+ * <p>
+ * Only nodes given a key through {@link #setKey} take part in {@link #pathMax}; ties between equal keys
+ * are broken in favour of the larger node index, so the heaviest node on a path is always unique.
+ */
+final class LinkCutTree {
+    private static final int NONE = -1;
+
+    private int[] left;
+    private int[] right;
+    private int[] parent;
+    private int[] best;
+    private boolean[] reversed;
+    private boolean[] keyed;
+    private double[] key;
+    private int[] stack;
+
+    LinkCutTree(int capacity) {
+        left = new int[0];
+        right = new int[0];
+        parent = new int[0];
+        best = new int[0];
+        reversed = new boolean[0];
+        keyed = new boolean[0];
+        key = new double[0];
+        stack = new int[0];
+        ensureCapacity(capacity);
+    }
+
+    int capacity() {
+        return parent.length;
+    }
+
+    /**
+     * Grows the node range to at least {@code capacity}; new nodes start as isolated, unkeyed trees.
+     */
+    void ensureCapacity(int capacity) {
+        int old = parent.length;
+        if (capacity <= old) {
+            return;
+        }
+        int grown = Math.max(capacity, old + (old >> 1));
+        left = grow(left, grown);
+        right = grow(right, grown);
+        parent = grow(parent, grown);
+        best = grow(best, grown);
+        reversed = Arrays.copyOf(reversed, grown);
+        keyed = Arrays.copyOf(keyed, grown);
+        key = Arrays.copyOf(key, grown);
+        stack = new int[grown];
+    }
+
+    private static int[] grow(int[] array, int length) {
+        int old = array.length;
+        int[] grown = Arrays.copyOf(array, length);
+        Arrays.fill(grown, old, length, NONE);
+        return grown;
+    }
+
+    /**
+     * Sets or clears the key of node {@code x}.
+     */
+    void setKey(int x, double value, boolean present) {
+        access(x);
+        key[x] = value;
+        keyed[x] = present;
+        pull(x);
+    }
+
+    /**
+     * Joins the trees of {@code u} and {@code v} with an edge between them; they must not be connected.
+     */
+    void link(int u, int v) {
+        makeRoot(u);
+        parent[u] = v;
+    }
+
+    /**
+     * Removes the edge between {@code u} and {@code v}.
+     *
+     * @throws IllegalStateException if {@code u} and {@code v} are not adjacent
+     */
+    void cut(int u, int v) {
+        makeRoot(u);
+        access(v);
+        if (left[v] != u) {
+            throw new IllegalStateException("Nodes " + u + " and " + v + " are not adjacent");
+        }
+        push(u);
+        if (right[u] != NONE) {
+            throw new IllegalStateException("Nodes " + u + " and " + v + " are not adjacent");
+        }
+        left[v] = NONE;
+        parent[u] = NONE;
+        pull(v);
+    }
+
+    boolean connected(int u, int v) {
+        return u == v || findRoot(u) == findRoot(v);
+    }
+
+    /**
+     * Returns the heaviest keyed node on the path between {@code u} and {@code v}, or {@code -1} if the
+     * path has no keyed node. The nodes must be connected.
+     */
+    int pathMax(int u, int v) {
+        makeRoot(u);
+        access(v);
+        return best[v];
+    }
+
+    private int findRoot(int x) {
+        access(x);
+        int root = x;
+        push(root);
+        while (left[root] != NONE) {
+            root = left[root];
+            push(root);
+        }
+        splay(root);
+        return root;
+    }
+
+    private void makeRoot(int x) {
+        access(x);
+        reversed[x] ^= true;
+        push(x);
+    }
+
+    /**
+     * Makes the root-to-{@code x} path preferred and leaves {@code x} at the root of its splay tree.
+     */
+    private void access(int x) {
+        int last = NONE;
+        for (int y = x; y != NONE; y = parent[y]) {
+            splay(y);
+            right[y] = last;
+            pull(y);
+            last = y;
+        }
+        splay(x);
+    }
+
+    private boolean isSplayRoot(int x) {
+        int p = parent[x];
+        return p == NONE || (left[p] != x && right[p] != x);
+    }
+
+    private void splay(int x) {
+        int top = 0;
+        int y = x;
+        stack[top++] = y;
+        while (!isSplayRoot(y)) {
+            y = parent[y];
+            stack[top++] = y;
+        }
+        while (top > 0) {
+            push(stack[--top]);
+        }
+        while (!isSplayRoot(x)) {
+            int p = parent[x];
+            if (!isSplayRoot(p)) {
+                int g = parent[p];
+                boolean sameSide = (left[g] == p) == (left[p] == x);
+                rotate(sameSide ? p : x);
+            }
+            rotate(x);
+        }
+    }
+
+    private void rotate(int x) {
+        int p = parent[x];
+        int g = parent[p];
+        boolean parentIsRoot = isSplayRoot(p);
+        if (left[p] == x) {
+            left[p] = right[x];
+            if (right[x] != NONE) {
+                parent[right[x]] = p;
+            }
+            right[x] = p;
+        } else {
+            right[p] = left[x];
+            if (left[x] != NONE) {
+                parent[left[x]] = p;
+            }
+            left[x] = p;
+        }
+        parent[p] = x;
+        parent[x] = g;
+        if (!parentIsRoot) {
+            if (left[g] == p) {
+                left[g] = x;
+            } else {
+                right[g] = x;
+            }
+        }
+        pull(p);
+        pull(x);
+    }
+
+    private void push(int x) {
+        if (!reversed[x]) {
+            return;
+        }
+        int swap = left[x];
+        left[x] = right[x];
+        right[x] = swap;
+        if (left[x] != NONE) {
+            reversed[left[x]] ^= true;
+        }
+        if (right[x] != NONE) {
+            reversed[right[x]] ^= true;
+        }
+        reversed[x] = false;
+    }
+
+    private void pull(int x) {
+        int heaviest = keyed[x] ? x : NONE;
+        if (left[x] != NONE) {
+            heaviest = heavier(heaviest, best[left[x]]);
+        }
+        if (right[x] != NONE) {
+            heaviest = heavier(heaviest, best[right[x]]);
+        }
+        best[x] = heaviest;
+    }
+
+    private int heavier(int a, int b) {
+        if (a == NONE) {
+            return b;
+        }
+        if (b == NONE) {
+            return a;
+        }
+        int compared = Double.compare(key[a], key[b]);
+        if (compared != 0) {
+            return compared > 0 ? a : b;
+        }
+        return Math.max(a, b);
+    }
+}
@@ -0,0 +1,54 @@
+import java.util.Locale;
+
+/**
+ * MST algorithms that {@link MSTCalculator#compute(MSTAlgorithm, PreparedGraph)} can run. The key is
+ * the name used for the algorithm in {@code output.json} and as the column prefix in {@code comparison.csv}.
+ */
+public enum MSTAlgorithm {
+    PRIM("prim"),
+    KRUSKAL("kruskal"),
+    BORUVKA("boruvka"),
+    FILTER_KRUSKAL("filter_kruskal"),
+    PRIM_DENSE("prim_dense");
+
+    private final String key;
+
+    MSTAlgorithm(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Returns {@code true} if the algorithm grows one tree from a start vertex, so that on a disconnected
+     * graph its result covers only the start vertex's component instead of a whole spanning forest.
+     */
+    public boolean growsSingleTree() {
+        return this == PRIM || this == PRIM_DENSE;
+    }
+
+    /**
+     * Returns {@code true} if the algorithm runs over {@link PreparedGraph#sortedEdges()}, so it is the
+     * one that pays for sorting the graph's edges.
+     */
+    public boolean readsSortedEdges() {
+        return this == KRUSKAL;
+    }
+
+    /**
+     * Resolves an algorithm from its key or constant name, ignoring case and treating '-' like '_'.
+     *
+     * @throws IllegalArgumentException if no algorithm matches
+     */
+    public static MSTAlgorithm fromKey(String value) {
+        String normalized = value.trim().toLowerCase(Locale.ROOT).replace('-', '_');
+        for (MSTAlgorithm algorithm : values()) {
+            if (algorithm.key.equals(normalized)) {
+                return algorithm;
+            }
+        }
+        throw new IllegalArgumentException("Unknown MST algorithm '" + value + "'");
+    }
+}
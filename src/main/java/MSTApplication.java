@@ -1,13 +1,24 @@
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 
 /**
- * Entry point that loads graphs, runs MST algorithms, and writes results and comparison tables.
+ * Entry point that loads graphs, runs MST algorithms, and writes results and comparison tables. The
+ * input may be a JSON dataset or a {@link BinaryGraphFormat binary dataset}; the format is detected
+ * from the file's first bytes.
  */
 public final class MSTApplication {
 
@@ -19,27 +30,276 @@ public final class MSTApplication {
         Path output = args.length > 1 ? Path.of(args[1]) : Path.of("results/output.json");
         Path csv = args.length > 2 ? Path.of(args[2]) : Path.of("results/comparison.csv");
 
-        GraphDataset dataset = GraphIO.readDataset(input);
-        MSTCalculator calculator = new MSTCalculator();
-        List<GraphComputationResult> results = new ArrayList<>();
-        int warmupRuns = parseRuns(System.getProperty("mst.warmupRuns"), 3, 0);
-        int measurementRuns = parseRuns(System.getProperty("mst.measurementRuns"), 7, 1);
-
-        for (Graph graph : dataset.getGraphs()) {
-            MSTResult prim = runWithStabilizedTiming(() -> calculator.computePrim(graph), warmupRuns, measurementRuns);
-            MSTResult kruskal = runWithStabilizedTiming(() -> calculator.computeKruskal(graph), warmupRuns, measurementRuns);
-            InputStats stats = new InputStats(graph.vertexCount(), graph.edgeCount());
-            results.add(new GraphComputationResult(graph.getId(), stats, prim, kruskal));
+        // Production mode needs one tree per graph, not a benchmark, so it times a single run by default.
+        boolean production = "production".equalsIgnoreCase(System.getProperty("mst.mode", "").trim());
+        int warmupRuns = parseRuns(System.getProperty("mst.warmupRuns"), production ? 0 : 3, 0);
+        int measurementRuns = parseRuns(System.getProperty("mst.measurementRuns"), production ? 1 : 7, 1);
+        PriorityQueueStrategy queueStrategy = parseQueueStrategy(System.getProperty("mst.primQueue"));
+        int parallelism = parseRuns(System.getProperty("mst.parallelism"),
+                Runtime.getRuntime().availableProcessors(), 1);
+        List<MSTAlgorithm> algorithms = parseAlgorithms(System.getProperty("mst.algorithms"));
+        boolean streaming = Boolean.getBoolean("mst.streaming");
+        int workers = parseRuns(System.getProperty("mst.workers"), 1, 1);
+        boolean virtualThreads = Boolean.getBoolean("mst.virtualThreads");
+        Lock timingLock = Boolean.getBoolean("mst.isolateTiming") ? new ReentrantLock() : null;
+        CountingMode countingMode = parseCountingMode(System.getProperty("mst.counting"));
+        boolean separateCounting = Boolean.getBoolean("mst.separateCounting");
+        boolean normalize = Boolean.getBoolean("mst.normalize");
+        EdgeSortStrategy edgeSort = parseEdgeSort(System.getProperty("mst.kruskalSort"));
+        // Production runs a single algorithm, so its tree is checked instead of compared with another one.
+        String verifyProperty = System.getProperty("mst.verify");
+        boolean verify = verifyProperty == null ? production : Boolean.parseBoolean(verifyProperty.trim());
+        String plannerProfile = System.getProperty("mst.plannerProfile", MSTPlanner.DEFAULT_PROFILE.toString());
+        MSTPlanner planner = production ? MSTPlanner.load(Path.of(plannerProfile)) : null;
+        String cacheDirectory = System.getProperty("mst.cacheDir");
+        ResultCache cache = null;
+        if (cacheDirectory != null && !cacheDirectory.isBlank()) {
+            long cacheBytes = parseRuns(System.getProperty("mst.cacheMaxMb"), 256, 1) * 1024L * 1024L;
+            cache = new ResultCache(Path.of(cacheDirectory), cacheBytes, String.join("|",
+                    "algorithms=" + String.join(",", algorithms.stream().map(MSTAlgorithm::getKey).toList()),
+                    "queue=" + queueStrategy.getName(),
+                    "counting=" + countingMode.getKey(),
+                    "separateCounting=" + separateCounting,
+                    "warmup=" + warmupRuns,
+                    "measurement=" + measurementRuns,
+                    "parallelism=" + parallelism,
+                    "planner=" + (planner == null ? "off" : planner.getThresholds()),
+                    "normalize=" + normalize,
+                    "kruskalSort=" + edgeSort.getName(),
+                    "verify=" + verify));
         }
+        boolean refreshCache = Boolean.getBoolean("mst.refreshCache");
+        long externalMemoryBytes = parseRuns(System.getProperty("mst.externalMemoryMb"), 0, 0) * 1024L * 1024L;
+        Path spillDirectory = Path.of(System.getProperty("mst.spillDir", System.getProperty("java.io.tmpdir")));
+        RunSettings settings = new RunSettings(algorithms, planner, normalize, edgeSort, warmupRuns,
+                measurementRuns, timingLock, separateCounting, verify, cache, refreshCache);
 
+        // Detecting the format also fails fast on a missing input, before the output files are truncated.
+        boolean binaryInput = BinaryGraphFormat.isBinary(input);
         if (output.getParent() != null) {
             Files.createDirectories(output.getParent());
         }
         if (csv.getParent() != null) {
             Files.createDirectories(csv.getParent());
         }
-        GraphIO.writeResults(output, results);
-        GraphIO.writeComparisonCsv(csv, results);
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try (ResultsJsonWriter jsonWriter = GraphIO.openResultsWriter(output);
+             ComparisonCsvWriter csvWriter = GraphIO.openComparisonCsv(csv);
+             OrderedGraphExecutor executor = new OrderedGraphExecutor(workers, virtualThreads, result -> {
+                 jsonWriter.write(result);
+                 csvWriter.write(result);
+                 if (streaming) {
+                     System.out.println(summarize(result));
+                 }
+             })) {
+            MSTCalculator calculator = new MSTCalculator()
+                    .withPriorityQueue(queueStrategy)
+                    .withPool(pool)
+                    .withCountingMode(countingMode);
+            if (binaryInput) {
+                try (BinaryGraphFile file = BinaryGraphFormat.open(input)) {
+                    for (int i = 0; i < file.graphCount(); i++) {
+                        int index = i;
+                        if (externalMemoryBytes > 0) {
+                            executor.submit(() -> traced(() -> computeExternal(file, index, calculator,
+                                    spillDirectory, externalMemoryBytes)));
+                        } else {
+                            executor.submit(() -> traced(() -> processGraph(file, index, calculator, settings)));
+                        }
+                    }
+                    // Sections are mapped lazily by the workers, so the file stays open until they finish.
+                    executor.finish();
+                }
+            } else if (streaming) {
+                try (GraphStreamReader reader = GraphIO.openGraphStream(input)) {
+                    while (reader.hasNext()) {
+                        Graph graph = reader.next();
+                        Double loadMs = reader.lastLoadNanos() / 1_000_000.0;
+                        executor.submit(() -> traced(() -> processGraph(graph, loadMs, calculator, settings)));
+                    }
+                } catch (UncheckedIOException ex) {
+                    throw ex.getCause();
+                }
+                executor.finish();
+            } else {
+                // The dataset is bound in one piece, so no per-graph load time is known.
+                GraphDataset dataset = GraphIO.readDataset(input);
+                for (Graph graph : dataset.getGraphs()) {
+                    executor.submit(() -> traced(() -> processGraph(graph, null, calculator, settings)));
+                }
+                executor.finish();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Runs {@code work} for one graph inside an {@link MSTGraphEvent}.
+     */
+    static GraphComputationResult traced(Callable<GraphComputationResult> work) throws Exception {
+        MSTGraphEvent event = new MSTGraphEvent();
+        event.begin();
+        GraphComputationResult result = work.call();
+        event.end();
+        if (event.shouldCommit()) {
+            event.graphId = result.getGraphId();
+            event.vertices = result.getInputStats().getVertices();
+            event.edges = result.getInputStats().getEdges();
+            event.algorithms = String.join(",", result.getResults().keySet().stream()
+                    .map(MSTAlgorithm::getKey).toList());
+            event.commit();
+        }
+        return result;
+    }
+
+    /**
+     * Returns the cached result for {@code graph} if there is one, otherwise prepares and computes it.
+     * The cache key is hashed from the parsed graph, so a hit skips preparation as well.
+     *
+     * @param loadMs time spent parsing {@code graph}, or {@code null} if unknown
+     */
+    private static GraphComputationResult processGraph(Graph graph,
+                                                       Double loadMs,
+                                                       MSTCalculator calculator,
+                                                       RunSettings settings) throws IOException {
+        ResultCache cache = settings.cache();
+        if (cache == null) {
+            return computeGraph(prepare(graph, calculator, settings), loadMs, calculator, settings);
+        }
+        return cached(cache.key(graph), graph.getId(),
+                () -> computeGraph(prepare(graph, calculator, settings), loadMs, calculator, settings),
+                settings);
+    }
+
+    /**
+     * Prepares {@code graph} for {@link #computeGraph}. A parallel edge sort runs on the calculator's pool,
+     * so {@code mst.parallelism} bounds it like the parallel algorithms.
+     */
+    static PreparedGraph prepare(Graph graph, MSTCalculator calculator, RunSettings settings) {
+        return PreparedGraph.of(graph, settings.normalize(), settings.edgeSort().withPool(calculator.getPool()));
+    }
+
+    /**
+     * Decodes the graph at {@code index} and processes it like a parsed graph. Decoding also prepares
+     * the graph, so its load time is the read time minus preprocessing.
+     */
+    private static GraphComputationResult processGraph(BinaryGraphFile file,
+                                                       int index,
+                                                       MSTCalculator calculator,
+                                                       RunSettings settings) throws IOException {
+        long start = System.nanoTime();
+        PreparedGraph graph = file.read(index, settings.normalize(),
+                settings.edgeSort().withPool(calculator.getPool()));
+        long loadNanos = System.nanoTime() - start - graph.preprocessingNanos();
+        Double loadMs = Math.max(0L, loadNanos) / 1_000_000.0;
+        ResultCache cache = settings.cache();
+        if (cache == null) {
+            return computeGraph(graph, loadMs, calculator, settings);
+        }
+        return cached(cache.key(graph), graph.getId(), () -> computeGraph(graph, loadMs, calculator, settings),
+                settings);
+    }
+
+    private static GraphComputationResult cached(String key,
+                                                 String graphId,
+                                                 Supplier<GraphComputationResult> computation,
+                                                 RunSettings settings) throws IOException {
+        if (!settings.refreshCache()) {
+            GraphComputationResult hit = settings.cache().lookup(key, graphId);
+            if (hit != null) {
+                return hit;
+            }
+        }
+        GraphComputationResult computed = computation.get();
+        settings.cache().store(key, computed);
+        return computed;
+    }
+
+    /**
+     * Streams one graph of a binary dataset through external-memory Kruskal without loading its edges.
+     * Used instead of the selected algorithms when {@code mst.externalMemoryMb} is set; the run is timed
+     * once and not cached. Edges are never normalized here: the pair table would not fit the memory budget.
+     */
+    private static GraphComputationResult computeExternal(BinaryGraphFile file,
+                                                          int index,
+                                                          MSTCalculator calculator,
+                                                          Path spillDirectory,
+                                                          long memoryBudgetBytes) throws IOException {
+        try (EdgeSource source = file.edgeSource(index)) {
+            MSTResult result = calculator.computeKruskalExternal(source, spillDirectory, memoryBudgetBytes);
+            InputStats stats = new InputStats(source.vertexCount(), source.edgeCount());
+            return new GraphComputationResult(source.getId(), stats, Map.of(MSTAlgorithm.KRUSKAL, result));
+        }
+    }
+
+    /**
+     * Times every selected algorithm on one prepared graph, or in production mode only the one the
+     * planner picks. When timing isolation is enabled the timed runs hold the shared lock, so only
+     * preparation overlaps with other graphs' measurements. With separate counting the timed runs do
+     * not count at all and one extra run supplies the counters, keeping the timed runs' phase times.
+     * Phase times are those of the last measured run. Verification runs after the timed section and
+     * reports an invalid tree on stderr without failing the run.
+     */
+    static GraphComputationResult computeGraph(PreparedGraph prepared,
+                                               Double loadMs,
+                                               MSTCalculator calculator,
+                                               RunSettings settings) {
+        MSTPlan plan = settings.planner() == null ? null : settings.planner().plan(prepared);
+        List<MSTAlgorithm> algorithms = plan == null ? settings.algorithms() : List.of(plan.getAlgorithm());
+        // Results are written in the order the algorithms were listed in, not in enum order.
+        Map<MSTAlgorithm, MSTResult> computed = new LinkedHashMap<>();
+        Lock timingLock = settings.timingLock();
+        if (timingLock != null) {
+            timingLock.lock();
+        }
+        try {
+            MSTCalculator timingCalculator = settings.separateCounting()
+                    ? calculator.withCountingMode(CountingMode.DISABLED)
+                    : calculator;
+            for (MSTAlgorithm algorithm : algorithms) {
+                MSTResult timed = runWithStabilizedTiming(() -> timingCalculator.compute(algorithm, prepared),
+                        settings.warmupRuns(), settings.measurementRuns());
+                if (settings.separateCounting()) {
+                    timed = calculator.compute(algorithm, prepared)
+                            .withExecutionTime(timed.getExecutionTimeMs(), CountingMode.DISABLED)
+                            .withPhases(timed.getPhases())
+                            .withMemory(timed.getMemory());
+                }
+                computed.put(algorithm, timed.withPhases(timed.getPhases().withLoadMs(loadMs)));
+            }
+        } finally {
+            if (timingLock != null) {
+                timingLock.unlock();
+            }
+        }
+        if (settings.verify()) {
+            computed.replaceAll((algorithm, result) -> {
+                MSTVerification verification = MSTVerifier.verify(prepared, result,
+                        algorithm.growsSingleTree());
+                if (!verification.isValid()) {
+                    System.err.println("Invalid " + algorithm.getKey() + " tree for graph " + prepared.getId()
+                            + ": " + verification.getFailure());
+                }
+                return result.withVerification(verification);
+            });
+        }
+        InputStats stats = InputStats.of(prepared);
+        return new GraphComputationResult(prepared.getId(), stats, plan, computed);
+    }
+
+    /**
+     * One-line progress record printed in streaming mode as soon as a graph has been computed.
+     */
+    private static String summarize(GraphComputationResult result) {
+        StringBuilder line = new StringBuilder(result.getGraphId())
+                .append(": V=").append(result.getInputStats().getVertices())
+                .append(" E=").append(result.getInputStats().getEdges());
+        result.getResults().forEach((algorithm, mst) -> line.append(' ')
+                .append(algorithm.getKey()).append('=')
+                .append(String.format(Locale.US, "%.3f/%.3fms", mst.getTotalCost(), mst.getExecutionTimeMs())));
+        return line.toString();
     }
 
     private static MSTResult runWithStabilizedTiming(Supplier<MSTResult> computation, int warmupRuns, int measurementRuns) {
@@ -70,7 +330,92 @@ public final class MSTApplication {
         return last.withExecutionTime(stabilizedTime);
     }
 
-    private static int parseRuns(String property, int defaultValue, int minimumValue) {
+    /**
+     * Parses a comma-separated list of algorithm keys; falls back to Prim, Kruskal and Borůvka when the
+     * property is missing or contains no valid key.
+     */
+    static List<MSTAlgorithm> parseAlgorithms(String property) {
+        List<MSTAlgorithm> defaults = List.of(MSTAlgorithm.PRIM, MSTAlgorithm.KRUSKAL, MSTAlgorithm.BORUVKA);
+        if (property == null) {
+            return defaults;
+        }
+        // Keeps the order the user listed the algorithms in; duplicates are dropped.
+        Set<MSTAlgorithm> selected = new LinkedHashSet<>();
+        for (String key : property.split(",")) {
+            if (key.isBlank()) {
+                continue;
+            }
+            try {
+                selected.add(MSTAlgorithm.fromKey(key));
+            } catch (IllegalArgumentException ex) {
+                // Unknown keys are ignored like other malformed settings.
+            }
+        }
+        return selected.isEmpty() ? defaults : List.copyOf(selected);
+    }
+
+    static CountingMode parseCountingMode(String property) {
+        if (property == null) {
+            return CountingMode.PLAIN;
+        }
+        try {
+            return CountingMode.fromKey(property);
+        } catch (IllegalArgumentException ex) {
+            return CountingMode.PLAIN;
+        }
+    }
+
+    static PriorityQueueStrategy parseQueueStrategy(String property) {
+        if (property == null) {
+            return PriorityQueueStrategy.BINARY;
+        }
+        try {
+            return PriorityQueueStrategy.parse(property);
+        } catch (IllegalArgumentException ex) {
+            return PriorityQueueStrategy.BINARY;
+        }
+    }
+
+    static EdgeSortStrategy parseEdgeSort(String property) {
+        if (property == null) {
+            return EdgeSortStrategy.COMPARISON;
+        }
+        try {
+            return EdgeSortStrategy.parse(property);
+        } catch (IllegalArgumentException ex) {
+            return EdgeSortStrategy.COMPARISON;
+        }
+    }
+
+    /**
+     * Per-graph settings shared by all workers; {@code planner} is {@code null} outside production mode,
+     * {@code normalize} removes self-loops and parallel edges before preparation, {@code edgeSort} orders
+     * the edges for Kruskal's algorithm, {@code timingLock} is {@code null} unless timed phases must run
+     * one graph at a time, {@code verify} checks every tree with {@link MSTVerifier}, and {@code cache} is
+     * {@code null} unless a cache directory is set.
+     */
+    record RunSettings(List<MSTAlgorithm> algorithms,
+                       MSTPlanner planner,
+                       boolean normalize,
+                       EdgeSortStrategy edgeSort,
+                       int warmupRuns,
+                       int measurementRuns,
+                       Lock timingLock,
+                       boolean separateCounting,
+                       boolean verify,
+                       ResultCache cache,
+                       boolean refreshCache) {
+
+        /**
+         * Settings for computing one tree per graph without benchmarking, caching or timing isolation.
+         */
+        static RunSettings singleRun(List<MSTAlgorithm> algorithms, MSTPlanner planner, boolean normalize) {
+            return new RunSettings(algorithms, planner, normalize, EdgeSortStrategy.COMPARISON, 0, 1, null, false,
+                    false, null, false);
+        }
+    }
+
+    static int parseRuns(String property, int defaultValue, int minimumValue) {
         if (property == null) {
             return defaultValue;
         }
@@ -1,161 +1,531 @@
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.PriorityQueue;
-import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 /**
- * Provides implementations of Prim's and Kruskal's algorithms for MST computation.
+ * Provides implementations of Prim's, Kruskal's and Borůvka's algorithms for MST computation.
+ * <p>
+ * A calculator is immutable; {@link #withPriorityQueue(PriorityQueueStrategy)}, {@link #withPool(ForkJoinPool)}
+ * and {@link #withCountingMode(CountingMode)} return configured copies that
+ * {@link #compute(MSTAlgorithm, PreparedGraph)} and the single-argument overloads use.
  */
 public class MSTCalculator {
+    private static final int NO_EDGE = -1;
+    private static final DensePrimKernel DENSE_KERNEL = DensePrimKernel.detect();
+
+    private final PriorityQueueStrategy queueStrategy;
+    private final ForkJoinPool pool;
+    private final CountingMode countingMode;
+
+    public MSTCalculator() {
+        this(PriorityQueueStrategy.BINARY, null, CountingMode.PLAIN);
+    }
+
+    private MSTCalculator(PriorityQueueStrategy queueStrategy, ForkJoinPool pool, CountingMode countingMode) {
+        this.queueStrategy = queueStrategy;
+        this.pool = pool;
+        this.countingMode = countingMode;
+    }
+
+    public MSTCalculator withPriorityQueue(PriorityQueueStrategy queueStrategy) {
+        return new MSTCalculator(queueStrategy, pool, countingMode);
+    }
+
+    /**
+     * Uses {@code pool} for the parallel algorithms instead of the common fork-join pool.
+     */
+    public MSTCalculator withPool(ForkJoinPool pool) {
+        return new MSTCalculator(queueStrategy, pool, countingMode);
+    }
+
+    /**
+     * Selects how operations are counted. Parallel algorithms share one counter between threads, so
+     * they count {@link CountingMode#PLAIN} runs with a {@link CountingMode#STRIPED} counter instead.
+     */
+    public MSTCalculator withCountingMode(CountingMode countingMode) {
+        return new MSTCalculator(queueStrategy, pool, countingMode);
+    }
+
+    public CountingMode getCountingMode() {
+        return countingMode;
+    }
+
+    public PriorityQueueStrategy getPriorityQueueStrategy() {
+        return queueStrategy;
+    }
+
+    public ForkJoinPool getPool() {
+        return pool == null ? ForkJoinPool.commonPool() : pool;
+    }
+
+    public MSTResult compute(MSTAlgorithm algorithm, PreparedGraph graph) {
+        return switch (algorithm) {
+            case PRIM -> computePrim(graph);
+            case KRUSKAL -> computeKruskal(graph);
+            case BORUVKA -> computeBoruvka(graph);
+            case FILTER_KRUSKAL -> computeFilterKruskal(graph);
+            case PRIM_DENSE -> computePrimDense(graph);
+        };
+    }
 
     public MSTResult computePrim(Graph graph) {
-        long start = System.nanoTime();
-        OperationCounter counter = new OperationCounter();
+        return computePrim(PreparedGraph.of(graph));
+    }
+
+    public MSTResult computePrim(PreparedGraph graph) {
+        return computePrim(graph, queueStrategy);
+    }
+
+    /**
+     * Runs Prim's algorithm with an indexed priority queue keyed by vertex, so the queue holds at
+     * most {@code V} entries and cheaper frontier edges are applied through decrease-key.
+     */
+    public MSTResult computePrim(PreparedGraph graph, PriorityQueueStrategy queueStrategy) {
+        PhaseTimer timer = new PhaseTimer(graph.getId(), MSTAlgorithm.PRIM.getKey(), MSTPhase.MAIN_LOOP);
+        OperationCounter counter = newCounter(false);
 
-        List<Edge> mstEdges = new ArrayList<>();
         double totalCost = 0.0;
 
-        List<String> nodes = graph.getNodes();
-        if (nodes.isEmpty()) {
-            long end = System.nanoTime();
-            return new MSTResult(mstEdges, totalCost, counter.getComparisons(), counter.getUpdates(), counter.getUnions(),
-                    toMillis(start, end), true);
+        int vertexCount = graph.vertexCount();
+        // Without counting the queue skips its own counters too, and no heap statistics are reported.
+        boolean counting = counter.getMode() != CountingMode.DISABLED;
+        IndexedPriorityQueue queue = queueStrategy.create(vertexCount, counting);
+        if (vertexCount == 0) {
+            timer.stop();
+            return result(List.of(), totalCost, counter, 0, timer, true, queue.footprintBytes())
+                    .withHeapStats(counting ? HeapStats.of(queueStrategy.getName(), queue) : null);
         }
 
-        Map<String, List<Edge>> adjacency = buildAdjacency(graph);
-        Set<String> visited = new HashSet<>();
-        String startNode = nodes.getFirst();
-        visited.add(startNode);
-        PriorityQueue<Edge> queue = new PriorityQueue<>(Comparator.comparingDouble(Edge::getWeight));
-        for (Edge edge : adjacency.getOrDefault(startNode, List.of())) {
-            queue.offer(edge);
-            counter.incrementUpdate();
-        }
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        double[] weights = graph.weights();
+        int[] slotEdges = graph.slotEdges();
+        double[] edgeWeights = graph.edgeWeights();
+        boolean[] inTree = new boolean[vertexCount];
+        int[] parentEdge = new int[vertexCount];
+        int[] mstEdgeIds = new int[vertexCount - 1];
+        int mstSize = 0;
+        int treeCount = 0;
+        parentEdge[0] = -1;
+        queue.insert(0, 0.0);
+        counter.incrementUpdate();
 
-        while (!queue.isEmpty() && mstEdges.size() < nodes.size() - 1) {
-            Edge smallest = queue.poll();
+        while (!queue.isEmpty()) {
+            int next = queue.pollMin();
             counter.incrementUpdate();
-            String next = visited.contains(smallest.getFrom()) ? smallest.getTo() : smallest.getFrom();
-            counter.incrementComparison();
-            if (visited.contains(next)) {
-                counter.incrementComparison();
-                continue;
+            inTree[next] = true;
+            treeCount++;
+            if (parentEdge[next] >= 0) {
+                mstEdgeIds[mstSize++] = parentEdge[next];
+                totalCost += edgeWeights[parentEdge[next]];
             }
-            visited.add(next);
-            mstEdges.add(smallest);
-            totalCost += smallest.getWeight();
 
-            for (Edge edge : adjacency.getOrDefault(next, List.of())) {
-                String opposite = edge.getFrom().equals(next) ? edge.getTo() : edge.getFrom();
+            for (int slot = offsets[next]; slot < offsets[next + 1]; slot++) {
+                int target = targets[slot];
                 counter.incrementComparison();
-                if (!visited.contains(opposite)) {
-                    queue.offer(edge);
+                if (inTree[target]) {
+                    continue;
+                }
+                double weight = weights[slot];
+                if (!queue.contains(target)) {
+                    parentEdge[target] = slotEdges[slot];
+                    queue.insert(target, weight);
                     counter.incrementUpdate();
+                } else {
+                    counter.incrementComparison();
+                    if (weight < queue.keyOf(target)) {
+                        parentEdge[target] = slotEdges[slot];
+                        queue.decreaseKey(target, weight);
+                        counter.incrementUpdate();
+                    }
                 }
             }
         }
 
-        boolean connected = visited.size() == nodes.size();
-        long end = System.nanoTime();
-        return new MSTResult(mstEdges, totalCost, counter.getComparisons(), counter.getUpdates(), counter.getUnions(),
-                toMillis(start, end), connected);
+        timer.next(MSTPhase.MATERIALIZATION);
+        List<Edge> mstEdges = materialize(graph, mstEdgeIds, mstSize);
+        boolean connected = treeCount == vertexCount;
+        timer.stop();
+        long workingBytes = MemoryFootprint.booleans(vertexCount) + MemoryFootprint.ints(vertexCount)
+                + MemoryFootprint.ints(mstEdgeIds.length) + queue.footprintBytes();
+        return result(mstEdges, totalCost, counter, 0, timer, connected, workingBytes)
+                .withHeapStats(counting ? HeapStats.of(queueStrategy.getName(), queue) : null);
     }
 
-    public MSTResult computeKruskal(Graph graph) {
-        long start = System.nanoTime();
-        OperationCounter counter = new OperationCounter();
+    public MSTResult computePrimDense(Graph graph) {
+        return computePrimDense(PreparedGraph.of(graph));
+    }
 
-        List<Edge> sortedEdges = new ArrayList<>(graph.getEdges());
-        sortedEdges.sort((a, b) -> {
-            counter.incrementComparison();
-            return Double.compare(a.getWeight(), b.getWeight());
-        });
+    /**
+     * Runs the {@code O(V²)} array-based Prim for dense graphs: each step scans the whole key array for
+     * the nearest vertex and relaxes that vertex's adjacency-matrix row, both through
+     * {@link DensePrimKernel} (Vector API when available). Graphs too large for
+     * {@link PreparedGraph#denseMatrix()} relax their CSR adjacency instead. Every scanned key and every
+     * relaxation test counts as a comparison; updates are key changes and extractions, as in
+     * {@link #computePrim(PreparedGraph)}.
+     */
+    public MSTResult computePrimDense(PreparedGraph graph) {
+        PhaseTimer timer = new PhaseTimer(graph.getId(), MSTAlgorithm.PRIM_DENSE.getKey(), MSTPhase.PREPROCESSING);
+        OperationCounter counter = newCounter(false);
 
-        UnionFind unionFind = new UnionFind(graph.getNodes());
-        List<Edge> mstEdges = new ArrayList<>();
         double totalCost = 0.0;
+        int vertexCount = graph.vertexCount();
+        if (vertexCount == 0) {
+            timer.stop();
+            return result(List.of(), totalCost, counter, 0, timer, true, 0);
+        }
 
-        for (Edge edge : sortedEdges) {
-            String u = edge.getFrom();
-            String v = edge.getTo();
-            String rootU = unionFind.find(u);
-            counter.incrementUpdate();
-            String rootV = unionFind.find(v);
+        // The matrix belongs to this run and is dropped with it.
+        PreparedGraph.DenseMatrix matrix = graph.denseMatrix();
+        timer.next(MSTPhase.MAIN_LOOP);
+        double[] edgeWeights = graph.edgeWeights();
+        double[] key = new double[vertexCount];
+        int[] parentEdge = new int[vertexCount];
+        boolean[] inTree = new boolean[vertexCount];
+        Arrays.fill(key, Double.POSITIVE_INFINITY);
+        Arrays.fill(parentEdge, -1);
+        int[] mstEdgeIds = new int[vertexCount - 1];
+        int mstSize = 0;
+        key[0] = 0.0;
+        counter.incrementUpdate();
+        int treeCount = 0;
+
+        while (treeCount < vertexCount) {
+            int next = DENSE_KERNEL.argMin(key, vertexCount);
+            counter.addComparisons(vertexCount);
+            if (next < 0) {
+                break;
+            }
+            inTree[next] = true;
+            key[next] = Double.POSITIVE_INFINITY;
+            treeCount++;
             counter.incrementUpdate();
-            if (!rootU.equals(rootV)) {
-                counter.incrementComparison();
-                unionFind.union(rootU, rootV);
-                counter.incrementUnion();
-                mstEdges.add(edge);
-                totalCost += edge.getWeight();
-            } else {
-                counter.incrementComparison();
+            if (parentEdge[next] >= 0) {
+                mstEdgeIds[mstSize++] = parentEdge[next];
+                totalCost += edgeWeights[parentEdge[next]];
             }
-            if (mstEdges.size() == graph.vertexCount() - 1) {
-                break;
+
+            if (matrix != null) {
+                counter.addUpdates(DENSE_KERNEL.relax(matrix.weights(), matrix.edges(), next * vertexCount, key,
+                        parentEdge, inTree, vertexCount));
+                counter.addComparisons(vertexCount);
+            } else {
+                relaxAdjacency(graph, next, key, parentEdge, inTree, counter);
             }
         }
 
-        boolean connected = mstEdges.size() == Math.max(0, graph.vertexCount() - 1);
-        long end = System.nanoTime();
-        return new MSTResult(mstEdges, totalCost, counter.getComparisons(), counter.getUpdates(), counter.getUnions(),
-                toMillis(start, end), connected);
+        timer.next(MSTPhase.MATERIALIZATION);
+        List<Edge> mstEdges = materialize(graph, mstEdgeIds, mstSize);
+        boolean connected = treeCount == vertexCount;
+        timer.stop();
+        long workingBytes = MemoryFootprint.doubles(vertexCount) + MemoryFootprint.ints(vertexCount)
+                + MemoryFootprint.booleans(vertexCount) + MemoryFootprint.ints(mstEdgeIds.length)
+                + (matrix == null ? 0 : matrix.footprintBytes());
+        return result(mstEdges, totalCost, counter, 0, timer, connected, workingBytes);
     }
 
-    private Map<String, List<Edge>> buildAdjacency(Graph graph) {
-        Map<String, List<Edge>> adjacency = new HashMap<>();
-        for (Edge edge : graph.getEdges()) {
-            adjacency.computeIfAbsent(edge.getFrom(), key -> new ArrayList<>()).add(edge);
-            adjacency.computeIfAbsent(edge.getTo(), key -> new ArrayList<>()).add(edge);
+    private static void relaxAdjacency(PreparedGraph graph,
+                                       int vertex,
+                                       double[] key,
+                                       int[] parentEdge,
+                                       boolean[] inTree,
+                                       OperationCounter counter) {
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        double[] weights = graph.weights();
+        int[] slotEdges = graph.slotEdges();
+        for (int slot = offsets[vertex]; slot < offsets[vertex + 1]; slot++) {
+            int target = targets[slot];
+            counter.incrementComparison();
+            if (!inTree[target] && weights[slot] < key[target]) {
+                key[target] = weights[slot];
+                parentEdge[target] = slotEdges[slot];
+                counter.incrementUpdate();
+            }
         }
-        return adjacency;
     }
 
-    private double toMillis(long start, long end) {
-        return (end - start) / 1_000_000.0;
+    public MSTResult computeKruskal(Graph graph) {
+        return computeKruskal(PreparedGraph.of(graph));
     }
 
-    private static class UnionFind {
-        private final Map<String, String> parent = new HashMap<>();
-        private final Map<String, Integer> rank = new HashMap<>();
+    public MSTResult computeKruskal(PreparedGraph graph) {
+        return computeKruskal(graph, new DisjointSet(graph.vertexCount()));
+    }
+
+    /**
+     * Runs Kruskal's algorithm over the graph's sorted edge order, sorting the edges first if no earlier
+     * run has. The sort happens before the clock starts, so it is not part of the execution time; the
+     * comparisons spent building that order are reported as part of this run so counters stay comparable
+     * with unprepared runs, and so are the passes if it was built by a {@link EdgeSortStrategy#RADIX radix
+     * sort}.
+     * <p>
+     * {@code unionFind} is reset and reused, and the main loop only writes accepted edge ids into a
+     * primitive array, so it performs no allocations per edge.
+     */
+    public MSTResult computeKruskal(PreparedGraph graph, DisjointSet unionFind) {
+        int[] sortedEdges = graph.sortedEdges();
+        PhaseTimer timer = new PhaseTimer(graph.getId(), MSTAlgorithm.KRUSKAL.getKey(), MSTPhase.MAIN_LOOP);
+        OperationCounter counter = newCounter(false);
+        counter.addComparisons(graph.sortComparisons());
 
-        UnionFind(List<String> nodes) {
-            for (String node : nodes) {
-                parent.put(node, node);
-                rank.put(node, 0);
+        int vertexCount = graph.vertexCount();
+        int[] edgeFrom = graph.edgeFrom();
+        int[] edgeTo = graph.edgeTo();
+        double[] edgeWeights = graph.edgeWeights();
+        unionFind.reset(vertexCount);
+        int[] mstEdgeIds = new int[Math.max(0, vertexCount - 1)];
+        int mstSize = 0;
+        double totalCost = 0.0;
+
+        for (int edge : sortedEdges) {
+            if (mstSize == mstEdgeIds.length) {
+                break;
+            }
+            int rootU = unionFind.find(edgeFrom[edge]);
+            counter.incrementUpdate();
+            int rootV = unionFind.find(edgeTo[edge]);
+            counter.incrementUpdate();
+            counter.incrementComparison();
+            if (rootU != rootV) {
+                unionFind.unionRoots(rootU, rootV);
+                counter.incrementUnion();
+                mstEdgeIds[mstSize++] = edge;
+                totalCost += edgeWeights[edge];
             }
         }
 
-        String find(String node) {
-            String p = parent.get(node);
-            if (!p.equals(node)) {
-                String root = find(p);
-                parent.put(node, root);
-                return root;
+        timer.next(MSTPhase.MATERIALIZATION);
+        List<Edge> mstEdges = materialize(graph, mstEdgeIds, mstSize);
+        boolean connected = mstSize == mstEdgeIds.length;
+        timer.stop();
+        long workingBytes = MemoryFootprint.ints(sortedEdges.length)
+                + 2 * MemoryFootprint.ints(unionFind.capacity()) + MemoryFootprint.ints(mstEdgeIds.length);
+        MSTResult result = result(mstEdges, totalCost, counter, graph.sortNanos(), timer, connected,
+                workingBytes);
+        return graph.sortPasses() < 0 ? result : result.withSortPasses(graph.sortPasses());
+    }
+
+    public MSTResult computeBoruvka(Graph graph) {
+        return computeBoruvka(PreparedGraph.of(graph));
+    }
+
+    public MSTResult computeBoruvka(PreparedGraph graph) {
+        return computeBoruvka(graph, getPool());
+    }
+
+    /**
+     * Runs Borůvka's algorithm on {@code pool}. Each round finds the cheapest outgoing edge of every
+     * component in parallel and then contracts the chosen edges through a {@link ConcurrentDisjointSet}.
+     * Edges are ordered by weight and then by index, so the resulting tree is the same one Kruskal's
+     * algorithm selects and the total cost always matches.
+     */
+    public MSTResult computeBoruvka(PreparedGraph graph, ForkJoinPool pool) {
+        PhaseTimer timer = new PhaseTimer(graph.getId(), MSTAlgorithm.BORUVKA.getKey(), MSTPhase.MAIN_LOOP);
+        OperationCounter counter = newCounter(true);
+
+        int vertexCount = graph.vertexCount();
+        int edgeCount = graph.edgeCount();
+        int[] edgeFrom = graph.edgeFrom();
+        int[] edgeTo = graph.edgeTo();
+        double[] edgeWeights = graph.edgeWeights();
+        ConcurrentDisjointSet components = new ConcurrentDisjointSet(vertexCount);
+        AtomicIntegerArray cheapest = new AtomicIntegerArray(vertexCount);
+        int[] mstEdgeIds = new int[Math.max(0, vertexCount - 1)];
+        AtomicInteger mstSize = new AtomicInteger();
+        int edgeGrain = RangeTask.grainSize(edgeCount, pool.getParallelism());
+        int vertexGrain = RangeTask.grainSize(vertexCount, pool.getParallelism());
+
+        while (mstSize.get() < mstEdgeIds.length) {
+            int sizeBeforeRound = mstSize.get();
+            pool.invoke(new RangeTask(0, vertexCount, vertexGrain, (from, to) -> {
+                for (int v = from; v < to; v++) {
+                    cheapest.set(v, NO_EDGE);
+                }
+            }));
+            pool.invoke(new RangeTask(0, edgeCount, edgeGrain, (from, to) -> {
+                long comparisons = 0;
+                long updates = 0;
+                for (int edge = from; edge < to; edge++) {
+                    int rootU = components.find(edgeFrom[edge]);
+                    int rootV = components.find(edgeTo[edge]);
+                    updates += 2;
+                    comparisons++;
+                    if (rootU == rootV) {
+                        continue;
+                    }
+                    comparisons += offerCheapest(cheapest, rootU, edge, edgeWeights);
+                    comparisons += offerCheapest(cheapest, rootV, edge, edgeWeights);
+                }
+                counter.addComparisons(comparisons);
+                counter.addUpdates(updates);
+            }));
+            pool.invoke(new RangeTask(0, vertexCount, vertexGrain, (from, to) -> {
+                long unions = 0;
+                for (int v = from; v < to; v++) {
+                    int edge = cheapest.get(v);
+                    if (edge != NO_EDGE && components.union(edgeFrom[edge], edgeTo[edge])) {
+                        mstEdgeIds[mstSize.getAndIncrement()] = edge;
+                        unions++;
+                    }
+                }
+                counter.addUnions(unions);
+            }));
+            if (mstSize.get() == sizeBeforeRound) {
+                break;
             }
-            return p;
         }
 
-        void union(String a, String b) {
-            String rootA = find(a);
-            String rootB = find(b);
-            if (rootA.equals(rootB)) {
-                return;
+        timer.next(MSTPhase.MATERIALIZATION);
+        int size = mstSize.get();
+        Arrays.sort(mstEdgeIds, 0, size);
+        List<Edge> mstEdges = materialize(graph, mstEdgeIds, size);
+        double totalCost = 0.0;
+        for (int i = 0; i < size; i++) {
+            totalCost += edgeWeights[mstEdgeIds[i]];
+        }
+        boolean connected = size == mstEdgeIds.length;
+        timer.stop();
+        long workingBytes = MemoryFootprint.atomicInts(components.size()) + MemoryFootprint.atomicInts(vertexCount)
+                + MemoryFootprint.ints(mstEdgeIds.length);
+        return result(mstEdges, totalCost, counter, 0, timer, connected, workingBytes);
+    }
+
+    public MSTResult computeFilterKruskal(Graph graph) {
+        return computeFilterKruskal(PreparedGraph.of(graph));
+    }
+
+    public MSTResult computeFilterKruskal(PreparedGraph graph) {
+        return computeFilterKruskal(graph, getPool());
+    }
+
+    /**
+     * Runs Filter-Kruskal, which does not use the cached sorted order: it partitions the edges around
+     * pivot weights, recurses into the light half first and discards heavy edges that no longer cross
+     * components before sorting them. Partitioning of large ranges runs on {@code pool}. It accepts the
+     * same edges, in the same order, as {@link #computeKruskal(PreparedGraph)}.
+     */
+    public MSTResult computeFilterKruskal(PreparedGraph graph, ForkJoinPool pool) {
+        PhaseTimer timer = new PhaseTimer(graph.getId(), MSTAlgorithm.FILTER_KRUSKAL.getKey(), MSTPhase.MAIN_LOOP);
+        OperationCounter counter = newCounter(true);
+
+        FilterKruskal filterKruskal = new FilterKruskal(graph, pool, counter);
+        filterKruskal.run();
+
+        timer.next(MSTPhase.MATERIALIZATION);
+        int[] mstEdgeIds = filterKruskal.mstEdgeIds();
+        int mstSize = filterKruskal.mstSize();
+        List<Edge> mstEdges = materialize(graph, mstEdgeIds, mstSize);
+        boolean connected = mstSize == mstEdgeIds.length;
+        timer.stop();
+        return result(mstEdges, filterKruskal.totalCost(), counter, 0, timer, connected,
+                filterKruskal.footprintBytes());
+    }
+
+    /**
+     * Runs Kruskal on an edge list that need not fit in memory; see {@link ExternalKruskal}. Sorted runs
+     * are spilled to {@code tempDirectory} and deleted before this method returns.
+     *
+     * @param memoryBudgetBytes upper bound for the memory used for edges, excluding the {@code O(V)}
+     *                          union-find and tree
+     */
+    public MSTResult computeKruskalExternal(EdgeSource source, Path tempDirectory, long memoryBudgetBytes)
+            throws IOException {
+        PhaseTimer timer = new PhaseTimer(source.getId(), MSTAlgorithm.KRUSKAL.getKey(), MSTPhase.SORT);
+        OperationCounter counter = newCounter(false);
+
+        ExternalKruskal externalKruskal = new ExternalKruskal(source, tempDirectory, memoryBudgetBytes, counter);
+        externalKruskal.run(timer);
+
+        timer.next(MSTPhase.MATERIALIZATION);
+        int mstSize = externalKruskal.mstSize();
+        List<Edge> mstEdges = new ArrayList<>(mstSize);
+        for (int i = 0; i < mstSize; i++) {
+            mstEdges.add(externalKruskal.mstEdge(i));
+        }
+        boolean connected = mstSize == externalKruskal.treeEdgeLimit();
+        timer.stop();
+        return result(mstEdges, externalKruskal.totalCost(), counter, 0, timer, connected,
+                externalKruskal.footprintBytes());
+    }
+
+    /**
+     * Records {@code edge} as the cheapest edge leaving {@code root} unless a lighter one is already set.
+     *
+     * @return the number of weight comparisons made
+     */
+    private static int offerCheapest(AtomicIntegerArray cheapest, int root, int edge, double[] weights) {
+        int comparisons = 0;
+        while (true) {
+            int current = cheapest.get(root);
+            if (current != NO_EDGE) {
+                comparisons++;
+                if (!lighter(edge, current, weights)) {
+                    return comparisons;
+                }
             }
-            int rankA = rank.get(rootA);
-            int rankB = rank.get(rootB);
-            if (rankA < rankB) {
-                parent.put(rootA, rootB);
-            } else if (rankA > rankB) {
-                parent.put(rootB, rootA);
-            } else {
-                parent.put(rootB, rootA);
-                rank.put(rootA, rankA + 1);
+            if (cheapest.compareAndSet(root, current, edge)) {
+                return comparisons;
             }
         }
     }
+
+    private static boolean lighter(int a, int b, double[] weights) {
+        int byWeight = Double.compare(weights[a], weights[b]);
+        return byWeight < 0 || (byWeight == 0 && a < b);
+    }
+
+    private OperationCounter newCounter(boolean parallel) {
+        if (parallel && countingMode == CountingMode.PLAIN) {
+            return OperationCounter.create(CountingMode.STRIPED);
+        }
+        return OperationCounter.create(countingMode);
+    }
+
+    /**
+     * Wraps the tree's edge ids without resolving them; see {@link EdgeIdList}.
+     */
+    private static List<Edge> materialize(PreparedGraph graph, int[] edgeIds, int size) {
+        return new EdgeIdList(graph.columns(), edgeIds, size);
+    }
+
+    /**
+     * Builds the result of a run timed by {@code timer}. The graph's shared preparation is not part of
+     * the run; it is reported once per graph in {@link InputStats}.
+     *
+     * @param graphSortNanos time the graph spent building the sorted edge order this run read, added to
+     *                       the sort phase but not to the execution time; {@code 0} for runs that do not
+     *                       read it
+     * @param workingBytes   estimated size of the run's working structures; the result list is added here
+     */
+    private MSTResult result(List<Edge> mstEdges,
+                             double totalCost,
+                             OperationCounter counter,
+                             long graphSortNanos,
+                             PhaseTimer timer,
+                             boolean connected,
+                             long workingBytes) {
+        long preprocessing = timer.nanos(MSTPhase.PREPROCESSING);
+        long sort = timer.nanos(MSTPhase.SORT) + graphSortNanos;
+        long allocated = timer.allocatedBytes();
+        PhaseTimings phases = new PhaseTimings(null, toMillis(0, preprocessing), toMillis(0, sort),
+                toMillis(0, timer.nanos(MSTPhase.MAIN_LOOP)), toMillis(0, timer.nanos(MSTPhase.MATERIALIZATION)));
+        return new MSTResult(mstEdges, totalCost, counter.getComparisons(), counter.getUpdates(), counter.getUnions(),
+                toMillis(timer.startNanos(), timer.endNanos()), connected)
+                .withCountingMode(counter.getMode())
+                .withPhases(phases)
+                .withMemory(new MemoryStats(allocated < 0 ? null : allocated,
+                        workingBytes + (mstEdges instanceof EdgeIdList
+                                ? MemoryFootprint.edgeIdList()
+                                : MemoryFootprint.edgeList(mstEdges.size()))));
+    }
+
+    private double toMillis(long start, long end) {
+        return (end - start) / 1_000_000.0;
+    }
 }
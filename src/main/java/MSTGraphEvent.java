@@ -0,0 +1,27 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JDK Flight Recorder event spanning all work {@link MSTApplication} does for one graph, from loading
+ * to the last algorithm run. Inspect with {@code jfr print --events mst.Graph}.
+ */
+@Name("mst.Graph")
+@Label("MST Graph")
+@Category("MST")
+@Description("Loading, preparing and computing the MSTs of one graph")
+final class MSTGraphEvent extends Event {
+    @Label("Graph")
+    String graphId;
+
+    @Label("Vertices")
+    int vertices;
+
+    @Label("Edges")
+    long edges;
+
+    @Label("Algorithms")
+    String algorithms;
+}
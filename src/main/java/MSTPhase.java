@@ -0,0 +1,35 @@
+/**
+ * Phases of one MST computation, as reported in {@link PhaseTimings} and {@link MSTPhaseEvent}s.
+ */
+public enum MSTPhase {
+    /**
+     * Parsing or decoding one graph from the input file.
+     */
+    LOAD("load"),
+    /**
+     * Interning node names and building the CSR adjacency of a {@link PreparedGraph}.
+     */
+    PREPROCESSING("preprocessing"),
+    /**
+     * Sorting edges by weight, either the first time a graph's sorted order is read or inside the algorithm.
+     */
+    SORT("sort"),
+    /**
+     * The algorithm itself, including its working arrays.
+     */
+    MAIN_LOOP("main_loop"),
+    /**
+     * Turning the chosen edge ids into the result's {@link Edge} list.
+     */
+    MATERIALIZATION("materialization");
+
+    private final String key;
+
+    MSTPhase(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,38 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JDK Flight Recorder event spanning one {@link MSTPhase} of one graph. Graph-level phases (load,
+ * preprocessing and the up-front sort) have no algorithm. Record with
+ * {@code -XX:StartFlightRecording} and inspect with {@code jfr print --events mst.Phase}.
+ */
+@Name("mst.Phase")
+@Label("MST Phase")
+@Category("MST")
+@Description("One phase of loading, preparing or computing the MST of a graph")
+final class MSTPhaseEvent extends Event {
+    @Label("Graph")
+    String graphId;
+
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Phase")
+    String phase;
+
+    /**
+     * Ends {@code event} and commits it if the recording wants it; the fields are only set then.
+     */
+    static void finish(MSTPhaseEvent event, String graphId, String algorithm, MSTPhase phase) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.graphId = graphId;
+            event.algorithm = algorithm;
+            event.phase = phase.getKey();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * The algorithm {@link MSTPlanner} chose for a graph, why, and the statistics it looked at. Written to
+ * {@code output.json} as the graph's {@code plan}.
+ */
+@JsonPropertyOrder({"algorithm", "reason", "shape"})
+public class MSTPlan {
+    @JsonIgnore
+    private final MSTAlgorithm algorithm;
+
+    @JsonProperty("reason")
+    private final String reason;
+
+    @JsonProperty("shape")
+    private final GraphShape shape;
+
+    public MSTPlan(MSTAlgorithm algorithm, String reason, GraphShape shape) {
+        this.algorithm = algorithm;
+        this.reason = reason;
+        this.shape = shape;
+    }
+
+    @JsonCreator
+    private static MSTPlan fromJson(@JsonProperty("algorithm") String algorithm,
+                                    @JsonProperty("reason") String reason,
+                                    @JsonProperty("shape") GraphShape shape) {
+        return new MSTPlan(MSTAlgorithm.fromKey(algorithm), reason, shape);
+    }
+
+    public MSTAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    @JsonProperty("algorithm")
+    private String algorithmKey() {
+        return algorithm.getKey();
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public GraphShape getShape() {
+        return shape;
+    }
+}
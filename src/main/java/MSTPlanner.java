@@ -0,0 +1,265 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Picks one MST algorithm per graph from its {@link GraphShape}, for production runs that need a
+ * single tree per graph rather than a comparison.
+ * <p>
+ * The rules are checked in order:
+ * <ol>
+ *     <li>graphs with at most one vertex or no edges use Kruskal;</li>
+ *     <li>graphs at least {@code dense.minDensity} dense that fit the adjacency matrix use dense Prim;</li>
+ *     <li>graphs with at least {@code parallel.minEdges} edges use {@code parallel.algorithm};</li>
+ *     <li>graphs with an average degree of at least {@code prim.minAverageDegree} and a degree skew of at
+ *     most {@code prim.maxDegreeSkew} use heap Prim;</li>
+ *     <li>everything else uses Kruskal.</li>
+ * </ol>
+ * The thresholds live in a properties profile written by {@link #calibrate}; run
+ * {@code java MSTPlanner [profile]} on the production machine to create it. Missing or malformed entries
+ * fall back to built-in defaults.
+ */
+public final class MSTPlanner {
+    public static final Path DEFAULT_PROFILE = Path.of("mst-planner.properties");
+
+    private static final int CALIBRATION_VERTICES = 2_000;
+    private static final double[] CALIBRATION_DENSITIES = {0.002, 0.005, 0.01, 0.02, 0.05, 0.1, 0.2, 0.4, 0.7};
+    private static final int[] CALIBRATION_EDGE_COUNTS = {100_000, 400_000, 1_600_000};
+    private static final int CALIBRATION_AVERAGE_DEGREE = 16;
+
+    private final Thresholds thresholds;
+    private final String source;
+
+    public MSTPlanner(Thresholds thresholds, String source) {
+        this.thresholds = thresholds;
+        this.source = source;
+    }
+
+    /**
+     * Loads the thresholds from {@code profile}, or uses the defaults if the file does not exist.
+     */
+    public static MSTPlanner load(Path profile) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(profile)) {
+            properties.load(reader);
+        } catch (NoSuchFileException ex) {
+            return new MSTPlanner(Thresholds.DEFAULTS, "default thresholds");
+        }
+        return new MSTPlanner(Thresholds.fromProperties(properties), "profile " + profile);
+    }
+
+    public Thresholds getThresholds() {
+        return thresholds;
+    }
+
+    public MSTPlan plan(PreparedGraph graph) {
+        GraphShape shape = GraphShape.of(graph);
+        if (shape.getVertices() <= 1 || shape.getEdges() == 0) {
+            return new MSTPlan(MSTAlgorithm.KRUSKAL, "trivial graph", shape);
+        }
+        if (shape.getDensity() >= thresholds.denseMinDensity()
+                && PreparedGraph.denseMatrixFits(shape.getVertices())) {
+            return new MSTPlan(MSTAlgorithm.PRIM_DENSE,
+                    reason("density %.4f >= %.4f", shape.getDensity(), thresholds.denseMinDensity()), shape);
+        }
+        if (shape.getEdges() >= thresholds.parallelMinEdges()) {
+            return new MSTPlan(thresholds.parallelAlgorithm(),
+                    reason("%d edges >= %d", shape.getEdges(), thresholds.parallelMinEdges()), shape);
+        }
+        if (shape.getAverageDegree() >= thresholds.primMinAverageDegree()
+                && shape.getDegreeSkew() <= thresholds.primMaxDegreeSkew()) {
+            return new MSTPlan(MSTAlgorithm.PRIM,
+                    reason("average degree %.2f >= %.2f, degree skew %.2f <= %.2f", shape.getAverageDegree(),
+                            thresholds.primMinAverageDegree(), shape.getDegreeSkew(),
+                            thresholds.primMaxDegreeSkew()), shape);
+        }
+        return new MSTPlan(MSTAlgorithm.KRUSKAL,
+                reason("average degree %.2f < %.2f or degree skew %.2f > %.2f", shape.getAverageDegree(),
+                        thresholds.primMinAverageDegree(), shape.getDegreeSkew(), thresholds.primMaxDegreeSkew()),
+                shape);
+    }
+
+    private String reason(String format, Object... arguments) {
+        return String.format(Locale.US, format, arguments) + " (" + source + ")";
+    }
+
+    /**
+     * Times the candidate algorithms on seeded random graphs and derives the thresholds from the
+     * crossovers: a density sweep at {@value #CALIBRATION_VERTICES} vertices sets the dense-Prim and
+     * heap-Prim thresholds, an edge-count sweep at average degree {@value #CALIBRATION_AVERAGE_DEGREE}
+     * sets the parallel threshold. Crossovers that never happen disable the rule. Operation counting
+     * is switched off while timing.
+     */
+    public static Thresholds calibrate(MSTCalculator calculator, int runs, long seed) {
+        MSTCalculator timing = calculator.withCountingMode(CountingMode.DISABLED);
+        Random random = new Random(seed);
+
+        double denseMinDensity = Double.POSITIVE_INFINITY;
+        double primMinAverageDegree = Double.POSITIVE_INFINITY;
+        for (double density : CALIBRATION_DENSITIES) {
+            long edges = Math.round(density * CALIBRATION_VERTICES * (CALIBRATION_VERTICES - 1) / 2.0);
+            PreparedGraph graph = randomGraph(CALIBRATION_VERTICES, (int) edges, random);
+            double prim = time(timing, MSTAlgorithm.PRIM, graph, runs);
+            double kruskal = time(timing, MSTAlgorithm.KRUSKAL, graph, runs);
+            double dense = time(timing, MSTAlgorithm.PRIM_DENSE, graph, runs);
+            if (denseMinDensity == Double.POSITIVE_INFINITY && dense < Math.min(prim, kruskal)) {
+                denseMinDensity = density;
+            }
+            if (primMinAverageDegree == Double.POSITIVE_INFINITY && prim < kruskal) {
+                primMinAverageDegree = 2.0 * graph.edgeCount() / graph.vertexCount();
+            }
+        }
+
+        int parallelMinEdges = Integer.MAX_VALUE;
+        MSTAlgorithm parallelAlgorithm = Thresholds.DEFAULTS.parallelAlgorithm();
+        for (int edges : CALIBRATION_EDGE_COUNTS) {
+            PreparedGraph graph = randomGraph(2 * edges / CALIBRATION_AVERAGE_DEGREE, edges, random);
+            double sequential = Math.min(time(timing, MSTAlgorithm.PRIM, graph, runs),
+                    time(timing, MSTAlgorithm.KRUSKAL, graph, runs));
+            double boruvka = time(timing, MSTAlgorithm.BORUVKA, graph, runs);
+            double filterKruskal = time(timing, MSTAlgorithm.FILTER_KRUSKAL, graph, runs);
+            if (Math.min(boruvka, filterKruskal) < sequential) {
+                parallelMinEdges = edges;
+                parallelAlgorithm = boruvka < filterKruskal ? MSTAlgorithm.BORUVKA : MSTAlgorithm.FILTER_KRUSKAL;
+                break;
+            }
+        }
+        return new Thresholds(denseMinDensity, parallelMinEdges, parallelAlgorithm, primMinAverageDegree,
+                Thresholds.DEFAULTS.primMaxDegreeSkew());
+    }
+
+    /**
+     * Calibrates on this machine and writes the profile: {@code java MSTPlanner [profile]}.
+     */
+    public static void main(String[] args) throws IOException {
+        Path profile = args.length > 0 ? Path.of(args[0]) : DEFAULT_PROFILE;
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            Thresholds thresholds = calibrate(new MSTCalculator().withPool(pool), 5, 42L);
+            thresholds.store(profile);
+            System.out.println("Wrote planner profile " + profile + ": " + thresholds);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Median time over {@code runs} runs after one warmup. A production graph is computed once, so an
+     * algorithm that reads the sorted edge order is charged for sorting it: the graph sorts on first use
+     * and keeps the order, outside the runs' timed window, so its sort time is added to the median.
+     */
+    private static double time(MSTCalculator calculator, MSTAlgorithm algorithm, PreparedGraph graph, int runs) {
+        calculator.compute(algorithm, graph);
+        double[] samples = new double[Math.max(1, runs)];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = calculator.compute(algorithm, graph).getExecutionTimeMs();
+        }
+        Arrays.sort(samples);
+        double sortMs = algorithm.readsSortedEdges() ? graph.sortNanos() / 1_000_000.0 : 0.0;
+        return samples[samples.length / 2] + sortMs;
+    }
+
+    /**
+     * Random connected graph: a random spanning tree plus uniformly random extra edges.
+     */
+    private static PreparedGraph randomGraph(int vertices, int edges, Random random) {
+        int edgeCount = Math.max(vertices - 1, edges);
+        String[] names = new String[vertices];
+        for (int v = 0; v < vertices; v++) {
+            names[v] = "N" + v;
+        }
+        int[] from = new int[edgeCount];
+        int[] to = new int[edgeCount];
+        double[] weights = new double[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            if (e < vertices - 1) {
+                from[e] = random.nextInt(e + 1);
+                to[e] = e + 1;
+            } else {
+                from[e] = random.nextInt(vertices);
+                to[e] = random.nextInt(vertices);
+            }
+            weights[e] = 1.0 + random.nextDouble() * 999.0;
+        }
+        return PreparedGraph.fromColumns("calibration-" + vertices + "-" + edgeCount, names, from, to, weights);
+    }
+
+    /**
+     * Planner thresholds; see the class comment for how each one is used.
+     */
+    public record Thresholds(double denseMinDensity,
+                             int parallelMinEdges,
+                             MSTAlgorithm parallelAlgorithm,
+                             double primMinAverageDegree,
+                             double primMaxDegreeSkew) {
+
+        public static final Thresholds DEFAULTS =
+                new Thresholds(0.5, 1_000_000, MSTAlgorithm.FILTER_KRUSKAL, 32.0, 50.0);
+
+        static Thresholds fromProperties(Properties properties) {
+            return new Thresholds(
+                    parseDouble(properties.getProperty("dense.minDensity"), DEFAULTS.denseMinDensity),
+                    parseInt(properties.getProperty("parallel.minEdges"), DEFAULTS.parallelMinEdges),
+                    parseAlgorithm(properties.getProperty("parallel.algorithm"), DEFAULTS.parallelAlgorithm),
+                    parseDouble(properties.getProperty("prim.minAverageDegree"), DEFAULTS.primMinAverageDegree),
+                    parseDouble(properties.getProperty("prim.maxDegreeSkew"), DEFAULTS.primMaxDegreeSkew));
+        }
+
+        void store(Path profile) throws IOException {
+            Properties properties = new Properties();
+            properties.setProperty("dense.minDensity", Double.toString(denseMinDensity));
+            properties.setProperty("parallel.minEdges", Integer.toString(parallelMinEdges));
+            properties.setProperty("parallel.algorithm", parallelAlgorithm.getKey());
+            properties.setProperty("prim.minAverageDegree", Double.toString(primMinAverageDegree));
+            properties.setProperty("prim.maxDegreeSkew", Double.toString(primMaxDegreeSkew));
+            if (profile.getParent() != null) {
+                Files.createDirectories(profile.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(profile)) {
+                properties.store(writer, "MSTPlanner thresholds calibrated by java MSTPlanner");
+            }
+        }
+
+        private static double parseDouble(String value, double defaultValue) {
+            if (value == null) {
+                return defaultValue;
+            }
+            try {
+                double parsed = Double.parseDouble(value.trim());
+                return Double.isNaN(parsed) ? defaultValue : parsed;
+            } catch (NumberFormatException ex) {
+                return defaultValue;
+            }
+        }
+
+        private static int parseInt(String value, int defaultValue) {
+            if (value == null) {
+                return defaultValue;
+            }
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException ex) {
+                return defaultValue;
+            }
+        }
+
+        private static MSTAlgorithm parseAlgorithm(String value, MSTAlgorithm defaultValue) {
+            if (value == null) {
+                return defaultValue;
+            }
+            try {
+                return MSTAlgorithm.fromKey(value);
+            } catch (IllegalArgumentException ex) {
+                return defaultValue;
+            }
+        }
+    }
+}
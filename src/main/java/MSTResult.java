@@ -1,11 +1,21 @@
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 
 import java.util.List;
 
 /**
- * Holds the output of an MST algorithm execution.
+ * Holds the output of an MST algorithm execution. Results computed on a {@link PreparedGraph} keep
+ * their tree as edge ids into the graph's shared columns (see {@link EdgeIdList}); the {@code Edge}
+ * objects are only created when the tree is read or serialized.
+ * <p>
+ * The property order is pinned because Jackson would otherwise write the {@link #fromJson} creator
+ * properties first and move {@code operations_count} behind them.
  */
+@JsonPropertyOrder({"mst_edges", "total_cost", "comparisons_count", "sort_passes", "updates_count", "unions_count",
+        "operations_count", "memory", "execution_time_ms", "connected", "heap", "counting_mode",
+        "timing_counting_mode", "phases", "verification"})
 public class MSTResult {
     @JsonProperty("mst_edges")
     private final List<Edge> mstEdges;
@@ -16,21 +26,49 @@ public class MSTResult {
     @JsonProperty("comparisons_count")
     private final long comparisonsCount;
 
+    @JsonProperty("sort_passes")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final Integer sortPasses;
+
     @JsonProperty("updates_count")
     private final long updatesCount;
 
     @JsonProperty("unions_count")
     private final long unionsCount;
 
-    @JsonProperty("operations_count")
+    @JsonProperty(value = "operations_count", access = JsonProperty.Access.READ_ONLY)
     private final long operationsCount;
 
+    @JsonProperty("memory")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final MemoryStats memory;
+
     @JsonProperty("execution_time_ms")
     private final double executionTimeMs;
 
     @JsonProperty("connected")
     private final boolean connected;
 
+    @JsonProperty("heap")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final HeapStats heapStats;
+
+    @JsonProperty("counting_mode")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final CountingMode countingMode;
+
+    @JsonProperty("timing_counting_mode")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final CountingMode timingCountingMode;
+
+    @JsonProperty("phases")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final PhaseTimings phases;
+
+    @JsonProperty("verification")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final MSTVerification verification;
+
     public MSTResult(List<Edge> mstEdges,
                      double totalCost,
                      long comparisonsCount,
@@ -38,7 +76,26 @@ public class MSTResult {
                      long unionsCount,
                      double executionTimeMs,
                      boolean connected) {
-        this.mstEdges = List.copyOf(mstEdges);
+        // An EdgeIdList is already read-only; copying it would resolve every edge.
+        this(mstEdges instanceof EdgeIdList ? mstEdges : List.copyOf(mstEdges), totalCost, comparisonsCount,
+                updatesCount, unionsCount, executionTimeMs, connected, null, null, null, null, null, null, null);
+    }
+
+    private MSTResult(List<Edge> mstEdges,
+                      double totalCost,
+                      long comparisonsCount,
+                      long updatesCount,
+                      long unionsCount,
+                      double executionTimeMs,
+                      boolean connected,
+                      HeapStats heapStats,
+                      CountingMode countingMode,
+                      CountingMode timingCountingMode,
+                      PhaseTimings phases,
+                      MemoryStats memory,
+                      Integer sortPasses,
+                      MSTVerification verification) {
+        this.mstEdges = mstEdges;
         this.totalCost = totalCost;
         this.comparisonsCount = comparisonsCount;
         this.updatesCount = updatesCount;
@@ -46,6 +103,36 @@ public class MSTResult {
         this.operationsCount = comparisonsCount + updatesCount + unionsCount;
         this.executionTimeMs = executionTimeMs;
         this.connected = connected;
+        this.heapStats = heapStats;
+        this.countingMode = countingMode;
+        this.timingCountingMode = timingCountingMode;
+        this.phases = phases;
+        this.memory = memory;
+        this.sortPasses = sortPasses;
+        this.verification = verification;
+    }
+
+    /**
+     * Reads a result back from {@code output.json}; {@code operations_count} is derived, not read.
+     */
+    @JsonCreator
+    private static MSTResult fromJson(@JsonProperty("mst_edges") List<Edge> mstEdges,
+                                      @JsonProperty("total_cost") double totalCost,
+                                      @JsonProperty("comparisons_count") long comparisonsCount,
+                                      @JsonProperty("updates_count") long updatesCount,
+                                      @JsonProperty("unions_count") long unionsCount,
+                                      @JsonProperty("execution_time_ms") double executionTimeMs,
+                                      @JsonProperty("connected") boolean connected,
+                                      @JsonProperty("heap") HeapStats heapStats,
+                                      @JsonProperty("counting_mode") CountingMode countingMode,
+                                      @JsonProperty("timing_counting_mode") CountingMode timingCountingMode,
+                                      @JsonProperty("phases") PhaseTimings phases,
+                                      @JsonProperty("memory") MemoryStats memory,
+                                      @JsonProperty("sort_passes") Integer sortPasses,
+                                      @JsonProperty("verification") MSTVerification verification) {
+        return new MSTResult(mstEdges == null ? List.of() : List.copyOf(mstEdges), totalCost, comparisonsCount,
+                updatesCount, unionsCount, executionTimeMs, connected, heapStats, countingMode, timingCountingMode,
+                phases, memory, sortPasses, verification);
     }
 
     public List<Edge> getMstEdges() {
@@ -64,6 +151,14 @@ public class MSTResult {
         return comparisonsCount;
     }
 
+    /**
+     * Scatter passes of the radix sort that ordered the edges for a Kruskal run, or {@code null} if they
+     * were sorted by comparisons or not sorted up front.
+     */
+    public Integer getSortPasses() {
+        return sortPasses;
+    }
+
     public long getUpdatesCount() {
         return updatesCount;
     }
@@ -73,9 +168,53 @@ public class MSTResult {
     }
 
     public MSTResult withExecutionTime(double executionTimeMs) {
-        return new MSTResult(mstEdges, totalCost, comparisonsCount, updatesCount, unionsCount, executionTimeMs, connected);
+        return new MSTResult(mstEdges, totalCost, comparisonsCount, updatesCount, unionsCount, executionTimeMs, connected,
+                heapStats, countingMode, timingCountingMode, phases, memory, sortPasses, verification);
+    }
+
+    /**
+     * Replaces the execution time with one measured in separate runs that counted in {@code timingCountingMode}.
+     */
+    public MSTResult withExecutionTime(double executionTimeMs, CountingMode timingCountingMode) {
+        return new MSTResult(mstEdges, totalCost, comparisonsCount, updatesCount, unionsCount, executionTimeMs, connected,
+                heapStats, countingMode, timingCountingMode == countingMode ? null : timingCountingMode, phases,
+                memory, sortPasses, verification);
     }
 
+    public MSTResult withHeapStats(HeapStats heapStats) {
+        return new MSTResult(mstEdges, totalCost, comparisonsCount, updatesCount, unionsCount, executionTimeMs, connected,
+                heapStats, countingMode, timingCountingMode, phases, memory, sortPasses, verification);
+    }
+
+    public MSTResult withCountingMode(CountingMode countingMode) {
+        return new MSTResult(mstEdges, totalCost, comparisonsCount, updatesCount, unionsCount, executionTimeMs, connected,
+                heapStats, countingMode, timingCountingMode, phases, memory, sortPasses, verification);
+    }
+
+    public MSTResult withPhases(PhaseTimings phases) {
+        return new MSTResult(mstEdges, totalCost, comparisonsCount, updatesCount, unionsCount, executionTimeMs, connected,
+                heapStats, countingMode, timingCountingMode, phases, memory, sortPasses, verification);
+    }
+
+    public MSTResult withMemory(MemoryStats memory) {
+        return new MSTResult(mstEdges, totalCost, comparisonsCount, updatesCount, unionsCount, executionTimeMs, connected,
+                heapStats, countingMode, timingCountingMode, phases, memory, sortPasses, verification);
+    }
+
+    public MSTResult withSortPasses(Integer sortPasses) {
+        return new MSTResult(mstEdges, totalCost, comparisonsCount, updatesCount, unionsCount, executionTimeMs, connected,
+                heapStats, countingMode, timingCountingMode, phases, memory, sortPasses, verification);
+    }
+
+    public MSTResult withVerification(MSTVerification verification) {
+        return new MSTResult(mstEdges, totalCost, comparisonsCount, updatesCount, unionsCount, executionTimeMs, connected,
+                heapStats, countingMode, timingCountingMode, phases, memory, sortPasses, verification);
+    }
+
+    /**
+     * Time of the algorithm's own work. It excludes preparing the graph and building the graph's shared
+     * sorted edge order, which are reported in {@link InputStats} and in the sort phase.
+     */
     public double getExecutionTimeMs() {
         return executionTimeMs;
     }
@@ -83,4 +222,47 @@ public class MSTResult {
     public boolean isConnected() {
         return connected;
     }
+
+    /**
+     * Priority queue counters for Prim runs, or {@code null} for algorithms that do not use one.
+     */
+    public HeapStats getHeapStats() {
+        return heapStats;
+    }
+
+    /**
+     * Mode of the counter that produced the operation counts, or {@code null} if unknown.
+     */
+    public CountingMode getCountingMode() {
+        return countingMode;
+    }
+
+    /**
+     * Counting mode of the runs the execution time was taken from when it differs from
+     * {@link #getCountingMode()}, otherwise {@code null}.
+     */
+    public CountingMode getTimingCountingMode() {
+        return timingCountingMode;
+    }
+
+    /**
+     * Per-phase times of the run, or {@code null} for results that were not measured phase by phase.
+     */
+    public PhaseTimings getPhases() {
+        return phases;
+    }
+
+    /**
+     * Allocation and estimated footprint of the run, or {@code null} for results that were not measured.
+     */
+    public MemoryStats getMemory() {
+        return memory;
+    }
+
+    /**
+     * Outcome of checking the tree with {@link MSTVerifier}, or {@code null} if it was not verified.
+     */
+    public MSTVerification getVerification() {
+        return verification;
+    }
 }
@@ -0,0 +1,447 @@
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Long-running MST service on the JDK's built-in HTTP server, so that repeated jobs pay for JVM
+ * startup, Jackson initialization and JIT compilation once instead of on every run.
+ * <p>
+ * {@code POST /mst} accepts a single graph ({@code {"id", "nodes", "edges"}}) or a dataset
+ * ({@code {"graphs": [...]}}) and answers with the graph's {@link GraphComputationResult}, or with
+ * {@code {"results": [...]}} as in {@code output.json}. The {@code algorithm} query parameter takes a
+ * comma-separated list of algorithm keys, or {@code auto} (the default) to let the {@link MSTPlanner}
+ * choose, and {@code normalize=true} removes self-loops and parallel edges first. Each algorithm runs once,
+ * as in production mode. {@code GET /stats} reports {@link ServerStats}.
+ * <p>
+ * Every request is handled on its own virtual thread. At most {@code maxConcurrent} requests parse and
+ * compute at once; the others wait up to {@code queueTimeout} for a slot and are then answered with 503.
+ * The body is parsed straight from the request stream while the slot is held, and bodies larger than
+ * {@code maxBodyBytes} are answered with 413, so the slots also bound the memory spent on requests. A
+ * declared {@code Content-Length} over the limit is refused before any slot is waited for.
+ */
+public final class MSTServer implements AutoCloseable {
+    private static final String MST_PATH = "/mst";
+    private static final String STATS_PATH = "/stats";
+    static final long DEFAULT_MAX_BODY_BYTES = 256L * 1024 * 1024;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final int maxConcurrent;
+    private final Semaphore slots;
+    private final long queueTimeoutNanos;
+    private final long maxBodyBytes;
+    private final MSTCalculator calculator;
+    private final MSTPlanner planner;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ServerStats stats = new ServerStats();
+
+    /**
+     * Binds {@code address} with a body limit of {@link #DEFAULT_MAX_BODY_BYTES}.
+     *
+     * @param planner chooses the algorithm for {@code algorithm=auto}
+     */
+    public MSTServer(InetSocketAddress address,
+                     int maxConcurrent,
+                     Duration queueTimeout,
+                     MSTCalculator calculator,
+                     MSTPlanner planner) throws IOException {
+        this(address, maxConcurrent, queueTimeout, DEFAULT_MAX_BODY_BYTES, calculator, planner);
+    }
+
+    /**
+     * Binds {@code address}; requests are accepted once {@link #start()} has been called.
+     *
+     * @param maxBodyBytes largest request body accepted; larger ones are answered with 413
+     * @param planner      chooses the algorithm for {@code algorithm=auto}
+     */
+    public MSTServer(InetSocketAddress address,
+                     int maxConcurrent,
+                     Duration queueTimeout,
+                     long maxBodyBytes,
+                     MSTCalculator calculator,
+                     MSTPlanner planner) throws IOException {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("Concurrency cap must be at least 1 but was " + maxConcurrent);
+        }
+        if (maxBodyBytes < 1) {
+            throw new IllegalArgumentException("Body limit must be at least 1 byte but was " + maxBodyBytes);
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.slots = new Semaphore(maxConcurrent);
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+        this.maxBodyBytes = maxBodyBytes;
+        this.calculator = calculator;
+        this.planner = planner;
+        this.server = HttpServer.create(address, 0);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext(MST_PATH, this::handleMst);
+        server.createContext(STATS_PATH, this::handleStats);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = MSTApplication.parseRuns(System.getProperty("mst.port"), 8080, 0);
+        int maxConcurrent = MSTApplication.parseRuns(System.getProperty("mst.maxConcurrent"),
+                Runtime.getRuntime().availableProcessors(), 1);
+        int queueTimeoutMs = MSTApplication.parseRuns(System.getProperty("mst.queueTimeoutMs"), 30_000, 0);
+        int maxBodyMb = MSTApplication.parseRuns(System.getProperty("mst.maxBodyMb"),
+                (int) (DEFAULT_MAX_BODY_BYTES >> 20), 1);
+        int warmupRuns = MSTApplication.parseRuns(System.getProperty("mst.serverWarmupRuns"), 20, 0);
+        int parallelism = MSTApplication.parseRuns(System.getProperty("mst.parallelism"),
+                Runtime.getRuntime().availableProcessors(), 1);
+        String plannerProfile = System.getProperty("mst.plannerProfile", MSTPlanner.DEFAULT_PROFILE.toString());
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        MSTCalculator calculator = new MSTCalculator()
+                .withPriorityQueue(MSTApplication.parseQueueStrategy(System.getProperty("mst.primQueue")))
+                .withPool(pool)
+                .withCountingMode(MSTApplication.parseCountingMode(System.getProperty("mst.counting")));
+        MSTServer server = new MSTServer(new InetSocketAddress(port), maxConcurrent,
+                Duration.ofMillis(queueTimeoutMs), (long) maxBodyMb << 20, calculator,
+                MSTPlanner.load(Path.of(plannerProfile)));
+        server.warmUp(warmupRuns);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            pool.shutdown();
+        }));
+        server.start();
+        System.out.println("MST server listening on port " + server.port() + " (max " + maxConcurrent
+                + " concurrent requests)");
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Sends a random graph through the request path {@code runs} times, parsing it, running every
+     * algorithm and writing the response, so the first requests do not pay for Jackson's per-type setup,
+     * interpretation and JIT compilation. Warm-up runs are not counted in the statistics.
+     */
+    public void warmUp(int runs) throws IOException {
+        if (runs <= 0) {
+            return;
+        }
+        Random random = new Random(42);
+        int vertices = 400;
+        List<String> nodes = new ArrayList<>(vertices);
+        for (int v = 0; v < vertices; v++) {
+            nodes.add("W" + v);
+        }
+        List<Edge> edges = new ArrayList<>();
+        for (int v = 1; v < vertices; v++) {
+            edges.add(new Edge(nodes.get(random.nextInt(v)), nodes.get(v), random.nextInt(1_000)));
+        }
+        for (int e = 0; e < 10 * vertices; e++) {
+            edges.add(new Edge(nodes.get(random.nextInt(vertices)), nodes.get(random.nextInt(vertices)),
+                    random.nextInt(1_000)));
+        }
+        byte[] body = mapper.writeValueAsBytes(new Graph("warmup", nodes, edges));
+        List<MSTAlgorithm> algorithms = List.of(MSTAlgorithm.values());
+        for (int i = 0; i < runs; i++) {
+            try {
+                mapper.writeValueAsBytes(compute(new ByteArrayInputStream(body), algorithms, false));
+            } catch (IOException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw new IllegalStateException("Warm-up request failed", ex);
+            }
+        }
+    }
+
+    /**
+     * Stops accepting requests and waits for the ones in progress to finish.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    ServerStats.Snapshot stats() {
+        return stats.snapshot();
+    }
+
+    private void handleMst(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!MST_PATH.equals(exchange.getRequestURI().getPath())) {
+                sendError(exchange, 404, "Unknown path " + exchange.getRequestURI().getPath());
+                return;
+            }
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "Use POST to submit a graph");
+                return;
+            }
+            List<MSTAlgorithm> algorithms;
+            boolean normalize = Boolean.parseBoolean(queryParameter(exchange, "normalize"));
+            try {
+                algorithms = parseAlgorithms(queryParameter(exchange, "algorithm"));
+            } catch (IllegalArgumentException ex) {
+                sendError(exchange, 400, ex.getMessage());
+                return;
+            }
+            String contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+            if (contentLength != null && parseLength(contentLength) > maxBodyBytes) {
+                sendError(exchange, 413, "Request body of " + contentLength.trim() + " bytes exceeds the limit of "
+                        + maxBodyBytes + " bytes");
+                return;
+            }
+            long start = System.nanoTime();
+            if (!acquireSlot()) {
+                stats.rejected();
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                sendError(exchange, 503, "All " + maxConcurrent + " computation slots are busy");
+                return;
+            }
+            stats.started();
+            boolean success = false;
+            try {
+                Object response;
+                try {
+                    response = compute(new LimitedInputStream(exchange.getRequestBody(), maxBodyBytes), algorithms,
+                            normalize);
+                } catch (Exception ex) {
+                    // Jackson may wrap the stream's failure in a mapping exception.
+                    BodyTooLargeException tooLarge = bodyTooLarge(ex);
+                    if (tooLarge != null) {
+                        sendError(exchange, 413, tooLarge.getMessage());
+                    } else if (ex instanceof JsonProcessingException || ex instanceof IllegalArgumentException) {
+                        sendError(exchange, 400, ex.getMessage());
+                    } else {
+                        sendError(exchange, 500, ex.toString());
+                    }
+                    return;
+                }
+                send(exchange, 200, response);
+                success = true;
+            } finally {
+                slots.release();
+                stats.finished(System.nanoTime() - start, success);
+            }
+        }
+    }
+
+    private void handleStats(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!STATS_PATH.equals(exchange.getRequestURI().getPath())) {
+                sendError(exchange, 404, "Unknown path " + exchange.getRequestURI().getPath());
+            } else if (!"GET".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "Use GET to read the statistics");
+            } else {
+                send(exchange, 200, stats.snapshot());
+            }
+        }
+    }
+
+    private boolean acquireSlot() {
+        try {
+            return slots.tryAcquire(queueTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Computes a graph or a dataset body; {@code algorithms} is {@code null} when the planner chooses.
+     * The body is a dataset unless its first field belongs to a graph, and the graphs of a dataset are
+     * bound and computed one at a time.
+     */
+    private Object compute(InputStream body, List<MSTAlgorithm> algorithms, boolean normalize) throws Exception {
+        MSTApplication.RunSettings settings = algorithms == null
+                ? MSTApplication.RunSettings.singleRun(List.of(), planner, normalize)
+                : MSTApplication.RunSettings.singleRun(algorithms, null, normalize);
+        try (JsonParser parser = mapper.getFactory().createParser(body)) {
+            long start = System.nanoTime();
+            JsonToken token = parser.nextToken();
+            if (token != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Expected a graph or a dataset object");
+            }
+            token = parser.nextToken();
+            String field = token == JsonToken.FIELD_NAME ? parser.currentName() : null;
+            if (field == null || field.equals("id") || field.equals("nodes") || field.equals("edges")) {
+                Graph graph = mapper.readValue(parser, Graph.class);
+                Double loadMs = (System.nanoTime() - start) / 1_000_000.0;
+                return compute(graph, loadMs, settings);
+            }
+            List<GraphComputationResult> results = new ArrayList<>();
+            GraphStreamReader reader = new GraphStreamReader(parser, mapper);
+            try {
+                while (reader.hasNext()) {
+                    Graph graph = reader.next();
+                    results.add(compute(graph, reader.lastLoadNanos() / 1_000_000.0, settings));
+                }
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            return Map.of("results", results);
+        }
+    }
+
+    private GraphComputationResult compute(Graph graph, Double loadMs, MSTApplication.RunSettings settings)
+            throws Exception {
+        return MSTApplication.traced(() -> MSTApplication.computeGraph(
+                MSTApplication.prepare(graph, calculator, settings), loadMs, calculator, settings));
+    }
+
+    /**
+     * Parses the {@code algorithm} parameter; {@code null} for {@code auto} or a missing parameter.
+     *
+     * @throws IllegalArgumentException for an unknown algorithm key
+     */
+    private static List<MSTAlgorithm> parseAlgorithms(String parameter) {
+        if (parameter == null || parameter.isBlank() || parameter.trim().equalsIgnoreCase("auto")) {
+            return null;
+        }
+        // Kept in the caller's order, which is the order the algorithms run and are written in.
+        Set<MSTAlgorithm> selected = new LinkedHashSet<>();
+        for (String key : parameter.split(",")) {
+            if (!key.isBlank()) {
+                selected.add(MSTAlgorithm.fromKey(key));
+            }
+        }
+        return List.copyOf(selected);
+    }
+
+    private static BodyTooLargeException bodyTooLarge(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof BodyTooLargeException tooLarge) {
+                return tooLarge;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the declared length, or {@link Long#MAX_VALUE} if it is not a number
+     */
+    private static long parseLength(String header) {
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException ex) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static String queryParameter(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            String key = separator < 0 ? pair : pair.substring(0, separator);
+            if (URLDecoder.decode(key, StandardCharsets.UTF_8).equals(name)) {
+                return separator < 0 ? "" : URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        send(exchange, status, Map.of("error", message == null ? "Request failed" : message));
+    }
+
+    private void send(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = mapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    private static final class BodyTooLargeException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        BodyTooLargeException(long limit) {
+            super("Request body exceeds the limit of " + limit + " bytes");
+        }
+    }
+
+    /**
+     * Passes through at most {@code limit} bytes and fails with {@link BodyTooLargeException} if the
+     * stream has more.
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+        private final long limit;
+        private long remaining;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = remaining == 0 ? probe() : super.read();
+            if (value >= 0) {
+                remaining--;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (remaining == 0) {
+                return probe();
+            }
+            int read = super.read(buffer, offset, (int) Math.min(length, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long count) throws IOException {
+            long skipped = super.skip(Math.min(count, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        /**
+         * Called once the limit is used up: returns {@code -1} at the end of the body and fails otherwise.
+         */
+        private int probe() throws IOException {
+            if (super.read() >= 0) {
+                throw new BodyTooLargeException(limit);
+            }
+            return -1;
+        }
+    }
+}
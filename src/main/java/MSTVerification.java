@@ -0,0 +1,43 @@
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Outcome of checking a result with {@link MSTVerifier}: whether it is a minimum spanning forest of the
+ * graph, the first violation found if not, and how long the check took.
+ */
+public class MSTVerification {
+    @JsonProperty("valid")
+    private final boolean valid;
+
+    @JsonProperty("failure")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final String failure;
+
+    @JsonProperty("time_ms")
+    private final double timeMs;
+
+    @JsonCreator
+    public MSTVerification(@JsonProperty("valid") boolean valid,
+                           @JsonProperty("failure") String failure,
+                           @JsonProperty("time_ms") double timeMs) {
+        this.valid = valid;
+        this.failure = failure;
+        this.timeMs = timeMs;
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Description of the first violation, or {@code null} for a valid result.
+     */
+    public String getFailure() {
+        return failure;
+    }
+
+    public double getTimeMs() {
+        return timeMs;
+    }
+}
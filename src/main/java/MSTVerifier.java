@@ -0,0 +1,312 @@
+import java.util.List;
+
+/**
+ * Checks that a result is a minimum spanning forest of its graph without computing another one, so a
+ * production run can compute one tree and still catch a wrong one.
+ * <p>
+ * The candidate must be a forest of graph edges whose cost and {@code connected} flag are reported
+ * correctly, and it must satisfy the cycle property: no graph edge may be lighter than the heaviest tree
+ * edge on the tree path between its endpoints. A result marked disconnected must span every component
+ * of the graph with {@code V - components} edges, unless a partial forest is allowed for an algorithm
+ * that {@link MSTAlgorithm#growsSingleTree() grows a single tree}; then it may cover only some
+ * components, but each of its trees must span a whole component and the graph must really be
+ * disconnected.
+ * <p>
+ * Path maxima come from a Kruskal reconstruction tree: merging the tree edges in weight order, every
+ * merge becomes an internal node weighted by its edge, so the heaviest edge between two vertices is the
+ * weight of their lowest common ancestor. Numbering the vertices in the order its depth-first traversal
+ * reaches them, that weight is the maximum of the merge weights between consecutive vertices in the
+ * range spanned by the two endpoints, and all graph edges are answered by one offline range-maximum
+ * sweep with a union-find. Only the {@code V - 1} tree edges are sorted, by {@link RadixEdgeSort}, so the
+ * check takes {@code O(V + E)} time up to the near-constant union-find factor.
+ */
+public final class MSTVerifier {
+    private static final double COST_TOLERANCE = 1e-9;
+
+    private MSTVerifier() {
+    }
+
+    public static MSTVerification verify(Graph graph, MSTResult candidate) {
+        return verify(PreparedGraph.of(graph), candidate);
+    }
+
+    /**
+     * Verifies {@code candidate} as a full minimum spanning forest.
+     */
+    public static MSTVerification verify(PreparedGraph graph, MSTResult candidate) {
+        return verify(graph, candidate, false);
+    }
+
+    /**
+     * @param partialForest whether a disconnected result may leave out whole components, as the result
+     *                      of an algorithm that {@link MSTAlgorithm#growsSingleTree() grows a single tree}
+     *                      does
+     */
+    public static MSTVerification verify(PreparedGraph graph, MSTResult candidate, boolean partialForest) {
+        long start = System.nanoTime();
+        String failure = findViolation(graph, candidate, partialForest);
+        return new MSTVerification(failure == null, failure, (System.nanoTime() - start) / 1_000_000.0);
+    }
+
+    /**
+     * @return a description of the first violation, or {@code null} if {@code candidate} is a minimum
+     *         spanning forest of {@code graph}
+     */
+    private static String findViolation(PreparedGraph graph, MSTResult candidate, boolean partialForest) {
+        int vertexCount = graph.vertexCount();
+        List<Edge> tree = candidate.getMstEdges();
+        int treeSize = tree.size();
+        int[] treeFrom = new int[treeSize];
+        int[] treeTo = new int[treeSize];
+        double[] treeWeights = new double[treeSize];
+        double cost = 0.0;
+        // A tree computed on a graph with these node names already refers to vertices by id, so it needs
+        // no name lookups, and one computed on this very graph needs no membership check either.
+        boolean ownEdges = false;
+        if (tree instanceof EdgeIdList ids && ids.columns().nodeNames() == graph.nodeNames()) {
+            EdgeColumns columns = ids.columns();
+            ownEdges = columns == graph.columns();
+            for (int t = 0; t < treeSize; t++) {
+                int e = ids.edgeId(t);
+                treeFrom[t] = columns.from()[e];
+                treeTo[t] = columns.to()[e];
+                treeWeights[t] = columns.weights()[e];
+                cost += treeWeights[t];
+            }
+        } else {
+            NameIndex index = new NameIndex(graph);
+            for (int t = 0; t < treeSize; t++) {
+                Edge edge = tree.get(t);
+                int from = index.get(edge.getFrom());
+                int to = index.get(edge.getTo());
+                if (from < 0 || to < 0) {
+                    return "Tree edge " + describe(edge) + " references a node that is not in the graph";
+                }
+                treeFrom[t] = from;
+                treeTo[t] = to;
+                treeWeights[t] = edge.getWeight();
+                cost += edge.getWeight();
+            }
+        }
+        if (Math.abs(cost - candidate.getTotalCost()) > COST_TOLERANCE * Math.max(1.0, Math.abs(cost))) {
+            return "Total cost " + candidate.getTotalCost() + " differs from the tree edges' sum " + cost;
+        }
+        if (candidate.isConnected() != (treeSize == Math.max(0, vertexCount - 1))) {
+            return "Result is marked " + (candidate.isConnected() ? "connected" : "disconnected") + " but has "
+                    + treeSize + " tree edges for " + vertexCount + " vertices";
+        }
+
+        // Every tree edge must be a graph edge of the same weight. Scanning the smaller neighbourhood
+        // keeps this linear: rooting the forest, each vertex is the child endpoint of at most one edge.
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        double[] weights = graph.weights();
+        for (int t = 0; t < treeSize && !ownEdges; t++) {
+            int u = treeFrom[t];
+            int v = treeTo[t];
+            if (offsets[u + 1] - offsets[u] > offsets[v + 1] - offsets[v]) {
+                u = treeTo[t];
+                v = treeFrom[t];
+            }
+            boolean found = false;
+            for (int slot = offsets[u]; slot < offsets[u + 1] && !found; slot++) {
+                found = targets[slot] == v && Double.compare(weights[slot], treeWeights[t]) == 0;
+            }
+            if (!found) {
+                return "Tree edge " + describe(tree.get(t)) + " is not an edge of the graph";
+            }
+        }
+
+        // Kruskal reconstruction tree: leaves 0..V-1, internal node V + i for the i-th merge.
+        int[] left = new int[treeSize];
+        int[] right = new int[treeSize];
+        double[] mergeWeights = new double[treeSize];
+        boolean[] merged = new boolean[vertexCount + treeSize];
+        int[] top = new int[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            top[v] = v;
+        }
+        DisjointSet components = new DisjointSet(vertexCount);
+        int merges = 0;
+        for (int t : RadixEdgeSort.sort(treeWeights, null).edges()) {
+            int rootU = components.find(treeFrom[t]);
+            int rootV = components.find(treeTo[t]);
+            if (rootU == rootV) {
+                return "Tree edge " + describe(tree.get(t)) + " closes a cycle";
+            }
+            left[merges] = top[rootU];
+            right[merges] = top[rootV];
+            mergeWeights[merges] = treeWeights[t];
+            merged[top[rootU]] = true;
+            merged[top[rootV]] = true;
+            top[components.unionRoots(rootU, rootV)] = vertexCount + merges;
+            merges++;
+        }
+
+        // Depth-first leaf order. gaps[p] is the weight of the common ancestor of the vertices at
+        // positions p and p + 1, which is infinite between different trees of the forest.
+        int[] position = new int[vertexCount];
+        int[] owner = new int[vertexCount];
+        double[] gaps = new double[Math.max(0, vertexCount - 1)];
+        byte[] stage = new byte[treeSize];
+        int[] stack = new int[vertexCount + treeSize];
+        int next = 0;
+        for (int root = 0; root < vertexCount + treeSize; root++) {
+            if (merged[root]) {
+                continue;
+            }
+            if (next > 0) {
+                gaps[next - 1] = Double.POSITIVE_INFINITY;
+            }
+            int size = 0;
+            stack[size++] = root;
+            while (size > 0) {
+                int node = stack[size - 1];
+                if (node < vertexCount) {
+                    size--;
+                    owner[node] = root;
+                    position[node] = next++;
+                    continue;
+                }
+                int merge = node - vertexCount;
+                if (stage[merge] == 0) {
+                    stage[merge] = 1;
+                    stack[size++] = left[merge];
+                } else if (stage[merge] == 1) {
+                    stage[merge] = 2;
+                    gaps[next - 1] = mergeWeights[merge];
+                    stack[size++] = right[merge];
+                } else {
+                    size--;
+                }
+            }
+        }
+
+        // Each edge inside a tree asks for the heaviest gap in [min position, max position - 1], grouped
+        // by the right end of that range.
+        int[] edgeFrom = graph.edgeFrom();
+        int[] edgeTo = graph.edgeTo();
+        double[] edgeWeights = graph.edgeWeights();
+        int[] queryOffsets = new int[vertexCount + 1];
+        for (int e = 0; e < edgeFrom.length; e++) {
+            int u = edgeFrom[e];
+            int v = edgeTo[e];
+            if (u == v) {
+                continue;
+            }
+            if (owner[u] != owner[v]) {
+                // Only vertices a partial forest leaves out of every tree may have edges between them.
+                if (!partialForest || owner[u] >= vertexCount || owner[v] >= vertexCount) {
+                    return "Edge " + describe(graph.edge(e)) + " leaves a tree of the result, so the tree does "
+                            + "not span its component";
+                }
+                continue;
+            }
+            queryOffsets[Math.max(position[u], position[v])]++;
+        }
+        // A full forest without edges between its trees spans every component, so only a partial one can
+        // hide a connected graph.
+        if (partialForest && !candidate.isConnected() && vertexCount > 1) {
+            DisjointSet graphComponents = new DisjointSet(vertexCount);
+            for (int e = 0; e < edgeFrom.length && graphComponents.componentCount() > 1; e++) {
+                graphComponents.union(edgeFrom[e], edgeTo[e]);
+            }
+            if (graphComponents.componentCount() == 1) {
+                return "Result is marked disconnected but the graph is connected";
+            }
+        }
+        for (int p = 0; p < vertexCount; p++) {
+            queryOffsets[p + 1] += queryOffsets[p];
+        }
+        int[] queryStarts = new int[queryOffsets[vertexCount]];
+        int[] queryEdges = new int[queryStarts.length];
+        double[] queryWeights = new double[queryStarts.length];
+        for (int e = 0; e < edgeFrom.length; e++) {
+            int u = edgeFrom[e];
+            int v = edgeTo[e];
+            if (u != v && owner[u] == owner[v]) {
+                int slot = --queryOffsets[Math.max(position[u], position[v])];
+                queryStarts[slot] = Math.min(position[u], position[v]);
+                queryEdges[slot] = e;
+                queryWeights[slot] = edgeWeights[e];
+            }
+        }
+
+        // Offline range maximum: after gap r is added, every gap is linked towards the nearest heavier
+        // gap on its right, so the root of a start position is the heaviest gap from there to r.
+        int[] link = new int[gaps.length];
+        int[] increasing = new int[gaps.length];
+        int stackSize = 0;
+        for (int r = 0; r < gaps.length; r++) {
+            link[r] = r;
+            while (stackSize > 0 && gaps[increasing[stackSize - 1]] <= gaps[r]) {
+                link[increasing[--stackSize]] = r;
+            }
+            increasing[stackSize++] = r;
+            for (int q = queryOffsets[r + 1]; q < queryOffsets[r + 2]; q++) {
+                double pathMax = gaps[find(link, queryStarts[q])];
+                if (queryWeights[q] < pathMax) {
+                    return "Edge " + describe(graph.edge(queryEdges[q])) + " is lighter than the heaviest tree "
+                            + "edge (" + pathMax + ") on the path between its endpoints";
+                }
+            }
+        }
+        return null;
+    }
+
+    private static int find(int[] link, int node) {
+        int current = node;
+        while (link[current] != current) {
+            int grandparent = link[link[current]];
+            link[current] = grandparent;
+            current = grandparent;
+        }
+        return current;
+    }
+
+    private static String describe(Edge edge) {
+        return edge.getFrom() + "-" + edge.getTo() + " (" + edge.getWeight() + ")";
+    }
+
+    /**
+     * Open-addressing map from node names to vertex ids; resolving every tree endpoint through a
+     * {@code HashMap} would box an id per vertex and cost more than the rest of the check.
+     */
+    private static final class NameIndex {
+        private final String[] names;
+        private final int[] ids;
+        private final int shift;
+
+        NameIndex(PreparedGraph graph) {
+            int capacity = Integer.highestOneBit(Math.max(8, graph.vertexCount()) * 2 - 1) << 1;
+            names = new String[capacity];
+            ids = new int[capacity];
+            shift = Integer.numberOfLeadingZeros(capacity - 1);
+            for (int v = 0; v < graph.vertexCount(); v++) {
+                String name = graph.nodeName(v);
+                int slot = slot(name);
+                if (names[slot] == null) {
+                    names[slot] = name;
+                    ids[slot] = v;
+                }
+            }
+        }
+
+        /**
+         * @return the id of {@code name}, or {@code -1} if it is not a node of the graph
+         */
+        int get(String name) {
+            int slot = slot(name);
+            return names[slot] == null ? -1 : ids[slot];
+        }
+
+        private int slot(String name) {
+            int mask = names.length - 1;
+            int slot = name.hashCode() * 0x9E3779B9 >>> shift;
+            while (names[slot] != null && !names[slot].equals(name)) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+import java.lang.management.ManagementFactory;
+
+/**
+ * Shallow size estimates for the arrays and objects the MST algorithms work on, and the allocation
+ * counter of the current thread.
+ * <p>
+ * Sizes assume a 64-bit HotSpot JVM with compressed class pointers and references (the default for
+ * heaps below 32 GiB): 12-byte object headers, 16-byte array headers and 8-byte alignment.
+ */
+final class MemoryFootprint {
+    private static final int OBJECT_HEADER_BYTES = 12;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int REFERENCE_BYTES = 4;
+    private static final int ALIGNMENT = 8;
+
+    /**
+     * {@link Edge}: header, two name references and the weight.
+     */
+    private static final long EDGE_BYTES = align(OBJECT_HEADER_BYTES + 2L * REFERENCE_BYTES + Double.BYTES);
+
+    /**
+     * {@link java.util.ArrayList} without its element array: header, modCount, size and the array reference.
+     */
+    private static final long ARRAY_LIST_BYTES = align(OBJECT_HEADER_BYTES + 2L * Integer.BYTES + REFERENCE_BYTES);
+
+    private static final com.sun.management.ThreadMXBean THREADS = allocationCountingThreads();
+
+    private MemoryFootprint() {
+    }
+
+    static long ints(long length) {
+        return array(length, Integer.BYTES);
+    }
+
+    static long doubles(long length) {
+        return array(length, Double.BYTES);
+    }
+
+    static long booleans(long length) {
+        return array(length, 1);
+    }
+
+    /**
+     * An {@link java.util.concurrent.atomic.AtomicIntegerArray} wrapper and its {@code int[]}.
+     */
+    static long atomicInts(long length) {
+        return align(OBJECT_HEADER_BYTES + REFERENCE_BYTES) + ints(length);
+    }
+
+    /**
+     * A result list of {@code size} edges, counting every {@link Edge} as its own object even when it is
+     * shared with the input graph; node names are always shared and not counted.
+     */
+    static long edgeList(int size) {
+        return ARRAY_LIST_BYTES + array(size, REFERENCE_BYTES) + size * EDGE_BYTES;
+    }
+
+    /**
+     * An {@link EdgeIdList} without its index array, which the algorithm already counts as working memory,
+     * and without the edge columns it shares with the graph.
+     */
+    static long edgeIdList() {
+        return align(OBJECT_HEADER_BYTES + Integer.BYTES + 2L * REFERENCE_BYTES);
+    }
+
+    /**
+     * Bytes allocated on the heap by the current thread so far, or {@code -1} if the JVM does not
+     * provide the counter.
+     */
+    static long allocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    private static long array(long length, int elementBytes) {
+        return align(ARRAY_HEADER_BYTES + length * elementBytes);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCountingThreads() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported()) {
+            if (!threads.isThreadAllocatedMemoryEnabled()) {
+                threads.setThreadAllocatedMemoryEnabled(true);
+            }
+            return threads;
+        }
+        return null;
+    }
+}
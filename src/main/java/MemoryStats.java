@@ -0,0 +1,38 @@
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Memory used by one run.
+ * <p>
+ * {@code allocated_bytes} is the heap allocation of the thread that ran the algorithm, from
+ * {@code com.sun.management.ThreadMXBean}; it is {@code null} where the JVM does not provide the counter.
+ * Parallel algorithms allocate their big arrays on that thread, but the fork-join tasks created on pool
+ * workers are not included. {@code retained_bytes} estimates the working structures the run holds at its
+ * peak plus the result list; see {@link MemoryFootprint} for the assumed object layout. Structures shared
+ * by every algorithm (the graph's adjacency and edge columns) are not charged to any run, while cached
+ * structures only one algorithm uses (Kruskal's sorted order, dense Prim's matrix) are.
+ */
+public class MemoryStats {
+    @JsonProperty("allocated_bytes")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final Long allocatedBytes;
+
+    @JsonProperty("retained_bytes")
+    private final long retainedBytes;
+
+    @JsonCreator
+    public MemoryStats(@JsonProperty("allocated_bytes") Long allocatedBytes,
+                       @JsonProperty("retained_bytes") long retainedBytes) {
+        this.allocatedBytes = allocatedBytes;
+        this.retainedBytes = retainedBytes;
+    }
+
+    public Long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public long getRetainedBytes() {
+        return retainedBytes;
+    }
+}
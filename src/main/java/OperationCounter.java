@@ -1,44 +1,209 @@
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Simple counter used to track algorithmic operations such as comparisons and unions.
+ * <p>
+ * Instances are created per run through {@link #create(CountingMode)}. Only {@link CountingMode#STRIPED}
+ * counters may be shared between threads.
  */
-public class OperationCounter {
-    private final AtomicLong comparisons = new AtomicLong();
-    private final AtomicLong updates = new AtomicLong();
-    private final AtomicLong unions = new AtomicLong();
-    private volatile boolean unionOperationsRecorded;
-
-    public void incrementComparison() {
-        comparisons.incrementAndGet();
-    }
+public abstract class OperationCounter {
 
-    public void incrementUpdate() {
-        updates.incrementAndGet();
+    OperationCounter() {
     }
 
-    public void incrementUnion() {
-        unions.incrementAndGet();
-        unionOperationsRecorded = true;
+    public static OperationCounter create(CountingMode mode) {
+        return switch (mode) {
+            case DISABLED -> Disabled.INSTANCE;
+            case PLAIN -> new Plain();
+            case STRIPED -> new Striped();
+        };
     }
 
+    public abstract CountingMode getMode();
+
+    public abstract void incrementComparison();
+
+    public abstract void addComparisons(long count);
+
+    public abstract void incrementUpdate();
+
+    public abstract void addUpdates(long count);
+
+    public abstract void incrementUnion();
+
+    public abstract void addUnions(long count);
+
+    public abstract long getComparisons();
+
+    public abstract long getUpdates();
+
+    public abstract long getUnions();
+
     public long getTotalOperations() {
-        return comparisons.get() + updates.get() + unions.get();
+        return getComparisons() + getUpdates() + getUnions();
     }
 
-    public long getComparisons() {
-        return comparisons.get();
+    public boolean hasUnionOperations() {
+        return getUnions() > 0;
     }
 
-    public long getUpdates() {
-        return updates.get();
+    private static final class Disabled extends OperationCounter {
+        private static final Disabled INSTANCE = new Disabled();
+
+        @Override
+        public CountingMode getMode() {
+            return CountingMode.DISABLED;
+        }
+
+        @Override
+        public void incrementComparison() {
+        }
+
+        @Override
+        public void addComparisons(long count) {
+        }
+
+        @Override
+        public void incrementUpdate() {
+        }
+
+        @Override
+        public void addUpdates(long count) {
+        }
+
+        @Override
+        public void incrementUnion() {
+        }
+
+        @Override
+        public void addUnions(long count) {
+        }
+
+        @Override
+        public long getComparisons() {
+            return 0;
+        }
+
+        @Override
+        public long getUpdates() {
+            return 0;
+        }
+
+        @Override
+        public long getUnions() {
+            return 0;
+        }
     }
 
-    public long getUnions() {
-        return unions.get();
+    private static final class Plain extends OperationCounter {
+        private long comparisons;
+        private long updates;
+        private long unions;
+
+        @Override
+        public CountingMode getMode() {
+            return CountingMode.PLAIN;
+        }
+
+        @Override
+        public void incrementComparison() {
+            comparisons++;
+        }
+
+        @Override
+        public void addComparisons(long count) {
+            comparisons += count;
+        }
+
+        @Override
+        public void incrementUpdate() {
+            updates++;
+        }
+
+        @Override
+        public void addUpdates(long count) {
+            updates += count;
+        }
+
+        @Override
+        public void incrementUnion() {
+            unions++;
+        }
+
+        @Override
+        public void addUnions(long count) {
+            unions += count;
+        }
+
+        @Override
+        public long getComparisons() {
+            return comparisons;
+        }
+
+        @Override
+        public long getUpdates() {
+            return updates;
+        }
+
+        @Override
+        public long getUnions() {
+            return unions;
+        }
     }
 
-    public boolean hasUnionOperations() {
-        return unionOperationsRecorded;
+    private static final class Striped extends OperationCounter {
+        private final LongAdder comparisons = new LongAdder();
+        private final LongAdder updates = new LongAdder();
+        private final LongAdder unions = new LongAdder();
+
+        @Override
+        public CountingMode getMode() {
+            return CountingMode.STRIPED;
+        }
+
+        @Override
+        public void incrementComparison() {
+            comparisons.increment();
+        }
+
+        @Override
+        public void addComparisons(long count) {
+            comparisons.add(count);
+        }
+
+        @Override
+        public void incrementUpdate() {
+            updates.increment();
+        }
+
+        @Override
+        public void addUpdates(long count) {
+            updates.add(count);
+        }
+
+        @Override
+        public void incrementUnion() {
+            unions.increment();
+        }
+
+        @Override
+        public void addUnions(long count) {
+            unions.add(count);
+        }
+
+        @Override
+        public long getComparisons() {
+            return comparisons.sum();
+        }
+
+        @Override
+        public long getUpdates() {
+            return updates.sum();
+        }
+
+        @Override
+        public long getUnions() {
+            return unions.sum();
+        }
     }
 }
@@ -0,0 +1,102 @@
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs per-graph computations concurrently while handing their results to a sink in submission order.
+ * <p>
+ * At most {@code workers} results are held at once, counting both running computations and finished
+ * ones still waiting for an earlier graph: a slot is only freed once the sink has consumed its result,
+ * and {@link #submit(Callable)} blocks on the oldest result until one is. This bounds both concurrency
+ * and how far a streaming reader can run ahead of the sink. With a single worker nothing overlaps:
+ * {@link #submit(Callable)} returns only after the sink has consumed that graph's result, so the caller
+ * reads the next graph only then. Work runs either on a fixed pool of platform threads or on one virtual
+ * thread per graph.
+ */
+public final class OrderedGraphExecutor implements AutoCloseable {
+    private final ExecutorService executor;
+    private final int workers;
+    private final ResultSink sink;
+    private final Deque<Future<GraphComputationResult>> pending = new ArrayDeque<>();
+
+    public OrderedGraphExecutor(int workers, boolean virtualThreads, ResultSink sink) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Worker count must be at least 1 but was " + workers);
+        }
+        this.executor = virtualThreads
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(workers);
+        this.workers = workers;
+        this.sink = sink;
+    }
+
+    /**
+     * Schedules {@code task} once a slot is free, then passes every result that is complete and next in
+     * order to the sink. With one worker it waits for {@code task} and passes its result on before
+     * returning.
+     */
+    public void submit(Callable<GraphComputationResult> task) throws IOException {
+        while (pending.size() >= workers) {
+            sink.accept(await(pending.removeFirst()));
+        }
+        pending.addLast(executor.submit(task));
+        if (workers == 1) {
+            sink.accept(await(pending.removeFirst()));
+            return;
+        }
+        while (!pending.isEmpty() && pending.peekFirst().isDone()) {
+            sink.accept(await(pending.removeFirst()));
+        }
+    }
+
+    /**
+     * Waits for all submitted computations and passes their remaining results to the sink in order.
+     */
+    public void finish() throws IOException {
+        while (!pending.isEmpty()) {
+            sink.accept(await(pending.removeFirst()));
+        }
+    }
+
+    private static GraphComputationResult await(Future<GraphComputationResult> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a graph computation");
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof UncheckedIOException unchecked) {
+                throw unchecked.getCause();
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Graph computation failed", cause);
+        }
+    }
+
+    @Override
+    public void close() {
+        pending.forEach(future -> future.cancel(true));
+        executor.shutdownNow();
+    }
+
+    @FunctionalInterface
+    public interface ResultSink {
+        void accept(GraphComputationResult result) throws IOException;
+    }
+}
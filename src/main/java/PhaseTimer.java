@@ -0,0 +1,85 @@
+/**
+ * Measures consecutive {@link MSTPhase}s of one run with {@link System#nanoTime()} and emits an
+ * {@link MSTPhaseEvent} per phase. While no flight recording is active the events cost a few
+ * instructions and never reach their fields. The heap allocation of the timing thread is sampled when
+ * the clock starts and stops.
+ */
+final class PhaseTimer {
+    private final String graphId;
+    private final String algorithm;
+    private final long[] nanos = new long[MSTPhase.values().length];
+    private final long startNanos;
+    private final long startAllocated;
+    private long endNanos;
+    private long endAllocated;
+    private MSTPhase current;
+    private long currentStart;
+    private MSTPhaseEvent event;
+
+    /**
+     * Starts the clock in {@code first}.
+     *
+     * @param algorithm algorithm key, or {@code null} for graph-level phases
+     */
+    PhaseTimer(String graphId, String algorithm, MSTPhase first) {
+        this.graphId = graphId;
+        this.algorithm = algorithm;
+        this.startAllocated = MemoryFootprint.allocatedBytes();
+        this.startNanos = System.nanoTime();
+        begin(first, startNanos);
+    }
+
+    /**
+     * Ends the current phase and starts {@code phase}.
+     */
+    void next(MSTPhase phase) {
+        long now = System.nanoTime();
+        endCurrent(now);
+        begin(phase, now);
+    }
+
+    /**
+     * Ends the current phase and stops the clock.
+     */
+    void stop() {
+        endNanos = System.nanoTime();
+        endCurrent(endNanos);
+        endAllocated = MemoryFootprint.allocatedBytes();
+    }
+
+    long nanos(MSTPhase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    long startNanos() {
+        return startNanos;
+    }
+
+    long endNanos() {
+        return endNanos;
+    }
+
+    /**
+     * Bytes the timing thread allocated between start and {@link #stop()}, or {@code -1} if unknown.
+     */
+    long allocatedBytes() {
+        return startAllocated < 0 || endAllocated < 0 ? -1 : endAllocated - startAllocated;
+    }
+
+    private void begin(MSTPhase phase, long now) {
+        current = phase;
+        currentStart = now;
+        event = new MSTPhaseEvent();
+        event.begin();
+    }
+
+    private void endCurrent(long now) {
+        if (current == null) {
+            return;
+        }
+        nanos[current.ordinal()] += now - currentStart;
+        MSTPhaseEvent.finish(event, graphId, algorithm, current);
+        current = null;
+        event = null;
+    }
+}
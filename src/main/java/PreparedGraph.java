@@ -0,0 +1,458 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact, integer-indexed form of a {@link Graph} that MST algorithms can run on repeatedly.
+ * <p>
+ * Node names are interned to dense ids {@code 0..V-1}, adjacency is stored in CSR form
+ * ({@code offsets}, {@code targets}, {@code weights}). The weight-sorted edge permutation is computed
+ * on the first call to {@link #sortedEdges()}, by the {@link EdgeSortStrategy} given at preparation, and
+ * then kept; algorithms that do not read it never pay for the sort. Arrays returned by the accessors are
+ * shared and must not be modified by callers.
+ * <p>
+ * When prepared with normalization, self-loops and all but the cheapest edge between each pair of vertices
+ * are removed by an {@link EdgeNormalizer} before the adjacency and the sort are built; edge indices then
+ * refer to the remaining edges.
+ */
+public final class PreparedGraph {
+    /**
+     * Largest vertex count for which {@link #denseMatrix()} builds a {@code V x V} matrix; at this size
+     * the weight and edge-id matrices take 768 MiB together. {@link #denseMatrixFits(int)} also caps them
+     * at a quarter of the maximum heap.
+     */
+    static final int DENSE_MATRIX_MAX_VERTICES = 8192;
+
+    private final String id;
+    private final EdgeColumns columns;
+    private final String[] nodeNames;
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+    private final double[] edgeWeights;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    private final int[] slotEdges;
+    private final EdgeSortStrategy sortStrategy;
+    private final long preprocessingNanos;
+    private volatile SortedOrder sortedOrder;
+    private final boolean normalized;
+    private final int removedSelfLoops;
+    private final int removedDuplicates;
+
+    /**
+     * @param normalizer   the pre-pass the edge columns were already reduced by, or {@code null}
+     * @param sortStrategy how the edge order is sorted once it is needed
+     * @param timer        clock started in {@link MSTPhase#PREPROCESSING} when preparation began
+     */
+    private PreparedGraph(String id, List<Edge> edges, String[] nodeNames, int[] edgeFrom, int[] edgeTo,
+                          double[] edgeWeights, EdgeNormalizer normalizer, EdgeSortStrategy sortStrategy,
+                          PhaseTimer timer) {
+        this.id = id;
+        this.normalized = normalizer != null;
+        this.removedSelfLoops = normalizer == null ? 0 : normalizer.selfLoopsRemoved();
+        this.removedDuplicates = normalizer == null ? 0 : normalizer.duplicatesRemoved();
+        this.columns = new EdgeColumns(nodeNames, edgeFrom, edgeTo, edgeWeights, edges);
+        this.nodeNames = nodeNames;
+        this.edgeFrom = edgeFrom;
+        this.edgeTo = edgeTo;
+        this.edgeWeights = edgeWeights;
+
+        int vertexCount = nodeNames.length;
+        int edgeCount = edgeFrom.length;
+        this.offsets = new int[vertexCount + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            offsets[edgeFrom[e] + 1]++;
+            offsets[edgeTo[e] + 1]++;
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        this.targets = new int[2 * edgeCount];
+        this.weights = new double[2 * edgeCount];
+        this.slotEdges = new int[2 * edgeCount];
+        int[] cursor = Arrays.copyOf(offsets, vertexCount);
+        for (int e = 0; e < edgeCount; e++) {
+            int u = edgeFrom[e];
+            int v = edgeTo[e];
+            int slot = cursor[u]++;
+            targets[slot] = v;
+            weights[slot] = edgeWeights[e];
+            slotEdges[slot] = e;
+            slot = cursor[v]++;
+            targets[slot] = u;
+            weights[slot] = edgeWeights[e];
+            slotEdges[slot] = e;
+        }
+
+        this.sortStrategy = sortStrategy;
+        timer.stop();
+        this.preprocessingNanos = timer.nanos(MSTPhase.PREPROCESSING);
+    }
+
+    /**
+     * Interns the node names of {@code graph} and builds the CSR adjacency.
+     *
+     * @throws IllegalArgumentException if an edge references a node that is not listed in the graph
+     */
+    public static PreparedGraph of(Graph graph) {
+        return of(graph, false);
+    }
+
+    /**
+     * Like {@link #of(Graph)}, first removing self-loops and parallel edges if {@code normalize} is set.
+     * The remaining edges keep their input order and {@link #edge(int)} still returns the original
+     * {@link Edge} instances.
+     *
+     * @throws IllegalArgumentException if an edge references a node that is not listed in the graph
+     */
+    public static PreparedGraph of(Graph graph, boolean normalize) {
+        return of(graph, normalize, EdgeSortStrategy.COMPARISON);
+    }
+
+    /**
+     * Like {@link #of(Graph, boolean)}, sorting the edge order with {@code sortStrategy} when it is needed.
+     *
+     * @throws IllegalArgumentException if an edge references a node that is not listed in the graph
+     */
+    public static PreparedGraph of(Graph graph, boolean normalize, EdgeSortStrategy sortStrategy) {
+        if (graph instanceof ColumnarGraph columnar) {
+            return of(columnar, normalize, sortStrategy);
+        }
+        PhaseTimer timer = new PhaseTimer(graph.getId(), null, MSTPhase.PREPROCESSING);
+        List<String> nodes = graph.getNodes();
+        Map<String, Integer> index = new HashMap<>(Math.max(16, nodes.size() * 2));
+        String[] names = new String[nodes.size()];
+        int next = 0;
+        for (String node : nodes) {
+            if (index.putIfAbsent(node, next) == null) {
+                names[next++] = node;
+            }
+        }
+        if (next != names.length) {
+            names = Arrays.copyOf(names, next);
+        }
+
+        List<Edge> edges = graph.getEdges();
+        int[] from = new int[edges.size()];
+        int[] to = new int[edges.size()];
+        double[] weights = new double[edges.size()];
+        for (int e = 0; e < edges.size(); e++) {
+            Edge edge = edges.get(e);
+            from[e] = resolve(index, edge.getFrom(), graph.getId());
+            to[e] = resolve(index, edge.getTo(), graph.getId());
+            weights[e] = edge.getWeight();
+        }
+        if (normalize) {
+            EdgeNormalizer normalizer = EdgeNormalizer.normalize(from, to, weights);
+            if (normalizer.removed() > 0) {
+                edges = normalizer.keep(edges);
+                from = normalizer.keep(from);
+                to = normalizer.keep(to);
+                weights = normalizer.keep(weights);
+            }
+            return new PreparedGraph(graph.getId(), edges, names, from, to, weights, normalizer, sortStrategy, timer);
+        }
+        return new PreparedGraph(graph.getId(), edges, names, from, to, weights, null, sortStrategy, timer);
+    }
+
+    /**
+     * Prepares a graph read by {@link ColumnarGraphDeserializer} from its id columns, which already follow
+     * the node list, so neither names nor {@link Edge} objects are looked at per edge.
+     */
+    private static PreparedGraph of(ColumnarGraph graph, boolean normalize, EdgeSortStrategy sortStrategy) {
+        int nodes = graph.distinctNodes();
+        int[] from = graph.edgeFrom();
+        int[] to = graph.edgeTo();
+        for (int e = 0; e < from.length; e++) {
+            int unknown = from[e] >= nodes ? from[e] : to[e] >= nodes ? to[e] : -1;
+            if (unknown >= 0) {
+                throw new IllegalArgumentException("Edge references unknown node '" + graph.nodeName(unknown)
+                        + "' in graph " + graph.getId());
+            }
+        }
+        String[] names = new String[nodes];
+        for (int v = 0; v < nodes; v++) {
+            names[v] = graph.nodeName(v);
+        }
+        return fromColumns(graph.getId(), names, from, to, graph.edgeWeights(), normalize, sortStrategy);
+    }
+
+    /**
+     * Builds a prepared graph directly from edge columns, as read from a
+     * {@link BinaryGraphFormat binary dataset}. {@link Edge} objects are only created on demand by
+     * {@link #edge(int)}. The arrays are taken over, not copied.
+     *
+     * @throws IllegalArgumentException if the columns differ in length or reference a node id outside
+     *                                  {@code 0..nodeNames.length-1}
+     */
+    static PreparedGraph fromColumns(String id, String[] nodeNames, int[] from, int[] to, double[] weights) {
+        return fromColumns(id, nodeNames, from, to, weights, false);
+    }
+
+    /**
+     * Like {@link #fromColumns(String, String[], int[], int[], double[])}, first removing self-loops and
+     * parallel edges if {@code normalize} is set.
+     */
+    static PreparedGraph fromColumns(String id, String[] nodeNames, int[] from, int[] to, double[] weights,
+                                     boolean normalize) {
+        return fromColumns(id, nodeNames, from, to, weights, normalize, EdgeSortStrategy.COMPARISON);
+    }
+
+    /**
+     * Like {@link #fromColumns(String, String[], int[], int[], double[], boolean)}, sorting the edge order
+     * with {@code sortStrategy} when it is needed.
+     */
+    static PreparedGraph fromColumns(String id, String[] nodeNames, int[] from, int[] to, double[] weights,
+                                     boolean normalize, EdgeSortStrategy sortStrategy) {
+        PhaseTimer timer = new PhaseTimer(id, null, MSTPhase.PREPROCESSING);
+        if (from.length != to.length || from.length != weights.length) {
+            throw new IllegalArgumentException("Edge columns of graph " + id + " differ in length");
+        }
+        for (int e = 0; e < from.length; e++) {
+            if (from[e] < 0 || from[e] >= nodeNames.length || to[e] < 0 || to[e] >= nodeNames.length) {
+                throw new IllegalArgumentException("Edge " + e + " references unknown node id in graph " + id);
+            }
+        }
+        if (normalize) {
+            EdgeNormalizer normalizer = EdgeNormalizer.normalize(from, to, weights);
+            if (normalizer.removed() > 0) {
+                from = normalizer.keep(from);
+                to = normalizer.keep(to);
+                weights = normalizer.keep(weights);
+            }
+            return new PreparedGraph(id, null, nodeNames, from, to, weights, normalizer, sortStrategy, timer);
+        }
+        return new PreparedGraph(id, null, nodeNames, from, to, weights, null, sortStrategy, timer);
+    }
+
+    private static int resolve(Map<String, Integer> index, String node, String graphId) {
+        Integer id = index.get(node);
+        if (id == null) {
+            throw new IllegalArgumentException("Edge references unknown node '" + node + "' in graph " + graphId);
+        }
+        return id;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public int vertexCount() {
+        return nodeNames.length;
+    }
+
+    public int edgeCount() {
+        return edgeFrom.length;
+    }
+
+    /**
+     * Number of edges before normalization; equal to {@link #edgeCount()} for graphs that were not normalized.
+     */
+    public int inputEdgeCount() {
+        return edgeFrom.length + removedSelfLoops + removedDuplicates;
+    }
+
+    public boolean isNormalized() {
+        return normalized;
+    }
+
+    public int removedSelfLoops() {
+        return removedSelfLoops;
+    }
+
+    /**
+     * Parallel edges removed because a cheaper (or equally cheap, earlier) edge joins the same vertices.
+     */
+    public int removedDuplicates() {
+        return removedDuplicates;
+    }
+
+    public String nodeName(int vertex) {
+        return nodeNames[vertex];
+    }
+
+    /**
+     * Vertex names by id. The array is shared, not copied, and must not be modified.
+     */
+    String[] nodeNames() {
+        return nodeNames;
+    }
+
+    /**
+     * The edge columns and node names shared with the results computed on this graph.
+     */
+    EdgeColumns columns() {
+        return columns;
+    }
+
+    /**
+     * Returns the original {@link Edge} with the given index in the (normalized) edge list. Graphs
+     * built from columns create a new {@code Edge} on every call.
+     */
+    public Edge edge(int edgeId) {
+        return columns.edge(edgeId);
+    }
+
+    public int[] edgeFrom() {
+        return edgeFrom;
+    }
+
+    public int[] edgeTo() {
+        return edgeTo;
+    }
+
+    public double[] edgeWeights() {
+        return edgeWeights;
+    }
+
+    /**
+     * CSR row offsets: the neighbours of vertex {@code v} occupy slots {@code offsets[v]..offsets[v+1]-1}.
+     */
+    public int[] offsets() {
+        return offsets;
+    }
+
+    public int[] targets() {
+        return targets;
+    }
+
+    public double[] weights() {
+        return weights;
+    }
+
+    /**
+     * Maps every adjacency slot back to the index of the edge it was created from.
+     */
+    public int[] slotEdges() {
+        return slotEdges;
+    }
+
+    /**
+     * Edge indices ordered by non-decreasing weight; ties keep their input order. The first call sorts
+     * the edges, later calls return the same array.
+     */
+    public int[] sortedEdges() {
+        return sortedOrder().edges();
+    }
+
+    /**
+     * Returns {@code true} once {@link #sortedEdges()} has been built.
+     */
+    public boolean isSorted() {
+        return sortedOrder != null;
+    }
+
+    /**
+     * Number of weight comparisons performed while building {@link #sortedEdges()}; sorts the edges if
+     * they are not sorted yet.
+     */
+    public long sortComparisons() {
+        return sortedOrder().comparisons();
+    }
+
+    public EdgeSortStrategy sortStrategy() {
+        return sortStrategy;
+    }
+
+    /**
+     * Number of scatter passes a radix sort made while building {@link #sortedEdges()}, or {@code -1}
+     * if it was built by comparisons; sorts the edges if they are not sorted yet.
+     */
+    public int sortPasses() {
+        return sortedOrder().passes();
+    }
+
+    /**
+     * Time spent interning names, validating and normalizing edges and building the CSR adjacency.
+     */
+    public long preprocessingNanos() {
+        return preprocessingNanos;
+    }
+
+    /**
+     * Time spent building {@link #sortedEdges()}, or {@code 0} if the edges have not been sorted.
+     */
+    public long sortNanos() {
+        SortedOrder order = sortedOrder;
+        return order == null ? 0 : order.nanos();
+    }
+
+    /**
+     * Sorts the edges on first use. Graphs may be shared between threads, so the sort runs at most once
+     * under the graph's lock and is published through a volatile field.
+     */
+    private SortedOrder sortedOrder() {
+        SortedOrder order = sortedOrder;
+        if (order != null) {
+            return order;
+        }
+        synchronized (this) {
+            if (sortedOrder == null) {
+                PhaseTimer timer = new PhaseTimer(id, null, MSTPhase.SORT);
+                EdgeSortStrategy.Order sorted = sortStrategy.sort(edgeWeights);
+                timer.stop();
+                sortedOrder = new SortedOrder(sorted.edges(), sorted.comparisons(), sorted.passes(),
+                        timer.nanos(MSTPhase.SORT));
+            }
+            return sortedOrder;
+        }
+    }
+
+    /**
+     * Builds the row-major adjacency matrix used by the dense Prim variant, or returns {@code null} if it
+     * would not {@link #denseMatrixFits(int) fit}. The matrix is not kept: callers own it for one run, so
+     * a graph held for longer does not pin {@code V²} cells. Missing edges have weight
+     * {@link Double#POSITIVE_INFINITY}; of parallel edges the lightest (then the first) is kept, and
+     * self-loops are dropped.
+     */
+    DenseMatrix denseMatrix() {
+        int vertexCount = nodeNames.length;
+        return denseMatrixFits(vertexCount) ? buildDenseMatrix(vertexCount) : null;
+    }
+
+    /**
+     * Returns {@code true} if a dense matrix of {@code vertexCount} vertices is within
+     * {@link #DENSE_MATRIX_MAX_VERTICES} and takes at most a quarter of the maximum heap.
+     */
+    static boolean denseMatrixFits(int vertexCount) {
+        long cells = (long) vertexCount * vertexCount;
+        return vertexCount <= DENSE_MATRIX_MAX_VERTICES
+                && MemoryFootprint.doubles(cells) + MemoryFootprint.ints(cells) <= Runtime.getRuntime().maxMemory() / 4;
+    }
+
+    private DenseMatrix buildDenseMatrix(int vertexCount) {
+        double[] matrixWeights = new double[vertexCount * vertexCount];
+        int[] matrixEdges = new int[vertexCount * vertexCount];
+        Arrays.fill(matrixWeights, Double.POSITIVE_INFINITY);
+        Arrays.fill(matrixEdges, -1);
+        for (int e = 0; e < edgeFrom.length; e++) {
+            int u = edgeFrom[e];
+            int v = edgeTo[e];
+            if (u == v || !(edgeWeights[e] < matrixWeights[u * vertexCount + v])) {
+                continue;
+            }
+            matrixWeights[u * vertexCount + v] = edgeWeights[e];
+            matrixWeights[v * vertexCount + u] = edgeWeights[e];
+            matrixEdges[u * vertexCount + v] = e;
+            matrixEdges[v * vertexCount + u] = e;
+        }
+        return new DenseMatrix(matrixWeights, matrixEdges);
+    }
+
+    /**
+     * The sorted edge order, what it cost and how long it took.
+     */
+    private record SortedOrder(int[] edges, long comparisons, int passes, long nanos) {
+    }
+
+    /**
+     * Row-major {@code V x V} weights and the index of the edge behind each cell ({@code -1} if none).
+     */
+    record DenseMatrix(double[] weights, int[] edges) {
+        long footprintBytes() {
+            return MemoryFootprint.doubles(weights.length) + MemoryFootprint.ints(edges.length);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+import java.util.Locale;
+
+/**
+ * Selects which {@link IndexedPriorityQueue} implementation Prim's algorithm runs on.
+ */
+public final class PriorityQueueStrategy {
+    public static final PriorityQueueStrategy BINARY =
+            new PriorityQueueStrategy("binary", (capacity, counting) -> new IndexedDaryHeap(capacity, 2, counting));
+    public static final PriorityQueueStrategy PAIRING =
+            new PriorityQueueStrategy("pairing", IndexedPairingHeap::new);
+
+    private final String name;
+    private final Factory factory;
+
+    private PriorityQueueStrategy(String name, Factory factory) {
+        this.name = name;
+        this.factory = factory;
+    }
+
+    public static PriorityQueueStrategy dary(int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Heap arity must be at least 2 but was " + arity);
+        }
+        if (arity == 2) {
+            return BINARY;
+        }
+        return new PriorityQueueStrategy(arity + "-ary", (capacity, counting) -> new IndexedDaryHeap(capacity, arity, counting));
+    }
+
+    /**
+     * Parses {@code binary}, {@code pairing}, {@code dary:<d>} or {@code <d>-ary}.
+     *
+     * @throws IllegalArgumentException if the specification is not recognised
+     */
+    public static PriorityQueueStrategy parse(String spec) {
+        String normalized = spec.trim().toLowerCase(Locale.ROOT);
+        if (normalized.equals("binary")) {
+            return BINARY;
+        }
+        if (normalized.equals("pairing")) {
+            return PAIRING;
+        }
+        String arity = null;
+        if (normalized.startsWith("dary:")) {
+            arity = normalized.substring("dary:".length());
+        } else if (normalized.endsWith("-ary")) {
+            arity = normalized.substring(0, normalized.length() - "-ary".length());
+        }
+        if (arity != null) {
+            try {
+                return dary(Integer.parseInt(arity));
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Invalid heap arity in '" + spec + "'", ex);
+            }
+        }
+        throw new IllegalArgumentException("Unknown priority queue strategy '" + spec + "'");
+    }
+
+    public IndexedPriorityQueue create(int capacity) {
+        return create(capacity, true);
+    }
+
+    /**
+     * @param counting whether the queue counts its operations for {@link HeapStats}
+     */
+    public IndexedPriorityQueue create(int capacity, boolean counting) {
+        return factory.create(capacity, counting);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    @FunctionalInterface
+    private interface Factory {
+        IndexedPriorityQueue create(int capacity, boolean counting);
+    }
+}
@@ -0,0 +1,127 @@
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Stable LSD radix sort of edge indices by weight.
+ * <p>
+ * Each weight's IEEE-754 bits are mapped to a key whose unsigned order is the order of
+ * {@link Double#compare(double, double)}: positive values get the sign bit set, negative values have all
+ * bits flipped, and NaN is collapsed to its canonical form first. {@code (key, edge)} pairs are then
+ * scattered byte by byte, least significant first, between two pairs of primitive arrays.
+ * <p>
+ * The histograms of all eight digits are counted in the same single read that builds the keys, so a
+ * digit every key shares is known beforehand and its pass is skipped. Integral weights below 8192, for
+ * example, differ only in the top three bytes and sort in at most three passes instead of eight.
+ */
+final class RadixEdgeSort {
+    private static final int DIGIT_BITS = 8;
+    private static final int RADIX = 1 << DIGIT_BITS;
+    private static final int DIGITS = Long.SIZE / DIGIT_BITS;
+    /**
+     * Smallest edge count for which the key and histogram pass is split across the pool.
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private RadixEdgeSort() {
+    }
+
+    /**
+     * @param pool pool for the key and histogram pass, or {@code null} to count sequentially
+     */
+    static EdgeSortStrategy.Order sort(double[] weights, ForkJoinPool pool) {
+        int edgeCount = weights.length;
+        long[] keys = new long[edgeCount];
+        int[][] histogram;
+        if (pool != null && edgeCount >= PARALLEL_THRESHOLD && pool.getParallelism() > 1) {
+            histogram = countParallel(weights, keys, pool);
+        } else {
+            histogram = new int[DIGITS][RADIX];
+            count(weights, keys, 0, edgeCount, histogram);
+        }
+
+        int[] edges = new int[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            edges[e] = e;
+        }
+        long[] keyBuffer = new long[edgeCount];
+        int[] edgeBuffer = new int[edgeCount];
+        int passes = 0;
+        for (int digit = 0; digit < DIGITS; digit++) {
+            int[] offsets = histogram[digit];
+            if (edgeCount == 0 || isConstant(offsets, edgeCount)) {
+                continue;
+            }
+            int position = 0;
+            for (int bucket = 0; bucket < RADIX; bucket++) {
+                int count = offsets[bucket];
+                offsets[bucket] = position;
+                position += count;
+            }
+            int shift = digit * DIGIT_BITS;
+            for (int i = 0; i < edgeCount; i++) {
+                long key = keys[i];
+                int target = offsets[(int) (key >>> shift) & (RADIX - 1)]++;
+                keyBuffer[target] = key;
+                edgeBuffer[target] = edges[i];
+            }
+            long[] swapKeys = keys;
+            keys = keyBuffer;
+            keyBuffer = swapKeys;
+            int[] swapEdges = edges;
+            edges = edgeBuffer;
+            edgeBuffer = swapEdges;
+            passes++;
+        }
+        return new EdgeSortStrategy.Order(edges, 0L, passes);
+    }
+
+    static long key(double weight) {
+        long bits = Double.doubleToLongBits(weight);
+        return bits ^ (bits >> 63 | Long.MIN_VALUE);
+    }
+
+    private static void count(double[] weights, long[] keys, int from, int to, int[][] histogram) {
+        for (int i = from; i < to; i++) {
+            long key = key(weights[i]);
+            keys[i] = key;
+            for (int digit = 0; digit < DIGITS; digit++) {
+                histogram[digit][(int) (key >>> (digit * DIGIT_BITS)) & (RADIX - 1)]++;
+            }
+        }
+    }
+
+    /**
+     * Counts contiguous chunks into private histograms, one chunk per worker, and sums them.
+     */
+    private static int[][] countParallel(double[] weights, long[] keys, ForkJoinPool pool) {
+        int edgeCount = weights.length;
+        int chunks = pool.getParallelism();
+        int chunkSize = (edgeCount + chunks - 1) / chunks;
+        int[][][] partial = new int[chunks][][];
+        pool.invoke(new RangeTask(0, chunks, 1, (first, last) -> {
+            for (int chunk = first; chunk < last; chunk++) {
+                int[][] histogram = new int[DIGITS][RADIX];
+                int to = (int) Math.min(edgeCount, (long) (chunk + 1) * chunkSize);
+                count(weights, keys, chunk * chunkSize, to, histogram);
+                partial[chunk] = histogram;
+            }
+        }));
+        int[][] histogram = new int[DIGITS][RADIX];
+        for (int[][] chunk : partial) {
+            for (int digit = 0; digit < DIGITS; digit++) {
+                for (int bucket = 0; bucket < RADIX; bucket++) {
+                    histogram[digit][bucket] += chunk[digit][bucket];
+                }
+            }
+        }
+        return histogram;
+    }
+
+    private static boolean isConstant(int[] counts, int edgeCount) {
+        for (int count : counts) {
+            if (count != 0) {
+                return count == edgeCount;
+            }
+        }
+        return true;
+    }
+}
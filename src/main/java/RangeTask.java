@@ -0,0 +1,44 @@
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork-join task that splits {@code [from, to)} in halves until a range is no larger than the grain,
+ * then runs the body on it.
+ */
+final class RangeTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private static final int MIN_PARALLEL_GRAIN = 1_024;
+
+    private final int from;
+    private final int to;
+    private final int grain;
+    private final transient RangeBody body;
+
+    RangeTask(int from, int to, int grain, RangeBody body) {
+        this.from = from;
+        this.to = to;
+        this.grain = grain;
+        this.body = body;
+    }
+
+    /**
+     * Grain that gives every worker a few ranges to balance load without making tasks too small.
+     */
+    static int grainSize(int length, int parallelism) {
+        return Math.max(MIN_PARALLEL_GRAIN, length / Math.max(1, parallelism * 4));
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= grain) {
+            body.run(from, to);
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        invokeAll(new RangeTask(from, middle, grain, body), new RangeTask(middle, to, grain, body));
+    }
+
+    @FunctionalInterface
+    interface RangeBody {
+        void run(int from, int to);
+    }
+}
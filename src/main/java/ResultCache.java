@@ -0,0 +1,269 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Content-addressed store of {@link GraphComputationResult}s in a local directory.
+ * <p>
+ * Results are keyed by a SHA-256 digest of the graph's node names and edges (in input order, ids
+ * excluded) together with a configuration string, so a graph that is byte-for-byte unchanged under the
+ * same settings maps to the same file. Each entry is one JSON file; lookups refresh its modification
+ * time and stores evict the least recently used entries once the directory exceeds its size bound.
+ * Safe for use by several worker threads.
+ */
+public final class ResultCache {
+    private static final String SUFFIX = ".json";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Path directory;
+    private final long maxBytes;
+    private final String configuration;
+
+    /**
+     * @param configuration settings that influence the results, e.g. algorithms and run counts; entries
+     *                      written under a different configuration are never returned
+     */
+    public ResultCache(Path directory, long maxBytes, String configuration) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.maxBytes = maxBytes;
+        this.configuration = configuration;
+    }
+
+    /**
+     * Returns the cache key of {@code graph}. A {@link ColumnarGraph} is hashed from its columns, without
+     * creating an {@link Edge} per edge, to the same key.
+     */
+    public String key(Graph graph) {
+        Fingerprint fingerprint = new Fingerprint(configuration);
+        fingerprint.putInt(graph.getNodes().size());
+        for (String node : graph.getNodes()) {
+            fingerprint.putString(node);
+        }
+        fingerprint.putInt(graph.edgeCount());
+        if (graph instanceof ColumnarGraph columnar) {
+            int[] from = columnar.edgeFrom();
+            int[] to = columnar.edgeTo();
+            double[] weights = columnar.edgeWeights();
+            for (int e = 0; e < from.length; e++) {
+                fingerprint.putString(columnar.nodeName(from[e]));
+                fingerprint.putString(columnar.nodeName(to[e]));
+                fingerprint.putDouble(weights[e]);
+            }
+            return fingerprint.finish();
+        }
+        for (Edge edge : graph.getEdges()) {
+            fingerprint.putString(edge.getFrom());
+            fingerprint.putString(edge.getTo());
+            fingerprint.putDouble(edge.getWeight());
+        }
+        return fingerprint.finish();
+    }
+
+    /**
+     * Returns the cache key of {@code graph}; equal to {@link #key(Graph)} of the source graph as long
+     * as its node list has no duplicates and it was not normalized. Normalized graphs also hash the
+     * removed edge counts, which are part of their result.
+     */
+    public String key(PreparedGraph graph) {
+        Fingerprint fingerprint = new Fingerprint(configuration);
+        fingerprint.putInt(graph.vertexCount());
+        for (int v = 0; v < graph.vertexCount(); v++) {
+            fingerprint.putString(graph.nodeName(v));
+        }
+        int[] from = graph.edgeFrom();
+        int[] to = graph.edgeTo();
+        double[] weights = graph.edgeWeights();
+        fingerprint.putInt(graph.edgeCount());
+        for (int e = 0; e < graph.edgeCount(); e++) {
+            fingerprint.putString(graph.nodeName(from[e]));
+            fingerprint.putString(graph.nodeName(to[e]));
+            fingerprint.putDouble(weights[e]);
+        }
+        if (graph.isNormalized()) {
+            fingerprint.putInt(graph.removedSelfLoops());
+            fingerprint.putInt(graph.removedDuplicates());
+        }
+        return fingerprint.finish();
+    }
+
+    /**
+     * Returns the cached result for {@code key} relabelled with {@code graphId}, or {@code null} on a
+     * miss. Unreadable entries are deleted and reported as misses.
+     */
+    public GraphComputationResult lookup(String key, String graphId) {
+        Path entry = entry(key);
+        JsonNode root;
+        try (InputStream input = Files.newInputStream(entry)) {
+            root = MAPPER.readTree(input);
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (NoSuchFileException ex) {
+            return null;
+        } catch (IOException ex) {
+            deleteQuietly(entry);
+            return null;
+        }
+        try {
+            InputStats stats = MAPPER.treeToValue(root.get("input_stats"), InputStats.class);
+            JsonNode planNode = root.get("plan");
+            MSTPlan plan = planNode == null ? null : MAPPER.treeToValue(planNode, MSTPlan.class);
+            // Entries keep the order the results were stored in.
+            Map<MSTAlgorithm, MSTResult> results = new LinkedHashMap<>();
+            Iterator<String> names = root.fieldNames();
+            while (names.hasNext()) {
+                String name = names.next();
+                for (MSTAlgorithm algorithm : MSTAlgorithm.values()) {
+                    if (algorithm.getKey().equals(name)) {
+                        results.put(algorithm, MAPPER.treeToValue(root.get(name), MSTResult.class));
+                    }
+                }
+            }
+            if (stats == null || results.isEmpty()) {
+                deleteQuietly(entry);
+                return null;
+            }
+            return new GraphComputationResult(graphId, stats, plan, results);
+        } catch (IOException | IllegalArgumentException ex) {
+            deleteQuietly(entry);
+            return null;
+        }
+    }
+
+    /**
+     * Stores {@code result} under {@code key}, then evicts least recently used entries until the cache
+     * fits its size bound again.
+     */
+    public void store(String key, GraphComputationResult result) throws IOException {
+        Path temporary = Files.createTempFile(directory, key, ".tmp");
+        try {
+            MAPPER.writeValue(temporary.toFile(), result);
+            try {
+                Files.move(temporary, entry(key), StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temporary, entry(key), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        evict();
+    }
+
+    private synchronized void evict() throws IOException {
+        List<Path> entries = new ArrayList<>();
+        List<BasicFileAttributes> attributes = new ArrayList<>();
+        long total = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path path : stream) {
+                try {
+                    BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+                    entries.add(path);
+                    attributes.add(attrs);
+                    total += attrs.size();
+                } catch (NoSuchFileException ex) {
+                    // Removed concurrently.
+                }
+            }
+        }
+        if (total <= maxBytes) {
+            return;
+        }
+        Integer[] order = new Integer[entries.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(i -> attributes.get(i).lastModifiedTime()));
+        for (int i : order) {
+            if (total <= maxBytes) {
+                break;
+            }
+            total -= attributes.get(i).size();
+            Files.deleteIfExists(entries.get(i));
+        }
+    }
+
+    private Path entry(String key) {
+        return directory.resolve(key + SUFFIX);
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // A stale entry is retried on the next lookup.
+        }
+    }
+
+    /**
+     * Feeds primitive values into SHA-256 through a small reusable buffer; strings are hashed as their
+     * length followed by their UTF-16 code units, so no intermediate byte arrays are created.
+     */
+    private static final class Fingerprint {
+        private final MessageDigest digest;
+        private final ByteBuffer buffer = ByteBuffer.allocate(8192);
+
+        Fingerprint(String configuration) {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException("SHA-256 is not available", ex);
+            }
+            putString(configuration);
+        }
+
+        void putInt(int value) {
+            ensure(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        void putDouble(double value) {
+            ensure(Double.BYTES);
+            buffer.putLong(Double.doubleToLongBits(value));
+        }
+
+        void putString(String value) {
+            putInt(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                ensure(Character.BYTES);
+                buffer.putChar(value.charAt(i));
+            }
+        }
+
+        String finish() {
+            flush();
+            return HexFormat.of().formatHex(digest.digest());
+        }
+
+        private void ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            buffer.flip();
+            digest.update(buffer);
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes {@code output.json} one {@link GraphComputationResult} at a time. Every result is flushed as
+ * soon as it is written, so a run that stops early leaves the results written so far on disk; only
+ * {@link #close()} terminates the {@code results} array. The output is identical to
+ * {@link GraphIO#writeResults}.
+ */
+public class ResultsJsonWriter implements Closeable {
+    private final JsonGenerator generator;
+    private final ObjectMapper mapper;
+    private boolean closed;
+
+    ResultsJsonWriter(Writer output, ObjectMapper mapper) throws IOException {
+        this.mapper = mapper;
+        this.generator = mapper.getFactory().createGenerator(output);
+        generator.useDefaultPrettyPrinter();
+        generator.writeStartObject();
+        generator.writeFieldName("results");
+        generator.writeStartArray();
+        generator.flush();
+    }
+
+    public void write(GraphComputationResult result) throws IOException {
+        mapper.writeValue(generator, result);
+        generator.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } finally {
+            generator.close();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/**
+ * Plain-loop {@link DensePrimKernel}, used when the Vector API module is not available.
+ */
+final class ScalarDensePrimKernel implements DensePrimKernel {
+
+    @Override
+    public int argMin(double[] key, int length) {
+        int best = -1;
+        double bestKey = Double.POSITIVE_INFINITY;
+        for (int v = 0; v < length; v++) {
+            if (key[v] < bestKey) {
+                bestKey = key[v];
+                best = v;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public int relax(double[] row, int[] rowEdges, int rowOffset, double[] key, int[] parentEdge, boolean[] inTree,
+                     int length) {
+        int updates = 0;
+        for (int v = 0; v < length; v++) {
+            double weight = row[rowOffset + v];
+            if (weight < key[v] && !inTree[v]) {
+                key[v] = weight;
+                parentEdge[v] = rowEdges[rowOffset + v];
+                updates++;
+            }
+        }
+        return updates;
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,232 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Sweeps {@link GraphGenerator generated graphs} of growing size through {@link MSTCalculator} and writes
+ * one CSV row per graph and algorithm with its time, operation counts and allocation, so the curves show
+ * where each algorithm stops scaling: {@code java ScalingBenchmark <scaling.csv>}.
+ * <p>
+ * Sizes are vertex counts and run in ascending order for every family and average degree. Once an
+ * algorithm's median time exceeds {@code mst.scaling.maxMs} it is left out of the larger sizes of that
+ * family and degree, and a family stops when no algorithm is left, or when its graph cannot be generated
+ * or prepared within the heap. Families with a fixed degree are run once per size. Rows are flushed as
+ * they are written, so an interrupted sweep keeps its results.
+ */
+public final class ScalingBenchmark {
+    static final String HEADER = "family,vertices,edges,average_degree,seed,algorithm,runs,prepare_ms,median_ms,"
+            + "min_ms,comparisons,operations,allocated_bytes,retained_bytes,total_cost,connected";
+
+    private ScalingBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path output = args.length > 0 ? Path.of(args[0]) : Path.of("results/scaling.csv");
+        List<MSTAlgorithm> algorithms = System.getProperty("mst.algorithms") == null
+                ? List.of(MSTAlgorithm.values())
+                : MSTApplication.parseAlgorithms(System.getProperty("mst.algorithms"));
+        Sweep sweep = new Sweep(
+                parseFamilies(System.getProperty("mst.scaling.families")),
+                parseSizes(System.getProperty("mst.scaling.sizes")),
+                parseDegrees(System.getProperty("mst.scaling.degrees")),
+                algorithms,
+                parseSeed(System.getProperty("mst.scaling.seed")),
+                MSTApplication.parseRuns(System.getProperty("mst.scaling.runs"), 3, 1),
+                MSTApplication.parseRuns(System.getProperty("mst.scaling.maxMs"), 10_000, 1),
+                MSTApplication.parseEdgeSort(System.getProperty("mst.kruskalSort")));
+        int parallelism = MSTApplication.parseRuns(System.getProperty("mst.parallelism"),
+                Runtime.getRuntime().availableProcessors(), 1);
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try (Writer writer = Files.newBufferedWriter(output)) {
+            MSTCalculator calculator = new MSTCalculator()
+                    .withPriorityQueue(MSTApplication.parseQueueStrategy(System.getProperty("mst.primQueue")))
+                    .withPool(pool)
+                    .withCountingMode(MSTApplication.parseCountingMode(System.getProperty("mst.counting")));
+            int rows = run(sweep, calculator, writer);
+            System.out.println("Wrote " + rows + " rows to " + output);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Runs the sweep and writes the header and one row per measured graph and algorithm.
+     *
+     * @return the number of rows written
+     */
+    static int run(Sweep sweep, MSTCalculator calculator, Writer output) throws IOException {
+        output.write(HEADER);
+        output.write('\n');
+        output.flush();
+        int[] sizes = sweep.sizes().stream().mapToInt(Integer::intValue).sorted().toArray();
+        int rows = 0;
+        for (GraphGenerator.Family family : sweep.families()) {
+            List<Double> degrees = family.usesDegree() ? sweep.degrees() : sweep.degrees().subList(0, 1);
+            for (double degree : degrees) {
+                Set<MSTAlgorithm> active = EnumSet.noneOf(MSTAlgorithm.class);
+                active.addAll(sweep.algorithms());
+                for (int vertices : sizes) {
+                    if (active.isEmpty()) {
+                        break;
+                    }
+                    PreparedGraph graph;
+                    try {
+                        graph = PreparedGraph.of(GraphGenerator.generate(family, vertices, degree, sweep.seed()),
+                                false, sweep.edgeSort().withPool(calculator.getPool()));
+                    } catch (IllegalArgumentException | OutOfMemoryError ex) {
+                        System.err.println("Stopping " + family.getKey() + " at " + vertices + " vertices: " + ex);
+                        break;
+                    }
+                    for (MSTAlgorithm algorithm : List.copyOf(active)) {
+                        try {
+                            double median = measure(sweep, calculator, family, graph, algorithm, output);
+                            rows++;
+                            if (median > sweep.maxMs()) {
+                                active.remove(algorithm);
+                            }
+                        } catch (OutOfMemoryError ex) {
+                            System.err.println("Stopping " + algorithm.getKey() + " on " + family.getKey() + " at "
+                                    + vertices + " vertices: " + ex);
+                            active.remove(algorithm);
+                        }
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Times {@code runs} runs after one warmup and writes the row; counters and allocation come from the
+     * last run.
+     *
+     * @return the median time in milliseconds
+     */
+    private static double measure(Sweep sweep, MSTCalculator calculator, GraphGenerator.Family family,
+                                  PreparedGraph graph, MSTAlgorithm algorithm, Writer output) throws IOException {
+        calculator.compute(algorithm, graph);
+        double[] times = new double[sweep.runs()];
+        MSTResult result = null;
+        for (int i = 0; i < times.length; i++) {
+            result = calculator.compute(algorithm, graph);
+            times[i] = result.getExecutionTimeMs();
+        }
+        Arrays.sort(times);
+        double median = times[times.length / 2];
+
+        StringBuilder row = new StringBuilder();
+        row.append(family.getKey())
+                .append(',').append(graph.vertexCount())
+                .append(',').append(graph.edgeCount())
+                .append(',');
+        ComparisonCsvWriter.appendFixed3(row, graph.vertexCount() == 0 ? 0.0
+                : 2.0 * graph.edgeCount() / graph.vertexCount());
+        row.append(',').append(sweep.seed())
+                .append(',').append(algorithm.getKey())
+                .append(',').append(times.length)
+                .append(',');
+        long prepareNanos = graph.preprocessingNanos() + (algorithm.readsSortedEdges() ? graph.sortNanos() : 0);
+        ComparisonCsvWriter.appendFixed3(row, prepareNanos / 1_000_000.0);
+        row.append(',');
+        ComparisonCsvWriter.appendFixed3(row, median);
+        row.append(',');
+        ComparisonCsvWriter.appendFixed3(row, times[0]);
+        row.append(',').append(result.getComparisonsCount())
+                .append(',').append(result.getOperationsCount())
+                .append(',');
+        MemoryStats memory = result.getMemory();
+        if (memory != null && memory.getAllocatedBytes() != null) {
+            row.append(memory.getAllocatedBytes());
+        }
+        row.append(',');
+        if (memory != null) {
+            row.append(memory.getRetainedBytes());
+        }
+        row.append(',');
+        ComparisonCsvWriter.appendFixed3(row, result.getTotalCost());
+        row.append(',').append(result.isConnected()).append('\n');
+        output.append(row);
+        output.flush();
+        return median;
+    }
+
+    static List<GraphGenerator.Family> parseFamilies(String property) {
+        List<GraphGenerator.Family> defaults = List.of(GraphGenerator.Family.values());
+        if (property == null) {
+            return defaults;
+        }
+        Set<GraphGenerator.Family> selected = EnumSet.noneOf(GraphGenerator.Family.class);
+        for (String key : property.split(",")) {
+            try {
+                selected.add(GraphGenerator.Family.fromKey(key));
+            } catch (IllegalArgumentException ex) {
+                // Unknown keys are ignored like other malformed settings.
+            }
+        }
+        return selected.isEmpty() ? defaults : List.copyOf(selected);
+    }
+
+    static List<Integer> parseSizes(String property) {
+        List<Integer> sizes = new ArrayList<>();
+        if (property != null) {
+            for (String size : property.split(",")) {
+                int parsed = MSTApplication.parseRuns(size.trim(), -1, 1);
+                if (parsed > 0) {
+                    sizes.add(parsed);
+                }
+            }
+        }
+        return sizes.isEmpty() ? List.of(1_000, 10_000, 100_000, 1_000_000) : List.copyOf(sizes);
+    }
+
+    static List<Double> parseDegrees(String property) {
+        List<Double> degrees = new ArrayList<>();
+        if (property != null) {
+            for (String degree : property.split(",")) {
+                try {
+                    double parsed = Double.parseDouble(degree.trim());
+                    if (parsed >= 0 && !Double.isInfinite(parsed)) {
+                        degrees.add(parsed);
+                    }
+                } catch (NumberFormatException ex) {
+                    // Skipped like other malformed settings.
+                }
+            }
+        }
+        return degrees.isEmpty() ? List.of(4.0, 16.0) : List.copyOf(degrees);
+    }
+
+    private static long parseSeed(String property) {
+        if (property == null) {
+            return 42L;
+        }
+        try {
+            return Long.parseLong(property.trim());
+        } catch (NumberFormatException ex) {
+            return 42L;
+        }
+    }
+
+    /**
+     * What to sweep; {@code maxMs} is the median time after which an algorithm is not run on larger sizes.
+     */
+    record Sweep(List<GraphGenerator.Family> families,
+                 List<Integer> sizes,
+                 List<Double> degrees,
+                 List<MSTAlgorithm> algorithms,
+                 long seed,
+                 int runs,
+                 double maxMs,
+                 EdgeSortStrategy edgeSort) {
+    }
+}
@@ -0,0 +1,149 @@
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Arrays;
+
+/**
+ * Request counters and latency percentiles of an {@link MSTServer}.
+ * <p>
+ * Percentiles are taken over the latencies of the last {@link #WINDOW} completed requests, so they
+ * follow the current load instead of averaging over the whole uptime. All methods are thread-safe.
+ */
+final class ServerStats {
+    static final int WINDOW = 8192;
+
+    private final long startNanos = System.nanoTime();
+    private final long[] latencies = new long[WINDOW];
+    private long completed;
+    private long failed;
+    private long rejected;
+    private int inFlight;
+    private int maxInFlight;
+
+    /**
+     * Records that a request got a computation slot.
+     */
+    synchronized void started() {
+        inFlight++;
+        maxInFlight = Math.max(maxInFlight, inFlight);
+    }
+
+    /**
+     * Records the end of a request that held a slot.
+     *
+     * @param success {@code false} if the request was answered with an error
+     */
+    synchronized void finished(long latencyNanos, boolean success) {
+        inFlight--;
+        latencies[(int) (completed % WINDOW)] = latencyNanos;
+        completed++;
+        if (!success) {
+            failed++;
+        }
+    }
+
+    /**
+     * Records a request turned away because no slot became free in time.
+     */
+    synchronized void rejected() {
+        rejected++;
+    }
+
+    synchronized Snapshot snapshot() {
+        int samples = (int) Math.min(completed, WINDOW);
+        long[] sorted = Arrays.copyOf(latencies, samples);
+        Arrays.sort(sorted);
+        double uptimeSeconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        return new Snapshot(completed, failed, rejected, inFlight, maxInFlight, uptimeSeconds,
+                uptimeSeconds > 0 ? completed / uptimeSeconds : 0.0,
+                percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99),
+                samples == 0 ? 0.0 : sorted[samples - 1] / 1_000_000.0);
+    }
+
+    /**
+     * Nearest-rank percentile in milliseconds, {@code 0} without samples.
+     */
+    private static double percentile(long[] sorted, int percent) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1_000_000.0;
+    }
+
+    /**
+     * Body of the {@code /stats} endpoint.
+     */
+    static final class Snapshot {
+        @JsonProperty("completed")
+        private final long completed;
+
+        @JsonProperty("failed")
+        private final long failed;
+
+        @JsonProperty("rejected")
+        private final long rejected;
+
+        @JsonProperty("in_flight")
+        private final int inFlight;
+
+        @JsonProperty("max_in_flight")
+        private final int maxInFlight;
+
+        @JsonProperty("uptime_s")
+        private final double uptimeSeconds;
+
+        @JsonProperty("throughput_per_s")
+        private final double throughputPerSecond;
+
+        @JsonProperty("latency_p50_ms")
+        private final double p50Ms;
+
+        @JsonProperty("latency_p90_ms")
+        private final double p90Ms;
+
+        @JsonProperty("latency_p99_ms")
+        private final double p99Ms;
+
+        @JsonProperty("latency_max_ms")
+        private final double maxMs;
+
+        Snapshot(long completed, long failed, long rejected, int inFlight, int maxInFlight, double uptimeSeconds,
+                 double throughputPerSecond, double p50Ms, double p90Ms, double p99Ms, double maxMs) {
+            this.completed = completed;
+            this.failed = failed;
+            this.rejected = rejected;
+            this.inFlight = inFlight;
+            this.maxInFlight = maxInFlight;
+            this.uptimeSeconds = uptimeSeconds;
+            this.throughputPerSecond = throughputPerSecond;
+            this.p50Ms = p50Ms;
+            this.p90Ms = p90Ms;
+            this.p99Ms = p99Ms;
+            this.maxMs = maxMs;
+        }
+
+        long getCompleted() {
+            return completed;
+        }
+
+        long getFailed() {
+            return failed;
+        }
+
+        long getRejected() {
+            return rejected;
+        }
+
+        int getMaxInFlight() {
+            return maxInFlight;
+        }
+
+        double getP50Ms() {
+            return p50Ms;
+        }
+
+        double getP99Ms() {
+            return p99Ms;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link DensePrimKernel} on {@code jdk.incubator.vector} using the platform's preferred double
+ * species. Only loaded by {@link DensePrimKernel#detect()} after checking that the module is present.
+ */
+final class VectorDensePrimKernel implements DensePrimKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public int argMin(double[] key, int length) {
+        int upper = SPECIES.loopBound(length);
+        DoubleVector minimum = DoubleVector.broadcast(SPECIES, Double.POSITIVE_INFINITY);
+        int v = 0;
+        for (; v < upper; v += SPECIES.length()) {
+            minimum = minimum.min(DoubleVector.fromArray(SPECIES, key, v));
+        }
+        double best = minimum.reduceLanes(VectorOperators.MIN);
+        for (; v < length; v++) {
+            if (key[v] < best) {
+                best = key[v];
+            }
+        }
+        if (best == Double.POSITIVE_INFINITY) {
+            return -1;
+        }
+        for (v = 0; v < upper; v += SPECIES.length()) {
+            VectorMask<Double> hit = DoubleVector.fromArray(SPECIES, key, v).eq(best);
+            if (hit.anyTrue()) {
+                return v + hit.firstTrue();
+            }
+        }
+        for (; v < length; v++) {
+            if (key[v] == best) {
+                return v;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int relax(double[] row, int[] rowEdges, int rowOffset, double[] key, int[] parentEdge, boolean[] inTree,
+                     int length) {
+        int upper = SPECIES.loopBound(length);
+        int updates = 0;
+        int v = 0;
+        for (; v < upper; v += SPECIES.length()) {
+            DoubleVector weights = DoubleVector.fromArray(SPECIES, row, rowOffset + v);
+            VectorMask<Double> lower = weights.lt(DoubleVector.fromArray(SPECIES, key, v))
+                    .andNot(VectorMask.fromArray(SPECIES, inTree, v));
+            if (lower.anyTrue()) {
+                weights.intoArray(key, v, lower);
+                // Lowered keys are sparse after the first rows, so parents are copied lane by lane.
+                for (long lanes = lower.toLong(); lanes != 0; lanes &= lanes - 1) {
+                    int lane = Long.numberOfTrailingZeros(lanes);
+                    parentEdge[v + lane] = rowEdges[rowOffset + v + lane];
+                }
+                updates += lower.trueCount();
+            }
+        }
+        for (; v < length; v++) {
+            double weight = row[rowOffset + v];
+            if (weight < key[v] && !inTree[v]) {
+                key[v] = weight;
+                parentEdge[v] = rowEdges[rowOffset + v];
+                updates++;
+            }
+        }
+        return updates;
+    }
+
+    @Override
+    public String name() {
+        return "vector";
+    }
+}
@@ -0,0 +1,81 @@
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarGraphTest {
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void jsonIsReadIntoColumnsEqualToTheListedEdges() throws Exception {
+        // Fields out of order, a duplicated node, a numeric id and a missing weight.
+        String json = """
+                {"edges": [{"from": "B", "to": "A", "weight": 2.5}, {"to": "C", "from": "A"}],
+                 "id": 7,
+                 "nodes": ["A", "B", "A", "C"]}
+                """;
+
+        Graph graph = mapper.readValue(json, Graph.class);
+
+        ColumnarGraph columnar = assertInstanceOf(ColumnarGraph.class, graph);
+        Graph expected = new Graph("7", List.of("A", "B", "A", "C"),
+                List.of(new Edge("B", "A", 2.5), new Edge("A", "C", 0)));
+        assertEquals(expected, graph);
+        assertEquals(graph, expected);
+        assertEquals(expected.hashCode(), graph.hashCode());
+        assertEquals(2, graph.edgeCount());
+        assertArrayEquals(new int[]{1, 0}, columnar.edgeFrom());
+        assertArrayEquals(new int[]{0, 2}, columnar.edgeTo());
+        assertEquals(expected, mapper.readValue(mapper.writeValueAsString(graph), Graph.class));
+    }
+
+    @Test
+    void columnarGraphsGiveTheSameTreeAsEdgeLists() throws Exception {
+        Random random = new Random(5);
+        List<String> nodes = new ArrayList<>();
+        for (int v = 0; v < 200; v++) {
+            nodes.add("N" + v);
+        }
+        List<Edge> edges = new ArrayList<>();
+        for (int e = 0; e < 2_000; e++) {
+            edges.add(new Edge(nodes.get(random.nextInt(200)), nodes.get(random.nextInt(200)), random.nextInt(50)));
+        }
+        Graph listed = new Graph("g", nodes, edges);
+        GraphDataset dataset = mapper.readValue(
+                mapper.writeValueAsString(new GraphDataset(List.of(listed))), GraphDataset.class);
+        Graph read = dataset.getGraphs().get(0);
+        assertInstanceOf(ColumnarGraph.class, read);
+
+        MSTCalculator calculator = new MSTCalculator();
+        assertEquals(calculator.computeKruskal(PreparedGraph.of(listed)).getMstEdges(),
+                calculator.computeKruskal(PreparedGraph.of(read)).getMstEdges());
+        PreparedGraph normalized = PreparedGraph.of(read, true);
+        assertEquals(PreparedGraph.of(listed, true).edgeCount(), normalized.edgeCount());
+        assertEquals(calculator.computePrim(PreparedGraph.of(listed)).getTotalCost(),
+                calculator.computePrim(normalized).getTotalCost(), 1e-9);
+    }
+
+    @Test
+    void malformedGraphsAreRejected() throws Exception {
+        Graph unknownNode = mapper.readValue("""
+                {"id": "g", "nodes": ["A"], "edges": [{"from": "A", "to": "Z", "weight": 1}]}
+                """, Graph.class);
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> PreparedGraph.of(unknownNode));
+        assertTrue(error.getMessage().contains("'Z'"), error.getMessage());
+
+        assertThrows(UnrecognizedPropertyException.class, () -> mapper.readValue("""
+                {"id": "g", "nodes": [], "edges": [{"from": "A", "to": "B", "cost": 1}]}
+                """, Graph.class));
+        assertThrows(UnrecognizedPropertyException.class,
+                () -> mapper.readValue("{\"id\": \"g\", \"vertices\": []}", Graph.class));
+
+        Graph empty = mapper.readValue("{\"id\": \"g\", \"nodes\": null, \"edges\": null}", Graph.class);
+        assertEquals(new Graph("g", null, null), empty);
+    }
+}
@@ -0,0 +1,109 @@
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DisjointSetTest {
+
+    @Test
+    void unionMergesSetsAndTracksComponents() {
+        DisjointSet set = new DisjointSet(5);
+
+        assertTrue(set.union(0, 1));
+        assertTrue(set.union(3, 4));
+        assertFalse(set.union(1, 0));
+        assertTrue(set.connected(0, 1));
+        assertFalse(set.connected(1, 3));
+        assertEquals(3, set.componentCount());
+        assertEquals(2, set.setSize(4));
+    }
+
+    @Test
+    void longChainsDoNotOverflowTheStack() {
+        int size = 1_000_000;
+        DisjointSet set = new DisjointSet(size);
+        for (int i = 1; i < size; i++) {
+            set.unionRoots(set.find(i), set.find(i - 1));
+        }
+
+        assertEquals(1, set.componentCount());
+        assertTrue(set.connected(0, size - 1));
+    }
+
+    @Test
+    void resetReusesArraysWhenCapacitySuffices() {
+        DisjointSet set = new DisjointSet(10);
+        set.union(0, 9);
+
+        set.reset(4);
+
+        assertEquals(4, set.size());
+        assertEquals(10, set.capacity());
+        assertEquals(4, set.componentCount());
+        assertFalse(set.connected(0, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> set.find(9));
+
+        set.reset(20);
+        assertEquals(20, set.capacity());
+    }
+
+    @Test
+    void unionRootsRejectsNonRoots() {
+        DisjointSet set = new DisjointSet(3);
+        set.union(0, 1);
+        int child = set.find(0) == 0 ? 1 : 0;
+
+        assertThrows(IllegalArgumentException.class, () -> set.unionRoots(child, 2));
+    }
+
+    @Test
+    void kruskalMainLoopDoesNotAllocatePerEdge() {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int vertices = 2_000;
+        PreparedGraph sparse = PreparedGraph.of(randomConnectedGraph(vertices, 2 * vertices));
+        PreparedGraph dense = PreparedGraph.of(randomConnectedGraph(vertices, 20 * vertices));
+        MSTCalculator calculator = new MSTCalculator();
+        DisjointSet unionFind = new DisjointSet(vertices);
+        for (int i = 0; i < 20; i++) {
+            calculator.computeKruskal(sparse, unionFind);
+            calculator.computeKruskal(dense, unionFind);
+        }
+
+        long sparseBytes = Long.MAX_VALUE;
+        long denseBytes = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            calculator.computeKruskal(sparse, unionFind);
+            long middle = threads.getCurrentThreadAllocatedBytes();
+            calculator.computeKruskal(dense, unionFind);
+            long after = threads.getCurrentThreadAllocatedBytes();
+            sparseBytes = Math.min(sparseBytes, middle - before);
+            denseBytes = Math.min(denseBytes, after - middle);
+        }
+
+        // 36 000 extra edges: even one 16-byte object per edge would add more than 500 KiB.
+        assertTrue(denseBytes - sparseBytes < 16 * 1024,
+                "sparse run allocated " + sparseBytes + " bytes, dense run " + denseBytes);
+    }
+
+    private Graph randomConnectedGraph(int vertices, int edges) {
+        Random random = new Random(7);
+        List<String> nodes = new ArrayList<>(vertices);
+        for (int i = 0; i < vertices; i++) {
+            nodes.add("N" + i);
+        }
+        List<Edge> edgeList = new ArrayList<>(edges);
+        for (int i = 1; i < vertices; i++) {
+            edgeList.add(new Edge(nodes.get(random.nextInt(i)), nodes.get(i), 1 + random.nextInt(1_000)));
+        }
+        while (edgeList.size() < edges) {
+            edgeList.add(new Edge(nodes.get(random.nextInt(vertices)), nodes.get(random.nextInt(vertices)),
+                    1 + random.nextInt(1_000)));
+        }
+        return new Graph("random-" + edges, nodes, edgeList);
+    }
+}
@@ -0,0 +1,139 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DynamicMSTTest {
+
+    @Test
+    void seedMatchesKruskal() {
+        Graph graph = new Graph("seed", List.of("A", "B", "C", "D"), List.of(
+                new Edge("A", "B", 1),
+                new Edge("B", "C", 2),
+                new Edge("C", "D", 3),
+                new Edge("A", "D", 4),
+                new Edge("A", "C", 5)
+        ));
+
+        DynamicMST mst = new DynamicMST(graph);
+
+        assertEquals(6.0, mst.getTotalCost(), 1e-9);
+        assertEquals(3, mst.treeEdgeCount());
+        assertTrue(mst.isConnected());
+        assertTrue(mst.isTreeEdge(0));
+        assertFalse(mst.isTreeEdge(3));
+    }
+
+    @Test
+    void updatesRepairTheTree() {
+        Graph graph = new Graph("updates", List.of("A", "B", "C", "D"), List.of(
+                new Edge("A", "B", 1),
+                new Edge("B", "C", 2),
+                new Edge("C", "D", 3),
+                new Edge("A", "D", 4)
+        ));
+        DynamicMST mst = new DynamicMST(graph);
+
+        int shortcut = mst.insertEdge("B", "D", 0.5);
+        assertEquals(3.5, mst.getTotalCost(), 1e-9);
+        assertTrue(mst.isTreeEdge(shortcut));
+        assertFalse(mst.isTreeEdge(2));
+
+        mst.deleteEdge(0);
+        assertEquals(6.5, mst.getTotalCost(), 1e-9);
+        assertTrue(mst.isTreeEdge(3));
+
+        mst.updateWeight(shortcut, 10);
+        assertEquals(9.0, mst.getTotalCost(), 1e-9);
+        assertFalse(mst.isTreeEdge(shortcut));
+
+        mst.deleteEdge(1);
+        mst.deleteEdge(shortcut);
+        assertFalse(mst.isConnected());
+        assertEquals(2, mst.treeEdgeCount());
+        assertThrows(IllegalArgumentException.class, () -> mst.deleteEdge(1));
+        assertThrows(IllegalArgumentException.class, () -> mst.insertEdge("A", "Z", 1));
+    }
+
+    @Test
+    void randomUpdateSequenceMatchesFullRecomputation() {
+        Random random = new Random(11);
+        int vertices = 40;
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < vertices; i++) {
+            nodes.add("N" + i);
+        }
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            edges.add(new Edge(nodes.get(random.nextInt(vertices)), nodes.get(random.nextInt(vertices)),
+                    random.nextInt(20)));
+        }
+        DynamicMST mst = new DynamicMST(new Graph("random", nodes, edges));
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < edges.size(); i++) {
+            ids.add(i);
+        }
+        MSTCalculator calculator = new MSTCalculator();
+
+        for (int step = 0; step < 3000; step++) {
+            int operation = random.nextInt(3);
+            if (operation == 0 || ids.isEmpty()) {
+                ids.add(mst.insertEdge(nodes.get(random.nextInt(vertices)), nodes.get(random.nextInt(vertices)),
+                        random.nextInt(20)));
+            } else if (operation == 1) {
+                mst.deleteEdge(ids.remove(random.nextInt(ids.size())));
+            } else {
+                mst.updateWeight(ids.get(random.nextInt(ids.size())), random.nextInt(20));
+            }
+
+            List<Edge> current = new ArrayList<>();
+            for (int id : ids) {
+                current.add(mst.getEdge(id));
+            }
+            MSTResult expected = calculator.computeKruskal(new Graph("check", nodes, current));
+            assertEquals(expected.getTotalCost(), mst.getTotalCost(), 1e-6, "step " + step);
+            assertEquals(expected.getMstEdges().size(), mst.treeEdgeCount(), "step " + step);
+            assertEquals(mst.treeEdgeCount(), mst.getMstEdges().size());
+        }
+    }
+
+    @Test
+    void heavyNonTreeEdgesAreScannedOnceNotOnEveryDeletion() {
+        // Two paths joined by one light bridge; the smaller path carries many heavy edges that never cross
+        // the bridge, and the only other way across is heavier still.
+        Random random = new Random(5);
+        List<String> nodes = new ArrayList<>();
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 256; i++) {
+            nodes.add("V" + i);
+            if (i > 0 && i != 64) {
+                edges.add(new Edge("V" + (i - 1), "V" + i, 1));
+            }
+        }
+        int heavyEdges = 2_000;
+        for (int i = 0; i < heavyEdges; i++) {
+            edges.add(new Edge("V" + random.nextInt(64), "V" + random.nextInt(64), 100 + random.nextInt(100)));
+        }
+        edges.add(new Edge("V0", "V255", 1_000));
+        DynamicMST mst = new DynamicMST(new Graph("bridge", nodes, edges));
+        int bridge = mst.insertEdge("V63", "V64", 1);
+        double cost = mst.getTotalCost();
+
+        int rounds = 50;
+        for (int round = 0; round < rounds; round++) {
+            mst.deleteEdge(bridge);
+            assertEquals(cost + 999, mst.getTotalCost(), 1e-9);
+            bridge = mst.insertEdge("V63", "V64", 1);
+            assertEquals(cost, mst.getTotalCost(), 1e-9);
+        }
+
+        // Rescanning the heavy edges on every deletion would cost rounds * heavyEdges candidates; once they
+        // have moved up a level, each deletion and re-insertion looks at a handful.
+        long scanned = mst.replacementCandidatesScanned();
+        assertTrue(scanned < heavyEdges + 5L * rounds, "scanned " + scanned);
+        assertTrue(mst.isConnected());
+    }
+}
@@ -0,0 +1,95 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EdgeNormalizerTest {
+
+    @Test
+    void selfLoopsAndAllButTheCheapestParallelEdgeAreRemoved() {
+        Edge ab = new Edge("A", "B", 4);
+        Edge loop = new Edge("B", "B", 0);
+        Edge baCheaper = new Edge("B", "A", 2);
+        Edge bc = new Edge("B", "C", 1);
+        Edge cbTie = new Edge("C", "B", 1);
+        Edge ac = new Edge("A", "C", 7);
+        Graph graph = new Graph("multi", List.of("A", "B", "C"), List.of(ab, loop, baCheaper, bc, cbTie, ac));
+
+        PreparedGraph normalized = PreparedGraph.of(graph, true);
+
+        assertTrue(normalized.isNormalized());
+        assertEquals(1, normalized.removedSelfLoops());
+        assertEquals(2, normalized.removedDuplicates());
+        assertEquals(6, normalized.inputEdgeCount());
+        assertEquals(3, normalized.edgeCount());
+        // Input order is kept, ties go to the first edge, and the original instances are returned.
+        assertSame(baCheaper, normalized.edge(0));
+        assertSame(bc, normalized.edge(1));
+        assertSame(ac, normalized.edge(2));
+
+        PreparedGraph plain = PreparedGraph.of(graph);
+        assertFalse(plain.isNormalized());
+        assertEquals(6, plain.inputEdgeCount());
+    }
+
+    @Test
+    void everyAlgorithmFindsTheSameTreeOnTheNormalizedGraph() {
+        Random random = new Random(23);
+        int vertices = 300;
+        List<String> nodes = new ArrayList<>();
+        for (int v = 0; v < vertices; v++) {
+            nodes.add("N" + v);
+        }
+        List<Edge> edges = new ArrayList<>();
+        for (int e = 0; e < 20_000; e++) {
+            // Few vertices and few weights: many parallel edges, reversed pairs, ties and self-loops.
+            Edge edge = new Edge(nodes.get(random.nextInt(vertices)), nodes.get(random.nextInt(vertices)),
+                    random.nextInt(30));
+            edges.add(random.nextBoolean() ? edge : edge.reversed());
+        }
+        Graph graph = new Graph("multigraph", nodes, edges);
+        PreparedGraph plain = PreparedGraph.of(graph);
+        PreparedGraph normalized = PreparedGraph.of(graph, true);
+        assertTrue(normalized.removedSelfLoops() > 0);
+        assertTrue(normalized.removedDuplicates() > 0);
+        assertEquals(plain.edgeCount(), normalized.inputEdgeCount());
+
+        MSTCalculator calculator = new MSTCalculator();
+        MSTResult kruskal = calculator.computeKruskal(plain);
+        assertEquals(kruskal.getMstEdges(), calculator.computeKruskal(normalized).getMstEdges());
+        for (MSTAlgorithm algorithm : MSTAlgorithm.values()) {
+            MSTResult result = calculator.compute(algorithm, normalized);
+            assertEquals(kruskal.getTotalCost(), result.getTotalCost(), 1e-9, algorithm.getKey());
+            assertEquals(kruskal.isConnected(), result.isConnected(), algorithm.getKey());
+        }
+
+        int[] from = plain.edgeFrom().clone();
+        int[] to = plain.edgeTo().clone();
+        double[] weights = plain.edgeWeights().clone();
+        String[] names = nodes.toArray(new String[0]);
+        PreparedGraph columns = PreparedGraph.fromColumns("columns", names, from, to, weights, true);
+        assertEquals(normalized.edgeCount(), columns.edgeCount());
+        assertEquals(kruskal.getMstEdges(), calculator.computeKruskal(columns).getMstEdges());
+    }
+
+    @Test
+    void removedEdgesAreReportedInInputStats() {
+        Graph graph = new Graph("g", List.of("A", "B"), List.of(
+                new Edge("A", "B", 1), new Edge("B", "A", 1), new Edge("A", "A", 1)));
+        ObjectMapper mapper = new ObjectMapper();
+
+        JsonNode normalized = mapper.valueToTree(InputStats.of(PreparedGraph.of(graph, true)));
+        assertEquals(3, normalized.get("edges").asInt());
+        assertEquals(1, normalized.get("removed_self_loops").asInt());
+        assertEquals(1, normalized.get("removed_duplicates").asInt());
+
+        JsonNode plain = mapper.valueToTree(InputStats.of(PreparedGraph.of(graph)));
+        assertFalse(plain.has("removed_self_loops"));
+        assertFalse(plain.has("removed_duplicates"));
+    }
+}
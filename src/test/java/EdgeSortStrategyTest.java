@@ -0,0 +1,139 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EdgeSortStrategyTest {
+
+    @Test
+    void radixOrderMatchesTheStableComparisonOrder() {
+        Random random = new Random(41);
+        double[] special = {0.0, -0.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                Double.MIN_VALUE, -Double.MIN_VALUE, Double.MAX_VALUE, 1.5, -1.5};
+        double[] weights = new double[5_000];
+        for (int e = 0; e < weights.length; e++) {
+            weights[e] = switch (e % 3) {
+                case 0 -> special[random.nextInt(special.length)];
+                case 1 -> random.nextInt(20);
+                default -> random.nextGaussian() * 1e6;
+            };
+        }
+
+        EdgeSortStrategy.Order comparison = EdgeSortStrategy.COMPARISON.sort(weights);
+        EdgeSortStrategy.Order radix = EdgeSortStrategy.RADIX.sort(weights);
+
+        assertArrayEquals(comparison.edges(), radix.edges());
+        assertTrue(comparison.comparisons() > 0);
+        assertEquals(-1, comparison.passes());
+        assertEquals(0, radix.comparisons());
+        assertEquals(8, radix.passes());
+    }
+
+    @Test
+    void constantDigitsAreSkippedAndTheParallelHistogramAgrees() {
+        Random random = new Random(8);
+        double[] weights = new double[RadixEdgeSort.PARALLEL_THRESHOLD * 2];
+        for (int e = 0; e < weights.length; e++) {
+            weights[e] = random.nextInt(1_000);
+        }
+
+        EdgeSortStrategy.Order sequential = EdgeSortStrategy.RADIX.sort(weights);
+        EdgeSortStrategy.Order parallel = EdgeSortStrategy.PARALLEL_RADIX.sort(weights);
+
+        assertArrayEquals(EdgeSortStrategy.COMPARISON.sort(weights).edges(), sequential.edges());
+        assertArrayEquals(sequential.edges(), parallel.edges());
+        // Integers below 1024 only differ in the three top bytes of their keys.
+        assertEquals(3, sequential.passes());
+        assertEquals(3, parallel.passes());
+        assertEquals(0, EdgeSortStrategy.RADIX.sort(new double[]{3, 3, 3}).passes());
+        assertEquals(0, EdgeSortStrategy.RADIX.sort(new double[0]).edges().length);
+    }
+
+    @Test
+    void parallelRadixRunsOnTheCalculatorsPool() {
+        Random random = new Random(12);
+        double[] weights = new double[RadixEdgeSort.PARALLEL_THRESHOLD * 2];
+        for (int e = 0; e < weights.length; e++) {
+            weights[e] = random.nextDouble();
+        }
+        AtomicInteger workers = new AtomicInteger();
+        ForkJoinPool pool = new ForkJoinPool(2, p -> {
+            workers.incrementAndGet();
+            return ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+        }, null, false);
+        try {
+            EdgeSortStrategy strategy = EdgeSortStrategy.PARALLEL_RADIX.withPool(pool);
+            assertSame(EdgeSortStrategy.RADIX, EdgeSortStrategy.RADIX.withPool(pool));
+            assertEquals("radix:parallel", strategy.getName());
+
+            PreparedGraph prepared = PreparedGraph.fromColumns("pool", new String[]{"A"}, new int[weights.length],
+                    new int[weights.length], weights, false,
+                    EdgeSortStrategy.PARALLEL_RADIX.withPool(new MSTCalculator().withPool(pool).getPool()));
+
+            assertArrayEquals(EdgeSortStrategy.RADIX.sort(weights).edges(), prepared.sortedEdges());
+            assertTrue(workers.get() > 0, "the sort did not run on the given pool");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void edgesAreSortedOnlyOnceAnAlgorithmReadsTheOrder() {
+        Graph graph = new Graph("lazy", List.of("A", "B", "C"), List.of(
+                new Edge("A", "B", 3), new Edge("B", "C", 1), new Edge("A", "C", 2)));
+        PreparedGraph prepared = PreparedGraph.of(graph);
+        MSTCalculator calculator = new MSTCalculator();
+
+        for (MSTAlgorithm algorithm : MSTAlgorithm.values()) {
+            if (!algorithm.readsSortedEdges()) {
+                calculator.compute(algorithm, prepared);
+            }
+        }
+        assertFalse(prepared.isSorted());
+        assertEquals(0, prepared.sortNanos());
+
+        calculator.computeKruskal(prepared);
+        int[] order = prepared.sortedEdges();
+        assertTrue(prepared.isSorted());
+        assertArrayEquals(new int[]{1, 2, 0}, order);
+        calculator.computeKruskal(prepared);
+        assertSame(order, prepared.sortedEdges());
+    }
+
+    @Test
+    void kruskalReportsRadixPassesAndFindsTheSameTree() {
+        Random random = new Random(3);
+        List<String> nodes = new ArrayList<>();
+        for (int v = 0; v < 400; v++) {
+            nodes.add("N" + v);
+        }
+        List<Edge> edges = new ArrayList<>();
+        for (int e = 0; e < 4_000; e++) {
+            edges.add(new Edge(nodes.get(random.nextInt(400)), nodes.get(random.nextInt(400)), random.nextInt(100)));
+        }
+        Graph graph = new Graph("g", nodes, edges);
+        MSTCalculator calculator = new MSTCalculator();
+
+        MSTResult comparison = calculator.computeKruskal(PreparedGraph.of(graph));
+        PreparedGraph prepared = PreparedGraph.of(graph, false, EdgeSortStrategy.parse(" Radix "));
+        MSTResult radix = calculator.computeKruskal(prepared);
+
+        assertSame(EdgeSortStrategy.RADIX, prepared.sortStrategy());
+        assertEquals(comparison.getMstEdges(), radix.getMstEdges());
+        assertNull(comparison.getSortPasses());
+        assertEquals(prepared.sortPasses(), radix.getSortPasses());
+        assertTrue(radix.getComparisonsCount() < comparison.getComparisonsCount());
+        assertNull(calculator.computePrim(prepared).getSortPasses());
+
+        JsonNode json = new ObjectMapper().valueToTree(radix);
+        assertEquals(prepared.sortPasses(), json.get("sort_passes").asInt());
+        assertThrows(IllegalArgumentException.class, () -> EdgeSortStrategy.parse("bogo"));
+    }
+}
@@ -0,0 +1,114 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExternalKruskalTest {
+
+    @TempDir
+    Path directory;
+
+    private static Graph randomGraph(int vertices, int edges, long seed) {
+        Random random = new Random(seed);
+        List<String> nodes = new ArrayList<>();
+        for (int v = 0; v < vertices; v++) {
+            nodes.add("N" + v);
+        }
+        List<Edge> list = new ArrayList<>();
+        for (int e = 0; e < edges; e++) {
+            // Few distinct weights, so the tie order between runs matters.
+            list.add(new Edge(nodes.get(random.nextInt(vertices)), nodes.get(random.nextInt(vertices)),
+                    random.nextInt(50)));
+        }
+        return new Graph("random-" + seed, nodes, list);
+    }
+
+    private long spilledFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    void smallBudgetSpillsRunsAndMatchesInMemoryKruskal() throws IOException {
+        PreparedGraph graph = PreparedGraph.of(randomGraph(500, 6_000, 3));
+        MSTResult expected = new MSTCalculator().computeKruskal(graph);
+
+        // 12 KiB: chunks of a few hundred edges and too many runs for a single merge pass.
+        long budget = 12 * 1024;
+        ExternalKruskal external = new ExternalKruskal(EdgeSource.of(graph), directory, budget,
+                OperationCounter.create(CountingMode.PLAIN));
+        external.run(new PhaseTimer("test", "kruskal", MSTPhase.SORT));
+
+        assertTrue(external.mergePasses() > 1, "merge passes: " + external.mergePasses());
+        // Chunk arrays are released before the merge buffers are allocated, so the peak stays in budget.
+        assertTrue(external.peakEdgeBytes() > budget / 2, "peak: " + external.peakEdgeBytes());
+        assertTrue(external.peakEdgeBytes() <= budget, "peak: " + external.peakEdgeBytes());
+        assertEquals(expected.getTotalCost(), external.totalCost(), 1e-9);
+        assertEquals(expected.getMstEdges().size(), external.mstSize());
+        for (int i = 0; i < external.mstSize(); i++) {
+            assertEquals(expected.getMstEdges().get(i), external.mstEdge(i));
+        }
+        assertEquals(0, spilledFiles());
+    }
+
+    @Test
+    void inputThatFitsTheBudgetIsSolvedWithoutSpilling() throws IOException {
+        PreparedGraph graph = PreparedGraph.of(randomGraph(200, 1_000, 5));
+        MSTCalculator calculator = new MSTCalculator();
+
+        MSTResult result = calculator.computeKruskalExternal(EdgeSource.of(graph), directory, 1 << 20);
+
+        assertEquals(calculator.computeKruskal(graph).getMstEdges(), result.getMstEdges());
+        assertEquals(0, spilledFiles());
+    }
+
+    @Test
+    void disconnectedAndEmptyGraphsProduceForests() throws IOException {
+        MSTCalculator calculator = new MSTCalculator();
+        Graph forest = new Graph("forest", List.of("A", "B", "C", "D"), List.of(
+                new Edge("A", "B", 2),
+                new Edge("C", "D", 1),
+                new Edge("A", "B", 1)
+        ));
+        MSTResult result = calculator.computeKruskalExternal(EdgeSource.of(PreparedGraph.of(forest)), directory, 0);
+
+        assertFalse(result.isConnected());
+        assertEquals(2.0, result.getTotalCost(), 1e-9);
+
+        Graph empty = new Graph("empty", List.of(), List.of());
+        MSTResult none = calculator.computeKruskalExternal(EdgeSource.of(PreparedGraph.of(empty)), directory, 0);
+        assertTrue(none.getMstEdges().isEmpty());
+        assertTrue(none.isConnected());
+    }
+
+    @Test
+    void binaryEdgeSourceStreamsTheStoredColumns() throws IOException {
+        Graph graph = randomGraph(300, 20_000, 9);
+        Path binary = directory.resolve("graphs.mstg");
+        try (BinaryGraphWriter writer = new BinaryGraphWriter(binary)) {
+            writer.write(graph);
+        }
+        Path spill = Files.createDirectory(directory.resolve("spill"));
+        MSTCalculator calculator = new MSTCalculator();
+
+        try (BinaryGraphFile file = BinaryGraphFormat.open(binary); EdgeSource source = file.edgeSource(0)) {
+            assertEquals(graph.getId(), source.getId());
+            assertEquals(300, source.vertexCount());
+            assertEquals(20_000, source.edgeCount());
+            MSTResult result = calculator.computeKruskalExternal(source, spill, 64 * 1024);
+            assertEquals(calculator.computeKruskal(graph).getMstEdges(), result.getMstEdges());
+        }
+        try (Stream<Path> files = Files.list(spill)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphGeneratorTest {
+
+    @Test
+    void familiesHaveTheirShapeAndAreReproducible() {
+        ColumnarGraph complete = GraphGenerator.generate(GraphGenerator.Family.COMPLETE, 60, 0, 1);
+        assertEquals(60 * 59 / 2, complete.edgeCount());
+        assertEquals("complete-60-s1", complete.getId());
+
+        // Six full rows of 7 columns and one vertex in a seventh row: 6 x 6 horizontal, 36 vertical edges.
+        ColumnarGraph grid = GraphGenerator.generate(GraphGenerator.Family.GRID, 43, 0, 1);
+        assertEquals(6 * 6 + 36, grid.edgeCount());
+        assertEquals(43, PreparedGraph.of(grid).vertexCount());
+
+        ColumnarGraph gnp = GraphGenerator.generate(GraphGenerator.Family.GNP, 20_000, 10, 7);
+        assertEquals(100_000, gnp.edgeCount(), 2_000);
+        assertEquals("gnp-20000-d10-s7", gnp.getId());
+        for (int e = 0; e < gnp.edgeCount(); e++) {
+            assertTrue(gnp.edgeFrom()[e] > gnp.edgeTo()[e], "G(n,p) lists each pair once, larger id first");
+        }
+
+        ColumnarGraph geometric = GraphGenerator.generate(GraphGenerator.Family.GEOMETRIC, 20_000, 6, 7);
+        assertEquals(60_000, geometric.edgeCount(), 3_000);
+        double radius = Math.sqrt(6 / (Math.PI * 20_000));
+        for (double weight : geometric.edgeWeights()) {
+            assertTrue(weight <= radius);
+        }
+
+        ColumnarGraph powerLaw = GraphGenerator.generate(GraphGenerator.Family.POWER_LAW, 10_000, 6, 7);
+        // A clique of m + 1 = 4 vertices, then m = 3 edges per vertex.
+        assertEquals(6 + (10_000 - 4) * 3, powerLaw.edgeCount());
+        int[] degree = new int[10_000];
+        for (int e = 0; e < powerLaw.edgeCount(); e++) {
+            degree[powerLaw.edgeFrom()[e]]++;
+            degree[powerLaw.edgeTo()[e]]++;
+        }
+        int maxDegree = 0;
+        for (int d : degree) {
+            maxDegree = Math.max(maxDegree, d);
+        }
+        assertTrue(maxDegree > 100, "hubs emerge under preferential attachment: " + maxDegree);
+
+        assertEquals(gnp, GraphGenerator.generate(GraphGenerator.Spec.parse("GNP:20000:10"), 7));
+        assertNotEquals(gnp, GraphGenerator.generate(GraphGenerator.Family.GNP, 20_000, 10, 8));
+        assertThrows(IllegalArgumentException.class,
+                () -> GraphGenerator.generate(GraphGenerator.Family.COMPLETE, 100_000, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> GraphGenerator.Spec.parse("tree:100"));
+    }
+
+    @Test
+    void generatedGraphsAreWrittenInBothInputFormats(@TempDir Path directory) throws IOException {
+        Path json = directory.resolve("generated.json");
+        Path binary = directory.resolve("generated.mstg");
+        String[] specs = {"geometric:500:8", "powerlaw:500:4", "grid:400"};
+
+        GraphGenerator.main(new String[]{json.toString(), "11", specs[0], specs[1], specs[2]});
+        GraphGenerator.main(new String[]{binary.toString(), "11", specs[0], specs[1], specs[2]});
+
+        List<Graph> graphs = GraphIO.readDataset(json).getGraphs();
+        assertEquals(3, graphs.size());
+        MSTCalculator calculator = new MSTCalculator();
+        try (BinaryGraphFile file = BinaryGraphFormat.open(binary)) {
+            for (int i = 0; i < specs.length; i++) {
+                ColumnarGraph expected = GraphGenerator.generate(GraphGenerator.Spec.parse(specs[i]), 11);
+                assertEquals(expected, graphs.get(i));
+                PreparedGraph decoded = file.read(i);
+                assertEquals(expected.getId(), decoded.getId());
+                assertEquals(calculator.computeKruskal(expected).getTotalCost(),
+                        calculator.computeKruskal(decoded).getTotalCost(), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void scalingSweepWritesARowPerGraphAndAlgorithm() throws IOException {
+        ScalingBenchmark.Sweep sweep = new ScalingBenchmark.Sweep(
+                List.of(GraphGenerator.Family.GNP, GraphGenerator.Family.COMPLETE),
+                List.of(400, 100),
+                List.of(4.0, 12.0),
+                List.of(MSTAlgorithm.PRIM, MSTAlgorithm.KRUSKAL),
+                5, 2, 10_000, EdgeSortStrategy.RADIX);
+        StringWriter output = new StringWriter();
+
+        int rows = ScalingBenchmark.run(sweep, new MSTCalculator(), output);
+
+        // gnp: 2 degrees x 2 sizes; complete: 1 x 2; each for 2 algorithms.
+        assertEquals(12, rows);
+        List<String> lines = output.toString().lines().toList();
+        assertEquals(ScalingBenchmark.HEADER, lines.get(0));
+        assertEquals(13, lines.size());
+        int columns = ScalingBenchmark.HEADER.split(",").length;
+        for (String line : lines.subList(1, lines.size())) {
+            assertEquals(columns, line.split(",", -1).length, line);
+        }
+        assertTrue(lines.get(1).startsWith("gnp,100,"), "sizes run in ascending order: " + lines.get(1));
+        assertTrue(lines.get(lines.size() - 1).startsWith("complete,400,79800,"), lines.get(lines.size() - 1));
+
+        ScalingBenchmark.Sweep capped = new ScalingBenchmark.Sweep(List.of(GraphGenerator.Family.GRID),
+                List.of(100, 200, 300), List.of(4.0), List.of(MSTAlgorithm.KRUSKAL), 5, 1, 0,
+                EdgeSortStrategy.COMPARISON);
+        assertEquals(1, ScalingBenchmark.run(capped, new MSTCalculator(), new StringWriter()),
+                "an algorithm over the time limit is not run on larger graphs");
+    }
+}
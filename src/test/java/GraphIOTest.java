@@ -1,13 +1,26 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class GraphIOTest {
@@ -50,4 +63,287 @@ class GraphIOTest {
             Files.deleteIfExists(tempFile);
         }
     }
+
+    @Test
+    void graphStreamYieldsGraphsInOrderAndSkipsOtherFields() throws IOException {
+        Path tempFile = Files.createTempFile("dataset", ".json");
+        Files.writeString(tempFile, """
+                {"version": {"major": 1, "tags": ["a", "b"]},
+                 "graphs": [
+                   {"id": 1, "nodes": ["A", "B"], "edges": [{"from": "A", "to": "B", "weight": 2.5}]},
+                   {"id": "two", "nodes": ["C"], "edges": []}
+                 ],
+                 "trailer": true}
+                """);
+
+        try {
+            List<Graph> streamed = new ArrayList<>();
+            GraphIO.forEachGraph(tempFile, streamed::add);
+
+            assertEquals(2, streamed.size());
+            assertEquals("1", streamed.get(0).getId());
+            assertEquals("two", streamed.get(1).getId());
+            assertEquals(2.5, streamed.get(0).getEdges().get(0).getWeight());
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    @Test
+    void graphStreamReadsGraphsBeforeTheRestOfTheFileIsParsed() throws IOException {
+        Path tempFile = Files.createTempFile("dataset", ".json");
+        Files.writeString(tempFile, "{\"graphs\": [{\"id\": \"first\", \"nodes\": [\"A\"], \"edges\": []}, {\"id\": ");
+
+        try (GraphStreamReader reader = GraphIO.openGraphStream(tempFile)) {
+            assertEquals("first", reader.next().getId());
+            assertThrows(UncheckedIOException.class, reader::hasNext);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    @Test
+    void writeResultsKeysEachResultByAlgorithm() throws IOException {
+        Path tempFile = Files.createTempFile("output", ".json");
+
+        MSTResult prim = new MSTResult(List.of(new Edge("A", "B", 1)), 1.0, 1, 1, 0, 0.5, true);
+        MSTResult kruskal = new MSTResult(List.of(new Edge("A", "B", 1)), 1.0, 1, 2, 1, 0.5, true);
+        GraphComputationResult result = new GraphComputationResult("tiny", new InputStats(2, 1),
+                Map.of(MSTAlgorithm.PRIM, prim, MSTAlgorithm.KRUSKAL, kruskal));
+
+        try {
+            GraphIO.writeResults(tempFile, List.of(result));
+
+            JsonNode graph = new ObjectMapper().readTree(tempFile.toFile()).get("results").get(0);
+
+            assertEquals("tiny", graph.get("graph_id").asText());
+            assertEquals(1.0, graph.get("prim").get("total_cost").asDouble());
+            assertEquals(1, graph.get("kruskal").get("unions_count").asInt());
+            assertFalse(graph.has("boruvka"));
+            assertFalse(graph.has("primResult"));
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    @Test
+    void resultFieldsKeepTheBaselineOrder() throws IOException {
+        MSTResult result = new MSTResult(List.of(new Edge("A", "B", 1)), 1.0, 1, 2, 3, 0.5, true);
+
+        JsonNode node = new ObjectMapper().valueToTree(result);
+
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        assertEquals(List.of("mst_edges", "total_cost", "comparisons_count", "updates_count", "unions_count",
+                "operations_count", "execution_time_ms", "connected"), names);
+        assertEquals(6, node.get("operations_count").asLong());
+    }
+
+    @Test
+    void writeComparisonCsvAppendsBoruvkaColumnGroup() throws IOException {
+        Path tempFile = Files.createTempFile("comparison", ".csv");
+
+        MSTResult prim = new MSTResult(List.of(), 16.0, 10, 15, 5, 4.603, true);
+        MSTResult kruskal = new MSTResult(List.of(), 16.0, 11, 14, 6, 2.63, true);
+        MSTResult boruvka = new MSTResult(List.of(), 16.0, 20, 30, 4, 1.5, true);
+        GraphComputationResult withBoruvka = new GraphComputationResult("small-1", new InputStats(5, 7),
+                prim, kruskal, boruvka);
+        GraphComputationResult withoutBoruvka = new GraphComputationResult("small-2", new InputStats(5, 7),
+                prim, kruskal);
+
+        try {
+            GraphIO.writeComparisonCsv(tempFile, List.of(withBoruvka, withoutBoruvka));
+
+            List<String> lines = Files.readAllLines(tempFile);
+            List<String> header = List.of(lines.get(0).split(",", -1));
+            List<String> first = List.of(lines.get(1).split(",", -1));
+            List<String> second = List.of(lines.get(2).split(",", -1));
+            int costColumn = header.indexOf("boruvka_total_cost");
+
+            assertEquals(List.of("16.000", "1.500", "20", "30", "4", "54"), first.subList(costColumn, costColumn + 6));
+            assertEquals(List.of("", "", "", "", "", ""), second.subList(costColumn, costColumn + 6));
+            assertEquals(header.size(), first.size());
+            assertEquals(header.size(), second.size());
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    @Test
+    void binaryDatasetRoundTripsColumnsAndNames() throws IOException {
+        Path json = Files.createTempFile("dataset", ".json");
+        Path binary = Files.createTempFile("dataset", ".mstg");
+        Files.writeString(json, """
+                {"graphs": [
+                   {"id": "g1", "nodes": ["A", "B", "C", "A", "Zürich"],
+                    "edges": [{"from": "A", "to": "B", "weight": 2.5},
+                              {"from": "B", "to": "C", "weight": 1.0},
+                              {"from": "C", "to": "Zürich", "weight": 4.0},
+                              {"from": "A", "to": "C", "weight": 3.0}]},
+                   {"id": "empty", "nodes": [], "edges": []}
+                 ]}
+                """);
+
+        try {
+            assertEquals(2, BinaryGraphFormat.convert(json, binary));
+            assertTrue(BinaryGraphFormat.isBinary(binary));
+            assertFalse(BinaryGraphFormat.isBinary(json));
+
+            List<Graph> graphs = GraphIO.readDataset(json).getGraphs();
+            try (BinaryGraphFile file = BinaryGraphFormat.open(binary)) {
+                assertEquals(2, file.graphCount());
+                for (int i = 0; i < graphs.size(); i++) {
+                    PreparedGraph expected = PreparedGraph.of(graphs.get(i));
+                    PreparedGraph actual = file.read(i);
+                    assertEquals(expected.getId(), actual.getId());
+                    assertEquals(expected.vertexCount(), actual.vertexCount());
+                    for (int v = 0; v < expected.vertexCount(); v++) {
+                        assertEquals(expected.nodeName(v), actual.nodeName(v));
+                    }
+                    assertArrayEquals(expected.edgeFrom(), actual.edgeFrom());
+                    assertArrayEquals(expected.edgeTo(), actual.edgeTo());
+                    assertArrayEquals(expected.edgeWeights(), actual.edgeWeights());
+                    for (int e = 0; e < expected.edgeCount(); e++) {
+                        assertEquals(expected.edge(e), actual.edge(e));
+                    }
+                }
+            }
+            // Columns larger than one mapping are read in several; eight bytes hold one weight.
+            try (BinaryGraphFile file = BinaryGraphFile.open(binary, Double.BYTES)) {
+                PreparedGraph chunked = file.read(0);
+                PreparedGraph expected = PreparedGraph.of(graphs.get(0));
+                assertArrayEquals(expected.edgeFrom(), chunked.edgeFrom());
+                assertArrayEquals(expected.edgeTo(), chunked.edgeTo());
+                assertArrayEquals(expected.edgeWeights(), chunked.edgeWeights());
+            }
+        } finally {
+            Files.deleteIfExists(json);
+            Files.deleteIfExists(binary);
+        }
+    }
+
+    @Test
+    void binaryDatasetRejectsTruncatedFile() throws IOException {
+        Path json = Files.createTempFile("dataset", ".json");
+        Path binary = Files.createTempFile("dataset", ".mstg");
+        Files.writeString(json, """
+                {"graphs": [{"id": "g1", "nodes": ["A", "B"], "edges": [{"from": "A", "to": "B", "weight": 1.0}]}]}
+                """);
+
+        try {
+            BinaryGraphFormat.convert(json, binary);
+            byte[] bytes = Files.readAllBytes(binary);
+            Files.write(binary, Arrays.copyOf(bytes, bytes.length - 12));
+
+            assertThrows(IOException.class, () -> BinaryGraphFormat.open(binary).close());
+        } finally {
+            Files.deleteIfExists(json);
+            Files.deleteIfExists(binary);
+        }
+    }
+
+    @Test
+    void conversionStreamsGraphsWhoseEdgesPrecedeTheirNodes(@TempDir Path directory) throws IOException {
+        Path json = directory.resolve("dataset.json");
+        Path binary = directory.resolve("dataset.mstg");
+        Files.writeString(json, """
+                {"name": "ignored", "graphs": [
+                   {"edges": [{"weight": 4, "to": "C", "from": "A"},
+                              {"from": "B", "to": "A", "weight": "1.5"}],
+                    "nodes": ["C", "B", "C", "A"], "id": 7},
+                   {"id": "no-edges", "nodes": ["X"], "edges": null}
+                 ], "meta": {"graphs": []}}
+                """);
+
+        assertEquals(2, BinaryGraphFormat.convert(json, binary));
+        assertEquals(List.of(json, binary), Files.list(directory).sorted().toList(), "spill file left behind");
+        List<Graph> graphs = new ArrayList<>();
+        GraphIO.forEachGraph(json, graphs::add);
+        try (BinaryGraphFile file = BinaryGraphFormat.open(binary)) {
+            for (int i = 0; i < graphs.size(); i++) {
+                PreparedGraph expected = PreparedGraph.of(graphs.get(i));
+                PreparedGraph actual = file.read(i);
+                assertEquals(expected.getId(), actual.getId());
+                assertEquals(expected.vertexCount(), actual.vertexCount());
+                assertArrayEquals(expected.edgeFrom(), actual.edgeFrom());
+                assertArrayEquals(expected.edgeTo(), actual.edgeTo());
+                assertArrayEquals(expected.edgeWeights(), actual.edgeWeights());
+            }
+            try (EdgeSource source = file.edgeSource(0)) {
+                assertEquals(2L, source.edgeCount());
+            }
+        }
+
+        Files.writeString(json, """
+                {"graphs": [{"id": "g", "edges": [{"from": "A", "to": "Z", "weight": 1}], "nodes": ["A"]}]}
+                """);
+        IllegalArgumentException unknown = assertThrows(IllegalArgumentException.class,
+                () -> BinaryGraphFormat.convert(json, binary));
+        assertTrue(unknown.getMessage().contains("'Z'"), unknown.getMessage());
+        assertEquals(List.of(json, binary), Files.list(directory).sorted().toList(), "spill file left behind");
+    }
+
+    @Test
+    void fixedDecimalFormattingMatchesStringFormat() {
+        Random random = new Random(3);
+        List<Double> values = new ArrayList<>(List.of(0.0, -0.0, 0.0005, 1.0005, 2.0005, 0.0015, 4.603, 2.63,
+                -0.0001, -1.2345, 999999.9995, 1e12, 1e20, 123456789.0125, Double.NaN,
+                Double.POSITIVE_INFINITY, Double.MIN_VALUE, Double.MAX_VALUE));
+        for (int i = 0; i < 100_000; i++) {
+            values.add(random.nextDouble() * 1000);
+            values.add(random.nextInt(1_000_000) / 1000.0 + 0.0005);
+            values.add(random.nextInt(1000) / 8.0 / 1000.0);
+        }
+
+        StringBuilder formatted = new StringBuilder();
+        for (double value : values) {
+            formatted.setLength(0);
+            ComparisonCsvWriter.appendFixed3(formatted, value);
+            assertEquals(String.format(Locale.US, "%.3f", value), formatted.toString(), () -> "value " + value);
+        }
+    }
+
+    @Test
+    void incrementalWritersFlushEachResultAndMatchBatchOutput() throws IOException {
+        Path json = Files.createTempFile("output", ".json");
+        Path csv = Files.createTempFile("comparison", ".csv");
+        MSTResult prim = new MSTResult(List.of(new Edge("A", "B", 1.25)), 1.25, 3, 4, 0, 0.5, true);
+        MSTResult kruskal = new MSTResult(List.of(new Edge("A", "B", 1.25)), 1.25, 2, 0, 1, 0.25, true);
+        List<GraphComputationResult> results = List.of(
+                new GraphComputationResult("g1", new InputStats(2, 1), prim, kruskal),
+                new GraphComputationResult("g2", new InputStats(2, 1), prim, kruskal, kruskal));
+
+        try {
+            try (ResultsJsonWriter jsonWriter = GraphIO.openResultsWriter(json);
+                 ComparisonCsvWriter csvWriter = GraphIO.openComparisonCsv(csv)) {
+                jsonWriter.write(results.get(0));
+                csvWriter.write(results.get(0));
+                assertTrue(Files.readString(json).contains("\"graph_id\" : \"g1\""));
+                assertEquals(2, Files.readAllLines(csv).size());
+                jsonWriter.write(results.get(1));
+                csvWriter.write(results.get(1));
+            }
+
+            ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+            assertEquals(mapper.writeValueAsString(Map.of("results", results)), Files.readString(json));
+            int emptyCells = 5 + 6 * (MSTAlgorithm.values().length - 2)
+                    + (MSTPhase.values().length + 2) * MSTAlgorithm.values().length;
+            assertEquals("g1,1.250,1.250,0.500,0.250,3,4,0,7,2,0,1,3" + ",".repeat(emptyCells),
+                    Files.readAllLines(csv).get(1));
+        } finally {
+            Files.deleteIfExists(json);
+            Files.deleteIfExists(csv);
+        }
+    }
+
+    @Test
+    void emptyResultsProduceAnEmptyArray() throws IOException {
+        Path json = Files.createTempFile("output", ".json");
+        try {
+            GraphIO.writeResults(json, List.of());
+            assertEquals("{\n  \"results\" : [ ]\n}", Files.readString(json));
+        } finally {
+            Files.deleteIfExists(json);
+        }
+    }
 }
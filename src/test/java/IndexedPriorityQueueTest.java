@@ -0,0 +1,82 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexedPriorityQueueTest {
+
+    private static final List<PriorityQueueStrategy> STRATEGIES = List.of(
+            PriorityQueueStrategy.BINARY,
+            PriorityQueueStrategy.dary(4),
+            PriorityQueueStrategy.PAIRING);
+
+    @Test
+    void pollsVerticesInKeyOrderAfterDecreaseKeys() {
+        for (PriorityQueueStrategy strategy : STRATEGIES) {
+            Random random = new Random(42);
+            int capacity = 500;
+            IndexedPriorityQueue queue = strategy.create(capacity);
+            double[] expected = new double[capacity];
+            for (int vertex = 0; vertex < capacity; vertex++) {
+                expected[vertex] = random.nextInt(10_000);
+                queue.insert(vertex, expected[vertex]);
+            }
+            for (int i = 0; i < capacity; i++) {
+                int vertex = random.nextInt(capacity);
+                double lowered = expected[vertex] - random.nextInt(5_000);
+                expected[vertex] = lowered;
+                queue.decreaseKey(vertex, lowered);
+            }
+
+            double[] polled = new double[capacity];
+            for (int i = 0; i < capacity; i++) {
+                int vertex = queue.pollMin();
+                assertFalse(queue.contains(vertex), strategy.getName());
+                polled[i] = expected[vertex];
+            }
+            double[] sorted = expected.clone();
+            Arrays.sort(sorted);
+            assertArrayEquals(sorted, polled, strategy.getName());
+            assertTrue(queue.isEmpty());
+            assertEquals(capacity, queue.getInserts());
+            assertEquals(capacity, queue.getDecreaseKeys());
+            assertEquals(capacity, queue.getExtractions());
+        }
+    }
+
+    @Test
+    void primHoldsAtMostOneEntryPerVertexForEveryStrategy() {
+        Graph graph = new Graph("dense",
+                List.of("A", "B", "C", "D", "E"),
+                List.of(
+                        new Edge("A", "B", 9), new Edge("A", "C", 8), new Edge("A", "D", 7), new Edge("A", "E", 6),
+                        new Edge("B", "C", 1), new Edge("B", "D", 5), new Edge("B", "E", 4),
+                        new Edge("C", "D", 2), new Edge("C", "E", 3), new Edge("D", "E", 10)
+                ));
+        PreparedGraph prepared = PreparedGraph.of(graph);
+        MSTCalculator calculator = new MSTCalculator();
+        double expectedCost = calculator.computeKruskal(prepared).getTotalCost();
+
+        for (PriorityQueueStrategy strategy : STRATEGIES) {
+            MSTResult prim = calculator.computePrim(prepared, strategy);
+
+            assertEquals(expectedCost, prim.getTotalCost(), 1e-9, strategy.getName());
+            assertEquals(strategy.getName(), prim.getHeapStats().getPriorityQueue());
+            assertTrue(prim.getHeapStats().getInserts() <= graph.vertexCount());
+            assertEquals(graph.vertexCount(), prim.getHeapStats().getExtractions());
+        }
+    }
+
+    @Test
+    void parsesStrategySpecifications() {
+        assertSame(PriorityQueueStrategy.BINARY, PriorityQueueStrategy.parse("binary"));
+        assertSame(PriorityQueueStrategy.PAIRING, PriorityQueueStrategy.parse(" Pairing "));
+        assertEquals("4-ary", PriorityQueueStrategy.parse("dary:4").getName());
+        assertEquals("8-ary", PriorityQueueStrategy.parse("8-ary").getName());
+        assertThrows(IllegalArgumentException.class, () -> PriorityQueueStrategy.parse("fibonacci"));
+        assertThrows(IllegalArgumentException.class, () -> PriorityQueueStrategy.parse("dary:1"));
+    }
+}
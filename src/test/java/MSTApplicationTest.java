@@ -0,0 +1,45 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MSTApplicationTest {
+
+    @AfterEach
+    void clearProperties() {
+        System.clearProperty("mst.algorithms");
+        System.clearProperty("mst.warmupRuns");
+        System.clearProperty("mst.measurementRuns");
+    }
+
+    @Test
+    void resultsFollowTheListedAlgorithmOrder(@TempDir Path directory) throws IOException {
+        Path input = directory.resolve("input.json");
+        Path output = directory.resolve("output.json");
+        Files.writeString(input, """
+                {"graphs": [{"id": 1, "nodes": ["A", "B", "C"], "edges": [
+                  {"from": "A", "to": "B", "weight": 1},
+                  {"from": "B", "to": "C", "weight": 2}]}]}
+                """);
+        System.setProperty("mst.algorithms", "kruskal,prim");
+        System.setProperty("mst.warmupRuns", "0");
+        System.setProperty("mst.measurementRuns", "1");
+
+        MSTApplication.main(new String[] {input.toString(), output.toString(),
+                directory.resolve("comparison.csv").toString()});
+
+        JsonNode graph = new ObjectMapper().readTree(output.toFile()).get("results").get(0);
+        List<String> names = new ArrayList<>();
+        graph.fieldNames().forEachRemaining(names::add);
+        assertEquals(List.of("graph_id", "input_stats", "kruskal", "prim"), names);
+    }
+}
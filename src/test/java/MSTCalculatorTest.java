@@ -1,6 +1,18 @@
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -82,6 +94,345 @@ class MSTCalculatorTest {
         assertTrue(firstKruskal.getExecutionTimeMs() >= 0.0);
     }
 
+    @Test
+    void preparedGraphCanBeReusedAcrossRuns() {
+        Graph graph = buildMediumGraph();
+        PreparedGraph prepared = PreparedGraph.of(graph);
+
+        MSTResult fromGraph = calculator.computeKruskal(graph);
+        MSTResult firstPrepared = calculator.computeKruskal(prepared);
+        MSTResult secondPrepared = calculator.computeKruskal(prepared);
+        MSTResult prim = calculator.computePrim(prepared);
+
+        assertEquals(fromGraph.getMstEdges(), firstPrepared.getMstEdges());
+        assertEquals(fromGraph.getOperationsCount(), firstPrepared.getOperationsCount());
+        assertEquals(firstPrepared.getMstEdges(), secondPrepared.getMstEdges());
+        assertEquals(fromGraph.getTotalCost(), prim.getTotalCost(), 1e-9);
+        for (Edge edge : prim.getMstEdges()) {
+            assertTrue(graph.getEdges().stream().anyMatch(original -> original == edge),
+                    "MST edges must be the original Edge instances");
+        }
+    }
+
+    @Test
+    void preparedGraphRejectsEdgesToUnknownNodes() {
+        Graph graph = new Graph("broken", List.of("A", "B"), List.of(new Edge("A", "Z", 1)));
+
+        assertThrows(IllegalArgumentException.class, () -> PreparedGraph.of(graph));
+    }
+
+    @Test
+    void boruvkaSelectsTheSameTreeAsKruskalUnderTies() {
+        Random random = new Random(11);
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            nodes.add("N" + i);
+        }
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 30_000; i++) {
+            edges.add(new Edge(nodes.get(random.nextInt(nodes.size())), nodes.get(random.nextInt(nodes.size())),
+                    random.nextInt(20)));
+        }
+        PreparedGraph prepared = PreparedGraph.of(new Graph("ties", nodes, edges));
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            MSTResult kruskal = calculator.computeKruskal(prepared);
+            MSTResult boruvka = calculator.computeBoruvka(prepared, pool);
+            MSTResult prim = calculator.computePrim(prepared);
+
+            assertEquals(kruskal.getTotalCost(), boruvka.getTotalCost(), 1e-9);
+            assertEquals(kruskal.isConnected(), boruvka.isConnected());
+            assertEquals(new HashSet<>(kruskal.getMstEdges()), new HashSet<>(boruvka.getMstEdges()));
+            assertEquals(boruvka.getMstEdges(), calculator.computeBoruvka(prepared, pool).getMstEdges());
+            if (prim.isConnected()) {
+                assertEquals(prim.getTotalCost(), boruvka.getTotalCost(), 1e-9);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void boruvkaHandlesSmallAndDisconnectedGraphs() {
+        Graph graph = buildMediumGraph();
+        Graph disconnected = new Graph("disconnected",
+                List.of("A", "B", "C", "D"),
+                List.of(new Edge("A", "B", 1), new Edge("C", "D", 2), new Edge("C", "C", 0)));
+
+        MSTResult boruvka = calculator.computeBoruvka(graph);
+        MSTResult split = calculator.computeBoruvka(disconnected);
+
+        assertEquals(calculator.computeKruskal(graph).getTotalCost(), boruvka.getTotalCost(), 1e-9);
+        assertTrue(boruvka.isConnected());
+        assertTrue(isAcyclic(graph.getNodes(), boruvka.getMstEdges()));
+        assertEquals(graph.vertexCount() - 1, boruvka.getUnionsCount());
+        assertFalse(split.isConnected());
+        assertEquals(2, split.getMstEdges().size());
+        assertEquals(3.0, split.getTotalCost(), 1e-9);
+    }
+
+    @Test
+    void filterKruskalAcceptsTheSameEdgesAsFullSortKruskal() {
+        Random random = new Random(5);
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            nodes.add("N" + i);
+        }
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 80_000; i++) {
+            edges.add(new Edge(nodes.get(random.nextInt(nodes.size())), nodes.get(random.nextInt(nodes.size())),
+                    random.nextInt(500)));
+        }
+        PreparedGraph prepared = PreparedGraph.of(new Graph("filter", nodes, edges));
+        ForkJoinPool pool = new ForkJoinPool(4);
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            MSTResult kruskal = calculator.computeKruskal(prepared);
+            MSTResult filter = calculator.computeFilterKruskal(prepared, pool);
+            MSTResult sequential = calculator.computeFilterKruskal(prepared, single);
+
+            assertEquals(kruskal.getMstEdges(), filter.getMstEdges());
+            assertEquals(kruskal.getMstEdges(), sequential.getMstEdges());
+            assertEquals(kruskal.getTotalCost(), filter.getTotalCost(), 1e-9);
+            assertEquals(kruskal.isConnected(), filter.isConnected());
+        } finally {
+            pool.shutdown();
+            single.shutdown();
+        }
+    }
+
+    @Test
+    void densePrimMatchesHeapPrimOnDenseAndDisconnectedGraphs() {
+        Random random = new Random(9);
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            nodes.add("N" + i);
+        }
+        List<Edge> edges = new ArrayList<>();
+        for (int u = 0; u < nodes.size(); u++) {
+            for (int v = u + 1; v < nodes.size(); v++) {
+                if (random.nextDouble() < 0.6) {
+                    edges.add(new Edge(nodes.get(u), nodes.get(v), random.nextInt(50)));
+                }
+            }
+        }
+        edges.add(new Edge("N3", "N3", 0));
+        edges.add(new Edge("N4", "N5", 0.5));
+        Graph dense = new Graph("dense", nodes, edges);
+        Graph disconnected = new Graph("disconnected",
+                List.of("A", "B", "C", "D"),
+                List.of(new Edge("A", "B", 1), new Edge("C", "D", 2)));
+
+        MSTResult heap = calculator.computePrim(dense);
+        MSTResult array = calculator.computePrimDense(dense);
+        MSTResult split = calculator.computePrimDense(disconnected);
+
+        assertEquals(heap.getTotalCost(), array.getTotalCost(), 1e-9);
+        assertEquals(nodes.size() - 1, array.getMstEdges().size());
+        assertTrue(isAcyclic(nodes, array.getMstEdges()));
+        assertTrue(array.isConnected());
+        assertFalse(split.isConnected());
+        assertEquals(1, split.getMstEdges().size());
+    }
+
+    @Test
+    void denseKernelsMakeIdenticalChoices() {
+        DensePrimKernel scalar = new ScalarDensePrimKernel();
+        DensePrimKernel detected = DensePrimKernel.detect();
+        assertEquals("vector", detected.name(), "tests run with jdk.incubator.vector added");
+        Random random = new Random(4);
+
+        for (int length : new int[]{1, 3, 8, 17, 64, 301}) {
+            double[] row = new double[length];
+            int[] rowEdges = new int[length];
+            double[] key = new double[length];
+            boolean[] inTree = new boolean[length];
+            for (int v = 0; v < length; v++) {
+                row[v] = random.nextInt(4) == 0 ? Double.POSITIVE_INFINITY : random.nextInt(20);
+                rowEdges[v] = v * 7;
+                key[v] = random.nextInt(3) == 0 ? Double.POSITIVE_INFINITY : random.nextInt(20);
+                inTree[v] = random.nextInt(5) == 0;
+            }
+            double[] scalarKey = key.clone();
+            double[] vectorKey = key.clone();
+            int[] scalarParents = new int[length];
+            int[] vectorParents = new int[length];
+
+            assertEquals(scalar.argMin(key, length), detected.argMin(key, length));
+            assertEquals(scalar.relax(row, rowEdges, 0, scalarKey, scalarParents, inTree, length),
+                    detected.relax(row, rowEdges, 0, vectorKey, vectorParents, inTree, length));
+            assertArrayEquals(scalarKey, vectorKey);
+            assertArrayEquals(scalarParents, vectorParents);
+            assertEquals(scalar.argMin(scalarKey, length), detected.argMin(vectorKey, length));
+        }
+        double[] infinite = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY};
+        assertEquals(-1, detected.argMin(infinite, 2));
+        assertEquals(-1, scalar.argMin(infinite, 2));
+    }
+
+    @Test
+    void computeDispatchesToEveryAlgorithm() {
+        PreparedGraph prepared = PreparedGraph.of(buildMediumGraph());
+        double expected = calculator.computeKruskal(prepared).getTotalCost();
+
+        for (MSTAlgorithm algorithm : MSTAlgorithm.values()) {
+            MSTResult result = calculator.compute(algorithm, prepared);
+            assertEquals(expected, result.getTotalCost(), 1e-9, algorithm.getKey());
+            assertTrue(result.isConnected(), algorithm.getKey());
+        }
+        assertEquals(MSTAlgorithm.FILTER_KRUSKAL, MSTAlgorithm.fromKey("filter-kruskal"));
+    }
+
+    @Test
+    void everyRunReportsItsPhasesAndEmitsFlightRecorderEvents() throws IOException {
+        Path dump = Files.createTempFile("phases", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("mst.Phase");
+            recording.start();
+            PreparedGraph prepared = PreparedGraph.of(buildMediumGraph());
+            for (MSTAlgorithm algorithm : MSTAlgorithm.values()) {
+                MSTResult result = calculator.compute(algorithm, prepared);
+                PhaseTimings phases = result.getPhases();
+                assertNotNull(phases, algorithm.getKey());
+                assertNull(phases.getLoadMs());
+                // The graph's preparation is reported once per graph; only dense Prim's matrix is the run's own.
+                if (algorithm != MSTAlgorithm.PRIM_DENSE) {
+                    assertEquals(0.0, phases.getPreprocessingMs(), algorithm.getKey());
+                }
+                // Only the algorithm that reads the graph's sorted order is charged for it, outside its run.
+                double sharedSortMs = algorithm.readsSortedEdges() ? prepared.sortNanos() / 1_000_000.0 : 0.0;
+                assertEquals(sharedSortMs, phases.getSortMs(), 1e-9, algorithm.getKey());
+                assertTrue(phases.getPreprocessingMs() + phases.getSortMs() - sharedSortMs + phases.getMainLoopMs()
+                        + phases.getMaterializationMs() <= result.getExecutionTimeMs() + 1e-9, algorithm.getKey());
+            }
+            assertEquals(prepared.preprocessingNanos() / 1_000_000.0,
+                    InputStats.of(prepared).getPreprocessingMs(), 1e-9);
+            recording.stop();
+            recording.dump(dump);
+
+            Set<String> seen = new HashSet<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(dump)) {
+                assertEquals("medium-test", event.getString("graphId"));
+                seen.add(event.getString("algorithm") + "/" + event.getString("phase"));
+            }
+            assertTrue(seen.contains("null/preprocessing"), seen.toString());
+            assertTrue(seen.contains("null/sort"), seen.toString());
+            assertTrue(seen.contains("kruskal/main_loop"), seen.toString());
+            assertTrue(seen.contains("prim/materialization"), seen.toString());
+            assertTrue(seen.contains("prim_dense/preprocessing"), seen.toString());
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    @Test
+    void everyRunReportsAllocationAndRetainedFootprint() {
+        int vertices = 200;
+        int edges = 3_000;
+        Random random = new Random(17);
+        String[] names = new String[vertices];
+        for (int v = 0; v < vertices; v++) {
+            names[v] = "N" + v;
+        }
+        int[] from = new int[edges];
+        int[] to = new int[edges];
+        double[] weights = new double[edges];
+        for (int e = 0; e < edges; e++) {
+            from[e] = e < vertices - 1 ? e : random.nextInt(vertices);
+            to[e] = e < vertices - 1 ? e + 1 : random.nextInt(vertices);
+            weights[e] = random.nextInt(1_000);
+        }
+        // The tree is kept as edge ids, so the whole retained estimate is allocated by the run.
+        PreparedGraph prepared = PreparedGraph.fromColumns("memory", names, from, to, weights);
+
+        for (MSTAlgorithm algorithm : MSTAlgorithm.values()) {
+            MemoryStats memory = calculator.compute(algorithm, prepared).getMemory();
+            assertNotNull(memory, algorithm.getKey());
+            assertNotNull(memory.getAllocatedBytes(), algorithm.getKey());
+            assertTrue(memory.getRetainedBytes()
+                    > MemoryFootprint.ints(vertices - 1) + MemoryFootprint.edgeIdList(),
+                    algorithm.getKey());
+        }
+
+        MemoryStats kruskal = calculator.computeKruskal(prepared).getMemory();
+        assertEquals(MemoryFootprint.ints(edges) + 2 * MemoryFootprint.ints(vertices)
+                + MemoryFootprint.ints(vertices - 1) + MemoryFootprint.edgeIdList(),
+                kruskal.getRetainedBytes());
+        MemoryStats prim = calculator.computePrim(prepared).getMemory();
+        assertTrue(prim.getAllocatedBytes() >= prim.getRetainedBytes(), prim.getAllocatedBytes() + " allocated");
+        // The adjacency matrix is charged to dense Prim only.
+        long matrixBytes = MemoryFootprint.doubles((long) vertices * vertices)
+                + MemoryFootprint.ints((long) vertices * vertices);
+        assertTrue(calculator.computePrimDense(prepared).getMemory().getRetainedBytes() > matrixBytes);
+        assertTrue(prim.getRetainedBytes() < matrixBytes);
+        assertNotSame(prepared.denseMatrix(), prepared.denseMatrix(), "the matrix must not be cached on the graph");
+    }
+
+    @Test
+    void treesAreKeptAsEdgeIdsAndSerializeLikeEdgeLists() {
+        PreparedGraph prepared = PreparedGraph.of(buildMediumGraph());
+        ObjectMapper mapper = new ObjectMapper();
+
+        for (MSTAlgorithm algorithm : MSTAlgorithm.values()) {
+            MSTResult result = calculator.compute(algorithm, prepared);
+            assertInstanceOf(EdgeIdList.class, result.getMstEdges(), algorithm.getKey());
+            assertSame(prepared.columns(), ((EdgeIdList) result.getMstEdges()).columns(),
+                    "results must share the graph's columns instead of copying them");
+            MSTResult timed = result.withExecutionTime(1.5);
+            assertSame(result.getMstEdges(), timed.getMstEdges(), "overriding the time must not copy the tree");
+
+            MSTResult copied = new MSTResult(new ArrayList<>(result.getMstEdges()), result.getTotalCost(),
+                    result.getComparisonsCount(), result.getUpdatesCount(), result.getUnionsCount(),
+                    1.5, result.isConnected());
+            assertEquals(mapper.valueToTree(copied).get("mst_edges"), mapper.valueToTree(timed).get("mst_edges"));
+        }
+    }
+
+    @Test
+    void countingModesChangeOnlyTheCounters() {
+        PreparedGraph prepared = PreparedGraph.of(buildMediumGraph());
+        MSTCalculator disabled = calculator.withCountingMode(CountingMode.DISABLED);
+        MSTCalculator striped = calculator.withCountingMode(CountingMode.STRIPED);
+
+        MSTResult plainPrim = calculator.computePrim(prepared);
+        MSTResult disabledPrim = disabled.computePrim(prepared);
+        MSTResult stripedPrim = striped.computePrim(prepared);
+
+        assertEquals(CountingMode.PLAIN, plainPrim.getCountingMode());
+        assertEquals(CountingMode.DISABLED, disabledPrim.getCountingMode());
+        assertEquals(0, disabledPrim.getOperationsCount());
+        assertNull(disabledPrim.getHeapStats(), "a run that does not count reports no queue counters");
+        assertEquals(plainPrim.getHeapStats().getComparisons(), stripedPrim.getHeapStats().getComparisons());
+        assertEquals(plainPrim.getTotalCost(), disabledPrim.getTotalCost(), 1e-9);
+        assertEquals(plainPrim.getOperationsCount(), stripedPrim.getOperationsCount());
+        assertEquals(CountingMode.STRIPED, calculator.computeBoruvka(prepared).getCountingMode(),
+                "parallel algorithms must not share a plain counter between threads");
+        assertEquals(CountingMode.DISABLED, disabled.computeBoruvka(prepared).getCountingMode());
+    }
+
+    @Test
+    void stripedCounterIsSafeToShareBetweenThreads() throws InterruptedException {
+        OperationCounter counter = OperationCounter.create(CountingMode.STRIPED);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    counter.incrementComparison();
+                    counter.addUpdates(2);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(40_000, counter.getComparisons());
+        assertEquals(80_000, counter.getUpdates());
+        assertEquals(120_000, counter.getTotalOperations());
+        assertFalse(counter.hasUnionOperations());
+    }
+
     private Graph buildMediumGraph() {
         return new Graph("medium-test",
                 List.of("A", "B", "C", "D", "E", "F"),
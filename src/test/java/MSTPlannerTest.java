@@ -0,0 +1,122 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MSTPlannerTest {
+
+    @TempDir
+    Path directory;
+
+    private static PreparedGraph graph(int vertices, int[][] edges) {
+        List<String> nodes = new ArrayList<>();
+        for (int v = 0; v < vertices; v++) {
+            nodes.add("N" + v);
+        }
+        List<Edge> list = new ArrayList<>();
+        for (int[] edge : edges) {
+            list.add(new Edge("N" + edge[0], "N" + edge[1], edge[2]));
+        }
+        return PreparedGraph.of(new Graph("g", nodes, list));
+    }
+
+    private static PreparedGraph complete(int vertices) {
+        List<int[]> edges = new ArrayList<>();
+        for (int u = 0; u < vertices; u++) {
+            for (int v = u + 1; v < vertices; v++) {
+                edges.add(new int[]{u, v, u + v});
+            }
+        }
+        return graph(vertices, edges.toArray(new int[0][]));
+    }
+
+    @Test
+    void shapeDescribesTheGraph() {
+        GraphShape shape = GraphShape.of(graph(4, new int[][]{{0, 1, 2}, {0, 2, 5}, {0, 3, 1}}));
+
+        assertEquals(4, shape.getVertices());
+        assertEquals(3, shape.getEdges());
+        assertEquals(0.5, shape.getDensity(), 1e-12);
+        assertEquals(1.5, shape.getAverageDegree(), 1e-12);
+        assertEquals(2.0, shape.getDegreeSkew(), 1e-12);
+        assertEquals(1.0, shape.getMinWeight());
+        assertEquals(5.0, shape.getMaxWeight());
+    }
+
+    @Test
+    void rulesAreAppliedInOrder() {
+        MSTPlanner planner = new MSTPlanner(new MSTPlanner.Thresholds(0.5, 40, MSTAlgorithm.BORUVKA, 4.0, 1.5),
+                "test");
+
+        assertEquals(MSTAlgorithm.KRUSKAL, planner.plan(graph(1, new int[0][])).getAlgorithm());
+        assertEquals(MSTAlgorithm.KRUSKAL, planner.plan(graph(5, new int[0][])).getAlgorithm());
+        // Complete graphs: density 1 wins over the edge count until dense Prim is ruled out.
+        assertEquals(MSTAlgorithm.PRIM_DENSE, planner.plan(complete(10)).getAlgorithm());
+        MSTPlanner noDense = new MSTPlanner(new MSTPlanner.Thresholds(1.5, 40, MSTAlgorithm.BORUVKA, 4.0, 1.5),
+                "test");
+        assertEquals(MSTAlgorithm.BORUVKA, noDense.plan(complete(10)).getAlgorithm());
+        assertEquals(MSTAlgorithm.PRIM, noDense.plan(complete(8)).getAlgorithm());
+
+        // A cycle has degree 2 everywhere, a star concentrates all edges on one vertex.
+        MSTPlanner sparse = new MSTPlanner(new MSTPlanner.Thresholds(0.9, 1000, MSTAlgorithm.BORUVKA, 2.0, 1.5),
+                "test");
+        int[][] cycle = new int[8][];
+        int[][] star = new int[8][];
+        for (int i = 0; i < 8; i++) {
+            cycle[i] = new int[]{i, (i + 1) % 8, i};
+            star[i] = new int[]{0, i + 1, i};
+        }
+        MSTPlan cyclePlan = sparse.plan(graph(8, cycle));
+        assertEquals(MSTAlgorithm.PRIM, cyclePlan.getAlgorithm());
+        assertTrue(cyclePlan.getReason().contains("average degree 2.00"), cyclePlan.getReason());
+        assertEquals(MSTAlgorithm.KRUSKAL, sparse.plan(graph(9, star)).getAlgorithm());
+    }
+
+    @Test
+    void profileRoundTripsAndFallsBackToDefaults() throws IOException {
+        Path profile = directory.resolve("planner.properties");
+        assertEquals(MSTPlanner.Thresholds.DEFAULTS, MSTPlanner.load(profile).getThresholds());
+
+        MSTPlanner.Thresholds thresholds = new MSTPlanner.Thresholds(0.25, 500_000, MSTAlgorithm.BORUVKA, 12.5,
+                Double.POSITIVE_INFINITY);
+        thresholds.store(profile);
+        assertEquals(thresholds, MSTPlanner.load(profile).getThresholds());
+
+        Files.writeString(profile, "dense.minDensity=dense\nparallel.algorithm=quantum\nprim.minAverageDegree=8\n");
+        MSTPlanner.Thresholds partial = MSTPlanner.load(profile).getThresholds();
+        assertEquals(MSTPlanner.Thresholds.DEFAULTS.denseMinDensity(), partial.denseMinDensity());
+        assertEquals(MSTPlanner.Thresholds.DEFAULTS.parallelAlgorithm(), partial.parallelAlgorithm());
+        assertEquals(8.0, partial.primMinAverageDegree());
+    }
+
+    @Test
+    void planIsWrittenToJsonAndReadBackFromTheCache() throws IOException {
+        PreparedGraph prepared = complete(5);
+        MSTPlan plan = new MSTPlanner(MSTPlanner.Thresholds.DEFAULTS, "test").plan(prepared);
+        Map<MSTAlgorithm, MSTResult> results = new EnumMap<>(MSTAlgorithm.class);
+        results.put(plan.getAlgorithm(), new MSTCalculator().compute(plan.getAlgorithm(), prepared));
+        GraphComputationResult result = new GraphComputationResult("g", new InputStats(5, 10), plan, results);
+
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode json = mapper.valueToTree(result);
+        assertEquals("prim_dense", json.get("plan").get("algorithm").asText());
+        assertEquals(1.0, json.get("plan").get("shape").get("density").asDouble());
+        assertNotNull(json.get("prim_dense"));
+        assertFalse(mapper.valueToTree(new GraphComputationResult("g", new InputStats(5, 10), results)).has("plan"));
+
+        ResultCache cache = new ResultCache(directory, 1 << 20, "production");
+        String key = cache.key(prepared);
+        cache.store(key, result);
+        assertEquals(json, mapper.valueToTree(cache.lookup(key, "g")));
+    }
+}
@@ -0,0 +1,177 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MSTServerTest {
+    private static final int MAX_CONCURRENT = 2;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newHttpClient();
+    private MSTServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new MSTServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), MAX_CONCURRENT,
+                Duration.ofSeconds(30), new MSTCalculator(), new MSTPlanner(MSTPlanner.Thresholds.DEFAULTS, "test"));
+        server.warmUp(1);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.close();
+    }
+
+    private static Graph randomGraph(String id, long seed) {
+        Random random = new Random(seed);
+        int vertices = 50 + random.nextInt(100);
+        List<String> nodes = new ArrayList<>();
+        for (int v = 0; v < vertices; v++) {
+            nodes.add("N" + v);
+        }
+        List<Edge> edges = new ArrayList<>();
+        for (int e = 0; e < 5 * vertices; e++) {
+            edges.add(new Edge(nodes.get(random.nextInt(vertices)), nodes.get(random.nextInt(vertices)),
+                    random.nextInt(100)));
+        }
+        return new Graph(id, nodes, edges);
+    }
+
+    private HttpResponse<String> post(String query, Object body) throws IOException, InterruptedException {
+        URI uri = URI.create("http://localhost:" + server.port() + "/mst" + query);
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .POST(HttpRequest.BodyPublishers.ofString(body instanceof String text
+                        ? text : mapper.writeValueAsString(body)))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void concurrentLoadIsAnsweredCorrectlyWithinTheCap() throws Exception {
+        List<Graph> graphs = new ArrayList<>();
+        List<Double> expectedCosts = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Graph graph = randomGraph("g" + i, i);
+            graphs.add(graph);
+            expectedCosts.add(new MSTCalculator().computeKruskal(graph).getTotalCost());
+        }
+
+        int clients = 16;
+        int requestsPerClient = 25;
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService load = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                int client = c;
+                futures.add(load.submit(() -> {
+                    for (int r = 0; r < requestsPerClient; r++) {
+                        int index = (client + r) % graphs.size();
+                        HttpResponse<String> response = post("?algorithm=prim,kruskal", graphs.get(index));
+                        assertEquals(200, response.statusCode(), response.body());
+                        JsonNode result = mapper.readTree(response.body());
+                        assertEquals("g" + index, result.get("graph_id").asText());
+                        assertEquals(expectedCosts.get(index), result.get("kruskal").get("total_cost").asDouble(),
+                                1e-9);
+                        assertEquals(expectedCosts.get(index), result.get("prim").get("total_cost").asDouble(),
+                                1e-9);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        ServerStats.Snapshot stats = server.stats();
+        assertEquals(clients * requestsPerClient, stats.getCompleted());
+        assertEquals(0, stats.getFailed());
+        assertEquals(0, stats.getRejected());
+        assertTrue(stats.getMaxInFlight() <= MAX_CONCURRENT, "max in flight: " + stats.getMaxInFlight());
+        assertTrue(stats.getP50Ms() > 0 && stats.getP50Ms() <= stats.getP99Ms());
+
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + server.port() + "/stats")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        JsonNode json = mapper.readTree(response.body());
+        assertEquals(clients * requestsPerClient, json.get("completed").asLong());
+        assertTrue(json.get("throughput_per_s").asDouble() > 0);
+        assertTrue(json.has("latency_p99_ms"));
+    }
+
+    @Test
+    void datasetsAreAnsweredLikeOutputJsonAndTheDefaultIsPlanned() throws Exception {
+        GraphDataset dataset = new GraphDataset(List.of(randomGraph("a", 1), randomGraph("b", 2)));
+
+        HttpResponse<String> response = post("", dataset);
+
+        assertEquals(200, response.statusCode(), response.body());
+        JsonNode results = mapper.readTree(response.body()).get("results");
+        assertEquals(2, results.size());
+        assertEquals("a", results.get(0).get("graph_id").asText());
+        String planned = results.get(1).get("plan").get("algorithm").asText();
+        assertTrue(results.get(1).has(planned), results.get(1).toString());
+    }
+
+    @Test
+    void badRequestsAreRejectedWithErrors() throws Exception {
+        assertEquals(400, post("?algorithm=quantum", randomGraph("g", 1)).statusCode());
+        assertEquals(400, post("", "{not json").statusCode());
+        assertEquals(400, post("", Map.of("id", "g", "nodes", List.of("A"),
+                "edges", List.of(Map.of("from", "A", "to", "Z", "weight", 1)))).statusCode());
+        HttpResponse<String> get = client.send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + server.port() + "/mst")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(405, get.statusCode());
+        // The unknown algorithm is refused before a computation slot is taken, so it is not counted.
+        assertEquals(2, server.stats().getFailed());
+    }
+
+    @Test
+    void bodiesOverTheLimitAreRefusedWith413() throws Exception {
+        try (MSTServer limited = new MSTServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1,
+                Duration.ofSeconds(30), 1_024, new MSTCalculator(), new MSTPlanner(MSTPlanner.Thresholds.DEFAULTS,
+                "test"))) {
+            limited.start();
+            URI uri = URI.create("http://localhost:" + limited.port() + "/mst?algorithm=kruskal");
+            byte[] large = mapper.writeValueAsBytes(randomGraph("large", 3));
+            byte[] small = mapper.writeValueAsBytes(new Graph("small", List.of("A", "B"),
+                    List.of(new Edge("A", "B", 1))));
+            assertTrue(large.length > 1_024 && small.length <= 1_024);
+
+            HttpResponse<String> declared = client.send(HttpRequest.newBuilder(uri)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(large)).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(413, declared.statusCode(), declared.body());
+            // Without a Content-Length the body is sent in chunks and cut off while it is parsed.
+            HttpResponse<String> chunked = client.send(HttpRequest.newBuilder(uri)
+                    .POST(HttpRequest.BodyPublishers.ofInputStream(() -> new ByteArrayInputStream(large))).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(413, chunked.statusCode(), chunked.body());
+            HttpResponse<String> accepted = client.send(HttpRequest.newBuilder(uri)
+                    .POST(HttpRequest.BodyPublishers.ofInputStream(() -> new ByteArrayInputStream(small))).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, accepted.statusCode(), accepted.body());
+            assertEquals(1.0, mapper.readTree(accepted.body()).get("kruskal").get("total_cost").asDouble());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MSTVerifierTest {
+
+    @Test
+    void treesOfEveryAlgorithmAreValid() {
+        Random random = new Random(17);
+        List<String> nodes = new ArrayList<>();
+        for (int v = 0; v < 300; v++) {
+            nodes.add("N" + v);
+        }
+        List<Edge> edges = new ArrayList<>();
+        for (int e = 0; e < 3_000; e++) {
+            // Few distinct weights, so ties, parallel edges and self-loops all occur.
+            edges.add(new Edge(nodes.get(random.nextInt(300)), nodes.get(random.nextInt(300)), random.nextInt(10)));
+        }
+        Graph connected = new Graph("connected", nodes, edges);
+        List<Edge> split = new ArrayList<>(edges.stream()
+                .filter(edge -> edge.getFrom().compareTo("N150") < 0 == edge.getTo().compareTo("N150") < 0)
+                .toList());
+        Graph disconnected = new Graph("disconnected", nodes, split);
+        MSTCalculator calculator = new MSTCalculator();
+
+        for (Graph graph : List.of(connected, disconnected)) {
+            PreparedGraph prepared = PreparedGraph.of(graph);
+            for (MSTAlgorithm algorithm : MSTAlgorithm.values()) {
+                MSTVerification verification = MSTVerifier.verify(prepared, calculator.compute(algorithm, prepared),
+                        algorithm.growsSingleTree());
+                assertTrue(verification.isValid(), algorithm + " on " + graph.getId() + ": "
+                        + verification.getFailure());
+                assertNull(verification.getFailure());
+            }
+        }
+        // Prim's single tree is not a spanning forest of the disconnected graph.
+        PreparedGraph halves = PreparedGraph.of(disconnected);
+        MSTVerification partial = MSTVerifier.verify(halves, calculator.computePrim(halves));
+        assertFalse(partial.isValid());
+        assertTrue(partial.getFailure().contains("does not span"), partial.getFailure());
+        assertTrue(MSTVerifier.verify(new Graph("empty", List.of(), List.of()),
+                new MSTResult(List.of(), 0, 0, 0, 0, 0, true)).isValid());
+    }
+
+    @Test
+    void everyKindOfWrongTreeIsRejected() {
+        // A square with a heavy diagonal: the MST is A-B, B-C, C-D with cost 6.
+        List<String> nodes = List.of("A", "B", "C", "D");
+        Graph graph = new Graph("square", nodes, List.of(
+                new Edge("A", "B", 1), new Edge("B", "C", 2), new Edge("C", "D", 3),
+                new Edge("D", "A", 4), new Edge("A", "C", 5)));
+        Edge ab = new Edge("A", "B", 1);
+        Edge bc = new Edge("B", "C", 2);
+        Edge cd = new Edge("C", "D", 3);
+
+        assertTrue(MSTVerifier.verify(graph, tree(6, true, ab, bc, cd)).isValid());
+        assertTrue(MSTVerifier.verify(graph, tree(6, true, new Edge("D", "C", 3), bc, ab)).isValid(),
+                "edge direction and order do not matter");
+
+        assertInvalid(graph, tree(7, true, ab, bc, new Edge("D", "A", 4)), "lighter than the heaviest");
+        assertInvalid(graph, tree(3, false, ab, bc), "does not span");
+        assertInvalid(graph, tree(0, false), "does not span");
+        MSTVerification empty = MSTVerifier.verify(PreparedGraph.of(graph), tree(0, false), true);
+        assertFalse(empty.isValid());
+        assertTrue(empty.getFailure().contains("graph is connected"), empty.getFailure());
+        assertInvalid(graph, tree(7, true, ab, bc, new Edge("B", "D", 4)), "not an edge of the graph");
+        assertInvalid(graph, tree(5, true, ab, bc, new Edge("C", "D", 2)), "not an edge of the graph");
+        assertInvalid(graph, tree(8, true, ab, bc, new Edge("A", "C", 5)), "closes a cycle");
+        assertInvalid(graph, tree(6, true, ab, bc, new Edge("C", "E", 3)), "not in the graph");
+        assertInvalid(graph, tree(6.5, true, ab, bc, cd), "Total cost");
+        assertInvalid(graph, tree(6, false, ab, bc, cd), "marked disconnected");
+    }
+
+    @Test
+    void longPathsAreVerifiedWithoutRecursionAndRecordedInTheResult() {
+        int vertices = 200_000;
+        List<String> nodes = new ArrayList<>();
+        List<Edge> edges = new ArrayList<>();
+        for (int v = 0; v < vertices; v++) {
+            nodes.add("P" + v);
+            if (v > 0) {
+                // Increasing weights make the reconstruction tree a path as deep as the graph.
+                edges.add(new Edge("P" + (v - 1), "P" + v, v));
+            }
+        }
+        edges.add(new Edge("P0", "P" + (vertices - 1), vertices));
+        edges.add(new Edge("P1", "P" + (vertices - 2), vertices - 3));
+        PreparedGraph graph = PreparedGraph.of(new Graph("path", nodes, edges));
+        MSTResult kruskal = new MSTCalculator().computeKruskal(graph);
+
+        assertTrue(MSTVerifier.verify(graph, kruskal).isValid());
+        List<Edge> wrong = new ArrayList<>(kruskal.getMstEdges());
+        assertTrue(wrong.remove(new Edge("P1", "P" + (vertices - 2), vertices - 3)));
+        wrong.add(new Edge("P" + (vertices - 3), "P" + (vertices - 2), vertices - 2));
+        MSTVerification rejected = MSTVerifier.verify(graph, new MSTResult(wrong,
+                kruskal.getTotalCost() + 1, 0, 0, 0, 0, true));
+        assertFalse(rejected.isValid());
+        assertTrue(rejected.getFailure().contains("P1-P" + (vertices - 2)), rejected.getFailure());
+
+        MSTVerification verification = MSTVerifier.verify(graph, kruskal);
+        JsonNode json = new ObjectMapper().valueToTree(kruskal.withVerification(verification));
+        assertTrue(json.get("verification").get("valid").asBoolean());
+        assertFalse(json.get("verification").has("failure"));
+        assertFalse(new ObjectMapper().valueToTree(kruskal).has("verification"));
+    }
+
+    @Test
+    void treesOfAnotherGraphOverTheSameNodesAreCheckedAgainstTheirEdges() {
+        String[] names = {"A", "B", "C"};
+        PreparedGraph path = PreparedGraph.fromColumns("path", names, new int[]{0, 1}, new int[]{1, 2},
+                new double[]{1, 2});
+        PreparedGraph other = PreparedGraph.fromColumns("other", names, new int[]{1, 0}, new int[]{2, 2},
+                new double[]{2, 5});
+        MSTResult tree = new MSTCalculator().computeKruskal(path);
+        assertSame(path.nodeNames(), other.nodeNames());
+
+        assertTrue(MSTVerifier.verify(path, tree).isValid());
+        MSTVerification verification = MSTVerifier.verify(other, tree);
+        assertFalse(verification.isValid());
+        assertTrue(verification.getFailure().contains("A-B (1.0) is not an edge"), verification.getFailure());
+    }
+
+    private static MSTResult tree(double cost, boolean connected, Edge... edges) {
+        return new MSTResult(List.of(edges), cost, 0, 0, 0, 0, connected);
+    }
+
+    private static void assertInvalid(Graph graph, MSTResult candidate, String expected) {
+        MSTVerification verification = MSTVerifier.verify(graph, candidate);
+        assertFalse(verification.isValid());
+        assertTrue(verification.getFailure().contains(expected), verification.getFailure());
+    }
+}
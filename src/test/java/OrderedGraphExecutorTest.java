@@ -0,0 +1,120 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderedGraphExecutorTest {
+
+    @Test
+    void resultsReachTheSinkInSubmissionOrder() throws IOException {
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            List<String> received = new ArrayList<>();
+            try (OrderedGraphExecutor executor = new OrderedGraphExecutor(4, virtualThreads,
+                    result -> received.add(result.getGraphId()))) {
+                for (int i = 0; i < 12; i++) {
+                    int delay = (12 - i) * 3;
+                    String id = "g" + i;
+                    executor.submit(() -> {
+                        Thread.sleep(delay);
+                        return result(id);
+                    });
+                }
+                executor.finish();
+            }
+
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < 12; i++) {
+                expected.add("g" + i);
+            }
+            assertEquals(expected, received);
+        }
+    }
+
+    @Test
+    void singleWorkerHandsEachResultToTheSinkBeforeSubmitReturns() throws IOException {
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            List<String> events = new ArrayList<>();
+            try (OrderedGraphExecutor executor = new OrderedGraphExecutor(1, virtualThreads,
+                    result -> events.add("emit " + result.getGraphId()))) {
+                for (int i = 0; i < 3; i++) {
+                    String id = "g" + i;
+                    events.add("read " + id);
+                    executor.submit(() -> {
+                        Thread.sleep(20);
+                        return result(id);
+                    });
+                    assertEquals("emit " + id, events.get(events.size() - 1));
+                }
+                executor.finish();
+            }
+
+            assertEquals(List.of("read g0", "emit g0", "read g1", "emit g1", "read g2", "emit g2"), events);
+        }
+    }
+
+    @Test
+    void neverRunsMoreThanTheConfiguredNumberOfWorkers() throws IOException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        try (OrderedGraphExecutor executor = new OrderedGraphExecutor(2, true, result -> {
+        })) {
+            for (int i = 0; i < 10; i++) {
+                String id = "g" + i;
+                executor.submit(() -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.sleep(5);
+                    running.decrementAndGet();
+                    return result(id);
+                });
+            }
+            executor.finish();
+        }
+
+        assertTrue(peak.get() <= 2, "peak concurrency was " + peak.get());
+    }
+
+    @Test
+    void finishedResultsDoNotPileUpBehindASlowGraph() throws IOException {
+        AtomicInteger completed = new AtomicInteger();
+        List<String> received = new ArrayList<>();
+        try (OrderedGraphExecutor executor = new OrderedGraphExecutor(2, false,
+                result -> received.add(result.getGraphId()))) {
+            for (int i = 0; i < 10; i++) {
+                int delay = i == 0 ? 100 : 0;
+                String id = "g" + i;
+                executor.submit(() -> {
+                    Thread.sleep(delay);
+                    completed.incrementAndGet();
+                    return result(id);
+                });
+                int held = completed.get() - received.size();
+                assertTrue(held <= 2, "results held before the sink: " + held);
+            }
+            executor.finish();
+        }
+
+        assertEquals(10, received.size());
+    }
+
+    @Test
+    void failuresArePropagatedToTheCaller() {
+        assertThrows(IOException.class, () -> {
+            try (OrderedGraphExecutor executor = new OrderedGraphExecutor(2, false, result -> {
+            })) {
+                executor.submit(() -> {
+                    throw new IOException("broken graph");
+                });
+                executor.finish();
+            }
+        });
+    }
+
+    private static GraphComputationResult result(String id) {
+        return new GraphComputationResult(id, new InputStats(0, 0), Map.of());
+    }
+}
@@ -0,0 +1,103 @@
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private static Graph graph(String id, double weight) {
+        return new Graph(id, List.of("A", "B", "C"), List.of(
+                new Edge("A", "B", weight),
+                new Edge("B", "C", 2.0),
+                new Edge("A", "C", 3.0)
+        ));
+    }
+
+    private static GraphComputationResult compute(Graph graph) {
+        MSTCalculator calculator = new MSTCalculator();
+        PreparedGraph prepared = PreparedGraph.of(graph);
+        return new GraphComputationResult(graph.getId(), new InputStats(3, 3),
+                calculator.computePrim(prepared), calculator.computeKruskal(prepared),
+                calculator.computeBoruvka(prepared));
+    }
+
+    @Test
+    void keyDependsOnContentAndConfigurationButNotOnId() throws IOException {
+        ResultCache cache = new ResultCache(directory, 1 << 20, "config-a");
+        ResultCache other = new ResultCache(directory, 1 << 20, "config-b");
+
+        assertEquals(cache.key(graph("x", 1.0)), cache.key(graph("y", 1.0)));
+        assertNotEquals(cache.key(graph("x", 1.0)), cache.key(graph("x", 1.5)));
+        assertNotEquals(cache.key(graph("x", 1.0)), other.key(graph("x", 1.0)));
+        assertEquals(cache.key(graph("x", 1.0)), cache.key(PreparedGraph.of(graph("x", 1.0))));
+        ObjectMapper mapper = new ObjectMapper();
+        Graph parsed = mapper.readValue(mapper.writeValueAsString(graph("x", 1.0)), Graph.class);
+        assertInstanceOf(ColumnarGraph.class, parsed);
+        assertEquals(cache.key(graph("x", 1.0)), cache.key(parsed));
+    }
+
+    @Test
+    void storedResultIsReturnedUnderTheRequestedId() throws IOException {
+        ResultCache cache = new ResultCache(directory, 1 << 20, "config");
+        Graph graph = graph("monday", 1.0);
+        String key = cache.key(graph);
+        assertNull(cache.lookup(key, "monday"));
+
+        GraphComputationResult computed = compute(graph);
+        cache.store(key, computed);
+        GraphComputationResult hit = cache.lookup(key, "tuesday");
+
+        ObjectMapper mapper = new ObjectMapper();
+        assertEquals("tuesday", hit.getGraphId());
+        ObjectNode expected = mapper.valueToTree(computed);
+        ObjectNode actual = mapper.valueToTree(hit);
+        expected.remove("graph_id");
+        actual.remove("graph_id");
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void corruptEntriesAreTreatedAsMisses() throws IOException {
+        ResultCache cache = new ResultCache(directory, 1 << 20, "config");
+        String key = cache.key(graph("g", 1.0));
+        Files.writeString(directory.resolve(key + ".json"), "{not json");
+
+        assertNull(cache.lookup(key, "g"));
+        assertFalse(Files.exists(directory.resolve(key + ".json")));
+    }
+
+    @Test
+    void storeEvictsLeastRecentlyUsedEntries() throws IOException {
+        ResultCache probe = new ResultCache(directory, Long.MAX_VALUE, "config");
+        Graph first = graph("first", 1.0);
+        probe.store(probe.key(first), compute(first));
+        long entryBytes = Files.size(directory.resolve(probe.key(first) + ".json"));
+        Files.delete(directory.resolve(probe.key(first) + ".json"));
+
+        ResultCache cache = new ResultCache(directory, entryBytes * 2 + entryBytes / 2, "config");
+        Graph second = graph("second", 1.5);
+        Graph third = graph("third", 2.5);
+        cache.store(cache.key(first), compute(first));
+        cache.store(cache.key(second), compute(second));
+        Files.setLastModifiedTime(directory.resolve(cache.key(first) + ".json"), FileTime.fromMillis(1_000));
+        Files.setLastModifiedTime(directory.resolve(cache.key(second) + ".json"), FileTime.fromMillis(2_000));
+        assertNotNull(cache.lookup(cache.key(first), "first"));
+
+        cache.store(cache.key(third), compute(third));
+
+        assertNotNull(cache.lookup(cache.key(first), "first"));
+        assertNull(cache.lookup(cache.key(second), "second"));
+        assertNotNull(cache.lookup(cache.key(third), "third"));
+    }
+}